@@ -3,8 +3,10 @@ package com.undefinedus.backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableJpaAuditing // 이게 있어야 BaseEntity에 값이 들어감
+@EnableScheduling // 조회수 flush 등 메모리에 모아둔 값을 주기적으로 DB에 반영
 @SpringBootApplication
 public class BackendApplication {
 
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,16 +23,16 @@ public class AiController {
     private final AiService aiService;
 
     // 회원이 읽은 책들 기반 gpt 추천 도서 목록(gpt가 추천 책의 isbn13을 출력하지 않음)
+    // 외부 API 를 기다리는 동안 요청 스레드를 잡고 있지 않도록 Mono 로 돌려준다. (시간 제한이 지나면 찾은 데까지만)
     @GetMapping("/recommended")
-    public ResponseEntity<ApiResponseDTO<List<AladinApiResponseDTO>>> getPerplexityRecommendedBookList(
+    public Mono<ResponseEntity<ApiResponseDTO<List<AladinApiResponseDTO>>>> getPerplexityRecommendedBookList(
         @AuthenticationPrincipal MemberSecurityDTO memberSecurityDTO) {
 
         Long memberId = memberSecurityDTO.getId();
 
-        List<AladinApiResponseDTO> perplexityRecommendBookList = aiService.getPerplexityRecommendBookList(
-            memberId);
-
-        return ResponseEntity.ok(ApiResponseDTO.success(perplexityRecommendBookList));
+        return aiService.getPerplexityRecommendBookList(memberId)
+            .map(perplexityRecommendBookList -> ResponseEntity.ok(
+                ApiResponseDTO.success(perplexityRecommendBookList)));
     }
 
     // 토론 게시판의 정보들을 가지고 gpt가 결론낸것 보기
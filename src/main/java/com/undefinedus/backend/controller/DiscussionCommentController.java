@@ -6,6 +6,7 @@ import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentsS
 import com.undefinedus.backend.dto.response.ApiResponseDTO;
 import com.undefinedus.backend.dto.response.ScrollResponseDTO;
 import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentThreadResponseDTO;
 import com.undefinedus.backend.service.DiscussionCommentService;
 import jakarta.validation.Valid;
 import java.util.HashMap;
@@ -13,8 +14,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +29,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -94,6 +99,50 @@ public class DiscussionCommentController {
         return ResponseEntity.ok(ApiResponseDTO.success(response));
     }
 
+    // 원댓글 목록 (원댓글마다 답글 수, 앞쪽 답글 몇 개), lastId 는 마지막 원댓글의 groupId
+    @GetMapping("/thread/{discussionId}")
+    public ResponseEntity<ApiResponseDTO<ScrollResponseDTO<DiscussionCommentThreadResponseDTO>>> getCommentThreadList(
+            @AuthenticationPrincipal MemberSecurityDTO memberSecurityDTO,
+            @PathVariable("discussionId") Long discussionId,
+            @ModelAttribute DiscussionCommentsScrollRequestDTO requestDTO
+    ) {
+
+        ScrollResponseDTO<DiscussionCommentThreadResponseDTO> response = discussionCommentService.getCommentThreadList(
+            memberSecurityDTO.getId(), requestDTO, discussionId);
+
+        return ResponseEntity.ok(ApiResponseDTO.success(response));
+    }
+
+    // 원댓글 하나의 답글 목록 (답글 더보기), lastId 는 마지막 답글의 totalOrder
+    @GetMapping("/thread/{discussionId}/{groupId}")
+    public ResponseEntity<ApiResponseDTO<ScrollResponseDTO<DiscussionCommentResponseDTO>>> getReplyList(
+            @AuthenticationPrincipal MemberSecurityDTO memberSecurityDTO,
+            @PathVariable("discussionId") Long discussionId,
+            @PathVariable("groupId") Long groupId,
+            @ModelAttribute DiscussionCommentsScrollRequestDTO requestDTO
+    ) {
+
+        ScrollResponseDTO<DiscussionCommentResponseDTO> response = discussionCommentService.getReplyList(
+            memberSecurityDTO.getId(), requestDTO, discussionId, groupId);
+
+        return ResponseEntity.ok(ApiResponseDTO.success(response));
+    }
+
+    // 댓글 전체 내보내기 (한 줄에 댓글 하나씩, 보여지는 순서대로)
+    @GetMapping("/export/{discussionId}")
+    public ResponseEntity<StreamingResponseBody> exportComments(
+        @PathVariable("discussionId") Long discussionId
+    ) {
+
+        StreamingResponseBody body = discussionCommentService.exportComments(discussionId);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"discussion-" + discussionId + "-comments.ndjson\"")
+            .body(body);
+    }
+
     // 댓글에 좋아요 달기
     @PatchMapping("/addLike/{discussionCommentId}")
     public ResponseEntity<ApiResponseDTO<DiscussionCommentResponseDTO>> addLike(
@@ -145,4 +194,26 @@ public class DiscussionCommentController {
         return ResponseEntity.ok().body(ApiResponseDTO.success(null));
     }
 
-}
\ No newline at end of file
+    // (관리자) 댓글 좋아요/싫어요 수 집계 컬럼을 CommentLike 기준으로 다시 계산하기, 배포 후 한 번 실행
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/recount")
+    public ResponseEntity<ApiResponseDTO<Map<String, Integer>>> recalculateReactionCounts() {
+
+        Map<String, Integer> result = new HashMap<>();
+        result.put("updated", discussionCommentService.recalculateReactionCounts());
+
+        return ResponseEntity.ok(ApiResponseDTO.success(result));
+    }
+
+    // (관리자) 예전 방식으로 저장된 댓글 순서(totalOrder)를 그룹 구간 방식으로 바꾸기, 배포 후 한 번 실행
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/migrateOrder")
+    public ResponseEntity<ApiResponseDTO<Map<String, Integer>>> migrateLegacyTotalOrder() {
+
+        Map<String, Integer> result = new HashMap<>();
+        result.put("updated", discussionCommentService.migrateLegacyTotalOrder());
+
+        return ResponseEntity.ok(ApiResponseDTO.success(result));
+    }
+
+}
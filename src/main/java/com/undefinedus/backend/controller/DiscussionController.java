@@ -6,17 +6,21 @@ import com.undefinedus.backend.dto.request.discussion.DiscussionUpdateRequestDTO
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionScrollRequestDTO;
 import com.undefinedus.backend.dto.response.ApiResponseDTO;
 import com.undefinedus.backend.dto.response.ScrollResponseDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionActivityPointDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionDetailResponseDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionListResponseDTO;
 import com.undefinedus.backend.exception.discussion.DiscussionException;
 import com.undefinedus.backend.service.DiscussionService;
 import jakarta.validation.Valid;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.quartz.SchedulerException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequiredArgsConstructor
@@ -74,6 +79,38 @@ public class DiscussionController {
         return ResponseEntity.ok(ApiResponseDTO.success(discussionDetail));
     }
 
+    // 토론 실시간 스트림 (SSE), 새 댓글/좋아요/찬반 수/상태 변경을 이벤트로 받는다.
+    @GetMapping(value = "/{discussionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeDiscussion(
+            @PathVariable("discussionId") Long discussionId
+    ) {
+        return discussionService.subscribeDiscussion(discussionId);
+    }
+
+    // 토론 활동 시계열 (찬성/반대 증감, 댓글 수, 좋아요 증감), bucketMinutes 분씩 묶어서 준다.
+    @GetMapping("/{discussionId}/activity")
+    public ResponseEntity<ApiResponseDTO<List<DiscussionActivityPointDTO>>> getActivitySeries(
+            @PathVariable("discussionId") Long discussionId,
+            @RequestParam(value = "bucketMinutes", defaultValue = "1") int bucketMinutes
+    ) {
+        List<DiscussionActivityPointDTO> series = discussionService.getActivitySeries(discussionId,
+                bucketMinutes);
+
+        return ResponseEntity.ok(ApiResponseDTO.success(series));
+    }
+
+    // 토론 화면을 보고 있는 동안 주기적으로 호출 (ttl 안에 다시 호출하지 않으면 나간 것으로 본다)
+    @PostMapping("/{discussionId}/heartbeat")
+    public ResponseEntity<ApiResponseDTO<Map<String, Integer>>> heartbeat(
+            @AuthenticationPrincipal MemberSecurityDTO memberSecurityDTO,
+            @PathVariable("discussionId") Long discussionId
+    ) {
+        Map<String, Integer> result = new HashMap<>();
+        result.put("viewerCount", discussionService.heartbeat(memberSecurityDTO.getId(), discussionId));
+
+        return ResponseEntity.ok(ApiResponseDTO.success(result));
+    }
+
     // 발의글에 찬성으로 참여하기
     @PostMapping("/joinAgree")
     public ResponseEntity<ApiResponseDTO<Map<String, String>>> joinAgree(
@@ -124,4 +161,16 @@ public class DiscussionController {
         return ResponseEntity.ok().body(ApiResponseDTO.success(null));
     }
 
+    // (관리자) 토론의 참여자 수, 댓글 수 집계 컬럼 다시 계산하기, discussionId 가 없으면 전체 토론
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/recount")
+    public ResponseEntity<ApiResponseDTO<Map<String, Integer>>> recalculateCounts(
+        @RequestParam(value = "discussionId", required = false) Long discussionId) {
+
+        Map<String, Integer> result = new HashMap<>();
+        result.put("updated", discussionService.recalculateCounts(discussionId));
+
+        return ResponseEntity.ok(ApiResponseDTO.success(result));
+    }
+
 }
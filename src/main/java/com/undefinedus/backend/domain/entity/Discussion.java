@@ -25,6 +25,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
 import org.hibernate.annotations.SQLRestriction;
@@ -35,6 +36,9 @@ import org.hibernate.annotations.SQLRestriction;
 @AllArgsConstructor
 @Builder
 @SQLRestriction("is_deleted = false")
+// 집계 컬럼(조회수, 참여자/댓글 수)은 UPDATE ... SET x = x + 1 로만 바뀌기 때문에
+// 엔티티를 저장할 때 바뀐 컬럼만 UPDATE 해야 예전 값으로 덮어쓰지 않는다.
+@DynamicUpdate
 @ToString(exclude = {"aladinBook", "member", "participants", "comments"})  // 실제 연관관계 있는 필드만 exclude
 public class Discussion extends BaseEntity {
 
@@ -99,6 +103,9 @@ public class Discussion extends BaseEntity {
     @Lob
     private String reasoning;  // AI의 결과 도출 근거
 
+    @Column(length = 64)
+    private String analysisInputHash;  // 분석에 보낸 입력(책, 제목/내용, 댓글, 찬반 수)의 SHA-256, 같으면 다시 분석하지 않는다.
+
     // === 조회수 관련 === //
     // @Version은:
     // 엔티티가 수정될 때마다 자동으로 버전 번호를 증가시킴
@@ -110,6 +117,35 @@ public class Discussion extends BaseEntity {
     @Column(nullable = false)
     @Builder.Default
     private Long views = 0L;    // 조회수 기본값 0으로 초기화
+
+    // === 참여자/댓글 집계 === //
+    // 목록, 상세, 투표 때마다 참여자와 댓글을 전부 불러와 세지 않도록 미리 세어 둔 값
+    // DiscussionRepository 의 UPDATE 쿼리로만 변경하고, 어긋나면 관리자 재계산 API로 맞춘다.
+    @Column(nullable = false)
+    @Builder.Default
+    private Long agreeCount = 0L;   // 찬성 참여자 수
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long disagreeCount = 0L;    // 반대 참여자 수
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long commentCount = 0L;     // 댓글 + 답글 수
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long agreeCommenterCount = 0L;  // 찬성 댓글을 단 회원 수 (중복 제외)
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long disagreeCommenterCount = 0L;   // 반대 댓글을 단 회원 수 (중복 제외)
+
+    // === 댓글 그룹 번호 === //
+    // 이 토론에서 마지막으로 쓴 댓글 groupId, DiscussionCommentGroupSequence 가 UPDATE 쿼리로만 올린다.
+    // null 이면 아직 한 번도 쓰지 않은 토론이라 처음 쓸 때 기존 댓글의 최대 groupId 로 채운다.
+    @Column
+    private Long lastCommentGroupId;
     
     // == Blocked 되었는지 관련 == //
     @Column(nullable = false)
@@ -193,6 +229,10 @@ public class Discussion extends BaseEntity {
     public void changeReasoning(String reasoning) {
         this.reasoning = reasoning;
     }
+
+    public void changeAnalysisInputHash(String analysisInputHash) {
+        this.analysisInputHash = analysisInputHash;
+    }
     
     public void changeViewStatus(ViewStatus viewStatus) {
         this.viewStatus = viewStatus;
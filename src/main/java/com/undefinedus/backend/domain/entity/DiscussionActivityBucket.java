@@ -0,0 +1,50 @@
+package com.undefinedus.backend.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 토론의 1분 단위 활동 기록 (DiscussionActivitySeries 가 메모리에 모았다가 주기적으로 더해서 저장한다)
+// 찬성/반대는 참여자 수의 증감, 댓글은 새로 달린 댓글 + 답글 수, 좋아요는 좋아요 수의 증감
+@Entity
+@Table(name = "discussion_activity_bucket", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_discussion_activity_bucket", columnNames = {"discussion_id", "bucket_minute"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DiscussionActivityBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "discussion_id", nullable = false)
+    private Long discussionId;
+
+    @Column(name = "bucket_minute", nullable = false)
+    private long bucketMinute;  // epoch 기준 분 (epoch 초 / 60)
+
+    @Column(name = "agree_delta", nullable = false)
+    private int agreeDelta;
+
+    @Column(name = "disagree_delta", nullable = false)
+    private int disagreeDelta;
+
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount;
+
+    @Column(name = "like_delta", nullable = false)
+    private int likeDelta;
+}
@@ -0,0 +1,64 @@
+package com.undefinedus.backend.domain.entity;
+
+import com.undefinedus.backend.domain.enums.AnalysisTaskStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 토론 AI 분석 작업 (DiscussionAnalysisQueue 가 JDBC 로 상태를 바꾼다)
+// 토론마다 하나만 있고, Quartz(Analyzing) 는 여기에 넣기만 한다.
+@Entity
+@Table(name = "discussion_analysis_task", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_discussion_analysis_task", columnNames = {"discussion_id"})
+}, indexes = {
+    @Index(name = "idx_discussion_analysis_task_due", columnList = "status, next_attempt_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DiscussionAnalysisTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "discussion_id", nullable = false)
+    private Long discussionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AnalysisTaskStatus status;
+
+    @Column(nullable = false)
+    private int attempts;   // 지금까지 시도한 횟수
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;    // 이 시각 이후에 (다시) 실행
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;     // RUNNING 이 된 시각, 오래되면 서버가 죽은 것으로 보고 다시 PENDING 으로
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
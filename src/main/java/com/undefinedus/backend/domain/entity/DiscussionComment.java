@@ -10,9 +10,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,20 +23,34 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_discussion_comment_order", columnList = "discussion_id, total_order"),
+    @Index(name = "idx_discussion_comment_group", columnList = "discussion_id, group_id, total_order"),
+    // 원댓글만 groupId 순으로 넘기기, 그룹별 답글 수 세기 (답글 펼치기 목록)
+    @Index(name = "idx_discussion_comment_thread", columnList = "discussion_id, is_child, group_id")
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @SQLDelete(sql = "UPDATE discussion_comment SET is_deleted = true, deleted_at = NOW() WHERE id = ?")
 @SQLRestriction("is_deleted = false")
+// 좋아요/싫어요 수는 UPDATE ... SET x = x + 1 로만 바뀌기 때문에
+// 엔티티를 저장할 때 바뀐 컬럼만 UPDATE 해야 예전 값으로 덮어쓰지 않는다.
+@DynamicUpdate
 @ToString(exclude = {"discussion", "member"})  // 순환참조 방지
 public class DiscussionComment extends BaseEntity {
+
+    // totalOrder = groupId * GROUP_ORDER_STRIDE + 그룹 안에서의 순서 (원댓글 0, 답글 1, 2, ...)
+    // 답글이 추가되어도 다른 댓글의 순서를 다시 매기지 않기 위해 그룹마다 번호 구간을 나눠 쓴다.
+    public static final long GROUP_ORDER_STRIDE = 1_000_000L;
     
     // === ID === //
     @Id
@@ -54,7 +70,7 @@ public class DiscussionComment extends BaseEntity {
     // 대댓글 단순한 버전 =================================
 
     @Column
-    private Long groupId; // parentId와 동일하다 댓글, 답글을 하나의 그룹으로 묶어 그 그룹의 id라고 보면 됨.
+    private Long groupId; // parentId와 동일하다 댓글, 답글을 하나의 그룹으로 묶어 그 그룹의 id라고 보면 됨. (토론마다 1부터 매김)
 
     @Column
     private Long parentId; // 부모Id // 고유 아이디는 id로 사용
@@ -67,7 +83,14 @@ public class DiscussionComment extends BaseEntity {
     private boolean isChild = false; // 답글이면 true 이다.
 
     @Column
-    private Long totalOrder; // 자식 포함 전체 댓글의 실제 보여지는 순서 (답글이 추가 되면 변경되는 가변적이 순서)
+    private Long totalOrder; // 자식 포함 전체 댓글의 실제 보여지는 순서 (한 번 정해지면 바뀌지 않는다, GROUP_ORDER_STRIDE 참고)
+
+    // 답글 순서 발급용 카운터, DiscussionReplyOrderSequence 의 UPDATE 쿼리로만 바뀐다. (처음 답글을 달 때 채워짐)
+    @Column
+    private Long lastReplyTotalOrder; // 원댓글에만 씀: 이 그룹에서 마지막으로 발급한 totalOrder
+
+    @Column
+    private Long lastChildOrder; // 이 댓글에 달린 답글에 마지막으로 발급한 groupOrder
 
     // === 내용 === //
     @Enumerated(EnumType.STRING)
@@ -83,6 +106,16 @@ public class DiscussionComment extends BaseEntity {
     @Builder.Default
     private List<CommentLike> likes = new ArrayList<>();  // likeCount, likedByMembers 대체
 
+    // 목록을 그릴 때마다 CommentLike 를 세지 않도록 미리 세어 둔 값
+    // DiscussionCommentRepository 의 UPDATE 쿼리로만 변경하고, 어긋나면 관리자 재계산 API로 맞춘다.
+    @Column(nullable = false)
+    @Builder.Default
+    private Long likeCount = 0L;    // 좋아요 수
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long dislikeCount = 0L; // 싫어요 수
+
     // === 신고 관련 === //
     @Column(nullable = false)
     @Builder.Default
@@ -108,6 +141,10 @@ public class DiscussionComment extends BaseEntity {
         this.groupId = groupId;
     }
 
+    public void changeTotalOrder(Long totalOrder) {
+        this.totalOrder = totalOrder;
+    }
+
     public void changeViewStatus(ViewStatus viewStatus) {
         this.viewStatus = viewStatus;
     }
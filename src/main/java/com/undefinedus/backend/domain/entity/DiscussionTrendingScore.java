@@ -0,0 +1,30 @@
+package com.undefinedus.backend.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 인기 토론 점수 스냅샷 (DiscussionTrendingRanker 가 주기적으로 저장하고, 서버 시작 후 다시 읽는다)
+// 점수는 시간에 따라 줄어드는 값을 고정된 기준 시각으로 환산한 log 값이라서, 저장한 뒤 시간이 지나도 다시 계산할 필요가 없다.
+@Entity
+@Table(name = "discussion_trending_score")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DiscussionTrendingScore {
+
+    @Id
+    @Column(name = "discussion_id")
+    private Long discussionId;
+
+    @Column(name = "log_score", nullable = false)
+    private double logScore;
+}
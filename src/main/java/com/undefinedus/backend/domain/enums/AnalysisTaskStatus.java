@@ -0,0 +1,8 @@
+package com.undefinedus.backend.domain.enums;
+
+public enum AnalysisTaskStatus {
+    PENDING,    // 분석 대기 (next_attempt_at 이후에 실행)
+    RUNNING,    // 분석 중
+    DONE,       // 분석 완료
+    DEAD,       // 재시도 횟수를 넘겨서 포기함 (관리자가 다시 넣을 수 있음)
+}
@@ -0,0 +1,9 @@
+package com.undefinedus.backend.domain.enums;
+
+// 토론 실시간 스트림(SSE)으로 보내는 이벤트 종류
+public enum DiscussionEventType {
+    COMMENT,            // 새 댓글/답글
+    COMMENT_REACTION,   // 댓글 좋아요/싫어요 증감
+    VOTE,               // 찬성/반대 참여자 수
+    STATUS              // 토론 상태 변경
+}
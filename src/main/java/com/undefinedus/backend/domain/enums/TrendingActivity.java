@@ -0,0 +1,19 @@
+package com.undefinedus.backend.domain.enums;
+
+// 인기 토론 점수에 더해지는 활동과 가중치
+public enum TrendingActivity {
+    VIEW(1),        // 상세 조회
+    LIKE(2),        // 댓글 좋아요
+    VOTE(3),        // 찬성/반대 참여, 의견 변경
+    COMMENT(5);     // 댓글, 답글
+
+    private final int weight;
+
+    TrendingActivity(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -18,7 +18,9 @@ public class DiscussionScrollRequestDTO {
     private int size = 30;    // 한 번에 로드할 항목 수
     
     @Builder.Default
-    private String sort = "desc"; // asc : 오름차순, desc : 내림차순
+    private String sort = "desc"; // asc : 오름차순, desc : 내림차순, trending : 인기순
+    
+    private String cursor;    // 인기순에서 사용하는 커서 (이전 응답의 lastCursor)
     
     private String search;    // 검색어
     
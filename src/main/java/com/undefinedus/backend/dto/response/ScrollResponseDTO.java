@@ -15,14 +15,18 @@ public class ScrollResponseDTO<E> {
     // === 아래 social 에서 필요 === //
     private String lastNickname;    // // 마지막으로 본 닉네임 추가
 
+    // === 아래 토론 인기순에서 필요 === //
+    private String lastCursor;      // 마지막 항목의 (점수, ID) 커서
+
     @Builder(builderMethodName = "withAll")
     public ScrollResponseDTO(List<E> content, boolean hasNext, Long lastId, String lastNickname, int numberOfElements
-            , Long totalElements) {
+            , Long totalElements, String lastCursor) {
         this.content = content;
         this.hasNext = hasNext;
         this.lastId = lastId;
         this.lastNickname = lastNickname;
         this.numberOfElements = numberOfElements;
         this.totalElements = totalElements;
+        this.lastCursor = lastCursor;
     }
 }
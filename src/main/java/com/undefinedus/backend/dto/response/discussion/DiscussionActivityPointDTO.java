@@ -0,0 +1,23 @@
+package com.undefinedus.backend.dto.response.discussion;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+// 토론 활동 그래프의 한 점 (time 부터 bucketMinutes 분 동안의 합)
+@Data
+@Builder
+public class DiscussionActivityPointDTO {
+
+    private LocalDateTime time;
+
+    private int bucketMinutes;
+
+    private long agreeDelta;    // 찬성 참여자 수 증감
+
+    private long disagreeDelta; // 반대 참여자 수 증감
+
+    private long commentCount;  // 새 댓글 + 답글 수
+
+    private long likeDelta;     // 댓글 좋아요 수 증감
+}
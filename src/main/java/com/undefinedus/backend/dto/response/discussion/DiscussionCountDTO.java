@@ -0,0 +1,20 @@
+package com.undefinedus.backend.dto.response.discussion;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Discussion 의 집계 컬럼만 읽어 올 때 사용 (DiscussionRepository.findCountsById)
+@Data
+@AllArgsConstructor
+public class DiscussionCountDTO {
+
+    private Long agreeCount; // 찬성 참여자 수
+
+    private Long disagreeCount; // 반대 참여자 수
+
+    private Long commentCount; // 댓글 + 답글 수
+
+    private Long agreeCommenterCount; // 찬성 댓글을 단 회원 수
+
+    private Long disagreeCommenterCount; // 반대 댓글을 단 회원 수
+}
@@ -6,7 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class DiscussionDetailResponseDTO {
 
 
@@ -56,4 +56,6 @@ public class DiscussionDetailResponseDTO {
     
     private Integer disagreeCommentCount;
 
+    private Integer viewerCount; // 지금 보고 있는 사람 수 (진행 중인 토론만, 그 외에는 0)
+
 }
@@ -0,0 +1,39 @@
+package com.undefinedus.backend.dto.response.discussion;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.undefinedus.backend.domain.enums.DiscussionEventType;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+// 토론 실시간 스트림(SSE)으로 보내는 이벤트, type 에 해당하는 값만 채워서 보낸다.
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DiscussionEventDTO {
+
+    private DiscussionEventType type;
+
+    private Long discussionId;
+
+    private DiscussionCommentResponseDTO comment; // COMMENT: 새 댓글 (보는 사람별 값인 isLike, isReport 는 비움)
+
+    private Long commentCount; // COMMENT: 전체 댓글 수
+
+    private Long commentId; // COMMENT_REACTION: 좋아요/싫어요가 바뀐 댓글
+
+    private Long likeDelta; // COMMENT_REACTION: 좋아요 증감
+
+    private Long dislikeDelta; // COMMENT_REACTION: 싫어요 증감
+
+    private Long agreeCount; // VOTE: 찬성 참여자 수
+
+    private Long disagreeCount; // VOTE: 반대 참여자 수
+
+    private DiscussionStatus status; // STATUS: 바뀐 상태
+
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
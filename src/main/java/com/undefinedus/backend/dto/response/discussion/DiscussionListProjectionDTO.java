@@ -0,0 +1,56 @@
+package com.undefinedus.backend.dto.response.discussion;
+
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.domain.enums.ViewStatus;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 토론 목록 한 페이지를 쿼리 한 번으로 가져오기 위한 QueryDSL Projection 전용 DTO
+// 서비스에서 DiscussionListResponseDTO 로 변환해서 내보낸다.
+@Data
+@NoArgsConstructor
+public class DiscussionListProjectionDTO {
+
+    private Long discussionId;
+
+    private String isbn13;
+
+    private String bookTitle;
+
+    private String cover;
+
+    private Long memberId; // 작성자 Id
+
+    private String memberNickname;
+
+    private Boolean memberDeleted; // 탈퇴한 회원인지
+
+    private String title;
+
+    private DiscussionStatus status;
+
+    private ViewStatus viewStatus;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime closedAt;
+
+    private Long views;
+
+    private Integer agreePercent;
+
+    private Integer disagreePercent;
+
+    private Long agreeCount; // 찬성 참여자 수
+
+    private Long disagreeCount; // 반대 참여자 수
+
+    private Long commentCount; // 댓글 수
+
+    private Long agreeCommenterCount; // 찬성 댓글을 단 회원 수 (중복 제외)
+
+    private Long disagreeCommenterCount; // 반대 댓글을 단 회원 수 (중복 제외)
+}
@@ -0,0 +1,40 @@
+package com.undefinedus.backend.dto.response.discussionComment;
+
+import com.undefinedus.backend.domain.enums.ViewStatus;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+// 토론 댓글 전체 내보내기의 한 줄 (DiscussionCommentExporter 참고)
+@Data
+@Builder
+public class DiscussionCommentExportDTO {
+
+    private Long commentId;
+
+    private Long memberId;
+
+    private String nickname;
+
+    private Long parentId;
+
+    private Long groupId;
+
+    private Long groupOrder;
+
+    private Long totalOrder;
+
+    private Boolean isChild;
+
+    private String voteType;  // 찬성/반대 의견
+
+    private String content;
+
+    private Long like;
+
+    private Long dislike;
+
+    private ViewStatus viewStatus;
+
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,23 @@
+package com.undefinedus.backend.dto.response.discussionComment;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+// 원댓글 하나와 앞쪽 답글 몇 개 (나머지 답글은 replyLastId 부터 답글 목록 API 로 이어서 가져온다)
+@Data
+@Builder
+public class DiscussionCommentThreadResponseDTO {
+
+    private DiscussionCommentResponseDTO comment;
+
+    private long replyCount;  // 이 그룹의 전체 답글 수
+
+    @Builder.Default
+    private List<DiscussionCommentResponseDTO> replies = new ArrayList<>();  // 미리보기 답글
+
+    private Long replyLastId; // 미리보기 마지막 답글의 totalOrder (답글 목록 API 의 lastId 로 넘긴다)
+
+    private boolean hasMoreReplies; // 미리보기 외에 답글이 더 있는지
+}
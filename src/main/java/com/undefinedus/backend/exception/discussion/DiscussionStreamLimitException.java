@@ -0,0 +1,10 @@
+package com.undefinedus.backend.exception.discussion;
+
+import com.undefinedus.backend.exception.base.BaseException;
+
+public class DiscussionStreamLimitException extends BaseException {
+
+    public DiscussionStreamLimitException(String message) {
+        super(message);
+    }
+}
@@ -7,4 +7,8 @@ public class DiscussionCommentException extends BaseException {
     public DiscussionCommentException(String message) {
         super(message);
     }
+
+    public DiscussionCommentException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
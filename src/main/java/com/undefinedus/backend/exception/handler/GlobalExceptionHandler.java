@@ -10,6 +10,7 @@ import com.undefinedus.backend.exception.bookmark.BookmarkNotFoundException;
 import com.undefinedus.backend.exception.calendar.YearOrMonthException;
 import com.undefinedus.backend.exception.discussion.DiscussionException;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.exception.discussion.DiscussionStreamLimitException;
 import com.undefinedus.backend.exception.discussionComment.DiscussionCommentException;
 import com.undefinedus.backend.exception.discussionComment.DiscussionCommentNotFoundException;
 import com.undefinedus.backend.exception.discussionParticipant.DiscussionParticipantException;
@@ -148,6 +149,15 @@ public class GlobalExceptionHandler {
             .body(new ErrorResponse(e.getMessage()));
     }
 
+    // 실시간 스트림은 text/event-stream 으로 요청하기 때문에 body 없이 상태 코드만 내려준다.
+    @ExceptionHandler(DiscussionStreamLimitException.class)
+    protected ResponseEntity<Void> handleDiscussionStreamLimitException(
+        DiscussionStreamLimitException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "10")
+            .build();
+    }
+
     // discussionParticipant 관련
     @ExceptionHandler(DiscussionParticipantException.class)
     protected ResponseEntity<ErrorResponse> handleDiscussionParticipantException(
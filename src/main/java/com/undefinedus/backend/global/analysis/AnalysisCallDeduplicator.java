@@ -0,0 +1,53 @@
+package com.undefinedus.backend.global.analysis;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+// 진행 중인 분석 모델 호출 표 (입력 hash -> 결과)
+// 같은 입력의 분석이 동시에 들어오면 (분석 큐와 JobRestorer 등) 먼저 온 스레드만 모델을 부르고,
+// 나머지는 그 결과를 같이 받는다. 끝난 호출은 바로 지우므로 표에는 진행 중인 것만 남는다.
+// 끝난 분석의 중복은 Discussion.analysisInputHash 로 막는다.
+@Component
+@Log4j2
+public class AnalysisCallDeduplicator {
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public String call(String inputHash, Supplier<String> chat) {
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(inputHash, mine);
+
+        if (existing != null) {
+            log.info("같은 입력의 분석이 진행 중이라 결과를 기다립니다. : {}", inputHash);
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+            }
+        }
+
+        try {
+            String answer = chat.get();
+            mine.complete(answer);
+            return answer;
+        } catch (Throwable e) {
+            // Error 로 끝나도 기다리는 스레드가 영원히 멈추지 않도록 반드시 끝낸다.
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(inputHash, mine);
+        }
+    }
+
+    int size() {
+        return inFlight.size();
+    }
+}
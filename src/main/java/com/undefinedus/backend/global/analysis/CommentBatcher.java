@@ -0,0 +1,104 @@
+package com.undefinedus.backend.global.analysis;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 한 입장(찬성/반대)의 댓글을 순서대로 받아서, 토큰 예산(batchTokens)을 넘지 않는 JSON 배열 묶음으로 나눈다.
+// 댓글 하나가 예산보다 크면 그 댓글만으로 한 묶음이 된다.
+public class CommentBatcher {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final int batchTokens;
+
+    private final List<String> batches = new ArrayList<>(); // 다 채운 묶음 (배열 괄호 없이 "{..},{..}")
+
+    private StringBuilder current = new StringBuilder();
+    private int currentTokens;
+    private int totalTokens;
+    private int commentCount;
+
+    public CommentBatcher(int batchTokens) {
+        this.batchTokens = batchTokens;
+    }
+
+    public void add(Long commentId, String content, String voteType) {
+        String json = toJson(commentId, content, voteType);
+        int tokens = TokenEstimator.estimate(json) + 1; // 구분 쉼표
+
+        if (currentTokens > 0 && currentTokens + tokens > batchTokens) {
+            closeBatch();
+        }
+
+        if (current.length() > 0) {
+            current.append(',');
+        }
+        current.append(json);
+        currentTokens += tokens;
+        totalTokens += tokens;
+        commentCount++;
+    }
+
+    // 묶음마다 JSON 배열 하나
+    public List<String> batches() {
+        List<String> result = new ArrayList<>(batches.size() + 1);
+        for (String batch : batches) {
+            result.add("[" + batch + "]");
+        }
+        if (current.length() > 0) {
+            result.add("[" + current + "]");
+        }
+        return result;
+    }
+
+    // 나누지 않고 전체를 JSON 배열 하나로 (한 번에 보내도 될 만큼 작을 때)
+    public String joined() {
+        StringBuilder sb = new StringBuilder("[");
+        for (String batch : batches) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append(batch);
+        }
+        if (current.length() > 0) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append(current);
+        }
+        return sb.append(']').toString();
+    }
+
+    public int getTotalTokens() {
+        return totalTokens;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    private void closeBatch() {
+        batches.add(current.toString());
+        current = new StringBuilder();
+        currentTokens = 0;
+    }
+
+    private String toJson(Long commentId, String content, String voteType) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeNumberField("commentId", commentId);
+            generator.writeStringField("content", content);
+            generator.writeStringField("voteType", voteType);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,165 @@
+package com.undefinedus.backend.global.analysis;
+
+import com.undefinedus.backend.domain.enums.VoteType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// 댓글이 많아서 한 번에 모델에 보낼 수 없는 토론의 분석 준비 (map-reduce)
+// 1. 입장별로 batch-tokens 이하의 묶음으로 나눈 댓글을 묶음마다 요약한다. (parallelism 개씩 동시에)
+// 2. 요약을 이은 것이 아직 batch-tokens 보다 크면, 요약들을 다시 묶어서 한 번 더 요약한다.
+// 3. 입장별로 남은 요약 하나를 최종 분석 프롬프트의 댓글 자리에 넣는다.
+// 모델 호출은 chat 함수로 받아서 여기서는 ChatClient 를 모른다.
+@Component
+@Log4j2
+public class DiscussionCommentSummarizer {
+
+    // 요약을 다시 요약하는 단계가 끝없이 이어지지 않도록 (요약 길이가 예산에 비해 너무 긴 설정 등)
+    private static final int MAX_ROUNDS = 5;
+
+    // 이 이하의 댓글은 나누지 않고 기존처럼 한 번에 보낸다.
+    @Value("${discussion.analysis.single-call-tokens:8000}")
+    private int singleCallTokens;
+
+    @Value("${discussion.analysis.batch-tokens:3000}")
+    private int batchTokens;
+
+    // 묶음 하나를 요약한 결과의 최대 글자 수 (프롬프트로 요청하는 값)
+    @Value("${discussion.analysis.summary-chars:800}")
+    private int summaryChars;
+
+    @Value("${discussion.analysis.parallelism:4}")
+    private int parallelism;
+
+    public CommentBatcher newBatcher() {
+        return new CommentBatcher(batchTokens);
+    }
+
+    public boolean fitsSingleCall(int commentTokens) {
+        return commentTokens <= singleCallTokens;
+    }
+
+    // 입장별 댓글 묶음 -> 입장별 요약
+    public Map<VoteType, String> summarize(String title, Map<VoteType, List<String>> batches,
+        Function<String, String> chat) {
+
+        Map<VoteType, List<String>> current = new EnumMap<>(VoteType.class);
+        batches.forEach((voteType, list) -> current.put(voteType, list));
+
+        int round = 0;
+        while (round < MAX_ROUNDS) {
+            List<Task> tasks = new ArrayList<>();
+            for (Map.Entry<VoteType, List<String>> entry : current.entrySet()) {
+                List<String> parts = entry.getValue();
+                if (round == 0 || parts.size() > 1) {
+                    for (String part : parts) {
+                        tasks.add(new Task(entry.getKey(), part, round == 0));
+                    }
+                }
+            }
+            if (tasks.isEmpty()) {
+                break;
+            }
+
+            log.info("토론 댓글 요약 {}단계 : {}건", round + 1, tasks.size());
+            List<String> summaries = run(title, tasks, chat);
+
+            // 입장별로 요약을 모으고, 예산을 넘으면 다음 단계에서 다시 요약할 묶음으로 나눈다.
+            Map<VoteType, List<String>> next = new EnumMap<>(VoteType.class);
+            Map<VoteType, List<String>> collected = new EnumMap<>(VoteType.class);
+            for (int i = 0; i < tasks.size(); i++) {
+                collected.computeIfAbsent(tasks.get(i).voteType, k -> new ArrayList<>()).add(summaries.get(i));
+            }
+            current.forEach((voteType, parts) ->
+                next.put(voteType, collected.containsKey(voteType) ? pack(collected.get(voteType)) : parts));
+            current.clear();
+            current.putAll(next);
+            round++;
+        }
+
+        Map<VoteType, String> result = new EnumMap<>(VoteType.class);
+        // 보통 하나만 남고, MAX_ROUNDS 까지 돌아도 여러 개면 이어 붙인다.
+        current.forEach((voteType, parts) -> result.put(voteType, String.join("\n", parts)));
+        return result;
+    }
+
+    // 요약들을 batch-tokens 이하로 이어 붙인 묶음들
+    private List<String> pack(List<String> summaries) {
+        List<String> packed = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+
+        for (String summary : summaries) {
+            int tokens = TokenEstimator.estimate(summary) + 1;
+            if (currentTokens > 0 && currentTokens + tokens > batchTokens) {
+                packed.add(current.toString());
+                current = new StringBuilder();
+                currentTokens = 0;
+            }
+            if (current.length() > 0) {
+                current.append('\n');
+            }
+            current.append(summary);
+            currentTokens += tokens;
+        }
+        if (current.length() > 0) {
+            packed.add(current.toString());
+        }
+        return packed;
+    }
+
+    // 순서를 지키면서 parallelism 개씩 동시에 요약한다.
+    private List<String> run(String title, List<Task> tasks, Function<String, String> chat) {
+        return Flux.fromIterable(tasks)
+            .flatMapSequential(task -> Mono.fromCallable(() -> chat.apply(prompt(title, task)))
+                .subscribeOn(Schedulers.boundedElastic()), Math.max(1, parallelism))
+            .collectList()
+            .block();
+    }
+
+    private String prompt(String title, Task task) {
+        String stance = task.voteType == VoteType.AGREE ? "agree" : "disagree";
+
+        if (task.comments) {
+            return String.format("""
+                The following JSON array contains %s comments from a book discussion titled "%s".
+                Summarize the distinct arguments they make, in Korean, in at most %d characters.
+                For each argument, mention roughly how many comments make it.
+                Output only the summary text.
+
+                Comments: %s
+                """, stance, title, summaryChars, task.input);
+        }
+
+        return String.format("""
+            The following are partial summaries of the %s comments from a book discussion titled "%s".
+            Merge them into one summary of the distinct arguments, in Korean, in at most %d characters.
+            Keep the rough number of comments behind each argument.
+            Output only the summary text.
+
+            Summaries:
+            %s
+            """, stance, title, summaryChars, task.input);
+    }
+
+    private static class Task {
+
+        private final VoteType voteType;
+        private final String input;
+        private final boolean comments; // 첫 단계(댓글 원문)인지, 요약을 합치는 단계인지
+
+        private Task(VoteType voteType, String input, boolean comments) {
+            this.voteType = voteType;
+            this.input = input;
+            this.comments = comments;
+        }
+    }
+}
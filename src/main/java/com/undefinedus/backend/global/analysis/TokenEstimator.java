@@ -0,0 +1,28 @@
+package com.undefinedus.backend.global.analysis;
+
+// 모델에 보내기 전에 프롬프트 토큰 수를 대략 세는 곳 (토크나이저 없이)
+// 영문/숫자/기호(ASCII)는 4글자에 1토큰, 한글 등 나머지는 1글자에 1토큰으로 센다.
+// 실제 토크나이저보다 조금 넉넉하게(많게) 나오도록 잡은 값이라 예산 안에 들면 실제로도 넘치지 않는다.
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                ascii++;
+            } else if (!Character.isLowSurrogate(c)) {
+                other++;
+            }
+        }
+        return (ascii + 3) / 4 + other;
+    }
+}
@@ -0,0 +1,120 @@
+package com.undefinedus.backend.global.assembler;
+
+import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.domain.entity.Member;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
+import com.undefinedus.backend.repository.CommentLikeRepository;
+import com.undefinedus.backend.repository.DiscussionCommentRepository;
+import com.undefinedus.backend.repository.ReportRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// 댓글 목록을 응답 DTO 로 바꾸는 컴포넌트
+// 댓글마다 신고 여부, 좋아요 여부, 부모 댓글을 따로 조회하면 한 페이지에 (댓글 수 * 3)번 쿼리가 나가므로
+// 페이지의 댓글 id 를 모아서 항목별로 IN 쿼리 한 번씩만 날린다. (댓글 수와 상관없이 최대 3번)
+// 좋아요/싫어요 수는 댓글의 집계 컬럼을 그대로 쓴다.
+// 댓글 작성자는 댓글을 조회할 때 같이 가져와야 한다. (findDiscussionCommentListWithScroll 참고)
+@Component
+@RequiredArgsConstructor
+public class DiscussionCommentPageAssembler {
+
+    private static final String DELETED_MEMBER_NICKNAME = "탈퇴한 회원";
+    private static final String DELETED_MEMBER_HONORIFIC = "탈퇴한 회원입니다";
+    private static final String DEFAULT_PROFILE_IMAGE = "defaultProfileImage.jpg";
+
+    private final DiscussionCommentRepository discussionCommentRepository;
+    private final CommentLikeRepository commentLikeRepository;
+    private final ReportRepository reportRepository;
+
+    // viewer 는 목록을 보는 회원 (isLike, isReport 계산용)
+    public List<DiscussionCommentResponseDTO> assemble(List<DiscussionComment> comments,
+        Member viewer) {
+
+        if (comments.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> commentIds = comments.stream()
+            .map(DiscussionComment::getId)
+            .collect(Collectors.toList());
+
+        Set<Long> parentIds = comments.stream()
+            .map(DiscussionComment::getParentId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+        Set<Long> reportedIds = new HashSet<>();
+        Map<Long, Boolean> viewerLikes = new HashMap<>();
+        if (viewer != null && viewer.getId() != null) {
+            reportedIds.addAll(reportRepository.findReportedCommentIds(viewer.getId(), commentIds));
+            for (Object[] row : commentLikeRepository.findIsLikeByMemberIdAndCommentIds(viewer.getId(),
+                commentIds)) {
+                viewerLikes.put((Long) row[0], (Boolean) row[1]);
+            }
+        }
+
+        // 부모 댓글 id -> 부모 댓글 작성자 닉네임 (삭제된 부모 댓글은 없음)
+        Map<Long, String> parentNicknames = new HashMap<>();
+        if (!parentIds.isEmpty()) {
+            for (Object[] row : discussionCommentRepository.findWriterNicknamesByIds(parentIds)) {
+                boolean isDeleted = (Boolean) row[2];
+                parentNicknames.put((Long) row[0], isDeleted ? DELETED_MEMBER_NICKNAME : (String) row[1]);
+            }
+        }
+
+        List<DiscussionCommentResponseDTO> result = new ArrayList<>(comments.size());
+        for (DiscussionComment comment : comments) {
+            Long parentId = comment.getParentId();
+            boolean hasParent = parentId != null && parentNicknames.containsKey(parentId);
+
+            result.add(toDTO(comment,
+                hasParent ? parentId : null,
+                hasParent ? parentNicknames.get(parentId) : null,
+                viewerLikes.get(comment.getId()),
+                reportedIds.contains(comment.getId())));
+        }
+        return result;
+    }
+
+    // 댓글 하나 (작성, 좋아요 직후 응답 등)
+    public DiscussionCommentResponseDTO assemble(DiscussionComment comment, Member viewer) {
+        return assemble(List.of(comment), viewer).get(0);
+    }
+
+    private DiscussionCommentResponseDTO toDTO(DiscussionComment comment, Long parentId,
+        String parentNickname, Boolean isLike, boolean isReport) {
+
+        Member writer = comment.getMember();
+
+        return DiscussionCommentResponseDTO.builder()
+            .commentId(comment.getId())
+            .discussionId(comment.getDiscussion().getId())
+            .memberId(writer.getId())
+            .profileImage(writer.isDeleted() ? DEFAULT_PROFILE_IMAGE : writer.getProfileImage())
+            .nickname(writer.isDeleted() ? DELETED_MEMBER_NICKNAME : writer.getNickname())
+            .parentNickname(parentNickname)
+            .honorific(writer.isDeleted() ? DELETED_MEMBER_HONORIFIC : writer.getHonorific())
+            .parentId(parentId)
+            .groupId(comment.getGroupId())
+            .groupOrder(comment.getGroupOrder())
+            .totalOrder(comment.getTotalOrder())
+            .isChild(comment.isChild())
+            .isLike(isLike)
+            .voteType(String.valueOf(comment.getVoteType()))
+            .content(comment.getContent())
+            .like(comment.getLikeCount())
+            .dislike(comment.getDislikeCount())
+            .createTime(comment.getCreatedDate())
+            .viewStatus(comment.getViewStatus())
+            .isReport(isReport)
+            .build();
+    }
+}
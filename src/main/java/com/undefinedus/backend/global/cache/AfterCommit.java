@@ -0,0 +1,26 @@
+package com.undefinedus.backend.global.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 캐시 갱신을 DB 커밋 이후로 미루기 위한 도우미
+// 트랜잭션 안에서 호출되면 커밋이 끝난 뒤에 실행하고 (롤백되면 실행하지 않음), 트랜잭션 밖이면 바로 실행한다.
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.undefinedus.backend.global.cache;
+
+import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.domain.enums.ViewStatus;
+import com.undefinedus.backend.repository.DiscussionCommentRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+// 토론별 베스트 댓글(좋아요 많은 원댓글) 상위 몇 개를 메모리에 들고 있는 캐시
+// 베스트 댓글을 볼 때마다 댓글 테이블을 정렬하지 않고, 좋아요/싫어요가 바뀔 때 해당 댓글의 순위만 다시 넣는다.
+// 보여주는 개수(3개)보다 넉넉히(capacity) 들고 있어서, 순위가 내려간 댓글이 빠져도 바로 다시 읽지 않아도 된다.
+// 들고 있는 목록은 항상 "실제 순위의 앞부분" 이 되도록 유지하고, 보여줄 개수보다 줄어들면 DB 에서 다시 읽는다.
+@Component
+@RequiredArgsConstructor
+public class DiscussionBestCommentCache {
+
+    // 좋아요 많은 순, 싫어요 적은 순, 먼저 쓴 순
+    private static final Comparator<Ranked> RANKING_ORDER = Comparator
+        .comparingLong(Ranked::getLikeCount).reversed()
+        .thenComparingLong(Ranked::getDislikeCount)
+        .thenComparing(Ranked::getCreatedDate, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparingLong(Ranked::getCommentId);
+
+    private final DiscussionCommentRepository discussionCommentRepository;
+
+    // 토론 id -> 순위표
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+    // 토론마다 들고 있는 댓글 수
+    @Value("${discussion.best-comment.capacity:10}")
+    private int capacity;
+
+    @Value("${discussion.best-comment.max-size:1000}")
+    private int maxSize;
+
+    // 순위 순으로 최대 count 개의 댓글 id, 들고 있는 게 모자라면 DB 에서 다시 읽는다.
+    public List<Long> getTopIds(Long discussionId, int count) {
+        Board board = boards.get(discussionId);
+        if (board != null) {
+            List<Long> topIds = board.top(count);
+            if (topIds != null) {
+                return topIds;
+            }
+        }
+        return load(discussionId).top(count);
+    }
+
+    // 좋아요/싫어요 수가 바뀐 댓글의 순위를 다시 넣는다. (커밋 이후 반영)
+    public void update(DiscussionComment comment) {
+        Long discussionId = comment.getDiscussion().getId();
+        Ranked ranked = Ranked.of(comment);
+        boolean eligible = isEligible(comment);
+
+        AfterCommit.run(() -> {
+            Board board = boards.get(discussionId);
+            if (board != null) {
+                board.apply(ranked, eligible);
+            }
+        });
+    }
+
+    // 댓글 삭제 시 (커밋 이후 반영)
+    public void remove(Long discussionId, Long commentId) {
+        AfterCommit.run(() -> {
+            Board board = boards.get(discussionId);
+            if (board != null) {
+                board.remove(commentId);
+            }
+        });
+    }
+
+    // 토론이 끝났거나 댓글이 신고로 가려진 경우 등, 다음 조회 때 다시 읽는다. (커밋 이후 반영)
+    public void evict(Long discussionId) {
+        AfterCommit.run(() -> {
+            Board board = boards.remove(discussionId);
+            if (board != null) {
+                board.markStale();
+            }
+        });
+    }
+
+    // 원댓글이고, 가려지지 않았고, 좋아요가 싫어요보다 많아야 베스트 댓글 후보
+    private static boolean isEligible(DiscussionComment comment) {
+        return !comment.isChild()
+            && !comment.isDeleted()
+            && comment.getViewStatus() == ViewStatus.ACTIVE
+            && comment.getLikeCount() > comment.getDislikeCount();
+    }
+
+    // 읽는 도중 바뀐 댓글이 있으면(stale) 이번 요청에만 쓰고 캐시에는 남기지 않는다.
+    private Board load(Long discussionId) {
+        Board board = new Board(capacity);
+        boards.put(discussionId, board);
+        evictIfFull();
+
+        List<Object[]> rows = discussionCommentRepository.findBestCommentCandidates(discussionId,
+            PageRequest.of(0, capacity));
+
+        List<Ranked> candidates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            candidates.add(new Ranked((Long) row[0], (Long) row[1], (Long) row[2],
+                (LocalDateTime) row[3]));
+        }
+
+        if (!board.fill(candidates, rows.size() < capacity)) {
+            boards.remove(discussionId, board);
+        }
+        return board;
+    }
+
+    // 최대 개수를 넘으면 아무거나 하나 지운다.
+    private void evictIfFull() {
+        Iterator<Long> iterator = boards.keySet().iterator();
+        while (boards.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // 토론 하나의 순위표
+    static class Board {
+
+        private final int capacity;
+        private final TreeSet<Ranked> ranking = new TreeSet<>(RANKING_ORDER);
+        private final Map<Long, Ranked> byId = new HashMap<>();
+
+        // 후보 댓글을 전부 들고 있는지 (false 면 들고 있는 것보다 순위가 낮은 후보가 DB 에 더 있을 수 있음)
+        private boolean complete;
+
+        private boolean loaded;
+        private boolean stale;
+
+        Board(int capacity) {
+            this.capacity = Math.max(1, capacity);
+        }
+
+        // DB 에서 읽은 후보로 채운다. 읽는 동안 바뀐 게 있었으면 false
+        synchronized boolean fill(List<Ranked> candidates, boolean complete) {
+            for (Ranked ranked : candidates) {
+                ranking.add(ranked);
+                byId.put(ranked.getCommentId(), ranked);
+            }
+            this.complete = complete;
+            this.loaded = true;
+            return !stale;
+        }
+
+        // 들고 있는 게 count 개보다 적은데 DB 에 더 있을 수 있으면 null (다시 읽어야 함)
+        synchronized List<Long> top(int count) {
+            if (loaded && !stale && ranking.size() < count && !complete) {
+                return null;
+            }
+
+            List<Long> topIds = new ArrayList<>(count);
+            for (Ranked ranked : ranking) {
+                if (topIds.size() >= count) {
+                    break;
+                }
+                topIds.add(ranked.getCommentId());
+            }
+            return topIds;
+        }
+
+        synchronized void apply(Ranked ranked, boolean eligible) {
+            if (!loaded) {
+                stale = true;
+                return;
+            }
+
+            remove(ranked.getCommentId());
+            if (!eligible) {
+                return;
+            }
+
+            // 전부 들고 있지 않은데 마지막 순위보다 낮으면, 안 들고 있는 후보보다 높은지 알 수 없으므로 넣지 않는다.
+            if (!complete && (ranking.isEmpty() || RANKING_ORDER.compare(ranked, ranking.last()) > 0)) {
+                return;
+            }
+
+            ranking.add(ranked);
+            byId.put(ranked.getCommentId(), ranked);
+
+            if (ranking.size() > capacity) {
+                byId.remove(ranking.pollLast().getCommentId());
+                complete = false;
+            }
+        }
+
+        // 빠진 댓글 자리는 비워 두면 된다. (남은 댓글은 여전히 실제 순위의 앞부분)
+        synchronized void remove(Long commentId) {
+            if (!loaded) {
+                stale = true;
+                return;
+            }
+
+            Ranked before = byId.remove(commentId);
+            if (before != null) {
+                ranking.remove(before);
+            }
+        }
+
+        synchronized void markStale() {
+            stale = true;
+        }
+    }
+
+    // 순위표에 들어있는 댓글 하나 (불변)
+    static final class Ranked {
+
+        private final Long commentId;
+        private final long likeCount;
+        private final long dislikeCount;
+        private final LocalDateTime createdDate;
+
+        Ranked(Long commentId, long likeCount, long dislikeCount, LocalDateTime createdDate) {
+            this.commentId = commentId;
+            this.likeCount = likeCount;
+            this.dislikeCount = dislikeCount;
+            this.createdDate = createdDate;
+        }
+
+        static Ranked of(DiscussionComment comment) {
+            return new Ranked(comment.getId(), comment.getLikeCount(), comment.getDislikeCount(),
+                comment.getCreatedDate());
+        }
+
+        Long getCommentId() {
+            return commentId;
+        }
+
+        long getLikeCount() {
+            return likeCount;
+        }
+
+        long getDislikeCount() {
+            return dislikeCount;
+        }
+
+        LocalDateTime getCreatedDate() {
+            return createdDate;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.undefinedus.backend.global.cache;
+
+import com.undefinedus.backend.dto.response.discussion.DiscussionDetailResponseDTO;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 토론 상세 화면 중 보는 사람과 상관없는 부분(토론, 책, 작성자, 집계 값)을 토론 id 별로 들고 있는 캐시
+// 찬반 투표, 댓글, 상태 변경, 신고 처리 시점에 invalidate 되고, 그 외에는 ttl 이 지나면 다시 읽는다.
+// 같은 토론을 동시에 여러 명이 처음 조회해도 DB 조회는 한 번만 하고 나머지는 그 결과를 기다린다.
+@Component
+public class DiscussionDetailCache {
+
+    // 토론 id -> 불러오는 중이거나 불러온 스냅샷
+    private final Map<Long, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+
+    // 스냅샷을 불러올 때마다 1씩 올리는 번호 (조회수 반영 전에 불러온 스냅샷인지 가리는 데 쓴다)
+    private final AtomicLong loadSequence = new AtomicLong();
+
+    @Value("${discussion.detail-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${discussion.detail-cache.max-size:1000}")
+    private int maxSize;
+
+    // 캐시에 있으면 그대로, 없으면 loader 로 불러와서 저장한다.
+    // 반환되는 DTO 는 요청마다 새로 만든 복사본이라 값을 바꿔도 캐시에는 영향이 없다.
+    public DiscussionDetailResponseDTO get(Long discussionId,
+        Function<Long, DiscussionDetailResponseDTO> loader) {
+
+        CompletableFuture<Entry> future = entries.get(discussionId);
+
+        if (future != null && isExpired(future)) {
+            entries.remove(discussionId, future);
+            future = null;
+        }
+
+        if (future == null) {
+            CompletableFuture<Entry> created = new CompletableFuture<>();
+            future = entries.putIfAbsent(discussionId, created);
+
+            // 이 요청이 처음 들어온 경우에만 DB 에서 불러온다.
+            if (future == null) {
+                future = created;
+                evictIfFull();
+                load(discussionId, loader, created);
+            }
+        }
+
+        try {
+            Entry entry = future.join();
+            return entry.snapshot.toBuilder()
+                .views(entry.snapshot.getViews() + entry.flushedViews.get())
+                .build();
+        } catch (CompletionException e) {
+            // 불러오다 난 예외(토론 없음 등)는 원래 예외로 다시 던진다.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    // 커밋 이후에 해당 토론 스냅샷을 버린다.
+    public void invalidate(Long discussionId) {
+        AfterCommit.run(() -> entries.remove(discussionId));
+    }
+
+    // 집계 값을 한꺼번에 다시 계산한 경우 등
+    public void invalidateAll() {
+        AfterCommit.run(entries::clear);
+    }
+
+    // 지금까지 불러온 스냅샷의 마지막 번호, 조회수 UPDATE 를 실행하기 전에 받아 둔다.
+    public long currentLoadSequence() {
+        return loadSequence.get();
+    }
+
+    // DB 에 반영된 조회수를 스냅샷에 더한다. (DiscussionViewCounter flush 시 호출)
+    // flushSequence 는 UPDATE 전에 받아 둔 currentLoadSequence() 값이다.
+    // 그 이전에 불러온 스냅샷만 UPDATE 전의 조회수이므로 더하고,
+    // UPDATE 중이나 뒤에 불러온(불러오는 중인) 스냅샷은 이미 반영됐는지 알 수 없어 버리고 다시 읽게 한다.
+    public void addFlushedViews(Long discussionId, long delta, long flushSequence) {
+        CompletableFuture<Entry> future = entries.get(discussionId);
+        if (future == null || future.isCompletedExceptionally()) {
+            return;
+        }
+        if (future.isDone() && future.join().sequence <= flushSequence) {
+            future.join().flushedViews.addAndGet(delta);
+        } else {
+            entries.remove(discussionId, future);
+        }
+    }
+
+    private void load(Long discussionId, Function<Long, DiscussionDetailResponseDTO> loader,
+        CompletableFuture<Entry> created) {
+        try {
+            DiscussionDetailResponseDTO snapshot = loader.apply(discussionId);
+            created.complete(new Entry(snapshot, loadSequence.incrementAndGet()));
+        } catch (RuntimeException e) {
+            // 실패한 결과는 캐시에 남기지 않는다.
+            entries.remove(discussionId, created);
+            created.completeExceptionally(e);
+        }
+    }
+
+    private boolean isExpired(CompletableFuture<Entry> future) {
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            return false;
+        }
+        return System.currentTimeMillis() - future.join().loadedAt > ttlMs;
+    }
+
+    // 최대 개수를 넘으면 만료된 것부터 지우고, 그래도 넘치면 아무거나 하나 지운다.
+    private void evictIfFull() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        entries.values().removeIf(this::isExpired);
+
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class Entry {
+
+        private final DiscussionDetailResponseDTO snapshot;
+
+        private final long loadedAt = System.currentTimeMillis();
+
+        private final AtomicLong flushedViews = new AtomicLong();
+
+        // 불러온 순서 (loadSequence)
+        private final long sequence;
+
+        private Entry(DiscussionDetailResponseDTO snapshot, long sequence) {
+            this.snapshot = snapshot;
+            this.sequence = sequence;
+        }
+    }
+}
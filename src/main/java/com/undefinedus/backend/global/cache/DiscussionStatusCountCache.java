@@ -0,0 +1,93 @@
+package com.undefinedus.backend.global.cache;
+
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+// 토론 탭(상태)별 전체 개수를 메모리에 들고 있는 캐시
+// 목록을 스크롤할 때마다 COUNT 쿼리를 날리지 않도록 등록, 상태 변경, 삭제 시점에 값을 바로 더하고 뺀다.
+// 혹시 어긋나더라도 일정 시간이 지나면 DB에서 다시 읽어 와서 맞춘다.
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DiscussionStatusCountCache {
+
+    private static final long RELOAD_INTERVAL_MS = 10 * 60 * 1000L; // 10분마다 DB 값으로 보정
+
+    private final DiscussionRepository discussionRepository;
+
+    // 모든 상태를 미리 넣어두고 값만 바꾸기 때문에 EnumMap 자체는 변경되지 않는다.
+    private final Map<DiscussionStatus, AtomicLong> counts = createCounts();
+
+    private volatile long loadedAt = 0L; // 0 이면 아직 한 번도 읽지 않은 상태
+
+    public long getCount(DiscussionStatus status) {
+        if (isExpired()) {
+            reload();
+        }
+        return counts.get(status).get();
+    }
+
+    // 새 토론 등록
+    public void increase(DiscussionStatus status) {
+        AfterCommit.run(() -> add(status, 1));
+    }
+
+    // 토론 삭제 (소프트 딜리트)
+    public void decrease(DiscussionStatus status) {
+        AfterCommit.run(() -> add(status, -1));
+    }
+
+    // 토론 상태 변경 (Quartz 상태 전이, 신고 반려 등)
+    public void move(DiscussionStatus from, DiscussionStatus to) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            add(from, -1);
+            add(to, 1);
+        });
+    }
+
+    public synchronized void reload() {
+        Map<DiscussionStatus, Long> loaded = new EnumMap<>(DiscussionStatus.class);
+
+        List<Object[]> rows = discussionRepository.countGroupByStatus();
+        for (Object[] row : rows) {
+            loaded.put((DiscussionStatus) row[0], ((Number) row[1]).longValue());
+        }
+
+        for (DiscussionStatus status : DiscussionStatus.values()) {
+            counts.get(status).set(loaded.getOrDefault(status, 0L));
+        }
+        loadedAt = System.currentTimeMillis();
+
+        log.info("토론 상태별 개수를 다시 읽었습니다. : {}", loaded);
+    }
+
+    private boolean isExpired() {
+        return System.currentTimeMillis() - loadedAt > RELOAD_INTERVAL_MS;
+    }
+
+    private void add(DiscussionStatus status, long delta) {
+        // 아직 DB에서 읽기 전이면 처음 읽을 때 반영되므로 무시
+        if (loadedAt == 0L || status == null) {
+            return;
+        }
+        counts.get(status).addAndGet(delta);
+    }
+
+    private static Map<DiscussionStatus, AtomicLong> createCounts() {
+        Map<DiscussionStatus, AtomicLong> map = new EnumMap<>(DiscussionStatus.class);
+        for (DiscussionStatus status : DiscussionStatus.values()) {
+            map.put(status, new AtomicLong());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,145 @@
+package com.undefinedus.backend.global.cache;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 토론 상세 조회수를 메모리에 모았다가 일정 주기로 한 번에 DB에 반영하는 카운터
+// 조회할 때마다 UPDATE + SELECT 를 날리면 인기 토론의 같은 row 에 락이 몰리기 때문에
+// 토론 id 별 LongAdder 에 더해두고, flush 때 UPDATE discussion SET views = views + ? 를 batch 로 실행한다.
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DiscussionViewCounter {
+
+    private static final String FLUSH_SQL = "UPDATE discussion SET views = views + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DiscussionDetailCache discussionDetailCache;
+
+    // 아직 DB에 반영하지 않은 조회수 (토론 id -> 증가분)
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // 같은 회원이 짧은 시간에 여러 번 조회한 경우 한 번만 세기 위한 기록 ("회원id:토론id" -> 만료 시각)
+    private final Map<String, Long> recentViews = new ConcurrentHashMap<>();
+
+    // 0 이면 중복 조회 제거를 하지 않는다.
+    @Value("${discussion.views.dedupe-window-ms:0}")
+    private long dedupeWindowMs;
+
+    // 조회 1건 기록, 실제로 카운트 되었으면 true
+    public boolean increase(Long memberId, Long discussionId) {
+        if (isDuplicated(memberId, discussionId)) {
+            return false;
+        }
+        add(discussionId, 1L);
+        return true;
+    }
+
+    // 인기 토론에 조회가 몰려도 줄 서지 않도록 compute(버킷 락) 없이 LongAdder 에 바로 더한다.
+    // flush 가 빈 LongAdder 를 지운 직후에 더했으면 그 값은 맵에서 빠진 LongAdder 에 남으므로,
+    // 더한 뒤 아직 맵에 있는지 확인하고 빠졌으면 꺼내서 새 LongAdder 에 다시 더한다.
+    private void add(Long discussionId, long delta) {
+        while (delta != 0) {
+            LongAdder adder = pending.computeIfAbsent(discussionId, id -> new LongAdder());
+            adder.add(delta);
+            if (pending.get(discussionId) == adder) {
+                return;
+            }
+            // 같은 LongAdder 에 더한 다른 스레드가 먼저 꺼내 갔으면 0 이 되어 끝난다.
+            delta = adder.sumThenReset();
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 조회수
+    public long getPending(Long discussionId) {
+        LongAdder adder = pending.get(discussionId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${discussion.views.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> batchArgs = new ArrayList<>();
+
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                batchArgs.add(new Object[]{delta, entry.getKey()});
+            } else {
+                // 한 주기 동안 조회가 없던 토론은 맵에서 빼서 메모리가 계속 늘지 않게 한다.
+                // 그 사이에 더해진 값이 있으면 남겨 두도록 같은 compute 안에서 다시 확인하고 지운다.
+                // (지운 뒤에 더해진 값은 add 가 다시 넣는다)
+                pending.computeIfPresent(entry.getKey(), (id, adder) -> adder.sum() == 0 ? null : adder);
+            }
+        }
+
+        removeExpiredViews();
+
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        // UPDATE 전에 불러온 상세 캐시 스냅샷에만 증가분을 더하기 위해 먼저 받아 둔다.
+        long flushSequence = discussionDetailCache.currentLoadSequence();
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs);
+
+            // 상세 캐시에 들어있는 조회수도 반영된 만큼 올려준다. (UPDATE 뒤에 다시 불러온 스냅샷은 두 번 더하지 않는다)
+            for (Object[] args : batchArgs) {
+                discussionDetailCache.addFlushedViews((Long) args[1], (Long) args[0], flushSequence);
+            }
+            log.debug("토론 조회수 {}건을 반영했습니다.", batchArgs.size());
+        } catch (Exception e) {
+            // 반영에 실패한 증가분은 다음 flush 때 다시 시도한다.
+            for (Object[] args : batchArgs) {
+                add((Long) args[1], (Long) args[0]);
+            }
+            log.error("토론 조회수 반영 중 오류 발생", e);
+        }
+    }
+
+    // 서버가 내려갈 때 남아있는 조회수를 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean isDuplicated(Long memberId, Long discussionId) {
+        if (dedupeWindowMs <= 0 || memberId == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        String key = memberId + ":" + discussionId;
+        boolean[] duplicated = {false};
+
+        // 만료 전이면 기존 만료 시각을 그대로 두고, 만료되었거나 처음이면 새로 기록
+        recentViews.compute(key, (k, expiresAt) -> {
+            if (expiresAt != null && expiresAt > now) {
+                duplicated[0] = true;
+                return expiresAt;
+            }
+            return now + dedupeWindowMs;
+        });
+
+        return duplicated[0];
+    }
+
+    private void removeExpiredViews() {
+        if (recentViews.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        recentViews.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
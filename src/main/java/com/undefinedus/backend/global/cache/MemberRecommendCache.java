@@ -0,0 +1,137 @@
+package com.undefinedus.backend.global.cache;
+
+import com.undefinedus.backend.dto.response.aladinAPI.AladinApiResponseDTO;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// 회원별 추천 도서 결과 캐시
+// 추천은 회원 서재의 상위 5권(isbn13 + 별점) 으로만 정해지므로, 그 값을 이은 fingerprint 가 같으면 같은 결과를 쓴다.
+// - fingerprint 가 바뀌면 (책 추가/삭제, 별점 변경) 예전 결과는 버리고 새로 불러온다.
+// - ttl 이 지났으면 예전 결과를 바로 돌려주고 뒤에서 다시 불러온다. (max-stale-ms 까지)
+// - 같은 회원의 첫 요청이 동시에 들어와도 외부 API 는 한 번만 부른다.
+@Component
+@Log4j2
+public class MemberRecommendCache {
+
+    // 회원 id -> 결과
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${recommend.cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    // ttl 이 지난 뒤에도 이 시간까지는 예전 결과를 바로 보여준다.
+    @Value("${recommend.cache.max-stale-ms:86400000}")
+    private long maxStaleMs;
+
+    @Value("${recommend.cache.max-size:10000}")
+    private int maxSize;
+
+    // 테스트에서 시간을 바꿀 수 있도록
+    private LongSupplier clock = System::currentTimeMillis;
+
+    public Mono<List<AladinApiResponseDTO>> get(Long memberId, String fingerprint,
+        Supplier<Mono<List<AladinApiResponseDTO>>> loader) {
+
+        long now = clock.getAsLong();
+        Entry entry = entries.compute(memberId, (id, existing) ->
+            existing != null && existing.fingerprint.equals(fingerprint) && !isDead(existing, now)
+                ? existing
+                : new Entry(fingerprint));
+
+        evictIfFull(now);
+
+        synchronized (entry) {
+            if (entry.books != null) {
+                if (now - entry.loadedAt >= ttlMs && entry.loading == null) {
+                    // 예전 결과를 돌려주고, 새 결과는 뒤에서 받아 둔다.
+                    entry.loading = load(entry, loader);
+                    entry.loading.subscribe(books -> { }, e -> log.warn("추천 도서 갱신 실패 : " + memberId, e));
+                }
+                return Mono.just(entry.books);
+            }
+
+            if (entry.loading == null) {
+                entry.loading = load(entry, loader);
+            }
+            return entry.loading;
+        }
+    }
+
+    // 회원 탈퇴 등
+    public void invalidate(Long memberId) {
+        entries.remove(memberId);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // 여러 요청이 같이 기다릴 수 있도록 결과를 공유(cache)하고, 끝나면 loading 을 비운다.
+    private Mono<List<AladinApiResponseDTO>> load(Entry entry,
+        Supplier<Mono<List<AladinApiResponseDTO>>> loader) {
+
+        return Mono.defer(loader)
+            .doOnNext(books -> {
+                // 하나도 못 찾은 결과(시간 초과 등)는 저장하지 않고 다음 요청에서 다시 불러온다.
+                if (books.isEmpty()) {
+                    return;
+                }
+                synchronized (entry) {
+                    entry.books = List.copyOf(books);
+                    entry.loadedAt = clock.getAsLong();
+                }
+            })
+            .doFinally(signal -> {
+                synchronized (entry) {
+                    entry.loading = null;
+                }
+            })
+            .cache();
+    }
+
+    private boolean isDead(Entry entry, long now) {
+        return entry.books != null && now - entry.loadedAt > ttlMs + maxStaleMs;
+    }
+
+    // 최대 개수를 넘으면 오래된 것부터 지운다. (매번 정렬하지 않도록 10% 정도 여유를 두고 지운다)
+    private void evictIfFull(long now) {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        entries.values().removeIf(entry -> isDead(entry, now));
+
+        if (entries.size() > maxSize) {
+            entries.entrySet().stream()
+                .filter(e -> e.getValue().books != null)
+                .sorted(Comparator.comparingLong(e -> e.getValue().loadedAt))
+                .limit(entries.size() - maxSize + maxSize / 10)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+        }
+    }
+
+    private static class Entry {
+
+        private final String fingerprint;
+
+        private volatile List<AladinApiResponseDTO> books; // 불러오기 전에는 null
+
+        private volatile long loadedAt;
+
+        private Mono<List<AladinApiResponseDTO>> loading; // 불러오는 중이면 그 결과
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.undefinedus.backend.global.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.undefinedus.backend.domain.enums.ViewStatus;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentExportDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+// 토론의 댓글 전체를 보여지는 순서(totalOrder)대로 내보내는 컴포넌트
+// 엔티티나 목록으로 한꺼번에 불러오면 댓글 수만큼 메모리를 쓰므로, forward-only 커서로 한 줄씩 읽어서 바로 넘겨준다.
+// (MySQL 은 접속 URL 에 useCursorFetch=true 가 있어야 fetch-size 만큼씩 나눠서 가져온다.)
+// 다운로드(NDJSON)와 AI 분석용 프롬프트 만들기에서 같이 쓴다.
+@Component
+@RequiredArgsConstructor
+public class DiscussionCommentExporter {
+
+    private static final String DELETED_MEMBER_NICKNAME = "탈퇴한 회원";
+
+    private static final String EXPORT_SQL =
+        "SELECT dc.id, dc.member_id, m.nickname, m.is_deleted, dc.parent_id, dc.group_id, "
+            + "dc.group_order, dc.total_order, dc.is_child, dc.vote_type, dc.content, "
+            + "dc.like_count, dc.dislike_count, dc.view_status, dc.created_date "
+            + "FROM discussion_comment dc LEFT JOIN member m ON m.id = dc.member_id "
+            + "WHERE dc.discussion_id = ? AND dc.is_deleted = false "
+            + "ORDER BY dc.total_order ASC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${discussion.comment-export.fetch-size:500}")
+    private int fetchSize;
+
+    // 댓글을 순서대로 하나씩 consumer 에 넘긴다.
+    public void forEach(Long discussionId, Consumer<DiscussionCommentExportDTO> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPORT_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, discussionId);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toDTO(rs)));
+    }
+
+    // 댓글 한 개를 JSON 한 줄로 쓴다. (NDJSON) 신고로 가려진 댓글은 내용을 비운다. 쓴 댓글 수를 반환
+    public long writeNdjson(Long discussionId, OutputStream outputStream) throws IOException {
+        // 줄마다 flush 하지 않고 버퍼가 찰 때만 내보낸다.
+        ObjectWriter writer = objectMapper.writerFor(DiscussionCommentExportDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long[] count = {0};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            forEach(discussionId, comment -> {
+                if (comment.getViewStatus() != ViewStatus.ACTIVE) {
+                    comment.setContent(null);
+                }
+                try {
+                    writer.writeValue(generator, comment);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    private DiscussionCommentExportDTO toDTO(ResultSet rs) throws SQLException {
+        boolean memberDeleted = rs.getBoolean("is_deleted");
+        Timestamp createdDate = rs.getTimestamp("created_date");
+
+        return DiscussionCommentExportDTO.builder()
+            .commentId(rs.getLong("id"))
+            .memberId(rs.getLong("member_id"))
+            .nickname(memberDeleted ? DELETED_MEMBER_NICKNAME : rs.getString("nickname"))
+            .parentId(rs.getObject("parent_id", Long.class))
+            .groupId(rs.getObject("group_id", Long.class))
+            .groupOrder(rs.getObject("group_order", Long.class))
+            .totalOrder(rs.getObject("total_order", Long.class))
+            .isChild(rs.getBoolean("is_child"))
+            .voteType(rs.getString("vote_type"))
+            .content(rs.getString("content"))
+            .like(rs.getLong("like_count"))
+            .dislike(rs.getLong("dislike_count"))
+            .viewStatus(ViewStatus.valueOf(rs.getString("view_status")))
+            .createTime(createdDate == null ? null : createdDate.toLocalDateTime())
+            .build();
+    }
+}
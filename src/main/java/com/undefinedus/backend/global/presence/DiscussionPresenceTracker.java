@@ -0,0 +1,284 @@
+package com.undefinedus.backend.global.presence;
+
+import jakarta.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 진행 중인 토론을 "지금 보고 있는 사람 수" 를 세는 곳
+// 화면을 열어 둔 클라이언트가 주기적으로 heartbeat 를 보내고, ttl 동안 heartbeat 가 없으면 나간 것으로 본다.
+// (토론 id, 회원 id) 마다 하나씩 두고, 만료 시각(tick) 칸에 연결해 두는 timing wheel 로 관리한다.
+// - heartbeat : 지금 칸에서 빼서 새 만료 칸에 넣기 (O(1))
+// - tick      : 시간이 지난 칸에 걸린 것만 꺼내서 지우기 (지워지는 것 하나당 O(1), 전체를 훑지 않는다)
+// - count     : 토론별로 세어 둔 값을 읽기만 한다 (DB 조회 없음)
+// 동시에 많이 들어와도 한 곳에서 막히지 않도록 키를 STRIPE_COUNT 개의 wheel 로 나눠서 각각 잠근다.
+// 서버 한 대 메모리 안의 값이라 서버가 여러 대면 서버마다 따로 센다.
+@Component
+@Log4j2
+public class DiscussionPresenceTracker {
+
+    static final int STRIPE_COUNT = 16;
+
+    @Value("${discussion.presence.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${discussion.presence.tick-ms:1000}")
+    private long tickMs;
+
+    // 전체 (토론, 회원) 개수 상한, 넘으면 새로 들어오는 사람은 세지 않는다 (이미 있는 사람의 heartbeat 는 계속 받는다)
+    @Value("${discussion.presence.max-entries:200000}")
+    private int maxEntries;
+
+    // 회원 한 명이 동시에 들고 있을 수 있는 토론 수 상한, 한 사람이 상한 전체를 채우지 못하게 막는다.
+    @Value("${discussion.presence.max-per-member:5}")
+    private int maxPerMember;
+
+    // 토론 id -> 지금 보고 있는 사람 수 (0 이 되면 지운다)
+    private final Map<Long, Integer> counts = new ConcurrentHashMap<>();
+
+    // 회원 id -> 지금 들고 있는 (토론, 회원) 개수 (0 이 되면 지운다)
+    private final Map<Long, Integer> perMember = new ConcurrentHashMap<>();
+
+    private Wheel[] wheels;
+
+    @PostConstruct
+    public void init() {
+        long ttlTicks = Math.max(1, (ttlMs + tickMs - 1) / tickMs);
+        // 만료 칸이 한 바퀴 안에서 겹치지 않도록 ttl 보다 한 칸 이상 크게 잡는다.
+        int slotCount = (int) ttlTicks + 2;
+        int capacityPerWheel = Math.max(1, maxEntries / STRIPE_COUNT);
+
+        Wheel[] created = new Wheel[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            created[i] = new Wheel(slotCount, ttlTicks, capacityPerWheel);
+        }
+        this.wheels = created;
+    }
+
+    // 보고 있다는 신호, 반영 후 그 토론을 보고 있는 사람 수를 돌려준다.
+    public int heartbeat(Long discussionId, Long memberId) {
+        return heartbeat(discussionId, memberId, System.currentTimeMillis());
+    }
+
+    int heartbeat(Long discussionId, Long memberId, long nowMillis) {
+
+        Key key = new Key(discussionId, memberId);
+        Wheel wheel = wheelOf(key);
+        long nowTick = nowMillis / tickMs;
+
+        synchronized (wheel) {
+            wheel.advanceTo(nowTick);
+
+            Entry entry = wheel.entries.get(key);
+
+            if (entry == null) {
+                if (wheel.entries.size() >= wheel.capacity) {
+                    log.debug("presence 상한 도달로 heartbeat 무시 : discussionId={}, memberId={}",
+                            discussionId, memberId);
+                    return count(discussionId);
+                }
+                if (!reserveMember(memberId)) {
+                    log.debug("회원별 presence 상한 도달로 heartbeat 무시 : discussionId={}, memberId={}",
+                            discussionId, memberId);
+                    return count(discussionId);
+                }
+                entry = new Entry(key);
+                wheel.entries.put(key, entry);
+                counts.merge(discussionId, 1, Integer::sum);
+            } else {
+                entry.unlink();
+            }
+
+            entry.expireTick = Math.max(nowTick, wheel.lastTick) + wheel.ttlTicks;
+            wheel.link(entry);
+        }
+
+        return count(discussionId);
+    }
+
+    // 화면을 닫을 때처럼 바로 빼고 싶을 때
+    public void leave(Long discussionId, Long memberId) {
+
+        Key key = new Key(discussionId, memberId);
+        Wheel wheel = wheelOf(key);
+
+        synchronized (wheel) {
+            Entry entry = wheel.entries.remove(key);
+            if (entry != null) {
+                entry.unlink();
+                decrease(discussionId);
+                releaseMember(memberId);
+            }
+        }
+    }
+
+    public int count(Long discussionId) {
+        return counts.getOrDefault(discussionId, 0);
+    }
+
+    // 지금 들고 있는 (토론, 회원) 개수
+    public int size() {
+        int size = 0;
+        for (Wheel wheel : wheels) {
+            synchronized (wheel) {
+                size += wheel.entries.size();
+            }
+        }
+        return size;
+    }
+
+    // heartbeat 가 뜸한 wheel 도 제때 만료되도록 tick 마다 한 칸씩 돌린다.
+    @Scheduled(fixedRateString = "${discussion.presence.tick-ms:1000}")
+    public void tick() {
+        advance(System.currentTimeMillis());
+    }
+
+    void advance(long nowMillis) {
+        long nowTick = nowMillis / tickMs;
+        for (Wheel wheel : wheels) {
+            synchronized (wheel) {
+                wheel.advanceTo(nowTick);
+            }
+        }
+    }
+
+    private Wheel wheelOf(Key key) {
+        int h = key.hashCode();
+        return wheels[(h ^ (h >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    private void decrease(Long discussionId) {
+        counts.computeIfPresent(discussionId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    // 회원별 개수를 하나 늘린다, 이미 상한이면 늘리지 않고 false
+    // 같은 회원의 키가 여러 wheel 에 흩어져 있으므로 wheel 잠금이 아니라 compute 로 원자적으로 센다.
+    private boolean reserveMember(Long memberId) {
+        boolean[] reserved = {false};
+        perMember.compute(memberId, (id, held) -> {
+            int current = held == null ? 0 : held;
+            if (current >= maxPerMember) {
+                return held;
+            }
+            reserved[0] = true;
+            return current + 1;
+        });
+        return reserved[0];
+    }
+
+    private void releaseMember(Long memberId) {
+        perMember.computeIfPresent(memberId, (id, held) -> held > 1 ? held - 1 : null);
+    }
+
+    private final class Wheel {
+
+        private final Entry[] slots;  // 칸마다 원형 연결 리스트의 머리 (비어 있으면 자기 자신을 가리킨다)
+        private final long ttlTicks;
+        private final int capacity;
+        private final Map<Key, Entry> entries = new HashMap<>();
+        private long lastTick = -1;    // 마지막으로 만료 처리한 tick
+
+        private Wheel(int slotCount, long ttlTicks, int capacity) {
+            this.slots = new Entry[slotCount];
+            for (int i = 0; i < slotCount; i++) {
+                slots[i] = new Entry(null);
+            }
+            this.ttlTicks = ttlTicks;
+            this.capacity = capacity;
+        }
+
+        private void link(Entry entry) {
+            Entry head = slots[(int) (entry.expireTick % slots.length)];
+            entry.prev = head.prev;
+            entry.next = head;
+            head.prev.next = entry;
+            head.prev = entry;
+        }
+
+        // lastTick 다음 칸부터 nowTick 칸까지 걸린 것을 지운다.
+        // 한 바퀴 넘게 밀렸으면 모든 칸을 한 번씩만 본다.
+        private void advanceTo(long nowTick) {
+
+            if (lastTick < 0) {
+                lastTick = nowTick;
+                return;
+            }
+            if (nowTick <= lastTick) {
+                return;
+            }
+
+            long from = Math.max(lastTick + 1, nowTick - slots.length + 1);
+            for (long tick = from; tick <= nowTick; tick++) {
+                expireSlot(tick);
+            }
+            lastTick = nowTick;
+        }
+
+        private void expireSlot(long tick) {
+            Entry head = slots[(int) (tick % slots.length)];
+            Entry entry = head.next;
+
+            while (entry != head) {
+                Entry next = entry.next;
+                if (entry.expireTick <= tick) {
+                    entry.unlink();
+                    entries.remove(entry.key);
+                    decrease(entry.key.discussionId);
+                    releaseMember(entry.key.memberId);
+                }
+                entry = next;
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+        private long expireTick;
+        private Entry prev = this;
+        private Entry next = this;
+
+        private Entry(Key key) {
+            this.key = key;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+    }
+
+    private static final class Key {
+
+        private final Long discussionId;
+        private final Long memberId;
+
+        private Key(Long discussionId, Long memberId) {
+            this.discussionId = discussionId;
+            this.memberId = memberId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return discussionId.equals(other.discussionId) && memberId.equals(other.memberId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(discussionId, memberId);
+        }
+    }
+}
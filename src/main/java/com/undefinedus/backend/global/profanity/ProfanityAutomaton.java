@@ -0,0 +1,265 @@
+package com.undefinedus.backend.global.profanity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 비속어 사전을 한 번 컴파일해 둔 Aho-Corasick 오토마톤 (만든 뒤에는 바뀌지 않으므로 여러 스레드가 같이 써도 된다)
+// 입력 길이만큼 한 번 훑으면 사전의 모든 단어를 찾을 수 있어서, 단어마다 contains 로 찾는 것보다 사전이 클수록 빠르다.
+//
+// 사전 단어와 입력은 같은 방식으로 정규화한다.
+// - 한글 음절은 자모로 나눈다. ("시발" -> ㅅㅣㅂㅏㄹ, "ㅅㅂ" 이나 "시ㅂㅏㄹ" 처럼 자모를 섞어 써도 걸린다)
+// - 공백, 기호는 건너뛴다. ("시.발", "시 발")
+// - 영문은 소문자로 바꾼다.
+// 잘못 걸리는 경우를 줄이기 위해 찾은 구간은 다음 조건을 만족해야 한다.
+// - 글자 경계에서 시작하고 끝난다. ("법사" 의 받침 ㅂ + ㅅ 이 "ㅂㅅ" 으로 걸리지 않게)
+// - 구간 안에 공백이 있으면 앞뒤가 글자로 이어지지 않아야 한다. ("시 발" 은 걸리지만 "한 시 발표" 는 걸리지 않게)
+final class ProfanityAutomaton {
+
+    private static final char[] CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ".toCharArray();
+    private static final char[] JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ".toCharArray();
+    private static final char[] JONGSEONG = " ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ".toCharArray();
+
+    private static final char HANGUL_BEGIN = '가';
+    private static final char HANGUL_END = '힣';
+
+    // 노드별 자식 (keys 는 정렬되어 있고 같은 위치의 next 가 자식 노드 번호)
+    private final char[][] keys;
+    private final int[][] next;
+    private final int[] fail;
+    // 이 노드에서 끝나는 단어 번호 (없으면 -1), 단어의 정규화된 길이
+    private final int[] wordIndex;
+    private final int[] wordLength;
+    // fail 을 따라가다 처음 만나는 단어 노드 (없으면 0)
+    private final int[] dictLink;
+    private final String[] words;
+
+    private ProfanityAutomaton(char[][] keys, int[][] next, int[] fail, int[] wordIndex,
+        int[] wordLength, int[] dictLink, String[] words) {
+        this.keys = keys;
+        this.next = next;
+        this.fail = fail;
+        this.wordIndex = wordIndex;
+        this.wordLength = wordLength;
+        this.dictLink = dictLink;
+        this.words = words;
+    }
+
+    static ProfanityAutomaton compile(Collection<String> dictionary) {
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminalWord = new ArrayList<>();
+        List<Integer> terminalLength = new ArrayList<>();
+        List<String> words = new ArrayList<>();
+
+        children.add(new TreeMap<>());
+        terminalWord.add(-1);
+        terminalLength.add(0);
+
+        for (String word : dictionary) {
+            if (word == null) {
+                continue;
+            }
+            Normalized normalized = normalize(word);
+            if (normalized.length == 0) {
+                continue;
+            }
+
+            int node = 0;
+            for (int i = 0; i < normalized.length; i++) {
+                Integer child = children.get(node).get(normalized.chars[i]);
+                if (child == null) {
+                    child = children.size();
+                    children.add(new TreeMap<>());
+                    terminalWord.add(-1);
+                    terminalLength.add(0);
+                    children.get(node).put(normalized.chars[i], child);
+                }
+                node = child;
+            }
+
+            if (terminalWord.get(node) < 0) {
+                terminalWord.set(node, words.size());
+                terminalLength.set(node, normalized.length);
+                words.add(word.trim());
+            }
+        }
+
+        int size = children.size();
+        char[][] keys = new char[size][];
+        int[][] next = new int[size][];
+        int[] wordIndex = new int[size];
+        int[] wordLength = new int[size];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> map = children.get(node);
+            keys[node] = new char[map.size()];
+            next[node] = new int[map.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> entry : map.entrySet()) {
+                keys[node][i] = entry.getKey();
+                next[node][i] = entry.getValue();
+                i++;
+            }
+            wordIndex[node] = terminalWord.get(node);
+            wordLength[node] = terminalLength.get(node);
+        }
+
+        // 너비 우선으로 fail, dictLink 를 채운다. (부모의 fail 이 먼저 정해져 있어야 함)
+        int[] fail = new int[size];
+        int[] dictLink = new int[size];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : next[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < keys[node].length; i++) {
+                char c = keys[node][i];
+                int child = next[node][i];
+
+                int state = fail[node];
+                int target = childOf(keys, next, state, c);
+                while (target < 0 && state != 0) {
+                    state = fail[state];
+                    target = childOf(keys, next, state, c);
+                }
+                fail[child] = Math.max(target, 0);
+                dictLink[child] = wordIndex[fail[child]] >= 0 ? fail[child] : dictLink[fail[child]];
+
+                queue.add(child);
+            }
+        }
+
+        return new ProfanityAutomaton(keys, next, fail, wordIndex, wordLength, dictLink,
+            words.toArray(new String[0]));
+    }
+
+    int wordCount() {
+        return words.length;
+    }
+
+    boolean containsAny(String text) {
+        return !search(text, true).isEmpty();
+    }
+
+    List<ProfanityMatch> findAll(String text) {
+        return search(text, false);
+    }
+
+    private List<ProfanityMatch> search(String text, boolean firstOnly) {
+        List<ProfanityMatch> matches = new ArrayList<>();
+        if (text == null || text.isEmpty() || words.length == 0) {
+            return matches;
+        }
+
+        Normalized normalized = normalize(text);
+        int state = 0;
+        for (int i = 0; i < normalized.length; i++) {
+            state = step(state, normalized.chars[i]);
+
+            int node = wordIndex[state] >= 0 ? state : dictLink[state];
+            while (node != 0) {
+                int start = i - wordLength[node] + 1;
+                if (isAcceptable(text, normalized, start, i)) {
+                    matches.add(new ProfanityMatch(normalized.origin[start],
+                        normalized.origin[i] + 1, words[wordIndex[node]]));
+                    if (firstOnly) {
+                        return matches;
+                    }
+                }
+                node = dictLink[node];
+            }
+        }
+        return matches;
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int target = childOf(keys, next, state, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail[state];
+        }
+    }
+
+    private static int childOf(char[][] keys, int[][] next, int node, char c) {
+        int index = Arrays.binarySearch(keys[node], c);
+        return index >= 0 ? next[node][index] : -1;
+    }
+
+    private static boolean isAcceptable(String text, Normalized normalized, int start, int end) {
+        if (!normalized.charStart[start] || !normalized.charEnd[end]) {
+            return false;
+        }
+
+        int originStart = normalized.origin[start];
+        int originEnd = normalized.origin[end];
+        for (int i = originStart; i <= originEnd; i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return (originStart == 0 || !isWordChar(text.charAt(originStart - 1)))
+                    && (originEnd == text.length() - 1 || !isWordChar(text.charAt(originEnd + 1)));
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    static Normalized normalize(String text) {
+        Normalized normalized = new Normalized(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= HANGUL_BEGIN && c <= HANGUL_END) {
+                int code = c - HANGUL_BEGIN;
+                int jong = code % 28;
+                normalized.append(CHOSEONG[code / 588], i, true, false);
+                normalized.append(JUNGSEONG[(code % 588) / 28], i, false, jong == 0);
+                if (jong != 0) {
+                    normalized.append(JONGSEONG[jong], i, false, true);
+                }
+            } else if (isWordChar(c)) {
+                normalized.append(Character.toLowerCase(c), i, true, true);
+            }
+        }
+        return normalized;
+    }
+
+    // 정규화된 글자와 각 글자가 나온 원문 위치
+    static final class Normalized {
+
+        private final char[] chars;
+        private final int[] origin;
+        private final boolean[] charStart; // 원문 글자의 첫 자모인지
+        private final boolean[] charEnd;   // 원문 글자의 마지막 자모인지
+        private int length;
+
+        private Normalized(int capacity) {
+            this.chars = new char[capacity];
+            this.origin = new int[capacity];
+            this.charStart = new boolean[capacity];
+            this.charEnd = new boolean[capacity];
+        }
+
+        private void append(char c, int originIndex, boolean start, boolean end) {
+            chars[length] = c;
+            origin[length] = originIndex;
+            charStart[length] = start;
+            charEnd[length] = end;
+            length++;
+        }
+
+        String text() {
+            return new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.undefinedus.backend.global.profanity;
+
+import com.vane.badwordfiltering.BadWordFiltering;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+// 비속어 검사기 (댓글, 토론 제목/내용, 닉네임, 책갈피 등 @NoProfanity 가 붙은 모든 입력에서 같이 씀)
+// 기본 사전은 korean-bad-words 라이브러리의 단어 목록이고, profanity.word-file 을 지정하면 그 파일의 단어를 더한다.
+// 파일은 한 줄에 단어 하나 (# 으로 시작하면 주석, ! 로 시작하면 기본 사전에서 뺄 단어)
+// 파일이 바뀌면 다시 컴파일해서 통째로 바꿔 끼우므로, 검사 중인 요청은 이전 사전으로 끝까지 검사한다.
+@Component
+@Log4j2
+public class ProfanityFilter {
+
+    private static final char MASK = '*';
+
+    // 라이브러리 기본 단어 (처음 한 번만 읽는다)
+    private final Set<String> builtInWords = new LinkedHashSet<>(new BadWordFiltering());
+
+    @Value("${profanity.word-file:}")
+    private String wordFile;
+
+    private volatile ProfanityAutomaton automaton = ProfanityAutomaton.compile(List.of());
+
+    // 마지막으로 읽은 파일의 수정 시각 (파일이 없으면 -1)
+    private volatile long loadedModifiedTime = -1;
+
+    @PostConstruct
+    public void init() {
+        automaton = compile(readWordFile());
+        log.info("비속어 사전을 불러왔습니다. (단어 {}개)", automaton.wordCount());
+    }
+
+    // 단어 파일이 바뀌었으면 다시 불러온다.
+    @Scheduled(fixedDelayString = "${profanity.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (!StringUtils.hasText(wordFile)) {
+            return;
+        }
+
+        try {
+            Path path = Path.of(wordFile);
+            long modifiedTime = Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : -1;
+            if (modifiedTime == loadedModifiedTime) {
+                return;
+            }
+
+            automaton = compile(readWordFile());
+            log.info("비속어 사전을 다시 불러왔습니다. (단어 {}개)", automaton.wordCount());
+        } catch (Exception e) {
+            // 읽다가 실패하면 이전 사전을 그대로 쓴다.
+            log.error("비속어 사전 다시 불러오기 실패 : " + wordFile, e);
+        }
+    }
+
+    // 비속어가 하나라도 있으면 true
+    public boolean contains(String text) {
+        return automaton.containsAny(text);
+    }
+
+    // 비속어가 걸린 원문 구간 전부
+    public List<ProfanityMatch> find(String text) {
+        return automaton.findAll(text);
+    }
+
+    // 비속어 구간의 글자를 * 로 가린다. (공백, 기호는 그대로)
+    public String mask(String text) {
+        List<ProfanityMatch> matches = automaton.findAll(text);
+        if (matches.isEmpty()) {
+            return text;
+        }
+
+        char[] chars = text.toCharArray();
+        for (ProfanityMatch match : matches) {
+            for (int i = match.getStart(); i < match.getEnd(); i++) {
+                if (Character.isLetterOrDigit(chars[i])) {
+                    chars[i] = MASK;
+                }
+            }
+        }
+        return new String(chars);
+    }
+
+    private ProfanityAutomaton compile(List<String> fileLines) {
+        Set<String> words = new LinkedHashSet<>(builtInWords);
+        for (String line : fileLines) {
+            String word = line.trim();
+            if (word.isEmpty() || word.startsWith("#")) {
+                continue;
+            }
+            if (word.startsWith("!")) {
+                words.remove(word.substring(1).trim());
+            } else {
+                words.add(word);
+            }
+        }
+        return ProfanityAutomaton.compile(words);
+    }
+
+    private List<String> readWordFile() {
+        if (!StringUtils.hasText(wordFile)) {
+            return List.of();
+        }
+
+        Path path = Path.of(wordFile);
+        try {
+            if (!Files.exists(path)) {
+                log.warn("비속어 단어 파일이 없어서 기본 사전만 사용합니다. : {}", wordFile);
+                loadedModifiedTime = -1;
+                return List.of();
+            }
+            long modifiedTime = Files.getLastModifiedTime(path).toMillis();
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            loadedModifiedTime = modifiedTime;
+            return lines;
+        } catch (IOException e) {
+            throw new IllegalStateException("비속어 단어 파일을 읽을 수 없습니다. : " + wordFile, e);
+        }
+    }
+}
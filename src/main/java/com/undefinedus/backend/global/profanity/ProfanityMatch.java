@@ -0,0 +1,16 @@
+package com.undefinedus.backend.global.profanity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+// 원문에서 비속어가 걸린 구간 [start, end) 와 걸린 사전 단어
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ProfanityMatch {
+
+    private final int start;
+    private final int end;
+    private final String word;
+}
@@ -0,0 +1,255 @@
+package com.undefinedus.backend.global.queue;
+
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.DiscussionAnalysisTask;
+import com.undefinedus.backend.domain.enums.AnalysisTaskStatus;
+import com.undefinedus.backend.repository.DiscussionAnalysisTaskRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.service.AiService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 토론 AI 분석 작업 큐 (discussion_analysis_task 테이블)
+// Quartz 의 Analyzing 은 작업을 넣기만 하고 바로 끝나고, 분석은 여기 전용 스레드(concurrency 개)가 한다.
+// 분석은 수십 초씩 걸릴 수 있어서 Quartz 스레드에서 하면 같은 시각에 끝나는 토론이 많을 때
+// 스레드가 모자라 COMPLETED 전환이 밀리기 때문이다.
+// - 상태 전환은 "WHERE status = 이전 상태" 조건부 UPDATE 라서 서버가 여러 대여도 한 작업은 한 곳에서만 실행된다.
+// - 실패하면 지수적으로 늘어나는 간격 + jitter 뒤에 다시 시도하고, max-attempts 번 실패하면 DEAD 로 남긴다.
+// - 이미 분석 결과가 저장된 토론은 다시 분석하지 않고 DONE 으로만 바꾼다. (DONE 표시 전에 서버가 죽은 경우 등)
+// - 실행 중인 작업은 heartbeat-interval-ms 마다 locked_at 을 갱신한다. (분석이 오래 걸려도 살아 있음을 알림)
+//   locked_at 이 running-timeout-ms 넘게 갱신되지 않은 RUNNING 작업은 서버가 죽은 것으로 보고 다시 PENDING 으로 돌린다.
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DiscussionAnalysisQueue {
+
+    static final String ENQUEUE_SQL =
+        "INSERT INTO discussion_analysis_task (discussion_id, status, attempts, next_attempt_at, created_at) "
+            + "VALUES (?, 'PENDING', 0, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE discussion_id = discussion_id";
+
+    static final String SELECT_DUE_SQL =
+        "SELECT id, discussion_id, attempts FROM discussion_analysis_task "
+            + "WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY next_attempt_at LIMIT ?";
+
+    static final String CLAIM_SQL =
+        "UPDATE discussion_analysis_task SET status = 'RUNNING', attempts = attempts + 1, locked_at = ? "
+            + "WHERE id = ? AND status = 'PENDING'";
+
+    static final String COMPLETE_SQL =
+        "UPDATE discussion_analysis_task SET status = 'DONE', completed_at = ?, locked_at = NULL, last_error = NULL "
+            + "WHERE id = ? AND status = 'RUNNING'";
+
+    static final String FAIL_SQL =
+        "UPDATE discussion_analysis_task SET status = ?, next_attempt_at = ?, locked_at = NULL, last_error = ? "
+            + "WHERE id = ? AND status = 'RUNNING'";
+
+    static final String RECOVER_SQL =
+        "UPDATE discussion_analysis_task SET status = 'PENDING', next_attempt_at = ?, locked_at = NULL "
+            + "WHERE status = 'RUNNING' AND locked_at < ?";
+
+    static final String HEARTBEAT_SQL =
+        "UPDATE discussion_analysis_task SET locked_at = ? WHERE id = ? AND status = 'RUNNING'";
+
+    // 가져온(claim) 작업을 실행하지 못했을 때 시도 횟수를 되돌리고 바로 다시 실행할 수 있게 한다.
+    static final String RELEASE_SQL =
+        "UPDATE discussion_analysis_task SET status = 'PENDING', attempts = attempts - 1, locked_at = NULL "
+            + "WHERE id = ? AND status = 'RUNNING'";
+
+    static final String REQUEUE_SQL =
+        "UPDATE discussion_analysis_task SET status = 'PENDING', attempts = 0, next_attempt_at = ?, last_error = NULL "
+            + "WHERE discussion_id = ? AND status = 'DEAD'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DiscussionAnalysisTaskRepository discussionAnalysisTaskRepository;
+    private final DiscussionRepository discussionRepository;
+    private final AiService aiService;
+
+    // 동시에 분석하는 최대 개수
+    @Value("${discussion.analysis-queue.concurrency:2}")
+    private int concurrency;
+
+    @Value("${discussion.analysis-queue.max-attempts:5}")
+    private int maxAttempts;
+
+    // 첫 재시도 전 대기, 이후 두 배씩 (max-backoff-ms 까지)
+    @Value("${discussion.analysis-queue.backoff-ms:30000}")
+    private long backoffMs;
+
+    @Value("${discussion.analysis-queue.max-backoff-ms:1800000}")
+    private long maxBackoffMs;
+
+    // heartbeat 가 이 시간 동안 없으면 실행하던 서버가 죽은 것으로 본다. (heartbeat-interval-ms 보다 넉넉히 길게)
+    @Value("${discussion.analysis-queue.running-timeout-ms:900000}")
+    private long runningTimeoutMs;
+
+    private ThreadPoolExecutor workers;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // 이 서버에서 실행 중인 작업 id (heartbeat 대상)
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        workers = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(concurrency), runnable -> {
+                Thread thread = new Thread(runnable, "discussion-analysis-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    // 분석 작업 넣기 (이미 있으면 아무것도 하지 않는다)
+    public void enqueue(Long discussionId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(ENQUEUE_SQL, discussionId, now, now);
+        log.info("{}번 토론 분석 작업을 큐에 넣었습니다.", discussionId);
+    }
+
+    // DEAD 로 남은 작업을 다시 넣는다. 다시 넣었으면 true
+    public boolean requeue(Long discussionId) {
+        return jdbcTemplate.update(REQUEUE_SQL, Timestamp.valueOf(LocalDateTime.now()), discussionId) > 0;
+    }
+
+    public Optional<DiscussionAnalysisTask> find(Long discussionId) {
+        return discussionAnalysisTaskRepository.findByDiscussionId(discussionId);
+    }
+
+    // 비어 있는 스레드 수만큼 실행할 때가 된 작업을 가져와서 실행한다.
+    @Scheduled(fixedDelayString = "${discussion.analysis-queue.poll-interval-ms:1000}")
+    public void poll() {
+        if (workers.isShutdown()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(RECOVER_SQL, Timestamp.valueOf(now),
+            Timestamp.valueOf(now.minusNanos(TimeUnit.MILLISECONDS.toNanos(runningTimeoutMs))));
+
+        int free = concurrency - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+
+        List<long[]> due = jdbcTemplate.query(SELECT_DUE_SQL,
+            (rs, rowNum) -> new long[]{rs.getLong("id"), rs.getLong("discussion_id"), rs.getInt("attempts")},
+            Timestamp.valueOf(now), free);
+
+        for (long[] task : due) {
+            // 다른 서버가 먼저 가져갔으면 0
+            if (jdbcTemplate.update(CLAIM_SQL, Timestamp.valueOf(LocalDateTime.now()), task[0]) == 0) {
+                continue;
+            }
+            int attempt = (int) task[2] + 1;
+            inFlight.incrementAndGet();
+            running.add(task[0]);
+            try {
+                workers.execute(() -> {
+                    try {
+                        process(task[0], task[1], attempt);
+                    } finally {
+                        running.remove(task[0]);
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중이라 스레드 풀이 받지 않으면 자리를 돌려주고 작업도 PENDING 으로 되돌린다.
+                // (그대로 두면 RUNNING 으로 남아 running-timeout-ms 동안 아무도 실행하지 않는다)
+                running.remove(task[0]);
+                inFlight.decrementAndGet();
+                jdbcTemplate.update(RELEASE_SQL, task[0]);
+                log.warn("{}번 토론 분석 작업을 실행하지 못해 다시 대기 상태로 돌렸습니다.", task[1], e);
+            }
+        }
+    }
+
+    // 실행 중인 작업의 locked_at 을 갱신해서, 분석이 running-timeout-ms 보다 오래 걸려도 다른 서버가 가져가지 않게 한다.
+    @Scheduled(fixedDelayString = "${discussion.analysis-queue.heartbeat-interval-ms:60000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = running.stream()
+            .map(taskId -> new Object[]{now, taskId})
+            .toList();
+        jdbcTemplate.batchUpdate(HEARTBEAT_SQL, batchArgs);
+    }
+
+    void process(long taskId, Long discussionId, int attempt) {
+        try {
+            Optional<Discussion> discussion = discussionRepository.findById(discussionId);
+
+            if (discussion.isEmpty()) {
+                // 토론이 지워졌으면 다시 해도 소용 없다.
+                fail(taskId, discussionId, attempt, "토론을 찾을 수 없습니다.", true);
+                return;
+            }
+
+            if (discussion.get().getConclusion() == null) {
+                aiService.discussionInfoToGPT(discussionId);
+            }
+
+            jdbcTemplate.update(COMPLETE_SQL, Timestamp.valueOf(LocalDateTime.now()), taskId);
+            log.info("{}번 토론 분석이 끝났습니다. ({}번째 시도)", discussionId, attempt);
+
+        } catch (Exception e) {
+            log.warn("{}번 토론 분석 실패 ({}번째 시도)", discussionId, attempt, e);
+            fail(taskId, discussionId, attempt, String.valueOf(e.getMessage()), false);
+        }
+    }
+
+    private void fail(long taskId, Long discussionId, int attempt, String error, boolean permanent) {
+        boolean dead = permanent || attempt >= maxAttempts;
+        LocalDateTime nextAttemptAt = dead
+            ? LocalDateTime.now()
+            : LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffDelayMs(attempt)));
+
+        jdbcTemplate.update(FAIL_SQL,
+            dead ? AnalysisTaskStatus.DEAD.name() : AnalysisTaskStatus.PENDING.name(),
+            Timestamp.valueOf(nextAttemptAt),
+            error.length() > 1000 ? error.substring(0, 1000) : error,
+            taskId);
+
+        if (dead) {
+            log.error("{}번 토론 분석을 포기했습니다. ({}번 시도) : {}", discussionId, attempt, error);
+        }
+    }
+
+    // attempt 번째 실패 후 기다릴 시간 : backoff * 2^(attempt-1) 을 max-backoff 까지, 그 절반~전부 사이에서 무작위
+    long backoffDelayMs(int attempt) {
+        long delay = backoffMs << Math.min(Math.max(attempt - 1, 0), 30);
+        if (delay <= 0 || delay > maxBackoffMs) {
+            delay = maxBackoffMs;
+        }
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    // 진행 중인 분석은 끝날 때까지 잠깐 기다린다. (못 끝낸 작업은 heartbeat 가 끊기고 running-timeout-ms 뒤 다시 실행됨)
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,378 @@
+package com.undefinedus.backend.global.queue;
+
+import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.domain.enums.VoteType;
+import com.undefinedus.backend.dto.response.discussion.DiscussionCountDTO;
+import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.exception.discussionComment.DiscussionCommentException;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.sequence.DiscussionCommentGroupSequence;
+import com.undefinedus.backend.repository.DiscussionCommentRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 댓글(원댓글)을 모았다가 한 번에 저장하는 큐 (토론이 시작되자마자 댓글이 몰리는 경우용, 기본은 꺼져 있음)
+// 댓글마다 groupId 발급, INSERT, 댓글 수 UPDATE, 댓글 수 조회를 따로 실행하면 같은 토론 row 에 UPDATE 가 몰리므로
+// 요청 스레드는 검증까지만 하고 큐에 넣은 뒤 기다리고, 저장 스레드 하나가 몇 ms 마다(또는 batch-size 개가 모이면)
+// 모인 댓글을 한 트랜잭션에서 groupId 구간 발급 1번, JDBC batch INSERT 1번, 토론별 댓글 수 UPDATE 1번으로 저장한다.
+// 저장이 끝나면 CompletableFuture 로 각 요청에 결과를 알려준다.
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DiscussionCommentWriteQueue {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO discussion_comment (discussion_id, member_id, group_id, group_order, total_order, "
+            + "is_child, vote_type, content, view_status, is_deleted, like_count, dislike_count, "
+            + "created_by, created_date, last_modified_by, last_modified_date) "
+            + "VALUES (?, ?, ?, 0, ?, false, ?, ?, 'ACTIVE', false, 0, 0, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DiscussionRepository discussionRepository;
+    private final DiscussionCommentRepository discussionCommentRepository;
+    private final DiscussionCommentGroupSequence discussionCommentGroupSequence;
+    private final DiscussionDetailCache discussionDetailCache;
+    private final AuditorAware<String> auditorAware;
+
+    @Value("${discussion.comment-queue.enabled:false}")
+    private boolean enabled;
+
+    // 한 번에 저장하는 최대 댓글 수
+    @Value("${discussion.comment-queue.batch-size:100}")
+    private int batchSize;
+
+    // 첫 댓글이 들어온 뒤 다른 댓글을 기다리는 최대 시간
+    @Value("${discussion.comment-queue.flush-interval-ms:5}")
+    private long flushIntervalMs;
+
+    // 큐가 가득 차면 큐에 넣지 않고 바로 저장한다.
+    @Value("${discussion.comment-queue.capacity:10000}")
+    private int capacity;
+
+    // 요청 스레드가 큐에서 기다리는 최대 시간
+    // 이 시간이 지나도 저장 스레드가 아직 꺼내지 않았으면 큐에서 빼고 실패로 돌려준다. (저장되지 않았으므로 다시 써도 중복되지 않음)
+    // 이미 꺼내서 저장 중이면 결과가 나올 때까지 기다린다.
+    @Value("${discussion.comment-queue.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
+
+    private BlockingQueue<Pending> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 댓글을 큐에 넣고 저장될 때까지 기다린다. 큐가 가득 찼으면 null (호출한 쪽에서 바로 저장)
+    // 실패로 돌려준 댓글은 저장되지 않은 것이 확실한 경우뿐이라, 클라이언트가 다시 써도 중복되지 않는다.
+    public Written write(DiscussionComment comment) {
+        Pending pending = offer(comment);
+        if (pending == null) {
+            return null;
+        }
+
+        try {
+            try {
+                return pending.future.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 아직 큐에 있으면 빼고 실패, 저장 스레드가 이미 꺼냈으면 저장 결과를 기다린다.
+                if (queue.remove(pending)) {
+                    throw new DiscussionCommentException("댓글 저장이 지연되고 있습니다. 잠시 후 다시 시도해 주세요.", e);
+                }
+                return pending.future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new DiscussionCommentException("댓글 저장에 실패했습니다.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DiscussionCommentException("댓글 저장 대기 중 중단되었습니다.", e);
+        }
+    }
+
+    // 댓글(discussion, member, voteType, content 가 채워진 원댓글)을 큐에 넣는다. 큐가 가득 찼으면 null
+    public CompletableFuture<Written> enqueue(DiscussionComment comment) {
+        Pending pending = offer(comment);
+        return pending == null ? null : pending.future;
+    }
+
+    private Pending offer(DiscussionComment comment) {
+        startWriterIfNeeded();
+        if (!running) {
+            return null;
+        }
+
+        // 작성자 기록(created_by)은 요청 스레드의 로그인 정보로 남긴다.
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        Pending pending = new Pending(comment, auditor);
+        return queue.offer(pending) ? pending : null;
+    }
+
+    private synchronized void startWriterIfNeeded() {
+        if (writer != null) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(capacity);
+        running = true;
+        writer = new Thread(this::runWriter, "discussion-comment-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 서버가 내려갈 때 큐에 남아있는 댓글까지 저장하고 끝낸다.
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = writer;
+        }
+        if (current != null) {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 댓글부터 flushIntervalMs 동안, 또는 batchSize 개가 모일 때까지 모은다.
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("댓글 묶음 저장 중 오류 발생", e);
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            } catch (Error e) {
+                // 저장 스레드가 멈추면 기다리는 요청이 끝나지 않으므로 모두 실패시키고, 이후 댓글은 바로 저장하게 한다.
+                running = false;
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+                List<Pending> left = new ArrayList<>();
+                queue.drainTo(left);
+                left.forEach(pending -> pending.future.completeExceptionally(e));
+                throw e;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 묶음 저장이 실패하면 (중간에 토론이 지워진 경우 등) 하나씩 다시 저장해서 문제 있는 댓글만 실패시킨다.
+    private void flush(List<Pending> batch) {
+        List<Written> written;
+        try {
+            written = transactionTemplate.execute(status -> insert(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            log.warn("댓글 {}개 묶음 저장에 실패해서 하나씩 다시 저장합니다.", batch.size(), e);
+            for (Pending pending : batch) {
+                flush(List.of(pending));
+            }
+            return;
+        }
+
+        // 커밋이 끝난 뒤에 알려준다.
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(written.get(i));
+        }
+    }
+
+    private List<Written> insert(List<Pending> batch) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 토론 id 순서로 묶어서, 서버가 여러 대여도 토론 row 를 항상 같은 순서로 잠그게 한다.
+        Map<Long, List<Pending>> byDiscussion = batch.stream()
+            .collect(Collectors.groupingBy(pending -> pending.comment.getDiscussion().getId(),
+                TreeMap::new, Collectors.toList()));
+
+        // 토론별로 groupId 구간을 한 번에 받는다.
+        // (발급기는 토론 row 를 별도 트랜잭션에서 올리므로 아래에서 토론 row 를 잠그기 전에 모두 받아 둔다)
+        for (Map.Entry<Long, List<Pending>> entry : byDiscussion.entrySet()) {
+            List<Pending> items = entry.getValue();
+
+            long groupId = discussionCommentGroupSequence.nextBlock(entry.getKey(), items.size());
+            for (Pending pending : items) {
+                pending.comment.changeGroupId(groupId);
+                pending.comment.changeTotalOrder(groupId * DiscussionComment.GROUP_ORDER_STRIDE);
+                groupId++;
+            }
+        }
+
+        // 바로 저장, 삭제와 같이 토론 row 를 잠근 뒤 댓글 단 회원 수 증가분을 계산한다.
+        // (큐가 가득 차서 바로 저장된 같은 회원의 댓글과 겹쳐 두 번 세지 않도록)
+        Map<Long, long[]> commenterDeltas = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<Pending>> entry : byDiscussion.entrySet()) {
+            Long discussionId = entry.getKey();
+            discussionRepository.findByIdForUpdate(discussionId).orElseThrow(
+                () -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId));
+
+            commenterDeltas.put(discussionId, countNewCommenters(discussionId, entry.getValue()));
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Pending pending = batch.get(i);
+                    DiscussionComment comment = pending.comment;
+                    ps.setLong(1, comment.getDiscussion().getId());
+                    ps.setLong(2, comment.getMember().getId());
+                    ps.setLong(3, comment.getGroupId());
+                    ps.setLong(4, comment.getTotalOrder());
+                    ps.setString(5, comment.getVoteType().name());
+                    ps.setString(6, comment.getContent());
+                    ps.setString(7, pending.auditor);
+                    ps.setObject(8, now);
+                    ps.setString(9, pending.auditor);
+                    ps.setObject(10, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            },
+            keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < batch.size(); i++) {
+            DiscussionComment comment = batch.get(i).comment;
+            comment.changeId(((Number) keys.get(i).values().iterator().next()).longValue());
+            comment.setCreatedDate(now);
+        }
+
+        // 토론별 댓글 수를 한 번에 올리고, 올린 뒤의 댓글 수를 응답에 같이 담는다.
+        Map<Long, Long> commentCounts = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<Pending>> entry : byDiscussion.entrySet()) {
+            Long discussionId = entry.getKey();
+            long[] commenterDelta = commenterDeltas.get(discussionId);
+
+            discussionRepository.addCommentCounts(discussionId, entry.getValue().size(),
+                commenterDelta[0], commenterDelta[1]);
+            discussionDetailCache.invalidate(discussionId);
+
+            commentCounts.put(discussionId, discussionRepository.findCountsById(discussionId)
+                .map(DiscussionCountDTO::getCommentCount)
+                .orElse(0L));
+        }
+
+        List<Written> written = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            Long discussionId = pending.comment.getDiscussion().getId();
+            written.add(new Written(pending.comment, commentCounts.get(discussionId)));
+        }
+        return written;
+    }
+
+    // 이 묶음에서 처음 찬성/반대 댓글을 다는 회원 수 [찬성, 반대] (같은 묶음에 같은 회원이 여러 번 있어도 한 번만 센다)
+    private long[] countNewCommenters(Long discussionId, List<Pending> items) {
+        Set<Long> memberIds = items.stream()
+            .map(pending -> pending.comment.getMember().getId())
+            .collect(Collectors.toSet());
+
+        Set<String> seen = new HashSet<>();
+        for (Object[] row : discussionCommentRepository.findCommenterVoteTypes(discussionId,
+            memberIds)) {
+            seen.add(row[0] + ":" + row[1]);
+        }
+
+        long[] delta = new long[2];
+        for (Pending pending : items) {
+            VoteType voteType = pending.comment.getVoteType();
+            if (seen.add(pending.comment.getMember().getId() + ":" + voteType)) {
+                delta[voteType == VoteType.AGREE ? 0 : 1]++;
+            }
+        }
+        return delta;
+    }
+
+    // 큐에서 기다리는 댓글
+    private static final class Pending {
+
+        private final DiscussionComment comment;
+        private final String auditor;
+        private final CompletableFuture<Written> future = new CompletableFuture<>();
+
+        private Pending(DiscussionComment comment, String auditor) {
+            this.comment = comment;
+            this.auditor = auditor;
+        }
+    }
+
+    // 저장된 댓글 (id, groupId, 작성일이 채워짐)과 저장 직후 토론의 댓글 수
+    public static final class Written {
+
+        private final DiscussionComment comment;
+        private final long commentCount;
+
+        private Written(DiscussionComment comment, long commentCount) {
+            this.comment = comment;
+            this.commentCount = commentCount;
+        }
+
+        public DiscussionComment getComment() {
+            return comment;
+        }
+
+        public long getCommentCount() {
+            return commentCount;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.undefinedus.backend.global.recommend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.undefinedus.backend.dto.response.aladinAPI.AladinApiResponseDTO;
+import com.undefinedus.backend.service.AladinBookService;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+// Perplexity 에게 ISBN13 목록을 추천받고, 알라딘에서 책 정보를 찾아 count 권을 채우는 파이프라인
+// - 전체 시간 제한(deadline-ms) 이 지나면 그때까지 찾은 책만 돌려준다.
+// - Perplexity 호출이 실패하면 지수적으로 늘어나는 간격 + 무작위 흔들기(jitter) 로 다시 시도한다.
+// - 알라딘 조회는 블로킹 호출이라 boundedElastic 에서 lookup-concurrency 개씩 동시에 한다.
+// - 한 번에 count 권이 안 채워지면 Perplexity 에게 다시 묻되 max-rounds 번까지만 묻는다.
+// 요청 스레드를 잡고 기다리지 않도록 Mono 로 돌려준다.
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class PerplexityBookRecommender {
+
+    private static final String API_URL = "https://api.perplexity.ai/chat/completions";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final WebClient webClient;
+    private final AladinBookService aladinBookService;
+
+    @Value("${spring.ai.perplexity.api-key}")
+    private String apiKey;
+
+    @Value("${recommend.deadline-ms:8000}")
+    private long deadlineMs;
+
+    @Value("${recommend.max-rounds:3}")
+    private int maxRounds;
+
+    @Value("${recommend.max-attempts:4}")
+    private int maxAttempts; // Perplexity 호출 한 번당 최대 시도 횟수 (처음 포함)
+
+    @Value("${recommend.backoff-ms:300}")
+    private long backoffMs; // 첫 재시도 전 대기, 이후 두 배씩 (max-backoff-ms 까지)
+
+    @Value("${recommend.max-backoff-ms:2000}")
+    private long maxBackoffMs;
+
+    @Value("${recommend.lookup-concurrency:5}")
+    private int lookupConcurrency;
+
+    public Mono<List<AladinApiResponseDTO>> recommend(Map<String, Object> requestBody, int count) {
+
+        return requestIsbn13List(requestBody)
+            .repeat(Math.max(0, maxRounds - 1))
+            // 추천이 비어 있으면 더 물어봐도 소용 없으므로 그만 묻는다.
+            .takeWhile(isbn13List -> !isbn13List.isEmpty())
+            .concatMapIterable(isbn13List -> isbn13List, 1) // 다음 라운드는 앞 라운드를 다 꺼낸 뒤에 묻는다.
+            .distinct()
+            .flatMap(this::lookupBook, lookupConcurrency)
+            .distinct(AladinApiResponseDTO::getIsbn13)
+            .take(count)
+            // 시간이 다 되면 그때까지 모인 것으로 끝낸다. (진행 중인 호출은 취소)
+            .take(Duration.ofMillis(deadlineMs))
+            .collectList()
+            .doOnNext(books -> {
+                if (books.size() < count) {
+                    log.warn("추천 도서를 {}권만 찾았습니다. (목표 {}권)", books.size(), count);
+                }
+            });
+    }
+
+    // Perplexity 한 번 묻기, 재시도까지 실패하면 빈 목록 (찾은 데까지만 돌려주기 위해)
+    private Mono<List<String>> requestIsbn13List(Map<String, Object> requestBody) {
+
+        return Mono.defer(() -> webClient.post()
+                .uri(API_URL)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(String.class))
+            .retryWhen(Retry.backoff(Math.max(0, maxAttempts - 1), Duration.ofMillis(backoffMs))
+                .maxBackoff(Duration.ofMillis(maxBackoffMs))
+                .jitter(0.5)
+                .filter(this::isRetryable)
+                .doBeforeRetry(signal -> log.warn("Perplexity API 호출 실패 (재시도 {}): {}",
+                    signal.totalRetries() + 1, signal.failure().getMessage())))
+            .map(this::parseIsbn13FromAnswer)
+            .onErrorResume(e -> {
+                log.error("Perplexity API 호출 실패: " + e.getMessage());
+                return Mono.just(Collections.emptyList());
+            });
+    }
+
+    // 요청 자체가 잘못된 4xx 는 다시 보내도 같으므로 재시도하지 않는다. (429 는 제외)
+    private boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return true;
+    }
+
+    private Mono<AladinApiResponseDTO> lookupBook(String isbn13) {
+
+        return Mono.fromCallable(() -> aladinBookService.detailAladinAPI(isbn13))
+            .subscribeOn(Schedulers.boundedElastic())
+            .filter(books -> !books.isEmpty())
+            .map(books -> books.get(0))
+            .onErrorResume(e -> {
+                log.error("알라딘 도서 조회 실패 : " + isbn13, e);
+                return Mono.empty();
+            });
+    }
+
+    List<String> parseIsbn13FromAnswer(String response) {
+        try {
+            JsonNode jsonNode = OBJECT_MAPPER.readTree(response);
+            String content = jsonNode.path("choices").get(0).path("message").path("content")
+                .asText();
+
+            // 쉼표와 공백을 기준으로 ISBN13 분리
+            return Arrays.stream(content.split("[,\\s]+")) // 쉼표나 공백으로 분리
+                .map(String::trim)
+                .filter(isbn -> isbn.matches("\\d+")) // 숫자로만 구성된 값 필터링
+                .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("ISBN13 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+}
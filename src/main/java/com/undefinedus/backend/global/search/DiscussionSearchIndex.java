@@ -0,0 +1,239 @@
+package com.undefinedus.backend.global.search;
+
+import com.undefinedus.backend.global.cache.AfterCommit;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+// 토론 제목, 내용, 책 제목을 검색하기 위한 메모리 bigram 역색인
+// LIKE '%검색어%' 는 인덱스를 못 타서 토론이 늘어날수록 느려지기 때문에
+// 글자 2개씩 잘라서(bigram) 토론 id 목록을 만들어 두고, 검색어의 bigram 이 모두 들어있는 토론만 확인한다.
+// 한글은 띄어쓰기가 제각각이라 공백은 지우고 색인한다. ("해리 포터" 로 "해리포터" 도 검색됨)
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DiscussionSearchIndex {
+
+    // 필드 사이 구분자, 공백을 지운 검색어에는 들어갈 수 없어서 필드를 넘어가는 검색은 되지 않는다.
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final DiscussionRepository discussionRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // bigram(한 글자 검색을 위해 글자 하나도 포함) -> 토론 id
+    private final Map<String, TreeSet<Long>> postings = new HashMap<>();
+
+    // 토론 id -> 정규화한 전체 텍스트 (bigram 으로 거른 후보가 실제로 검색어를 포함하는지 확인용)
+    private final Map<Long, String> documents = new HashMap<>();
+
+    private volatile boolean loaded = false;
+
+    // 검색어가 들어간 토론 id 를 커서(lastId) 다음부터 정렬 순서대로 최대 limit 개 돌려준다.
+    // 가장 짧은 bigram 목록만 따라가기 때문에 전체 토론 수가 아니라 검색 결과 수에 비례해서 걸린다.
+    public List<Long> search(String keyword, long lastId, boolean desc, int limit) {
+        loadIfNeeded();
+
+        String query = normalize(keyword);
+        List<Long> result = new ArrayList<>();
+        if (query.isEmpty()) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<TreeSet<Long>> sets = new ArrayList<>();
+            for (String gram : queryGrams(query)) {
+                TreeSet<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return result;  // 한 bigram 이라도 없으면 결과 없음
+                }
+                sets.add(ids);
+            }
+            sets.sort(Comparator.comparingInt(Set::size));
+
+            NavigableSet<Long> smallest = sets.get(0);
+            NavigableSet<Long> candidates;
+            if (desc) {
+                candidates = lastId > 0 ? smallest.headSet(lastId, false).descendingSet()
+                    : smallest.descendingSet();
+            } else {
+                candidates = lastId > 0 ? smallest.tailSet(lastId, false) : smallest;
+            }
+
+            for (Long id : candidates) {
+                if (containsAll(sets, id) && documents.get(id).contains(query)) {
+                    result.add(id);
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 토론 등록 시 (커밋 이후 반영)
+    public void index(Long discussionId, String title, String content, String bookTitle) {
+        String document = toDocument(title, content, bookTitle);
+
+        AfterCommit.run(() -> write(() -> putDocument(discussionId, document)));
+    }
+
+    // 토론 수정 시 (커밋 이후 반영), 책은 바뀌지 않으므로 기존 책 제목을 그대로 쓴다.
+    public void update(Long discussionId, String title, String content) {
+        AfterCommit.run(() -> write(() -> {
+            String before = documents.get(discussionId);
+            if (before == null) {
+                return;
+            }
+            String bookTitle = before.substring(before.lastIndexOf(FIELD_SEPARATOR) + 1);
+            putDocument(discussionId, toDocument(title, content, bookTitle));
+        }));
+    }
+
+    // 토론 삭제 시 (커밋 이후 반영)
+    public void remove(Long discussionId) {
+        AfterCommit.run(() -> write(() -> removeDocument(discussionId)));
+    }
+
+    // 처음 검색할 때 DB 에서 전체 토론을 읽어 색인을 만든다.
+    // 만드는 동안에는 write lock 을 잡고 있어서, 그 사이 커밋된 등록/수정/삭제는 색인이 끝난 뒤에 반영된다.
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+
+            List<Object[]> rows = discussionRepository.findAllSearchText();
+            for (Object[] row : rows) {
+                putDocument((Long) row[0],
+                    toDocument((String) row[1], (String) row[2], (String) row[3]));
+            }
+            loaded = true;
+
+            log.info("토론 검색 색인을 만들었습니다. 토론 수 : {}, bigram 수 : {}", documents.size(),
+                postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 아직 색인을 만들기 전이면 무시한다. (만들 때 DB 에서 읽으므로)
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                action.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putDocument(Long discussionId, String document) {
+        removeDocument(discussionId);
+        documents.put(discussionId, document);
+        for (String gram : documentGrams(document)) {
+            postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(discussionId);
+        }
+    }
+
+    private void removeDocument(Long discussionId) {
+        String document = documents.remove(discussionId);
+        if (document == null) {
+            return;
+        }
+
+        for (String gram : documentGrams(document)) {
+            TreeSet<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(discussionId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private boolean containsAll(List<TreeSet<Long>> sets, Long id) {
+        for (int i = 1; i < sets.size(); i++) {
+            if (!sets.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toDocument(String title, String content, String bookTitle) {
+        return normalize(title) + FIELD_SEPARATOR + normalize(content) + FIELD_SEPARATOR
+            + normalize(bookTitle);
+    }
+
+    // 소문자로 바꾸고 공백을 모두 지운다.
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder(text.length());
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // 문서는 한 글자 검색도 되도록 글자 하나와 연속된 두 글자를 모두 넣는다. (필드 구분자가 걸친 조각은 제외)
+    static Set<String> documentGrams(String document) {
+        Set<String> grams = new LinkedHashSet<>();
+
+        for (int i = 0; i < document.length(); i++) {
+            char c = document.charAt(i);
+            if (c == FIELD_SEPARATOR) {
+                continue;
+            }
+            grams.add(String.valueOf(c));
+            if (i + 1 < document.length() && document.charAt(i + 1) != FIELD_SEPARATOR) {
+                grams.add(document.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 검색어는 한 글자면 그대로, 두 글자 이상이면 연속된 두 글자씩 자른다.
+    static Set<String> queryGrams(String query) {
+        Set<String> grams = new LinkedHashSet<>();
+
+        if (query.length() == 1) {
+            grams.add(query);
+            return grams;
+        }
+        for (int i = 0; i + 1 < query.length(); i++) {
+            grams.add(query.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,38 @@
+package com.undefinedus.backend.global.sequence;
+
+import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 토론별 댓글 groupId 발급기
+// 댓글 테이블 전체의 MAX(group_id) 를 읽고 +1 하면 테이블이 커질수록 느려지고, 동시에 쓰면 같은 번호를 받을 수 있다.
+// 대신 토론 row 의 last_comment_group_id 를 UPDATE 로 올리고 같은 트랜잭션에서 읽는다.
+// UPDATE 가 잡은 row 락은 커밋까지 유지되므로, 같은 토론에 동시에 쓰는 요청도 서로 다른 번호를 받는다.
+// 번호는 빠지지 않고 1씩 늘어나기 때문에 groupId 순서가 곧 댓글 작성 순서가 된다. (totalOrder 가 groupId 를 기준으로 함)
+@Component
+@RequiredArgsConstructor
+public class DiscussionCommentGroupSequence {
+
+    private final DiscussionRepository discussionRepository;
+
+    // 짧은 트랜잭션으로 따로 커밋해서 댓글 저장이 끝날 때까지 토론 row 락을 들고 있지 않는다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long next(Long discussionId) {
+        return nextBlock(discussionId, 1);
+    }
+
+    // 연속된 count 개의 groupId 를 한 번에 받고 그 첫 번호를 반환한다. (댓글 여러 개를 묶어서 저장할 때)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long nextBlock(Long discussionId, int count) {
+        if (discussionRepository.increaseLastCommentGroupId(discussionId, count) == 0) {
+            throw new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId);
+        }
+        Long last = discussionRepository.findLastCommentGroupId(discussionId)
+            .orElseThrow(() -> new DiscussionNotFoundException(
+                "해당 토론을 찾을 수 없습니다. : " + discussionId));
+        return last - count + 1;
+    }
+}
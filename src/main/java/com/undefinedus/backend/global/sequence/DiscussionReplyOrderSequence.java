@@ -0,0 +1,72 @@
+package com.undefinedus.backend.global.sequence;
+
+import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.exception.discussionComment.DiscussionCommentException;
+import com.undefinedus.backend.exception.discussionComment.DiscussionCommentNotFoundException;
+import com.undefinedus.backend.repository.DiscussionCommentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 답글의 groupOrder, totalOrder 발급기
+// 그룹의 MAX(total_order) 를 읽고 +1 하면 동시에 단 답글이 같은 번호를 받고, 답글 스크롤(totalOrder > lastId)에서 하나가 빠진다.
+// 또 삭제된 답글은 JPQL 조회에서 보이지 않아서, 그룹의 마지막 답글이 삭제된 뒤에 단 답글이 그 번호를 다시 쓰게 된다.
+// 대신 DiscussionCommentGroupSequence 처럼 댓글 row 의 카운터를 UPDATE 로 올리고 같은 트랜잭션에서 읽는다.
+// - totalOrder : 그룹의 원댓글 row 의 last_reply_total_order
+// - groupOrder : 부모 댓글 row 의 last_child_order
+// 카운터가 비어 있으면 (이 기능 전에 달린 답글) 삭제된 댓글까지 포함한 최댓값에서 시작한다.
+// 그룹 구간(GROUP_ORDER_STRIDE)을 다 쓰면 다음 그룹 번호와 겹치지 않도록 더 받지 않는다.
+@Component
+@RequiredArgsConstructor
+public class DiscussionReplyOrderSequence {
+
+    private final DiscussionCommentRepository discussionCommentRepository;
+
+    // 짧은 트랜잭션으로 따로 커밋해서 답글 저장이 끝날 때까지 댓글 row 락을 들고 있지 않는다.
+    // 락은 항상 원댓글 -> 부모 댓글 순서로 잡는다. (부모가 원댓글이면 같은 row)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ReplyOrder next(Long discussionId, Long groupId, Long parentId) {
+        if (discussionCommentRepository.increaseLastReplyTotalOrder(discussionId, groupId,
+            groupId * DiscussionComment.GROUP_ORDER_STRIDE) == 0) {
+            throw new DiscussionCommentNotFoundException(
+                "해당 그룹의 원댓글을 찾을 수 없습니다. : " + discussionId + "/" + groupId);
+        }
+        if (discussionCommentRepository.increaseLastChildOrder(discussionId, parentId) == 0) {
+            throw new DiscussionCommentNotFoundException("해당 댓글을 찾을 수 없습니다. : " + parentId);
+        }
+
+        Long totalOrder = discussionCommentRepository.findLastReplyTotalOrder(discussionId, groupId)
+            .orElseThrow(() -> new DiscussionCommentNotFoundException(
+                "해당 그룹의 원댓글을 찾을 수 없습니다. : " + discussionId + "/" + groupId));
+        Long groupOrder = discussionCommentRepository.findLastChildOrder(parentId)
+            .orElseThrow(() -> new DiscussionCommentNotFoundException("해당 댓글을 찾을 수 없습니다. : " + parentId));
+
+        // 그룹 구간을 넘으면 다음 그룹의 번호와 겹치므로 받지 않는다. (예외로 끝나면 올린 카운터도 되돌려진다)
+        if (totalOrder >= (groupId + 1) * DiscussionComment.GROUP_ORDER_STRIDE) {
+            throw new DiscussionCommentException(
+                "한 댓글에 달 수 있는 답글 수를 넘었습니다. : " + discussionId + "/" + groupId);
+        }
+
+        return new ReplyOrder(groupOrder, totalOrder);
+    }
+
+    public static final class ReplyOrder {
+
+        private final Long groupOrder;
+        private final Long totalOrder;
+
+        public ReplyOrder(Long groupOrder, Long totalOrder) {
+            this.groupOrder = groupOrder;
+            this.totalOrder = totalOrder;
+        }
+
+        public Long getGroupOrder() {
+            return groupOrder;
+        }
+
+        public Long getTotalOrder() {
+            return totalOrder;
+        }
+    }
+}
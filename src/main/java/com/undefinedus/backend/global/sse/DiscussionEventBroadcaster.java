@@ -0,0 +1,377 @@
+package com.undefinedus.backend.global.sse;
+
+import com.undefinedus.backend.domain.enums.DiscussionEventType;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.dto.response.discussion.DiscussionEventDTO;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
+import com.undefinedus.backend.exception.discussion.DiscussionStreamLimitException;
+import com.undefinedus.backend.global.cache.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// 토론별 실시간 스트림(SSE) 구독자를 관리하고, 댓글/좋아요/찬반/상태 변경 이벤트를 밀어주는 컴포넌트
+// 진행 중인 토론 화면이 상세, 댓글 목록을 계속 polling 하지 않고 바뀐 부분만 받아가게 하기 위해 사용한다.
+// 구독자마다 크기가 정해진 버퍼를 두고, 느린 구독자 때문에 버퍼가 차면 가장 오래된 이벤트를 버린다. (다른 구독자나 요청 스레드는 기다리지 않음)
+// 서버 한 대가 들고 있을 수 있는 연결 수도 제한한다.
+// 전송은 sender 스레드 몇 개가 나눠서 하므로, 받지 않는 클라이언트가 스레드를 붙잡지 않도록
+// 한 번 보내는 데 write-timeout-ms 보다 오래 걸리는 구독자는 닫고 그 스레드를 깨운다.
+@Component
+@Log4j2
+public class DiscussionEventBroadcaster {
+
+    private static final int SENDER_THREADS = 4;
+
+    // 토론 id -> 구독자
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    // 이벤트 id (클라이언트가 빠진 이벤트가 있는지 확인할 수 있도록 서버 안에서 계속 증가)
+    private final AtomicLong eventSequence = new AtomicLong();
+
+    // 실제 전송은 요청 스레드가 아닌 별도 스레드에서 한다.
+    private final ExecutorService sender = Executors.newFixedThreadPool(SENDER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "discussion-sse-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${discussion.sse.max-connections:1000}")
+    private int maxConnections;
+
+    @Value("${discussion.sse.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${discussion.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // 이벤트 하나를 보내는 데 허용하는 시간, 넘으면 느린 구독자로 보고 연결을 닫는다.
+    @Value("${discussion.sse.write-timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    // 구독 시작, 연결 수가 가득 찼으면 DiscussionStreamLimitException
+    public SseEmitter subscribe(Long discussionId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new DiscussionStreamLimitException(
+                "실시간 연결 수가 가득 찼습니다. 잠시 후 다시 시도해 주세요. : " + maxConnections);
+        }
+
+        SseEmitter emitter = newEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(discussionId, emitter, bufferSize);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribers.computeIfAbsent(discussionId, id -> ConcurrentHashMap.newKeySet())
+            .add(subscriber);
+
+        // 연결 직후 한 번 보내서 프록시가 응답을 붙잡고 있지 않게 한다.
+        subscriber.sendComment("connected");
+
+        return emitter;
+    }
+
+    // 새 댓글/답글, 보는 사람마다 다른 값(isLike, isReport)은 지우고 보낸다.
+    public void publishComment(Long discussionId, DiscussionCommentResponseDTO comment,
+        long commentCount) {
+        publish(DiscussionEventDTO.builder()
+            .type(DiscussionEventType.COMMENT)
+            .discussionId(discussionId)
+            .comment(comment.toBuilder().isLike(null).isReport(null).build())
+            .commentCount(commentCount)
+            .build());
+    }
+
+    // 댓글 좋아요/싫어요 증감
+    public void publishCommentReaction(Long discussionId, Long commentId, long likeDelta,
+        long dislikeDelta) {
+        if (likeDelta == 0 && dislikeDelta == 0) {
+            return;
+        }
+        publish(DiscussionEventDTO.builder()
+            .type(DiscussionEventType.COMMENT_REACTION)
+            .discussionId(discussionId)
+            .commentId(commentId)
+            .likeDelta(likeDelta)
+            .dislikeDelta(dislikeDelta)
+            .build());
+    }
+
+    // 찬성/반대 참여자 수
+    public void publishVote(Long discussionId, long agreeCount, long disagreeCount) {
+        publish(DiscussionEventDTO.builder()
+            .type(DiscussionEventType.VOTE)
+            .discussionId(discussionId)
+            .agreeCount(agreeCount)
+            .disagreeCount(disagreeCount)
+            .build());
+    }
+
+    // 토론 상태 변경
+    public void publishStatus(Long discussionId, DiscussionStatus status) {
+        publish(DiscussionEventDTO.builder()
+            .type(DiscussionEventType.STATUS)
+            .discussionId(discussionId)
+            .status(status)
+            .build());
+    }
+
+    // 커밋 이후에 구독자 버퍼에 넣는다. (롤백되면 보내지 않음)
+    public void publish(DiscussionEventDTO event) {
+        AfterCommit.run(() -> dispatch(event));
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    // 오래 아무 이벤트도 없는 연결도 주기적으로 한 번씩 보내서, 끊긴 연결을 찾아 정리한다.
+    @Scheduled(fixedDelayString = "${discussion.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.sendComment("ping");
+            }
+        }
+    }
+
+    // 보내는 중에 멈춘 구독자를 찾아서 닫는다. (그 구독자를 보내던 sender 스레드를 다른 구독자가 쓸 수 있게)
+    @Scheduled(fixedDelayString = "${discussion.sse.write-check-ms:1000}")
+    public void closeStalled() {
+        closeStalled(System.currentTimeMillis());
+    }
+
+    void closeStalled(long nowMillis) {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.abortIfStalled(nowMillis);
+            }
+        }
+    }
+
+    SseEmitter newEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.emitter.complete();
+            }
+        }
+        sender.shutdownNow();
+    }
+
+    private void dispatch(DiscussionEventDTO event) {
+        Set<Subscriber> set = subscribers.get(event.getDiscussionId());
+        if (set == null || set.isEmpty()) {
+            return;
+        }
+
+        long eventId = eventSequence.incrementAndGet();
+        for (Subscriber subscriber : set) {
+            subscriber.offer(eventId, event);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        connectionCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.discussionId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+
+        if (subscriber.buffer.dropped() > 0) {
+            log.debug("{}번 토론 구독자가 이벤트 {}건을 받지 못하고 종료되었습니다.", subscriber.discussionId,
+                subscriber.buffer.dropped());
+        }
+    }
+
+    // 구독자 한 명, 버퍼에 쌓인 이벤트는 sender 스레드 하나가 순서대로 보낸다.
+    private final class Subscriber {
+
+        private final Long discussionId;
+        private final SseEmitter emitter;
+        private final EventBuffer buffer;
+
+        // 지금 보내고 있는 스레드가 있는지 (있으면 그 스레드가 버퍼를 끝까지 비운다)
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        // 지금 보내고 있는 스레드와 시작 시각 (보내고 있지 않으면 null, 0)
+        private volatile Thread sendingThread;
+        private volatile long sendStartedAt;
+
+        private Subscriber(Long discussionId, SseEmitter emitter, int bufferSize) {
+            this.discussionId = discussionId;
+            this.emitter = emitter;
+            this.buffer = new EventBuffer(bufferSize);
+        }
+
+        private void offer(long eventId, DiscussionEventDTO event) {
+            if (closed.get()) {
+                return;
+            }
+            buffer.offer(new BufferedEvent(eventId, event));
+            scheduleDrain();
+        }
+
+        // 보내고 있는 중이면 어차피 곧 전송이 일어나므로 건너뛴다.
+        private void sendComment(String comment) {
+            if (closed.get() || !sending.compareAndSet(false, true)) {
+                return;
+            }
+            sender.execute(() -> {
+                try {
+                    send(SseEmitter.event().comment(comment));
+                } catch (IOException | IllegalStateException e) {
+                    fail(e);
+                } finally {
+                    sending.set(false);
+                }
+                scheduleDrain();
+            });
+        }
+
+        private void scheduleDrain() {
+            if (!buffer.isEmpty() && sending.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                BufferedEvent next;
+                while (!closed.get() && (next = buffer.poll()) != null) {
+                    send(SseEmitter.event()
+                        .id(String.valueOf(next.getId()))
+                        .name(next.getEvent().getType().name())
+                        .data(next.getEvent(), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+            } finally {
+                sending.set(false);
+            }
+
+            // 비우는 사이 들어온 이벤트가 있으면 다시 보낸다.
+            if (!closed.get()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingThread = Thread.currentThread();
+            sendStartedAt = System.currentTimeMillis();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedAt = 0;
+                sendingThread = null;
+                // 멈춘 전송을 깨우려고 건 interrupt 가 다음 구독자 전송에 남지 않게 지운다.
+                Thread.interrupted();
+            }
+        }
+
+        // write-timeout 을 넘겨 보내고 있으면 연결을 닫고, 붙잡혀 있던 sender 스레드를 깨운다.
+        private void abortIfStalled(long nowMillis) {
+            Thread thread = sendingThread;
+            long startedAt = sendStartedAt;
+            if (thread == null || startedAt == 0 || nowMillis - startedAt < writeTimeoutMs) {
+                return;
+            }
+
+            fail(new IOException("전송 시간 초과 : " + (nowMillis - startedAt) + "ms"));
+
+            // 그 사이 전송이 끝나서 다른 구독자를 보내고 있는 스레드는 건드리지 않는다.
+            if (sendingThread == thread && sendStartedAt == startedAt) {
+                thread.interrupt();
+            }
+        }
+
+        // 클라이언트가 끊은 경우 등
+        private void fail(Exception e) {
+            log.debug("{}번 토론 구독자에게 보내지 못해 연결을 닫습니다. : {}", discussionId, e.getMessage());
+            unsubscribe(this);
+            emitter.completeWithError(e);
+        }
+    }
+
+    static class BufferedEvent {
+
+        private final long id;
+        private final DiscussionEventDTO event;
+
+        BufferedEvent(long id, DiscussionEventDTO event) {
+            this.id = id;
+            this.event = event;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        DiscussionEventDTO getEvent() {
+            return event;
+        }
+    }
+
+    // 크기가 정해진 버퍼, 가득 차면 가장 오래된 이벤트를 버리고 넣는다.
+    static class EventBuffer {
+
+        private final int capacity;
+        private final ArrayDeque<BufferedEvent> events;
+        private long dropped;
+
+        EventBuffer(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.events = new ArrayDeque<>(this.capacity);
+        }
+
+        synchronized void offer(BufferedEvent event) {
+            if (events.size() >= capacity) {
+                events.pollFirst();
+                dropped++;
+            }
+            events.addLast(event);
+        }
+
+        synchronized BufferedEvent poll() {
+            return events.pollFirst();
+        }
+
+        synchronized boolean isEmpty() {
+            return events.isEmpty();
+        }
+
+        synchronized int size() {
+            return events.size();
+        }
+
+        synchronized long dropped() {
+            return dropped;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.undefinedus.backend.global.timeseries;
+
+import com.undefinedus.backend.domain.entity.DiscussionActivityBucket;
+import com.undefinedus.backend.dto.response.discussion.DiscussionActivityPointDTO;
+import com.undefinedus.backend.global.cache.AfterCommit;
+import com.undefinedus.backend.repository.DiscussionActivityBucketRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 토론별 찬성/반대 증감, 댓글 수, 좋아요 증감을 1분 단위로 모으는 시계열
+// 투표, 댓글, 좋아요 요청에서는 메모리의 링 버퍼에 더하기만 하고 (DB 왕복 없음),
+// 주기적으로 아직 저장하지 않은 증가분만 discussion_activity_bucket 에 더해서 저장한다.
+// 링 버퍼는 최근 buffer-minutes 분만 들고 있고, 그보다 오래된 기록은 테이블에서 읽는다.
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DiscussionActivitySeries {
+
+    static final int AGREE = 0;
+    static final int DISAGREE = 1;
+    static final int COMMENT = 2;
+    static final int LIKE = 3;
+    private static final int METRIC_COUNT = 4;
+
+    private static final DateTimeFormatter SUMMARY_TIME_FORMAT = DateTimeFormatter.ofPattern("MM-dd HH:mm");
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO discussion_activity_bucket "
+            + "(discussion_id, bucket_minute, agree_delta, disagree_delta, comment_count, like_delta) "
+            + "VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE agree_delta = agree_delta + VALUES(agree_delta), "
+            + "disagree_delta = disagree_delta + VALUES(disagree_delta), "
+            + "comment_count = comment_count + VALUES(comment_count), "
+            + "like_delta = like_delta + VALUES(like_delta)";
+
+    private final DiscussionActivityBucketRepository discussionActivityBucketRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 토론 id -> 최근 분 단위 기록
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    // 링 버퍼에 들고 있는 분 수 (flush 가 이 시간 동안 계속 실패하면 오래된 분부터 버린다)
+    @Value("${discussion.activity.buffer-minutes:60}")
+    private int bufferMinutes;
+
+    // 찬성/반대 참여자 수 증감 (커밋 이후 반영)
+    public void recordVote(Long discussionId, long agreeDelta, long disagreeDelta) {
+        record(discussionId, currentMinute(), agreeDelta, disagreeDelta, 0, 0);
+    }
+
+    // 댓글, 답글 1건 (커밋 이후 반영)
+    public void recordComment(Long discussionId) {
+        record(discussionId, currentMinute(), 0, 0, 1, 0);
+    }
+
+    // 댓글 좋아요 수 증감 (커밋 이후 반영)
+    public void recordLike(Long discussionId, long likeDelta) {
+        record(discussionId, currentMinute(), 0, 0, 0, likeDelta);
+    }
+
+    void record(Long discussionId, long minute, long agreeDelta, long disagreeDelta,
+        long commentCount, long likeDelta) {
+        if (agreeDelta == 0 && disagreeDelta == 0 && commentCount == 0 && likeDelta == 0) {
+            return;
+        }
+        int[] deltas = {(int) agreeDelta, (int) disagreeDelta, (int) commentCount, (int) likeDelta};
+
+        // compute 로 넣어서 flush 가 비어 있는 버퍼를 빼는 것과 겹치지 않게 한다.
+        AfterCommit.run(() -> rings.compute(discussionId, (id, ring) -> {
+            Ring target = ring == null ? new Ring(bufferMinutes) : ring;
+            if (!target.add(minute, deltas)) {
+                log.warn("{}번 토론의 저장되지 않은 활동 기록을 버렸습니다. (버퍼 {}분 초과)", discussionId,
+                    bufferMinutes);
+            }
+            return target;
+        }));
+    }
+
+    // 분 단위 기록을 bucketMinutes 분씩 묶어서 시간 순으로 (저장된 기록 + 아직 저장하지 않은 기록)
+    public List<DiscussionActivityPointDTO> getSeries(Long discussionId, int bucketMinutes) {
+        int size = Math.max(bucketMinutes, 1);
+
+        TreeMap<Long, long[]> merged = new TreeMap<>();
+        for (DiscussionActivityBucket bucket : discussionActivityBucketRepository.findByDiscussionIdOrderByBucketMinuteAsc(
+            discussionId)) {
+            addTo(merged, bucket.getBucketMinute() / size * size, new long[]{
+                bucket.getAgreeDelta(), bucket.getDisagreeDelta(), bucket.getCommentCount(),
+                bucket.getLikeDelta()});
+        }
+
+        Ring ring = rings.get(discussionId);
+        if (ring != null) {
+            for (long[] row : ring.pending()) {
+                addTo(merged, row[0] / size * size, Arrays.copyOfRange(row, 1, 1 + METRIC_COUNT));
+            }
+        }
+
+        List<DiscussionActivityPointDTO> result = new ArrayList<>(merged.size());
+        for (Map.Entry<Long, long[]> entry : merged.entrySet()) {
+            long[] values = entry.getValue();
+            result.add(DiscussionActivityPointDTO.builder()
+                .time(toLocalDateTime(entry.getKey()))
+                .bucketMinutes(size)
+                .agreeDelta(values[AGREE])
+                .disagreeDelta(values[DISAGREE])
+                .commentCount(values[COMMENT])
+                .likeDelta(values[LIKE])
+                .build());
+        }
+        return result;
+    }
+
+    // AI 분석 프롬프트용 요약, 첫 기록부터 마지막 기록까지를 최대 maxPoints 구간으로 나눠서 한 줄씩 쓴다.
+    public String summarize(Long discussionId, int maxPoints) {
+        List<DiscussionActivityPointDTO> minutes = getSeries(discussionId, 1);
+        if (minutes.isEmpty() || maxPoints <= 0) {
+            return "none";
+        }
+
+        long first = toMinute(minutes.get(0).getTime());
+        long last = toMinute(minutes.get(minutes.size() - 1).getTime());
+        int bucketMinutes = (int) Math.max(1, (last - first + maxPoints) / maxPoints);
+
+        StringBuilder sb = new StringBuilder();
+        for (DiscussionActivityPointDTO point : getSeries(discussionId, bucketMinutes)) {
+            sb.append('\n')
+                .append(point.getTime().format(SUMMARY_TIME_FORMAT))
+                .append(" (").append(bucketMinutes).append("min)")
+                .append(" agree ").append(signed(point.getAgreeDelta()))
+                .append(", disagree ").append(signed(point.getDisagreeDelta()))
+                .append(", comments ").append(point.getCommentCount())
+                .append(", likes ").append(signed(point.getLikeDelta()));
+        }
+        return sb.toString();
+    }
+
+    // 아직 저장하지 않은 증가분을 테이블에 더한다.
+    @Scheduled(fixedDelayString = "${discussion.activity.flush-interval-ms:60000}")
+    public void flush() {
+        long now = currentMinute();
+
+        Map<Long, List<long[]>> drained = new HashMap<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+
+        for (Long discussionId : rings.keySet()) {
+            // 오래 활동이 없고 모두 저장된 버퍼는 빼서 메모리가 계속 늘지 않게 한다.
+            Ring ring = rings.computeIfPresent(discussionId,
+                (id, current) -> current.isIdle(now) ? null : current);
+            if (ring == null) {
+                continue;
+            }
+
+            List<long[]> rows = ring.pending();
+            if (rows.isEmpty()) {
+                continue;
+            }
+            drained.put(discussionId, rows);
+            for (long[] row : rows) {
+                batchArgs.add(new Object[]{discussionId, row[0], row[1 + AGREE], row[1 + DISAGREE],
+                    row[1 + COMMENT], row[1 + LIKE]});
+            }
+        }
+
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+        } catch (Exception e) {
+            // 저장했다고 표시하지 않았으므로 다음 flush 때 다시 더한다.
+            log.error("토론 활동 기록 저장 중 오류 발생", e);
+            return;
+        }
+
+        for (Map.Entry<Long, List<long[]>> entry : drained.entrySet()) {
+            Ring ring = rings.get(entry.getKey());
+            if (ring != null) {
+                ring.markFlushed(entry.getValue());
+            }
+        }
+        log.debug("토론 활동 기록 {}건을 저장했습니다.", batchArgs.size());
+    }
+
+    // 서버가 내려갈 때 남아있는 기록을 저장
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static void addTo(TreeMap<Long, long[]> merged, long minute, long[] values) {
+        long[] sum = merged.computeIfAbsent(minute, key -> new long[METRIC_COUNT]);
+        for (int i = 0; i < METRIC_COUNT; i++) {
+            sum[i] += values[i];
+        }
+    }
+
+    private static String signed(long value) {
+        return value > 0 ? "+" + value : String.valueOf(value);
+    }
+
+    static long currentMinute() {
+        return System.currentTimeMillis() / 60_000L;
+    }
+
+    private static LocalDateTime toLocalDateTime(long minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(minute * 60), ZoneId.systemDefault());
+    }
+
+    private static long toMinute(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+
+    // 최근 분 단위 기록을 담는 고정 크기 링 버퍼 (분 % 크기 자리에 쓴다)
+    // totals 는 그 분의 전체 증가분, flushed 는 그 중 테이블에 더한 만큼
+    static final class Ring {
+
+        private final long[] minutes;
+        private final int[] totals;
+        private final int[] flushed;
+        private long lastMinute = -1;
+
+        Ring(int size) {
+            this.minutes = new long[size];
+            this.totals = new int[size * METRIC_COUNT];
+            this.flushed = new int[size * METRIC_COUNT];
+            Arrays.fill(minutes, -1);
+        }
+
+        // 자리에 있던 예전 분이 저장되지 않은 채 밀려나면 false
+        synchronized boolean add(long minute, int[] deltas) {
+            int slot = (int) Math.floorMod(minute, (long) minutes.length);
+            boolean kept = true;
+
+            if (minutes[slot] != minute) {
+                if (minutes[slot] > minute) {
+                    // 버퍼보다 오래된 분 (커밋이 아주 늦게 끝난 경우)
+                    return false;
+                }
+                kept = !hasPending(slot);
+                minutes[slot] = minute;
+                Arrays.fill(totals, slot * METRIC_COUNT, (slot + 1) * METRIC_COUNT, 0);
+                Arrays.fill(flushed, slot * METRIC_COUNT, (slot + 1) * METRIC_COUNT, 0);
+            }
+
+            for (int i = 0; i < METRIC_COUNT; i++) {
+                totals[slot * METRIC_COUNT + i] += deltas[i];
+            }
+            lastMinute = Math.max(lastMinute, minute);
+            return kept;
+        }
+
+        // 아직 저장하지 않은 증가분 [분, 찬성, 반대, 댓글, 좋아요]
+        synchronized List<long[]> pending() {
+            List<long[]> rows = new ArrayList<>();
+            for (int slot = 0; slot < minutes.length; slot++) {
+                if (minutes[slot] < 0 || !hasPending(slot)) {
+                    continue;
+                }
+                long[] row = new long[1 + METRIC_COUNT];
+                row[0] = minutes[slot];
+                for (int i = 0; i < METRIC_COUNT; i++) {
+                    row[1 + i] = totals[slot * METRIC_COUNT + i] - flushed[slot * METRIC_COUNT + i];
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        // 저장한 만큼 표시한다. (그 사이 더해진 값은 다음 flush 때 저장됨)
+        synchronized void markFlushed(List<long[]> rows) {
+            for (long[] row : rows) {
+                int slot = (int) Math.floorMod(row[0], (long) minutes.length);
+                if (minutes[slot] != row[0]) {
+                    continue;
+                }
+                for (int i = 0; i < METRIC_COUNT; i++) {
+                    flushed[slot * METRIC_COUNT + i] += (int) row[1 + i];
+                }
+            }
+        }
+
+        // 버퍼 크기만큼 새 기록이 없고 모두 저장되었으면 true
+        synchronized boolean isIdle(long now) {
+            if (now - lastMinute < minutes.length) {
+                return false;
+            }
+            for (int slot = 0; slot < minutes.length; slot++) {
+                if (hasPending(slot)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean hasPending(int slot) {
+            for (int i = slot * METRIC_COUNT; i < (slot + 1) * METRIC_COUNT; i++) {
+                if (totals[i] != flushed[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.undefinedus.backend.global.trending;
+
+import com.undefinedus.backend.domain.entity.DiscussionTrendingScore;
+import com.undefinedus.backend.domain.enums.TrendingActivity;
+import com.undefinedus.backend.global.cache.AfterCommit;
+import com.undefinedus.backend.repository.DiscussionTrendingScoreRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 인기 토론 순위를 메모리에 들고 있는 랭커
+// 조회, 댓글, 찬반 참여, 좋아요가 생길 때마다 해당 토론 점수만 더하고, 테이블을 다시 훑어서 계산하지 않는다.
+// 점수는 활동마다 가중치 * exp(-λ * 지난 시간) 을 더한 값(반감기 half-life)인데,
+// 모든 점수를 매번 줄이는 대신 "가중치 * exp(λ * 활동 시각)" 을 더해서 log 로 들고 있는다. (forward decay)
+// 같은 시각에서 비교하면 순서가 똑같기 때문에, 한 번 더한 점수는 다시 바꿀 필요가 없고 서버를 다시 띄워도 그대로 쓸 수 있다.
+// 또 점수가 줄어들지 않아서 (점수, id) 커서 뒤의 항목만 주면 다음 페이지에 이미 본 토론이 다시 나오지 않는다.
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DiscussionTrendingRanker {
+
+    // 점수 계산 기준 시각 (2024-01-01T00:00:00Z), log 값이 너무 커지지 않게 빼서 쓴다.
+    private static final long EPOCH_SECONDS = 1704067200L;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO discussion_trending_score (discussion_id, log_score) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE log_score = VALUES(log_score)";
+
+    private static final String DELETE_SQL =
+        "DELETE FROM discussion_trending_score WHERE discussion_id = ?";
+
+    // 점수 높은 순, 같으면 id 큰 순
+    private static final Comparator<Ranked> RANKING_ORDER = Comparator
+        .comparingDouble(Ranked::getLogScore).reversed()
+        .thenComparing(Ranked::getDiscussionId, Comparator.reverseOrder());
+
+    private final DiscussionTrendingScoreRepository discussionTrendingScoreRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 토론 id -> 현재 점수
+    private final Map<Long, Ranked> scores = new HashMap<>();
+
+    // 점수 순으로 정렬된 토론
+    private final TreeSet<Ranked> ranking = new TreeSet<>(RANKING_ORDER);
+
+    // 마지막 스냅샷 이후 점수가 바뀐 토론, 빠진 토론
+    private final Set<Long> dirty = new HashSet<>();
+    private final Set<Long> removed = new HashSet<>();
+
+    private volatile boolean loaded = false;
+
+    @Value("${discussion.trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    // 들고 있는 최대 토론 수, 넘치면 점수가 가장 낮은 토론부터 뺀다.
+    @Value("${discussion.trending.max-size:10000}")
+    private int maxSize;
+
+    // 활동 1건 기록 (커밋 이후 반영)
+    public void record(Long discussionId, TrendingActivity activity) {
+        record(discussionId, activity, System.currentTimeMillis());
+    }
+
+    void record(Long discussionId, TrendingActivity activity, long occurredAtMillis) {
+        double logDelta = Math.log(activity.getWeight()) + lambda() * elapsedSeconds(occurredAtMillis);
+
+        AfterCommit.run(() -> write(() -> add(discussionId, logDelta)));
+    }
+
+    // 토론 삭제 시 (커밋 이후 반영)
+    public void remove(Long discussionId) {
+        AfterCommit.run(() -> write(() -> {
+            Ranked before = scores.remove(discussionId);
+            if (before != null) {
+                ranking.remove(before);
+                dirty.remove(discussionId);
+                removed.add(discussionId);
+            }
+        }));
+    }
+
+    // 커서 다음부터 순위 순으로 최대 limit 개, 커서가 없으면 1위부터
+    public List<Ranked> top(String cursor, int limit) {
+        loadIfNeeded();
+
+        Ranked after = Ranked.fromCursor(cursor);
+        List<Ranked> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            NavigableSet<Ranked> candidates = after == null ? ranking : ranking.tailSet(after, false);
+            for (Ranked ranked : candidates) {
+                result.add(ranked);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 바뀐 점수만 DB 에 저장한다.
+    @Scheduled(fixedDelayString = "${discussion.trending.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (!loaded) {
+            return;
+        }
+
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+
+        lock.writeLock().lock();
+        try {
+            for (Long discussionId : dirty) {
+                upserts.add(new Object[]{discussionId, scores.get(discussionId).getLogScore()});
+            }
+            for (Long discussionId : removed) {
+                deletes.add(new Object[]{discussionId});
+            }
+            dirty.clear();
+            removed.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (upserts.isEmpty() && deletes.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (!upserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+            }
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+            }
+            log.debug("인기 토론 점수 {}건 저장, {}건 삭제", upserts.size(), deletes.size());
+        } catch (Exception e) {
+            // 실패한 것은 다음 스냅샷 때 다시 저장한다. (그 사이 바뀐 점수가 있으면 최신 값으로 저장됨)
+            write(() -> {
+                upserts.forEach(args -> {
+                    if (scores.containsKey((Long) args[0])) {
+                        dirty.add((Long) args[0]);
+                    }
+                });
+                deletes.forEach(args -> {
+                    if (!scores.containsKey((Long) args[0])) {
+                        removed.add((Long) args[0]);
+                    }
+                });
+            });
+            log.error("인기 토론 점수 저장 중 오류 발생", e);
+        }
+    }
+
+    // 서버가 내려갈 때 남아있는 점수를 저장
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    // 처음 사용할 때(조회, 활동 기록) 마지막 스냅샷을 읽는다.
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+
+            List<DiscussionTrendingScore> saved = discussionTrendingScoreRepository.findAll();
+            for (DiscussionTrendingScore score : saved) {
+                put(new Ranked(score.getDiscussionId(), score.getLogScore()));
+            }
+            evictIfFull();
+            loaded = true;
+
+            log.info("인기 토론 점수를 불러왔습니다. 토론 수 : {}", scores.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        loadIfNeeded();
+
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Long discussionId, double logDelta) {
+        Ranked before = scores.get(discussionId);
+        double logScore = before == null ? logDelta : logAddExp(before.getLogScore(), logDelta);
+
+        if (before != null) {
+            ranking.remove(before);
+        }
+        put(new Ranked(discussionId, logScore));
+        dirty.add(discussionId);
+        removed.remove(discussionId);
+
+        evictIfFull();
+    }
+
+    private void put(Ranked ranked) {
+        scores.put(ranked.getDiscussionId(), ranked);
+        ranking.add(ranked);
+    }
+
+    private void evictIfFull() {
+        while (ranking.size() > maxSize) {
+            Ranked lowest = ranking.pollLast();
+            scores.remove(lowest.getDiscussionId());
+            dirty.remove(lowest.getDiscussionId());
+            removed.add(lowest.getDiscussionId());
+        }
+    }
+
+    private double lambda() {
+        return Math.log(2) / (halfLifeHours * 3600);
+    }
+
+    private static double elapsedSeconds(long epochMillis) {
+        return epochMillis / 1000.0 - EPOCH_SECONDS;
+    }
+
+    // log(exp(a) + exp(b)) 를 넘치지 않게 계산
+    static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    // 순위에 들어있는 토론 하나 (불변), 커서 문자열로 바꿔서 다음 페이지 요청에 쓴다.
+    public static final class Ranked {
+
+        private static final char CURSOR_SEPARATOR = '_';
+
+        private final Long discussionId;
+        private final double logScore;
+
+        Ranked(Long discussionId, double logScore) {
+            this.discussionId = discussionId;
+            this.logScore = logScore;
+        }
+
+        public Long getDiscussionId() {
+            return discussionId;
+        }
+
+        public double getLogScore() {
+            return logScore;
+        }
+
+        public String toCursor() {
+            return Double.toString(logScore) + CURSOR_SEPARATOR + discussionId;
+        }
+
+        // 잘못된 커서는 처음부터 조회한다.
+        static Ranked fromCursor(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+
+            int index = cursor.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                return new Ranked(Long.parseLong(cursor.substring(index + 1)),
+                    Double.parseDouble(cursor.substring(0, index)));
+            } catch (RuntimeException e) {
+                log.warn("잘못된 인기 토론 커서입니다. : {}", cursor);
+                return null;
+            }
+        }
+    }
+}
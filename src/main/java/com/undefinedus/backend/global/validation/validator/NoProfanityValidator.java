@@ -1,15 +1,17 @@
 package com.undefinedus.backend.global.validation.validator;
 
+import com.undefinedus.backend.global.profanity.ProfanityFilter;
 import com.undefinedus.backend.global.validation.annotation.NoProfanity;
-import com.vane.badwordfiltering.BadWordFiltering;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component  // 스프링 빈으로 등록
+@RequiredArgsConstructor
 public class NoProfanityValidator implements ConstraintValidator<NoProfanity, String> {
-    // korean-bad-words 라이브러리의 핵심 클래스
-    private final BadWordFiltering badWords = new BadWordFiltering();
+    // 사전을 한 번 컴파일해 두고 모든 검사에서 같이 쓰는 비속어 검사기
+    private final ProfanityFilter profanityFilter;
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
@@ -20,7 +22,6 @@ public class NoProfanityValidator implements ConstraintValidator<NoProfanity, St
         }
 
         // 비속어가 포함되어 있으면 false, 아니면 true 반환
-        return !badWords.check(value);
+        return !profanityFilter.contains(value);
     }
 }
-
@@ -3,12 +3,50 @@ package com.undefinedus.backend.repository;
 import com.undefinedus.backend.domain.entity.CommentLike;
 import com.undefinedus.backend.domain.entity.DiscussionComment;
 import com.undefinedus.backend.domain.entity.Member;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface CommentLikeRepository extends JpaRepository<CommentLike, Long> {
 
     Optional<CommentLike> findByCommentAndMember(DiscussionComment comment, Member member);
     List<CommentLike> findByComment(DiscussionComment comment);
+
+    // 회원이 댓글 여러 개에 누른 좋아요/싫어요를 한 번에 가져온다. [댓글 id, isLike]
+    @Query("SELECT cl.comment.id, cl.isLike FROM CommentLike cl "
+        + "WHERE cl.member.id = :memberId AND cl.comment.id IN :commentIds")
+    List<Object[]> findIsLikeByMemberIdAndCommentIds(@Param("memberId") Long memberId,
+        @Param("commentIds") Collection<Long> commentIds);
+
+    // === 좋아요/싫어요 누르기 === //
+    // 조회 후 삭제, 저장하지 않고 조건부 쿼리 한 번으로 바꿔서 같은 회원이 동시에 눌러도 중복되지 않게 한다.
+
+    // 반대로 눌러 둔 상태면 바꾼다. (바뀌면 1)
+    @Modifying
+    @Transactional
+    @Query("UPDATE CommentLike cl SET cl.isLike = :isLike "
+        + "WHERE cl.comment.id = :commentId AND cl.member.id = :memberId AND cl.isLike <> :isLike")
+    int switchReaction(@Param("commentId") Long commentId, @Param("memberId") Long memberId,
+        @Param("isLike") boolean isLike);
+
+    // 같은 걸 눌러 둔 상태면 취소한다. (취소되면 1)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CommentLike cl "
+        + "WHERE cl.comment.id = :commentId AND cl.member.id = :memberId AND cl.isLike = :isLike")
+    int cancelReaction(@Param("commentId") Long commentId, @Param("memberId") Long memberId,
+        @Param("isLike") boolean isLike);
+
+    // 누른 적 없으면 추가한다. uk_comment_like 에 걸리면 무시 (추가되면 1)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO comment_like (comment_id, member_id, is_like) "
+        + "VALUES (:commentId, :memberId, :isLike)", nativeQuery = true)
+    int insertReactionIfAbsent(@Param("commentId") Long commentId, @Param("memberId") Long memberId,
+        @Param("isLike") boolean isLike);
 }
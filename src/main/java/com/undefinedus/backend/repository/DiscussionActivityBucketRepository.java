@@ -0,0 +1,10 @@
+package com.undefinedus.backend.repository;
+
+import com.undefinedus.backend.domain.entity.DiscussionActivityBucket;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DiscussionActivityBucketRepository extends JpaRepository<DiscussionActivityBucket, Long> {
+
+    List<DiscussionActivityBucket> findByDiscussionIdOrderByBucketMinuteAsc(Long discussionId);
+}
@@ -0,0 +1,14 @@
+package com.undefinedus.backend.repository;
+
+import com.undefinedus.backend.domain.entity.DiscussionAnalysisTask;
+import com.undefinedus.backend.domain.enums.AnalysisTaskStatus;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DiscussionAnalysisTaskRepository extends JpaRepository<DiscussionAnalysisTask, Long> {
+
+    Optional<DiscussionAnalysisTask> findByDiscussionId(Long discussionId);
+
+    List<DiscussionAnalysisTask> findByStatusOrderByIdAsc(AnalysisTaskStatus status);
+}
@@ -4,10 +4,14 @@ import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.entity.DiscussionComment;
 import com.undefinedus.backend.domain.enums.VoteType;
 import com.undefinedus.backend.repository.queryDSL.DiscussionCommentsRepositoryCustom;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,39 +20,83 @@ import org.springframework.transaction.annotation.Transactional;
 public interface DiscussionCommentRepository extends JpaRepository<DiscussionComment, Long>,
     DiscussionCommentsRepositoryCustom {
 
+    // 좋아요/싫어요 토글 전에 댓글 행을 잠그기 위한 조회 (같은 댓글의 토글을 차례로 처리)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT dc FROM DiscussionComment dc WHERE dc.id = :commentId")
+    Optional<DiscussionComment> findByIdForUpdate(@Param("commentId") Long commentId);
+
+    // 그룹의 답글 totalOrder 카운터를 1 올린다. (원댓글 row 에 저장, 처음이면 삭제된 댓글까지 포함한 그룹의 최댓값에서 시작)
+    // UPDATE 가 잡은 원댓글 row 락은 커밋까지 유지되므로 같은 그룹에 동시에 답글을 달아도 서로 다른 번호를 받는다.
+    // (MySQL 은 UPDATE 하는 테이블을 서브쿼리에서 바로 읽을 수 없어서 파생 테이블로 한 번 감싼다)
+    @Modifying
+    @Query(nativeQuery = true,
+        value = "UPDATE discussion_comment SET last_reply_total_order = COALESCE(last_reply_total_order, "
+            + "(SELECT t.max_order FROM (SELECT GREATEST(COALESCE(MAX(c.total_order), 0), :groupStart) AS max_order "
+            + "FROM discussion_comment c WHERE c.discussion_id = :discussionId AND c.group_id = :groupId) t)) + 1 "
+            + "WHERE discussion_id = :discussionId AND group_id = :groupId AND is_child = false")
+    int increaseLastReplyTotalOrder(@Param("discussionId") Long discussionId,
+        @Param("groupId") Long groupId, @Param("groupStart") long groupStart);
+
+    @Query(nativeQuery = true,
+        value = "SELECT MAX(last_reply_total_order) FROM discussion_comment "
+            + "WHERE discussion_id = :discussionId AND group_id = :groupId AND is_child = false")
+    Optional<Long> findLastReplyTotalOrder(@Param("discussionId") Long discussionId,
+        @Param("groupId") Long groupId);
+
+    // 부모 댓글의 답글 groupOrder 카운터를 1 올린다. (처음이면 삭제된 답글까지 포함한 최댓값에서 시작)
+    @Modifying
+    @Query(nativeQuery = true,
+        value = "UPDATE discussion_comment SET last_child_order = COALESCE(last_child_order, "
+            + "(SELECT t.max_order FROM (SELECT COALESCE(MAX(c.group_order), 0) AS max_order "
+            + "FROM discussion_comment c WHERE c.discussion_id = :discussionId AND c.parent_id = :parentId) t)) + 1 "
+            + "WHERE id = :parentId AND discussion_id = :discussionId")
+    int increaseLastChildOrder(@Param("discussionId") Long discussionId,
+        @Param("parentId") Long parentId);
+
     @Query(nativeQuery = true,
-        value = "SELECT dc.group_order FROM discussion_comment dc " +
-            "WHERE dc.discussion_id = :discussionId " +
-            "AND dc.parent_id = :discussionCommentId " +
-            "ORDER BY dc.group_order DESC " +
-            "LIMIT 1")
-    Optional<Long> findTopOrder(@Param("discussionId") Long discussionId,
-        @Param("discussionCommentId") Long discussionCommentId);
+        value = "SELECT last_child_order FROM discussion_comment WHERE id = :parentId")
+    Optional<Long> findLastChildOrder(@Param("parentId") Long parentId);
 
-    @Query("SELECT COALESCE(MAX(dc.groupId), 0) FROM DiscussionComment dc")
-    Long findMaxGroupId();
+    // 예전 방식(전체 순번)으로 저장된 댓글이 남아 있는 [토론 id, groupId] 를 (토론 id, groupId) 다음부터 limit 개 (삭제된 댓글 포함)
+    @Query(nativeQuery = true,
+        value = "SELECT DISTINCT discussion_id, group_id FROM discussion_comment "
+            + "WHERE total_order < :stride AND group_id IS NOT NULL "
+            + "AND (discussion_id > :afterDiscussionId "
+            + "OR (discussion_id = :afterDiscussionId AND group_id > :afterGroupId)) "
+            + "ORDER BY discussion_id ASC, group_id ASC LIMIT :limit")
+    List<Object[]> findLegacyOrderGroups(@Param("stride") long stride,
+        @Param("afterDiscussionId") long afterDiscussionId, @Param("afterGroupId") long afterGroupId,
+        @Param("limit") int limit);
+
+    // 그룹의 원댓글 row 를 잠근다. (답글 순번 발급기가 먼저 잠그는 row 라서, 잠가 두는 동안 이 그룹에는 답글 번호가 나가지 않는다)
+    @Query(nativeQuery = true,
+        value = "SELECT id FROM discussion_comment "
+            + "WHERE discussion_id = :discussionId AND group_id = :groupId AND is_child = false FOR UPDATE")
+    List<Long> lockGroupRoot(@Param("discussionId") Long discussionId, @Param("groupId") Long groupId);
 
+    // 그룹의 댓글 id 를 새로 매길 순서대로 (원댓글, 예전 방식 답글의 기존 순서, 그 뒤에 새 방식으로 달린 답글, 삭제된 댓글 포함)
     @Query(nativeQuery = true,
-        value = "SELECT dc.total_order FROM discussion_comment dc " +
-            "WHERE dc.discussion_id = :discussionId " +
-            "ORDER BY dc.total_order DESC " +
-            "LIMIT 1")
-    Optional<Long> findTopTotalOrder(@Param("discussionId") Long discussionId);
-
-    // 없으면 0을 반환
-    @Query("SELECT COALESCE(MAX(dc.totalOrder), 0) "
-        + "FROM DiscussionComment dc where dc.groupId = :groupId")
-    Long findMaxTotalOrderFromChild(@Param("groupId") Long groupId);
-
-    // startOrder 이상의 totalOrder 값을 가진 모든 DiscussionComment 엔티티의
-    // totalOrder를 1씩 증가시킵니다. @Param 어노테이션은 메서드의 startOrder 파라미터를
+        value = "SELECT id FROM discussion_comment WHERE discussion_id = :discussionId AND group_id = :groupId "
+            + "ORDER BY is_child ASC, CASE WHEN total_order < :stride THEN 0 ELSE 1 END ASC, total_order ASC, id ASC")
+    List<Long> findGroupIdsForRenumber(@Param("discussionId") Long discussionId, @Param("groupId") Long groupId,
+        @Param("stride") long stride);
+
+    // 좋아요/싫어요 수를 DB에서 바로 더하고 뺀다.
+    // 영속성 컨텍스트에 남아 있는 댓글은 예전 값이므로 비워서 다시 읽게 한다.
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE DiscussionComment dc SET dc.likeCount = dc.likeCount + :likeDelta, "
+        + "dc.dislikeCount = dc.dislikeCount + :dislikeDelta WHERE dc.id = :commentId")
+    int addReactionCounts(@Param("commentId") Long commentId, @Param("likeDelta") long likeDelta,
+        @Param("dislikeDelta") long dislikeDelta);
+
+    // 좋아요/싫어요 수 재계산 (관리자용) - CommentLike 테이블 기준으로 다시 센다.
     @Modifying
     @Transactional
-    @Query(nativeQuery = true,
-        value = "UPDATE discussion_comment "
-            + "SET total_order = total_order + 1 "
-            + "WHERE total_order >= :startOrder")
-    void incrementTotalOrderFrom(@Param("startOrder") Long startOrder);
+    @Query("UPDATE DiscussionComment dc SET "
+        + "dc.likeCount = (SELECT COUNT(cl) FROM CommentLike cl WHERE cl.comment = dc AND cl.isLike = true), "
+        + "dc.dislikeCount = (SELECT COUNT(cl) FROM CommentLike cl WHERE cl.comment = dc AND cl.isLike = false)")
+    int recalculateAllReactionCounts();
 
     @Query("select count(dc) from DiscussionComment dc"
         + " join dc.discussion d"
@@ -56,28 +104,59 @@ public interface DiscussionCommentRepository extends JpaRepository<DiscussionCom
         + " and dc.voteType = :voteType")
     long countCommentsForDiscussionAndVoteType(@Param("discussionId") Long discussionId, @Param("voteType") VoteType voteType);
 
-    // SUM(CASE WHEN l.isLike = false THEN 1 ELSE 0 END) ASC: l.isLike가 false인 like 수를 계산하여 싫어요 수가 적은 순서로 정렬
-    @Query(nativeQuery = true,
-        value = "SELECT dc.* "
-            + " FROM discussion_comment dc"
-            + " JOIN comment_like l ON dc.id = l.comment_id"
-            + " WHERE dc.discussion_id = :discussionId"
-            + " AND dc.view_status = 'ACTIVE'"
-            + " AND dc.is_child = false"
-            + " AND dc.is_deleted = false"
-            + " GROUP BY dc.id"
-            + " HAVING"
-            + " COUNT(CASE WHEN l.is_like = true THEN 1 ELSE null END)"
-            + " > COUNT(CASE WHEN l.is_like = false THEN 1 ELSE null END)"
-            + " ORDER BY "
-            + " COUNT(CASE WHEN l.is_like = true THEN 1 ELSE null END) DESC,"
-            + " SUM(CASE WHEN l.is_like = false THEN 1 ELSE 0 END) ASC,"
-            + " dc.created_date ASC"
-            + " LIMIT 3")
-    Optional<List<DiscussionComment>> findBest3CommentList(@Param("discussionId") Long discussionId);
+    // 베스트 댓글 후보 [댓글 id, 좋아요 수, 싫어요 수, 작성일] (DiscussionBestCommentCache 가 처음 읽을 때 사용)
+    // 좋아요 많은 순, 싫어요 적은 순, 먼저 쓴 순 - 집계 컬럼을 쓰므로 comment_like 는 보지 않는다.
+    @Query("SELECT dc.id, dc.likeCount, dc.dislikeCount, dc.createdDate FROM DiscussionComment dc "
+        + "WHERE dc.discussion.id = :discussionId "
+        + "AND dc.viewStatus = com.undefinedus.backend.domain.enums.ViewStatus.ACTIVE "
+        + "AND dc.isChild = false "
+        + "AND dc.isDeleted = false "
+        + "AND dc.likeCount > dc.dislikeCount "
+        + "ORDER BY dc.likeCount DESC, dc.dislikeCount ASC, dc.createdDate ASC, dc.id ASC")
+    List<Object[]> findBestCommentCandidates(@Param("discussionId") Long discussionId,
+        Pageable pageable);
+
+    // 댓글 작성자까지 한 번에 가져온다. (순서는 보장하지 않음)
+    @Query("SELECT dc FROM DiscussionComment dc "
+        + "LEFT JOIN FETCH dc.member m LEFT JOIN FETCH m.socialLogin "
+        + "WHERE dc.id IN :commentIds")
+    List<DiscussionComment> findAllWithWriterByIdIn(@Param("commentIds") Collection<Long> commentIds);
     
+    // 댓글 작성자 닉네임, 탈퇴 여부를 한 번에 가져온다. (답글의 부모 댓글 닉네임용) [댓글 id, 닉네임, 탈퇴 여부]
+    @Query("SELECT dc.id, m.nickname, m.isDeleted FROM DiscussionComment dc JOIN dc.member m "
+        + "WHERE dc.id IN :commentIds")
+    List<Object[]> findWriterNicknamesByIds(@Param("commentIds") Collection<Long> commentIds);
+
+    // 그룹별 답글 수 [groupId, 답글 수] (답글이 없는 그룹은 빠진다)
+    @Query("SELECT dc.groupId, COUNT(dc) FROM DiscussionComment dc "
+        + "WHERE dc.discussion.id = :discussionId AND dc.isChild = true AND dc.groupId IN :groupIds "
+        + "GROUP BY dc.groupId")
+    List<Object[]> countRepliesByGroupIds(@Param("discussionId") Long discussionId,
+        @Param("groupIds") Collection<Long> groupIds);
+
+    // 그룹마다 앞에서부터 previewCount 개의 답글 id (보여지는 순서대로)
+    @Query(nativeQuery = true,
+        value = "SELECT t.id FROM ("
+            + "SELECT dc.id, dc.total_order, "
+            + "ROW_NUMBER() OVER (PARTITION BY dc.group_id ORDER BY dc.total_order) AS rn "
+            + "FROM discussion_comment dc "
+            + "WHERE dc.discussion_id = :discussionId AND dc.is_child = true "
+            + "AND dc.is_deleted = false AND dc.group_id IN (:groupIds)"
+            + ") t WHERE t.rn <= :previewCount ORDER BY t.total_order ASC")
+    List<Long> findReplyPreviewIds(@Param("discussionId") Long discussionId,
+        @Param("groupIds") Collection<Long> groupIds, @Param("previewCount") int previewCount);
+
     @Query("SELECT r.comment.id FROM Report r WHERE r.reporter.id = :reporterId")
     Set<Long> findDiscussionCommentIdsByReporterId(@Param("reporterId") Long reporterId);
 
     List<DiscussionComment> findByDiscussion(Discussion discussion);
+
+    // 이 토론에 이미 댓글을 단 회원과 그 의견 [회원 id, 찬성/반대] (댓글 여러 개를 묶어서 저장할 때 댓글 단 회원 수 집계용)
+    @Query("SELECT DISTINCT dc.member.id, dc.voteType FROM DiscussionComment dc "
+        + "WHERE dc.discussion.id = :discussionId AND dc.member.id IN :memberIds")
+    List<Object[]> findCommenterVoteTypes(@Param("discussionId") Long discussionId,
+        @Param("memberIds") Collection<Long> memberIds);
+
+    // 해당 회원이 이 토론에 같은 의견(찬성/반대)으로 단 댓글이 있는지 (댓글 단 회원 수 집계용)
+    boolean existsByDiscussionIdAndMemberIdAndVoteType(Long discussionId, Long memberId, VoteType voteType);
 }
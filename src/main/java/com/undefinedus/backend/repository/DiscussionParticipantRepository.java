@@ -7,6 +7,10 @@ import com.undefinedus.backend.domain.entity.Report;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface DiscussionParticipantRepository extends JpaRepository<DiscussionParticipant, Long> {
     Optional<DiscussionParticipant> findByDiscussionAndMember(Discussion discussion, Member member);
@@ -14,4 +18,32 @@ public interface DiscussionParticipantRepository extends JpaRepository<Discussio
     Optional<DiscussionParticipant> findByMemberIdAndDiscussionId(Long loginMemberId, Long discussionId);
     
     List<DiscussionParticipant> findByDiscussion(Discussion discussion);
+
+    // === 찬반 투표 === //
+    // 조회 후 저장/삭제하지 않고 조건부 UPDATE/DELETE/INSERT 한 번으로 처리해서
+    // 더블 클릭 등으로 같은 회원의 요청이 동시에 와도 참여자가 중복되거나 집계가 어긋나지 않게 한다.
+
+    // 다른 의견으로 참여 중이면 의견을 바꾼다. (바뀌면 1)
+    @Modifying
+    @Transactional
+    @Query("UPDATE DiscussionParticipant p SET p.isAgree = :isAgree "
+        + "WHERE p.discussion.id = :discussionId AND p.member.id = :memberId AND p.isAgree <> :isAgree")
+    int switchVote(@Param("discussionId") Long discussionId, @Param("memberId") Long memberId,
+        @Param("isAgree") boolean isAgree);
+
+    // 같은 의견으로 참여 중이면 참여를 취소한다. (취소되면 1)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DiscussionParticipant p "
+        + "WHERE p.discussion.id = :discussionId AND p.member.id = :memberId AND p.isAgree = :isAgree")
+    int cancelVote(@Param("discussionId") Long discussionId, @Param("memberId") Long memberId,
+        @Param("isAgree") boolean isAgree);
+
+    // 참여하지 않았으면 참여자로 추가한다. uk_discussion_participant 에 걸리면 무시 (추가되면 1)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO discussion_participant (discussion_id, member_id, is_agree) "
+        + "VALUES (:discussionId, :memberId, :isAgree)", nativeQuery = true)
+    int insertVoteIfAbsent(@Param("discussionId") Long discussionId, @Param("memberId") Long memberId,
+        @Param("isAgree") boolean isAgree);
 }
\ No newline at end of file
@@ -2,13 +2,17 @@ package com.undefinedus.backend.repository;
 
 import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.dto.response.discussion.DiscussionCountDTO;
 import com.undefinedus.backend.repository.queryDSL.DiscussionRepositoryCustom;
+import jakarta.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface DiscussionRepository extends JpaRepository<Discussion, Long>,
     DiscussionRepositoryCustom {
@@ -18,6 +22,16 @@ public interface DiscussionRepository extends JpaRepository<Discussion, Long>,
 
     @Query("SELECT d FROM Discussion d LEFT JOIN FETCH d.participants WHERE d.id = :discussionId")
     Optional<Discussion> findByIdWithParticipants(@Param("discussionId") Long discussionId);
+
+    // 찬성/반대 토글용: 토론 행을 잠가서 같은 토론의 투표를 차례로 처리한다.
+    // (참여자 행이 없을 때 UPDATE/DELETE 가 거는 gap lock 끼리 INSERT 에서 교착되는 것을 막는다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Discussion d WHERE d.id = :discussionId")
+    Optional<Discussion> findByIdForUpdate(@Param("discussionId") Long discussionId);
+
+    // 상세 화면용: 책과 작성자를 한 번에 가져온다.
+    @Query("SELECT d FROM Discussion d JOIN FETCH d.aladinBook LEFT JOIN FETCH d.member WHERE d.id = :discussionId")
+    Optional<Discussion> findByIdWithBookAndMember(@Param("discussionId") Long discussionId);
     
     @Modifying
     @Query("UPDATE Discussion d SET d.views = d.views + 1 WHERE d.id = :discussionId")
@@ -27,4 +41,80 @@ public interface DiscussionRepository extends JpaRepository<Discussion, Long>,
     Long findViewsById(@Param("discussionId") Long discussionId);
 
     List<Discussion> findAllByStatus(DiscussionStatus discussionStatus);
+
+    // 검색 색인을 만들 때 사용, [토론 id, 토론 제목, 토론 내용, 책 제목]
+    @Query("SELECT d.id, d.title, d.content, b.title FROM Discussion d JOIN d.aladinBook b")
+    List<Object[]> findAllSearchText();
+
+    long countByStatus(DiscussionStatus discussionStatus);
+
+    // 탭(상태)별 토론 개수, [DiscussionStatus, Long] 형태로 반환
+    @Query("SELECT d.status, COUNT(d) FROM Discussion d GROUP BY d.status")
+    List<Object[]> countGroupByStatus();
+
+    // === 참여자/댓글 집계 컬럼 === //
+    // 엔티티를 읽어서 더하지 않고 DB에서 바로 더해서 동시에 요청이 와도 값이 어긋나지 않게 한다.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Discussion d SET d.agreeCount = d.agreeCount + :agreeDelta, "
+        + "d.disagreeCount = d.disagreeCount + :disagreeDelta WHERE d.id = :discussionId")
+    int addVoteCounts(@Param("discussionId") Long discussionId,
+        @Param("agreeDelta") long agreeDelta, @Param("disagreeDelta") long disagreeDelta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Discussion d SET d.commentCount = d.commentCount + :commentDelta, "
+        + "d.agreeCommenterCount = d.agreeCommenterCount + :agreeCommenterDelta, "
+        + "d.disagreeCommenterCount = d.disagreeCommenterCount + :disagreeCommenterDelta "
+        + "WHERE d.id = :discussionId")
+    int addCommentCounts(@Param("discussionId") Long discussionId,
+        @Param("commentDelta") long commentDelta,
+        @Param("agreeCommenterDelta") long agreeCommenterDelta,
+        @Param("disagreeCommenterDelta") long disagreeCommenterDelta);
+
+    // 엔티티 캐시(영속성 컨텍스트)를 거치지 않고 현재 DB 값을 읽기 위해 생성자 표현식 사용
+    @Query("SELECT new com.undefinedus.backend.dto.response.discussion.DiscussionCountDTO("
+        + "d.agreeCount, d.disagreeCount, d.commentCount, d.agreeCommenterCount, d.disagreeCommenterCount) "
+        + "FROM Discussion d WHERE d.id = :discussionId")
+    Optional<DiscussionCountDTO> findCountsById(@Param("discussionId") Long discussionId);
+
+    // 댓글 groupId 를 count 만큼 올린다. 처음이면 이 토론 댓글의 최대 groupId 다음부터 이어서 쓴다.
+    // (예전에 댓글 테이블 전체 기준으로 매긴 groupId 와 겹치지 않게 하기 위함)
+    @Modifying
+    @Query(nativeQuery = true,
+        value = "UPDATE discussion SET last_comment_group_id = COALESCE(last_comment_group_id, "
+            + "(SELECT COALESCE(MAX(dc.group_id), 0) FROM discussion_comment dc "
+            + "WHERE dc.discussion_id = :discussionId)) + :count "
+            + "WHERE id = :discussionId")
+    int increaseLastCommentGroupId(@Param("discussionId") Long discussionId,
+        @Param("count") long count);
+
+    @Query("SELECT d.lastCommentGroupId FROM Discussion d WHERE d.id = :discussionId")
+    Optional<Long> findLastCommentGroupId(@Param("discussionId") Long discussionId);
+
+    // 집계 컬럼 재계산 (관리자용) - 참여자, 댓글 테이블 기준으로 다시 센다.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Discussion d SET "
+        + "d.agreeCount = (SELECT COUNT(dp) FROM DiscussionParticipant dp WHERE dp.discussion = d AND dp.isAgree = true), "
+        + "d.disagreeCount = (SELECT COUNT(dp) FROM DiscussionParticipant dp WHERE dp.discussion = d AND dp.isAgree = false), "
+        + "d.commentCount = (SELECT COUNT(dc) FROM DiscussionComment dc WHERE dc.discussion = d), "
+        + "d.agreeCommenterCount = (SELECT COUNT(DISTINCT dc.member.id) FROM DiscussionComment dc "
+        + "WHERE dc.discussion = d AND dc.voteType = com.undefinedus.backend.domain.enums.VoteType.AGREE), "
+        + "d.disagreeCommenterCount = (SELECT COUNT(DISTINCT dc.member.id) FROM DiscussionComment dc "
+        + "WHERE dc.discussion = d AND dc.voteType = com.undefinedus.backend.domain.enums.VoteType.DISAGREE) "
+        + "WHERE d.id = :discussionId")
+    int recalculateCounts(@Param("discussionId") Long discussionId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Discussion d SET "
+        + "d.agreeCount = (SELECT COUNT(dp) FROM DiscussionParticipant dp WHERE dp.discussion = d AND dp.isAgree = true), "
+        + "d.disagreeCount = (SELECT COUNT(dp) FROM DiscussionParticipant dp WHERE dp.discussion = d AND dp.isAgree = false), "
+        + "d.commentCount = (SELECT COUNT(dc) FROM DiscussionComment dc WHERE dc.discussion = d), "
+        + "d.agreeCommenterCount = (SELECT COUNT(DISTINCT dc.member.id) FROM DiscussionComment dc "
+        + "WHERE dc.discussion = d AND dc.voteType = com.undefinedus.backend.domain.enums.VoteType.AGREE), "
+        + "d.disagreeCommenterCount = (SELECT COUNT(DISTINCT dc.member.id) FROM DiscussionComment dc "
+        + "WHERE dc.discussion = d AND dc.voteType = com.undefinedus.backend.domain.enums.VoteType.DISAGREE)")
+    int recalculateAllCounts();
 }
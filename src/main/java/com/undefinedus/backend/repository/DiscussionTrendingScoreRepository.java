@@ -0,0 +1,8 @@
+package com.undefinedus.backend.repository;
+
+import com.undefinedus.backend.domain.entity.DiscussionTrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DiscussionTrendingScoreRepository extends JpaRepository<DiscussionTrendingScore, Long> {
+
+}
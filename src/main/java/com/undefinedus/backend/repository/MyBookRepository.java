@@ -40,6 +40,16 @@ public interface MyBookRepository extends JpaRepository<MyBook, Long>, MyBookRep
             "LIMIT 5")
     List<String> findTop5Isbn13ByMemberId(@Param("memberId") Long memberId);
 
+    // 위와 같은 5권 + 별점, [isbn13, myRating] (추천 캐시의 fingerprint 용)
+    @Query(nativeQuery = true,
+        value = "SELECT ab.isbn13, mb.my_rating FROM my_book mb " +
+            "JOIN member m ON mb.member_id = m.id " +
+            "JOIN aladin_book ab ON mb.isbn13 = ab.isbn13 " +
+            "WHERE m.id = :memberId " +
+            "ORDER BY mb.my_rating DESC, ab.title ASC " +
+            "LIMIT 5")
+    List<Object[]> findTop5Isbn13AndRatingByMemberId(@Param("memberId") Long memberId);
+
     Set<MyBook> findByMemberId(Long loginMemberId);
 
     // 아래는 initData할때 필요한 sql, 추후 삭제 될 수 있음
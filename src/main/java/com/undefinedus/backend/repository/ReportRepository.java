@@ -6,6 +6,7 @@ import com.undefinedus.backend.domain.entity.Member;
 import com.undefinedus.backend.domain.entity.Report;
 import com.undefinedus.backend.domain.enums.ReportStatus;
 import com.undefinedus.backend.repository.queryDSL.ReportRepositoryCustom;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -28,6 +29,12 @@ public interface ReportRepository extends JpaRepository<Report, Long>, ReportRep
 
     // 회원이 그 댓글을 신고 했는지 확인
     Optional<Report> findByReporterAndComment(Member reporter, DiscussionComment comment);
+
+    // 회원이 신고한 댓글 id (주어진 댓글 중에서)
+    @Query("SELECT r.comment.id FROM Report r "
+        + "WHERE r.reporter.id = :reporterId AND r.comment.id IN :commentIds")
+    List<Long> findReportedCommentIds(@Param("reporterId") Long reporterId,
+        @Param("commentIds") Collection<Long> commentIds);
     
     @Query("SELECT r from Report r "
             + "left join fetch r.reporter "
@@ -8,4 +8,10 @@ public interface DiscussionCommentsRepositoryCustom {
 
     List<DiscussionComment> findDiscussionCommentListWithScroll(DiscussionCommentsScrollRequestDTO requestDTO,
             Long discussionId);
+
+    List<DiscussionComment> findTopLevelCommentListWithScroll(DiscussionCommentsScrollRequestDTO requestDTO,
+            Long discussionId);
+
+    List<DiscussionComment> findReplyListWithScroll(DiscussionCommentsScrollRequestDTO requestDTO,
+            Long discussionId, Long groupId);
 }
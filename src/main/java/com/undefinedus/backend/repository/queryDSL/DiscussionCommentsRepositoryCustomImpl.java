@@ -4,6 +4,7 @@ import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.domain.entity.QMember;
 import com.undefinedus.backend.domain.entity.QDiscussionComment;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentsScrollRequestDTO;
 import java.util.List;
@@ -43,11 +44,66 @@ public class DiscussionCommentsRepositoryCustomImpl implements DiscussionComment
         
         // 요청한 크기보다 1개 더 가져오는 이유는 다음 페이지 존재 여부를 확인하기 위함입니다
         // 만약 size가 10이고 11개가 조회되면, 마지막 1개는 제거하고 hasNext를 true로 설정합니다
+        // 작성자(와 작성자의 소셜 로그인 정보)는 댓글마다 따로 조회되지 않도록 같이 가져온다.
+        QMember qMember = QMember.member;
         return queryFactory
                 .selectFrom(qDiscussionComment)
+                .leftJoin(qDiscussionComment.member, qMember).fetchJoin()
+                .leftJoin(qMember.socialLogin).fetchJoin()
                 .where(builder)
                 .orderBy(orderSpecifier)
                 .limit(requestDTO.getSize() + 1) // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
                 .fetch();
     }
+
+    // 원댓글만 groupId 순서대로 (답글은 findReplyListWithScroll 로 그룹마다 따로 가져온다)
+    // lastId 는 마지막으로 본 원댓글의 groupId
+    public List<DiscussionComment> findTopLevelCommentListWithScroll(
+        DiscussionCommentsScrollRequestDTO requestDTO, Long discussionId) {
+        QDiscussionComment qDiscussionComment = QDiscussionComment.discussionComment;
+
+        BooleanBuilder builder = new BooleanBuilder();
+        builder.and(qDiscussionComment.discussion.id.eq(discussionId));
+        builder.and(qDiscussionComment.isChild.isFalse());
+
+        if (requestDTO.getLastId() > 0) {
+            builder.and(qDiscussionComment.groupId.gt(requestDTO.getLastId()));
+        }
+
+        QMember qMember = QMember.member;
+        return queryFactory
+                .selectFrom(qDiscussionComment)
+                .leftJoin(qDiscussionComment.member, qMember).fetchJoin()
+                .leftJoin(qMember.socialLogin).fetchJoin()
+                .where(builder)
+                .orderBy(qDiscussionComment.groupId.asc())
+                .limit(requestDTO.getSize() + 1) // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+                .fetch();
+    }
+
+    // 한 그룹의 답글만 보여지는 순서(totalOrder)대로
+    // lastId 는 마지막으로 본 답글의 totalOrder (답글의 답글은 groupOrder 가 겹칠 수 있어서 totalOrder 로 넘긴다)
+    public List<DiscussionComment> findReplyListWithScroll(
+        DiscussionCommentsScrollRequestDTO requestDTO, Long discussionId, Long groupId) {
+        QDiscussionComment qDiscussionComment = QDiscussionComment.discussionComment;
+
+        BooleanBuilder builder = new BooleanBuilder();
+        builder.and(qDiscussionComment.discussion.id.eq(discussionId));
+        builder.and(qDiscussionComment.groupId.eq(groupId));
+        builder.and(qDiscussionComment.isChild.isTrue());
+
+        if (requestDTO.getLastId() > 0) {
+            builder.and(qDiscussionComment.totalOrder.gt(requestDTO.getLastId()));
+        }
+
+        QMember qMember = QMember.member;
+        return queryFactory
+                .selectFrom(qDiscussionComment)
+                .leftJoin(qDiscussionComment.member, qMember).fetchJoin()
+                .leftJoin(qMember.socialLogin).fetchJoin()
+                .where(builder)
+                .orderBy(qDiscussionComment.totalOrder.asc())
+                .limit(requestDTO.getSize() + 1) // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+                .fetch();
+    }
 }
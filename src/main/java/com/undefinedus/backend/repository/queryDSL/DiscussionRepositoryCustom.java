@@ -2,9 +2,15 @@ package com.undefinedus.backend.repository.queryDSL;
 
 import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionScrollRequestDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionListProjectionDTO;
 import java.util.List;
 
 public interface DiscussionRepositoryCustom {
 
     List<Discussion> findDiscussionsWithScroll(DiscussionScrollRequestDTO requestDTO);
+
+    List<DiscussionListProjectionDTO> findDiscussionListWithScroll(DiscussionScrollRequestDTO requestDTO);
+
+    List<DiscussionListProjectionDTO> findDiscussionListByIds(List<Long> discussionIds,
+        DiscussionScrollRequestDTO requestDTO);
 }
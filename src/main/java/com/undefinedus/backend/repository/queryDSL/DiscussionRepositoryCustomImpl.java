@@ -2,11 +2,16 @@ package com.undefinedus.backend.repository.queryDSL;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.QAladinBook;
 import com.undefinedus.backend.domain.entity.QDiscussion;
+import com.undefinedus.backend.domain.entity.QMember;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionScrollRequestDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionListProjectionDTO;
 import com.undefinedus.backend.exception.book.InvalidStatusException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -23,27 +28,98 @@ public class DiscussionRepositoryCustomImpl implements DiscussionRepositoryCusto
     public List<Discussion> findDiscussionsWithScroll(DiscussionScrollRequestDTO requestDTO) {
         QDiscussion qDiscussion = QDiscussion.discussion;
         
-        // 기본 쿼리 생성
-        // BooleanBuilder이란 QueryDSL에서 동적 쿼리를 생성할 때 사용하는 클래스입니다
-        // 여러 조건들을 and()나 or()로 연결할 수 있게 해주는 빌더 패턴 구현체입니다
-        BooleanBuilder builder = new BooleanBuilder();
-
-        // StringUtils이란 Spring Framework에서 제공하는 유틸리티 메서드입니다
-        // 문자열이 null이 아니고, 길이가 0보다 크며, 공백이 아닌 문자를 하나 이상 포함하는지 확인합니다
-        // str != null && str.trim().length() > 0와 같은 효과입니다
-        // 읽기 상태(탭) 필터
-        if (StringUtils.hasText(requestDTO.getStatus())) {
-            try {
-                builder.and(qDiscussion.status.eq(DiscussionStatus.valueOf(requestDTO.getStatus())));
-            } catch (IllegalArgumentException e) {
-                log.error("Invalid status value: {}", requestDTO.getStatus());
-                throw new InvalidStatusException("유효하지 않은 토론 상태입니다: " + requestDTO.getStatus());
-            }
-        }
+        // 정렬 조건 설정
+        OrderSpecifier<?> orderSpecifier = "desc".equals(requestDTO.getSort()) ?
+            qDiscussion.id.desc() : qDiscussion.id.asc();
         
+        // 요청한 크기보다 1개 더 가져오는 이유는 다음 페이지 존재 여부를 확인하기 위함입니다
+        // 만약 size가 10이고 11개가 조회되면, 마지막 1개는 제거하고 hasNext를 true로 설정합니다
+        return queryFactory
+                .selectFrom(qDiscussion)
+//                .leftJoin(qDiscussion.myBook.aladinBook).fetchJoin() // N+1 문제 방지를 위한 fetch join
+                .where(scrollCondition(requestDTO, qDiscussion, qDiscussion.aladinBook))
+                .orderBy(orderSpecifier)
+                .limit(requestDTO.getSize() + 1) // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+                .fetch();
+    }
+
+    // 토론 목록 화면에 필요한 값(책, 작성자, 참여자 수, 댓글 수)을 한 번의 쿼리로 가져온다.
+    // 엔티티를 가져와서 Lazy 로딩으로 하나씩 꺼내면 한 페이지에 40개 이상의 쿼리가 나가기 때문에
+    // 집계 값은 Discussion 의 집계 컬럼에서, 책/작성자 정보는 join 으로 가져온다.
+    @Override
+    public List<DiscussionListProjectionDTO> findDiscussionListWithScroll(
+        DiscussionScrollRequestDTO requestDTO) {
+        QDiscussion qDiscussion = QDiscussion.discussion;
+        QAladinBook qAladinBook = QAladinBook.aladinBook;
+
+        return selectDiscussionList(qDiscussion, qAladinBook)
+                .where(scrollCondition(requestDTO, qDiscussion, qAladinBook))
+                .orderBy(sortOrder(requestDTO, qDiscussion))
+                .limit(requestDTO.getSize() + 1) // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+                .fetch();
+    }
+
+    // 검색 색인에서 찾은 토론 id 중 요청한 탭(상태)에 해당하는 것만 정렬해서 가져온다.
+    // 검색어, 커서 조건은 이미 색인에서 처리했으므로 여기서는 다시 걸지 않는다.
+    @Override
+    public List<DiscussionListProjectionDTO> findDiscussionListByIds(List<Long> discussionIds,
+        DiscussionScrollRequestDTO requestDTO) {
+        QDiscussion qDiscussion = QDiscussion.discussion;
+        QAladinBook qAladinBook = QAladinBook.aladinBook;
+
+        return selectDiscussionList(qDiscussion, qAladinBook)
+                .where(statusCondition(requestDTO, qDiscussion)
+                    .and(qDiscussion.id.in(discussionIds)))
+                .orderBy(sortOrder(requestDTO, qDiscussion))
+                .fetch();
+    }
+
+    private JPAQuery<DiscussionListProjectionDTO> selectDiscussionList(QDiscussion qDiscussion,
+        QAladinBook qAladinBook) {
+        QMember qMember = QMember.member;
+
+        return queryFactory
+                .select(Projections.fields(DiscussionListProjectionDTO.class,
+                    qDiscussion.id.as("discussionId"),
+                    qAladinBook.isbn13,
+                    qAladinBook.title.as("bookTitle"),
+                    qAladinBook.cover,
+                    qMember.id.as("memberId"),
+                    qMember.nickname.as("memberNickname"),
+                    qMember.isDeleted.as("memberDeleted"),
+                    qDiscussion.title,
+                    qDiscussion.status,
+                    qDiscussion.viewStatus,
+                    qDiscussion.createdDate,
+                    qDiscussion.startDate,
+                    qDiscussion.closedAt,
+                    qDiscussion.views,
+                    qDiscussion.agreePercent,
+                    qDiscussion.disagreePercent,
+                    qDiscussion.agreeCount,
+                    qDiscussion.disagreeCount,
+                    qDiscussion.commentCount,
+                    qDiscussion.agreeCommenterCount,
+                    qDiscussion.disagreeCommenterCount))
+                .from(qDiscussion)
+                .join(qDiscussion.aladinBook, qAladinBook)
+                .leftJoin(qDiscussion.member, qMember);
+    }
+
+    private OrderSpecifier<?> sortOrder(DiscussionScrollRequestDTO requestDTO, QDiscussion qDiscussion) {
+        return "desc".equals(requestDTO.getSort()) ? qDiscussion.id.desc() : qDiscussion.id.asc();
+    }
+
+    // 목록 조회에서 공통으로 쓰는 탭(상태), 검색어, 커서 조건
+    private BooleanBuilder scrollCondition(DiscussionScrollRequestDTO requestDTO,
+        QDiscussion qDiscussion, QAladinBook qAladinBook) {
+
+        // 기본 쿼리 생성 (탭 조건부터)
+        BooleanBuilder builder = statusCondition(requestDTO, qDiscussion);
+
         // 검색어 처리 (글 제목과 책 제목 동시에 검색)
         if (StringUtils.hasText(requestDTO.getSearch())) {
-            builder.and(qDiscussion.aladinBook.title.containsIgnoreCase(requestDTO.getSearch())
+            builder.and(qAladinBook.title.containsIgnoreCase(requestDTO.getSearch())
                     .or(qDiscussion.title.containsIgnoreCase(requestDTO.getSearch())));
         }
         
@@ -57,19 +133,31 @@ public class DiscussionRepositoryCustomImpl implements DiscussionRepositoryCusto
                 builder.and(qDiscussion.id.gt(requestDTO.getLastId()));
             }
         }
-        
-        // 정렬 조건 설정
-        OrderSpecifier<?> orderSpecifier = "desc".equals(requestDTO.getSort()) ?
-            qDiscussion.id.desc() : qDiscussion.id.asc();
-        
-        // 요청한 크기보다 1개 더 가져오는 이유는 다음 페이지 존재 여부를 확인하기 위함입니다
-        // 만약 size가 10이고 11개가 조회되면, 마지막 1개는 제거하고 hasNext를 true로 설정합니다
-        return queryFactory
-                .selectFrom(qDiscussion)
-//                .leftJoin(qDiscussion.myBook.aladinBook).fetchJoin() // N+1 문제 방지를 위한 fetch join
-                .where(builder)
-                .orderBy(orderSpecifier)
-                .limit(requestDTO.getSize() + 1) // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
-                .fetch();
+
+        return builder;
+    }
+
+    // 탭(상태) 조건
+    private BooleanBuilder statusCondition(DiscussionScrollRequestDTO requestDTO,
+        QDiscussion qDiscussion) {
+
+        // BooleanBuilder이란 QueryDSL에서 동적 쿼리를 생성할 때 사용하는 클래스입니다
+        // 여러 조건들을 and()나 or()로 연결할 수 있게 해주는 빌더 패턴 구현체입니다
+        BooleanBuilder builder = new BooleanBuilder();
+
+        // StringUtils이란 Spring Framework에서 제공하는 유틸리티 메서드입니다
+        // 문자열이 null이 아니고, 길이가 0보다 크며, 공백이 아닌 문자를 하나 이상 포함하는지 확인합니다
+        // str != null && str.trim().length() > 0와 같은 효과입니다
+        // 읽기 상태(탭) 필터
+        if (StringUtils.hasText(requestDTO.getStatus())) {
+            try {
+                builder.and(qDiscussion.status.eq(DiscussionStatus.valueOf(requestDTO.getStatus())));
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid status value: {}", requestDTO.getStatus());
+                throw new InvalidStatusException("유효하지 않은 토론 상태입니다: " + requestDTO.getStatus());
+            }
+        }
+
+        return builder;
     }
 }
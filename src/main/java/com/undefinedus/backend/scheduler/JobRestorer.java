@@ -3,11 +3,12 @@ package com.undefinedus.backend.scheduler;
 import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
 import com.undefinedus.backend.domain.enums.ViewStatus;
+import com.undefinedus.backend.global.cache.DiscussionStatusCountCache;
+import com.undefinedus.backend.global.queue.DiscussionAnalysisQueue;
 import com.undefinedus.backend.repository.DiscussionRepository;
 import com.undefinedus.backend.scheduler.config.QuartzConfig;
 import com.undefinedus.backend.scheduler.entity.QuartzTrigger;
 import com.undefinedus.backend.scheduler.repository.QuartzTriggerRepository;
-import com.undefinedus.backend.service.AiService;
 import jakarta.annotation.PostConstruct;
 import java.time.LocalDateTime;
 import java.util.Date;
@@ -33,7 +34,8 @@ public class JobRestorer {
     private final Scheduler scheduler;
     private final QuartzTriggerRepository quartzTriggerRepository;
     private final QuartzConfig quartzConfig;
-    private final AiService aiService;
+    private final DiscussionAnalysisQueue discussionAnalysisQueue;
+    private final DiscussionStatusCountCache discussionStatusCountCache;
 
 
     @PostConstruct
@@ -86,23 +88,33 @@ public class JobRestorer {
                                 status);
                         } else {
 
+                            // 상태 집계를 옮길 때 쓰도록 무엇을 바꾸기 전에 읽어 둔다.
+                            DiscussionStatus beforeStatus = discussion.getStatus();
+
                             // 발의 중에서 다음으로 넘어가지 못한 토론 중 참여 인원 2:2 이상 되지 못한 토론 삭제
                             if (discussion.getStatus() == DiscussionStatus.PROPOSED
                                 && discussion.getStartDate()
                                 .isBefore(LocalDateTime.now())) {
 
                                 proposedDiscussion(discussion);
+
+                                // 방금 삭제된 토론은 집계에서 이미 뺐으므로 상태를 옮기지 않고, 이후 상태도 처리하지 않는다.
+                                if (discussion.isDeleted()) {
+                                    discussionRepository.save(discussion);
+                                    break;
+                                }
                             } else if (discussion.getStatus() == DiscussionStatus.ANALYZING
                                 && discussion.getStartDate()
                                 .isBefore(LocalDateTime.now())) {
 
-                                aiService.discussionInfoToGPT(discussion.getId());
-                                discussion.changeStatus(status);
+                                // 분석은 기동을 막지 않도록 작업 큐에 넣기만 한다.
+                                discussionAnalysisQueue.enqueue(discussion.getId());
                             }
 
                             // 이미 시작 시간을 지난 경우 상태를 직접 업데이트
                             discussion.changeStatus(status);
                             discussionRepository.save(discussion);
+                            discussionStatusCountCache.move(beforeStatus, status);
 
                             log.info("{}번 토론의 상태를 {}로 즉시 변경했습니다. (예약 시간 초과)", discussion.getId(),
                                 status);
@@ -174,6 +186,7 @@ public class JobRestorer {
             discussion.changeDeleted(true);
             discussion.changeDeletedAt(LocalDateTime.now());
             quartzConfig.removeJob(discussion.getId());
+            discussionStatusCountCache.decrease(discussion.getStatus());
             log.info("{}상태의 {}번 토론이 참여 인원이 충족 되지 안아 토론이 삭제 되었습니다.", discussion.getStatus(),
                 discussion.getId());
         } else {
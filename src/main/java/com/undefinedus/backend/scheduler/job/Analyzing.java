@@ -3,9 +3,11 @@ package com.undefinedus.backend.scheduler.job;
 import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.cache.DiscussionStatusCountCache;
+import com.undefinedus.backend.global.queue.DiscussionAnalysisQueue;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster;
 import com.undefinedus.backend.repository.DiscussionRepository;
-import com.undefinedus.backend.service.AiService;
-import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.quartz.Job;
@@ -13,6 +15,7 @@ import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 @Log4j2
@@ -20,7 +23,11 @@ import org.springframework.stereotype.Component;
 public class Analyzing implements Job {
 
     private final DiscussionRepository discussionRepository;
-    private final AiService aiService;
+    private final DiscussionStatusCountCache discussionStatusCountCache;
+    private final DiscussionDetailCache discussionDetailCache;
+    private final DiscussionEventBroadcaster discussionEventBroadcaster;
+    private final DiscussionAnalysisQueue discussionAnalysisQueue;
+    private final TransactionTemplate transactionTemplate;
 
 
     @Override
@@ -29,19 +36,24 @@ public class Analyzing implements Job {
         String discussionIdStr = dataMap.getString("discussionId");
         Long discussionId = Long.parseLong(discussionIdStr);
 
-        Discussion discussion = discussionRepository.findById(discussionId).orElseThrow(
-            () -> new DiscussionNotFoundException("해당 토론을 찾지 못했습니다. : " + discussionId));
+        // 상태 변경과 분석 작업 추가를 한 트랜잭션으로 묶어서, 작업 없이 ANALYZING 에 멈춘 토론이 생기지 않게 한다.
+        // (분석은 오래 걸리므로 Quartz 스레드에서 하지 않고 작업 큐에 넣기만 한다.)
+        DiscussionStatus beforeStatus = transactionTemplate.execute(status -> {
+            Discussion discussion = discussionRepository.findById(discussionId).orElseThrow(
+                () -> new DiscussionNotFoundException("해당 토론을 찾지 못했습니다. : " + discussionId));
 
-        discussion.changeStatus(DiscussionStatus.ANALYZING);
-        discussionRepository.save(discussion);
+            DiscussionStatus before = discussion.getStatus();
+            discussion.changeStatus(DiscussionStatus.ANALYZING);
+            discussionRepository.save(discussion);
+            discussionAnalysisQueue.enqueue(discussionId);
+            return before;
+        });
 
-        log.info("{}번 토론이 {}상태로 변경 되었습니다.", discussion.getId(), discussion.getStatus());
+        discussionStatusCountCache.move(beforeStatus, DiscussionStatus.ANALYZING);
+        discussionDetailCache.invalidate(discussionId);
+        discussionEventBroadcaster.publishStatus(discussionId, DiscussionStatus.ANALYZING);
 
-        try {
-            aiService.discussionInfoToGPT(discussionId);
-        } catch (IOException e) {
-            throw new RuntimeException("GPT에 정보 전달 실패 : " + e.getMessage());
-        }
+        log.info("{}번 토론이 {}상태로 변경 되었습니다.", discussionId, DiscussionStatus.ANALYZING);
     }
 
 }
\ No newline at end of file
@@ -3,6 +3,10 @@ package com.undefinedus.backend.scheduler.job;
 import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.global.cache.DiscussionBestCommentCache;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.cache.DiscussionStatusCountCache;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster;
 import com.undefinedus.backend.repository.DiscussionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -18,6 +22,10 @@ import org.springframework.stereotype.Component;
 public class Completed implements Job {
 
     private final DiscussionRepository discussionRepository;
+    private final DiscussionStatusCountCache discussionStatusCountCache;
+    private final DiscussionDetailCache discussionDetailCache;
+    private final DiscussionBestCommentCache discussionBestCommentCache;
+    private final DiscussionEventBroadcaster discussionEventBroadcaster;
 
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
@@ -30,9 +38,14 @@ public class Completed implements Job {
             () -> new DiscussionNotFoundException("해당 토론을 찾지 못했습니다. : " + discussionId));
 
 
+        DiscussionStatus beforeStatus = discussion.getStatus();
         discussion.changeStatus(DiscussionStatus.COMPLETED);
 
         discussionRepository.save(discussion);
+        discussionStatusCountCache.move(beforeStatus, DiscussionStatus.COMPLETED);
+        discussionDetailCache.invalidate(discussionId);
+        discussionBestCommentCache.evict(discussionId); // 끝난 토론은 더 이상 순위가 바뀌지 않는다.
+        discussionEventBroadcaster.publishStatus(discussionId, DiscussionStatus.COMPLETED);
 
         log.info("{}번 토론이 {}상태로 변경 되었습니다.", discussion.getId(), discussion.getStatus());
     }
@@ -3,6 +3,9 @@ package com.undefinedus.backend.scheduler.job;
 import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.cache.DiscussionStatusCountCache;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster;
 import com.undefinedus.backend.repository.DiscussionRepository;
 import com.undefinedus.backend.service.AiService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +22,9 @@ import org.springframework.stereotype.Component;
 public class InProgress implements Job {
 
     private final DiscussionRepository discussionRepository;
+    private final DiscussionStatusCountCache discussionStatusCountCache;
+    private final DiscussionDetailCache discussionDetailCache;
+    private final DiscussionEventBroadcaster discussionEventBroadcaster;
     private final AiService aiService;
 
     @Override
@@ -31,8 +37,12 @@ public class InProgress implements Job {
         Discussion discussion = discussionRepository.findById(discussionId).orElseThrow(
             () -> new DiscussionNotFoundException("해당 토론을 찾지 못했습니다. : " + discussionId));
 
+        DiscussionStatus beforeStatus = discussion.getStatus();
         discussion.changeStatus(DiscussionStatus.IN_PROGRESS);
         discussionRepository.save(discussion);
+        discussionStatusCountCache.move(beforeStatus, DiscussionStatus.IN_PROGRESS);
+        discussionDetailCache.invalidate(discussionId);
+        discussionEventBroadcaster.publishStatus(discussionId, DiscussionStatus.IN_PROGRESS);
 
         log.info("{}번 토론이 {}상태로 변경 되었습니다.", discussion.getId(), discussion.getStatus());
     }
@@ -4,6 +4,11 @@ import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.entity.DiscussionParticipant;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.cache.DiscussionStatusCountCache;
+import com.undefinedus.backend.global.search.DiscussionSearchIndex;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster;
+import com.undefinedus.backend.global.trending.DiscussionTrendingRanker;
 import com.undefinedus.backend.repository.DiscussionParticipantRepository;
 import com.undefinedus.backend.repository.DiscussionRepository;
 import com.undefinedus.backend.scheduler.config.QuartzConfig;
@@ -26,6 +31,11 @@ public class Scheduled implements Job {
     private final DiscussionRepository discussionRepository;
     private final QuartzConfig quartzConfig;
     private final DiscussionParticipantRepository discussionParticipantRepository;
+    private final DiscussionStatusCountCache discussionStatusCountCache;
+    private final DiscussionDetailCache discussionDetailCache;
+    private final DiscussionEventBroadcaster discussionEventBroadcaster;
+    private final DiscussionTrendingRanker discussionTrendingRanker;
+    private final DiscussionSearchIndex discussionSearchIndex;
 
     @Override
     @Transactional
@@ -53,6 +63,9 @@ public class Scheduled implements Job {
                 discussionForChangeStatus.changeStatus(DiscussionStatus.SCHEDULED);
 
                 discussionRepository.save(discussionForChangeStatus);
+                discussionStatusCountCache.move(DiscussionStatus.PROPOSED, DiscussionStatus.SCHEDULED);
+                discussionDetailCache.invalidate(discussionId);
+                discussionEventBroadcaster.publishStatus(discussionId, DiscussionStatus.SCHEDULED);
                 log.info("{}번 토론이 {}상태로 변경 되었습니다.", discussion.getId(), discussion.getStatus());
             } else {
 
@@ -61,6 +74,10 @@ public class Scheduled implements Job {
                 // 관련된 discussion 소프트 딜리트
                 discussion.changeDeleted(true);
                 discussion.changeDeletedAt(LocalDateTime.now());
+                discussionStatusCountCache.decrease(discussion.getStatus());
+                discussionDetailCache.invalidate(discussionId);
+                discussionSearchIndex.remove(discussionId);
+                discussionTrendingRanker.remove(discussionId);
                 log.info("{}상태의 {}번 토론이 참여 인원이 없어 삭제 되었습니다.", discussion.getId(), discussion.getStatus());
             }
 
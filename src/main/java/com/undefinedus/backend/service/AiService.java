@@ -4,10 +4,11 @@ import com.undefinedus.backend.dto.response.aladinAPI.AladinApiResponseDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionGPTResponseDTO;
 import java.io.IOException;
 import java.util.List;
+import reactor.core.publisher.Mono;
 
 public interface AiService {
 
-    List<AladinApiResponseDTO> getPerplexityRecommendBookList(Long memberId);
+    Mono<List<AladinApiResponseDTO>> getPerplexityRecommendBookList(Long memberId);
 
     void discussionInfoToGPT(Long discussionId) throws IOException;
 
@@ -1,6 +1,5 @@
 package com.undefinedus.backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.undefinedus.backend.domain.entity.AladinBook;
 import com.undefinedus.backend.domain.entity.Discussion;
@@ -9,19 +8,30 @@ import com.undefinedus.backend.dto.response.aladinAPI.AladinApiResponseDTO;
 import com.undefinedus.backend.dto.response.aladinAPI.AladinBookForGPTResponseDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionGPTResponseDTO;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.global.analysis.AnalysisCallDeduplicator;
+import com.undefinedus.backend.global.analysis.CommentBatcher;
+import com.undefinedus.backend.global.analysis.DiscussionCommentSummarizer;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.cache.MemberRecommendCache;
+import com.undefinedus.backend.global.export.DiscussionCommentExporter;
+import com.undefinedus.backend.global.recommend.PerplexityBookRecommender;
+import com.undefinedus.backend.global.timeseries.DiscussionActivitySeries;
 import com.undefinedus.backend.repository.DiscussionRepository;
 import com.undefinedus.backend.repository.MyBookRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.text.StringEscapeUtils;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -32,63 +42,49 @@ public class AiServiceImpl implements AiService {
 
     private final MyBookRepository myBookRepository;
     private final ChatClient chatClient;
-    private final AladinBookService aladinBookService;
     private final DiscussionRepository discussionRepository;
-    private final WebClient webClient;
-
-    private static final String API_URL = "https://api.perplexity.ai/chat/completions";
-    @Value("${spring.ai.perplexity.api-key}")
-    private String apiKey;
-    private static final int MAX_RETRY_COUNT = 5; // 최대 재시도 횟수
-    private static final long RETRY_DELAY_MS = 2000; // 재시도 간 딜레이 시간 (2초)
-
-    @Override
-    public List<AladinApiResponseDTO> getPerplexityRecommendBookList(Long memberId) {
-        List<AladinApiResponseDTO> allBooks = new ArrayList<>();
-        Set<String> processedIsbns = new HashSet<>(); // 이미 처리한 ISBN 저장
+    private final DiscussionDetailCache discussionDetailCache;
+    private final PerplexityBookRecommender perplexityBookRecommender;
+    private final MemberRecommendCache memberRecommendCache;
+    private final DiscussionCommentExporter discussionCommentExporter;
+    private final DiscussionActivitySeries discussionActivitySeries;
+    private final DiscussionCommentSummarizer discussionCommentSummarizer;
+    private final AnalysisCallDeduplicator analysisCallDeduplicator;
+    private final TransactionTemplate transactionTemplate;
 
-        while (allBooks.size() < 5) {
-            // Perplexity API에서 ISBN 목록 가져오기
-            List<String> isbn13List = memberBookIsbn13ListToPerplexity(memberId);
+    private static final int RECOMMEND_BOOK_COUNT = 5; // 추천 도서 수
 
-            if (isbn13List.isEmpty()) {
-                // ISBN 목록이 비어 있으면 계속 진행하지 않고 종료
-                break;
-            }
+    // 분석 프롬프트에 넣는 활동 시계열 구간 수 (0 이면 넣지 않는다)
+    @Value("${discussion.activity.analysis-points:12}")
+    private int activityAnalysisPoints;
 
-            for (String isbn : isbn13List) {
-                System.out.println("isbn = " + isbn);
-                // 중복 ISBN 확인
-                if (!processedIsbns.contains(isbn)) {
-                    List<AladinApiResponseDTO> books = aladinBookService.detailAladinAPI(isbn);
-
-                    System.out.println("books = " + books);
-                    if (books != null && !books.isEmpty()) {
-                        AladinApiResponseDTO book = books.get(0);
-
-                        // 중복 책 정보 확인
-                        if (allBooks.stream()
-                            .noneMatch(b -> b.getIsbn13().equals(book.getIsbn13()))) {
-                            allBooks.add(book);
-                            processedIsbns.add(isbn); // 처리한 ISBN 기록
-
-                            System.out.println("책 추가됨: " + book.getIsbn13());
-
-                            if (allBooks.size() >= 5) {
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
+    @Override
+    public Mono<List<AladinApiResponseDTO>> getPerplexityRecommendBookList(Long memberId) {
+
+        // 회원 책 목록 조회는 JPA(블로킹) 라서 요청 스레드 밖에서 한다.
+        return Mono.fromCallable(() -> myBookRepository.findTop5Isbn13AndRatingByMemberId(memberId))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(rows -> {
+                List<String> best5Isbn13ByMemberId = rows.stream()
+                    .map(row -> (String) row[0])
+                    .collect(Collectors.toList());
+
+                // 상위 5권과 별점이 그대로면 예전 추천 결과를 쓴다.
+                return memberRecommendCache.get(memberId, recommendFingerprint(rows),
+                    () -> perplexityBookRecommender.recommend(
+                        memberBookIsbn13ListToPerplexity(best5Isbn13ByMemberId), RECOMMEND_BOOK_COUNT));
+            });
+    }
 
-        return allBooks.subList(0, Math.min(allBooks.size(), 5));
+    // "isbn13:별점" 을 순서대로 이은 값
+    private String recommendFingerprint(List<Object[]> rows) {
+        return rows.stream()
+            .map(row -> row[0] + ":" + row[1])
+            .collect(Collectors.joining(","));
     }
 
     // Perplexity는 검색이 가능해서 isbn13을 추천 받을 수 있음
-    private List<String> memberBookIsbn13ListToPerplexity(Long memberId) {
-        List<String> best5Isbn13ByMemberId = myBookRepository.findTop5Isbn13ByMemberId(memberId);
+    private Map<String, Object> memberBookIsbn13ListToPerplexity(List<String> best5Isbn13ByMemberId) {
         String isbn13List = String.join(", ", best5Isbn13ByMemberId);
 
         Map<String, Object> requestBody = new HashMap<>();
@@ -109,66 +105,42 @@ public class AiServiceImpl implements AiService {
                     "The isbn13 list is: " + isbn13List)
         ));
 
-        // Perplexity API 호출 및 재시도 로직 추가
-        return makeApiRequestWithRetry(requestBody);
+        return requestBody;
     }
 
-    private List<String> makeApiRequestWithRetry(Map<String, Object> requestBody) {
-        int retryCount = 0;
-        while (retryCount < MAX_RETRY_COUNT) {
-            try {
-                String response = webClient.post()
-                    .uri(API_URL)
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-                // 응답 파싱
-                return parseIsbn13FromAnswer(response);
-            } catch (Exception e) {
-                retryCount++;
-                log.error("Perplexity API 호출 실패 (재시도 " + retryCount + "): " + e.getMessage());
-
-                if (retryCount < MAX_RETRY_COUNT) {
-                    try {
-                        Thread.sleep(RETRY_DELAY_MS); // 재시도 전 대기
-                    } catch (InterruptedException interruptedException) {
-                        Thread.currentThread().interrupt();
-                    }
-                } else {
-                    throw new RuntimeException("Perplexity API 호출 실패: 최대 재시도 횟수 초과", e);
-                }
-            }
+    @Override
+    // gpt는 사람의 말을 이해하고 답변하는데 맞추어져 있음
+    // 모델 호출은 수십 초 이상 걸릴 수 있으므로 트랜잭션(DB 커넥션)을 잡지 않는다.
+    // 입력을 읽는 짧은 읽기와 결과를 저장하는 짧은 쓰기만 각각 트랜잭션으로 한다.
+    public void discussionInfoToGPT(Long discussionId) {
+        AnalysisInput input = transactionTemplate.execute(status -> readAnalysisInput(discussionId));
+
+        // 입력이 지난 분석 때와 같으면 모델을 다시 부르지 않는다. (JobRestorer 재실행, 큐 재시도 등)
+        // hash 는 결과를 저장할 때만 같이 기록하므로, 같으면 그 입력의 결과가 이미 있다.
+        if (input.inputHash().equals(input.previousHash())) {
+            log.info("{}번 토론은 입력이 바뀌지 않아 분석을 건너뜁니다.", discussionId);
+            return;
         }
-        return Collections.emptyList(); // 최대 재시도 횟수 초과 시 빈 리스트 반환
-    }
 
-    private List<String> parseIsbn13FromAnswer(String response) {
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode jsonNode = objectMapper.readTree(response);
-            String content = jsonNode.path("choices").get(0).path("message").path("content")
-                .asText();
+        // 같은 입력의 분석이 동시에 들어오면 (댓글 요약을 포함한) 모델 호출은 한 스레드만 한다.
+        String answerText = analysisCallDeduplicator.call(input.inputHash(),
+            () -> requestAnalysis(discussionId, input.information(), input.title(), input.content(),
+                input.agreeComments(), input.disagreeComments()));
 
-            // 쉼표와 공백을 기준으로 ISBN13 분리
-            List<String> collect = Arrays.stream(content.split("[,\\s]+")) // 쉼표나 공백으로 분리
-                .map(String::trim)
-                .filter(isbn -> isbn.matches("\\d+")) // 숫자로만 구성된 값 필터링
-                .collect(Collectors.toList());
+        DiscussionGPTResponseDTO analysisResult = parseAnalysisResult(discussionId, answerText);
 
-            return collect;
-        } catch (Exception e) {
-            throw new RuntimeException("ISBN13 파싱 실패: " + e.getMessage(), e);
-        }
+        transactionTemplate.executeWithoutResult(
+            status -> saveDiscussionChatGptResult(discussionId, analysisResult, input.inputHash()));
+        discussionDetailCache.invalidate(discussionId);
     }
 
-    @Override
-    @Transactional
-    // gpt는 사람의 말을 이해하고 답변하는데 맞추어져 있음
-    public void discussionInfoToGPT(Long discussionId) {
+    // 분석에 넣을 값 (도서 정보, 제목, 본문, 입장별 댓글 묶음)과 입력 hash, 지난 분석의 입력 hash
+    private record AnalysisInput(String information, String title, String content,
+                                 CommentBatcher agreeComments, CommentBatcher disagreeComments,
+                                 String inputHash, String previousHash) {
+    }
+
+    private AnalysisInput readAnalysisInput(Long discussionId) {
         Discussion discussion = discussionRepository.findById(discussionId)
             .orElseThrow(() -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다."));
 
@@ -181,8 +153,47 @@ public class AiServiceImpl implements AiService {
         String title = discussion.getTitle();
         String content = discussion.getContent();
 
-        String agreeListJson = formatCommentsToJson(discussion, VoteType.AGREE);
-        String disagreeListJson = formatCommentsToJson(discussion, VoteType.DISAGREE);
+        // 댓글을 입장별로 토큰 예산 크기의 묶음으로 나눠 둔다.
+        Map<VoteType, CommentBatcher> comments = batchComments(discussionId);
+        CommentBatcher agreeComments = comments.get(VoteType.AGREE);
+        CommentBatcher disagreeComments = comments.get(VoteType.DISAGREE);
+
+        String inputHash = analysisInputHash(information, title, content,
+            agreeComments.joined(), disagreeComments.joined(),
+            discussion.getAgreeCount(), discussion.getDisagreeCount());
+
+        return new AnalysisInput(information, title, content, agreeComments, disagreeComments,
+            inputHash, discussion.getAnalysisInputHash());
+    }
+
+    // 댓글 요약(필요하면) + 최종 분석 프롬프트 호출, 모델의 답을 그대로 돌려준다.
+    private String requestAnalysis(Long discussionId, String information, String title, String content,
+        CommentBatcher agreeComments, CommentBatcher disagreeComments) {
+
+        String agreeListJson;
+        String disagreeListJson;
+
+        if (discussionCommentSummarizer.fitsSingleCall(
+            agreeComments.getTotalTokens() + disagreeComments.getTotalTokens())) {
+            // 댓글이 적으면 지금처럼 원문 그대로 한 번에 보낸다.
+            agreeListJson = agreeComments.joined();
+            disagreeListJson = disagreeComments.joined();
+        } else {
+            // 많으면 묶음별로 요약한 뒤 요약을 넣는다.
+            Map<VoteType, String> summaries = discussionCommentSummarizer.summarize(title,
+                Map.of(VoteType.AGREE, agreeComments.batches(),
+                    VoteType.DISAGREE, disagreeComments.batches()),
+                this::callChat);
+            agreeListJson = String.format("(summary of %d comments) %s",
+                agreeComments.getCommentCount(), summaries.get(VoteType.AGREE));
+            disagreeListJson = String.format("(summary of %d comments) %s",
+                disagreeComments.getCommentCount(), summaries.get(VoteType.DISAGREE));
+        }
+
+        // 찬반, 댓글, 좋아요가 시간에 따라 어떻게 늘었는지 (구간별 증감)
+        String activityTimeline = activityAnalysisPoints > 0
+            ? discussionActivitySeries.summarize(discussionId, activityAnalysisPoints)
+            : "none";
 
         String promptText = String.format("""
             Analyze the provided book information, discussion title, content, and categorized comments. Based on your analysis, provide the following details:
@@ -200,6 +211,7 @@ public class AiServiceImpl implements AiService {
             For example, if the favor conclusion is deemed 80Percent valid, and the against conclusion 20Percent valid, write agreePercent: 80 and disagreePercent: 20.
             If there are no comments, set both agreePercent and disagreePercent to 0.
             Provide reasoning for the conclusion and percentages. Base the reasoning on the comments and arguments provided.
+            The activity timeline shows how votes, comments and likes changed over time; you may mention notable shifts in the reasoning.
             When the conclusion is null, write all the reasoning and end with "As a result, the overall conclusion is neutral.
 
             Please provide the output in Korean.
@@ -221,14 +233,35 @@ public class AiServiceImpl implements AiService {
             Discussion Content: %s
             Agree Comments: %s
             Disagree Comments: %s
-            """, information, title, content, agreeListJson, disagreeListJson);
+            Activity Timeline (agree/disagree/likes are changes, comments are new comments per interval): %s
+            """, information, title, content, agreeListJson, disagreeListJson, activityTimeline);
+
+        return callChat(promptText);
+    }
+
+    // 분석 입력의 SHA-256 (hex). 값 사이에 구분자와 길이를 넣어 경계가 바뀌어도 같은 값이 되지 않게 한다.
+    static String analysisInputHash(String information, String title, String content,
+        String agreeComments, String disagreeComments, Long agreeCount, Long disagreeCount) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : new Object[]{information, title, content, agreeComments, disagreeComments,
+                agreeCount, disagreeCount}) {
+                byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+                digest.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+                digest.update(bytes);
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
 
-        String answerText = chatClient.prompt()
+    private String callChat(String promptText) {
+        return chatClient.prompt()
             .user(userSpec -> userSpec.text(promptText))
             .call()
             .content();
-
-        saveDiscussionChatGptResult(discussion, answerText);
     }
 
     private String formatAladinBookToJson(AladinBookForGPTResponseDTO aladinBookForGPTResponseDTO) {
@@ -240,27 +273,26 @@ public class AiServiceImpl implements AiService {
         }
     }
 
-    private String formatCommentsToJson(Discussion discussion, VoteType voteType) {
-        List<Map<String, Object>> comments = discussion.getComments().stream()
-            .filter(comment -> comment.getVoteType() == voteType)
-            .map(comment -> {
-                Map<String, Object> jsonMap = new HashMap<>();
-                jsonMap.put("commentId", comment.getId());
-                jsonMap.put("content", comment.getContent());
-                jsonMap.put("voteType", comment.getVoteType().toString());
-                return jsonMap;
-            })
-            .collect(Collectors.toList());
+    // 댓글을 한 번만 순서대로 읽으면서 찬성/반대 댓글을 묶음에 바로 넣는다.
+    // (discussion.getComments() 로 댓글 엔티티를 전부 불러오고 Map 목록을 만들지 않음)
+    private Map<VoteType, CommentBatcher> batchComments(Long discussionId) {
+        CommentBatcher agree = discussionCommentSummarizer.newBatcher();
+        CommentBatcher disagree = discussionCommentSummarizer.newBatcher();
 
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            return objectMapper.writeValueAsString(comments);
-        } catch (Exception e) {
-            throw new RuntimeException("댓글 JSON 변환 실패" + discussion.getId(), e);
+            discussionCommentExporter.forEach(discussionId, comment -> {
+                CommentBatcher batcher =
+                    VoteType.AGREE.name().equals(comment.getVoteType()) ? agree : disagree;
+                batcher.add(comment.getCommentId(), comment.getContent(), comment.getVoteType());
+            });
+        } catch (UncheckedIOException e) {
+            throw new RuntimeException("댓글 JSON 변환 실패" + discussionId, e);
         }
+
+        return Map.of(VoteType.AGREE, agree, VoteType.DISAGREE, disagree);
     }
 
-    private void saveDiscussionChatGptResult(Discussion discussion, String answerText) {
+    private DiscussionGPTResponseDTO parseAnalysisResult(Long discussionId, String answerText) {
         try {
 
             // Markdown 코드 블록 제거
@@ -270,22 +302,30 @@ public class AiServiceImpl implements AiService {
                 .trim();                        // 앞뒤 공백 제거
 
             ObjectMapper objectMapper = new ObjectMapper();
-            DiscussionGPTResponseDTO analysisResult = objectMapper.readValue(cleanJson,
-                DiscussionGPTResponseDTO.class);
-
-            discussion.changeConclusion(analysisResult.getConclusion());
-            discussion.changeResult(analysisResult.getResult());
-            discussion.changeAgreePercent(analysisResult.getAgreePercent());
-            discussion.changeDisagreePercent(analysisResult.getDisagreePercent());
-            discussion.changeReasoning(analysisResult.getReasoning());
-
-            discussionRepository.save(discussion);
+            return objectMapper.readValue(cleanJson, DiscussionGPTResponseDTO.class);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            // 분석 큐(DiscussionAnalysisQueue)가 다시 시도할 수 있도록 실패를 알린다.
+            throw new RuntimeException("GPT 분석 결과 저장 실패 : " + discussionId, e);
         }
     }
 
+    // 모델을 부르는 동안 토론이 바뀌었을 수 있으므로 저장할 때 다시 읽어서 분석 결과만 바꾼다.
+    private void saveDiscussionChatGptResult(Long discussionId, DiscussionGPTResponseDTO analysisResult,
+        String inputHash) {
+        Discussion discussion = discussionRepository.findById(discussionId)
+            .orElseThrow(() -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId));
+
+        discussion.changeConclusion(analysisResult.getConclusion());
+        discussion.changeResult(analysisResult.getResult());
+        discussion.changeAgreePercent(analysisResult.getAgreePercent());
+        discussion.changeDisagreePercent(analysisResult.getDisagreePercent());
+        discussion.changeReasoning(analysisResult.getReasoning());
+        discussion.changeAnalysisInputHash(inputHash);
+
+        discussionRepository.save(discussion);
+    }
+
     private AladinBookForGPTResponseDTO convertToAladinBookDTO(AladinBook aladinBook) {
         return new AladinBookForGPTResponseDTO(
             aladinBook.getIsbn13(),
@@ -6,8 +6,10 @@ import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentsS
 import com.undefinedus.backend.dto.response.ScrollResponseDTO;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentRequestDTO;
 import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentThreadResponseDTO;
 import java.util.List;
 import java.util.Map;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface DiscussionCommentService {
 
@@ -20,6 +22,13 @@ public interface DiscussionCommentService {
     ScrollResponseDTO<DiscussionCommentResponseDTO> getCommentList(
         Long loginMemberId, DiscussionCommentsScrollRequestDTO discussionCommentsScrollRequestDTO, Long discussionId);
 
+    ScrollResponseDTO<DiscussionCommentThreadResponseDTO> getCommentThreadList(
+        Long loginMemberId, DiscussionCommentsScrollRequestDTO discussionCommentsScrollRequestDTO, Long discussionId);
+
+    ScrollResponseDTO<DiscussionCommentResponseDTO> getReplyList(
+        Long loginMemberId, DiscussionCommentsScrollRequestDTO discussionCommentsScrollRequestDTO, Long discussionId,
+        Long groupId);
+
     DiscussionCommentResponseDTO addLike(Long memberId, Long discussionCommentId);
 
     DiscussionCommentResponseDTO addDislike(Long memberId, Long discussionCommentId);
@@ -29,4 +38,10 @@ public interface DiscussionCommentService {
     List<DiscussionCommentResponseDTO> getBest3CommentByCommentLikes(Long loginMemberId, Long discussionId);
 
     DiscussionCommentResponseDTO getCommentDTO(DiscussionComment discussionComment, Member member);
+
+    int migrateLegacyTotalOrder();
+
+    int recalculateReactionCounts();
+
+    StreamingResponseBody exportComments(Long discussionId);
 }
@@ -1,37 +1,50 @@
 package com.undefinedus.backend.service;
 
-import com.undefinedus.backend.domain.entity.CommentLike;
 import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.entity.DiscussionComment;
 import com.undefinedus.backend.domain.entity.DiscussionParticipant;
 import com.undefinedus.backend.domain.entity.Member;
-import com.undefinedus.backend.domain.entity.Report;
+import com.undefinedus.backend.domain.enums.TrendingActivity;
 import com.undefinedus.backend.domain.enums.VoteType;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentRequestDTO;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentsScrollRequestDTO;
 import com.undefinedus.backend.dto.response.ScrollResponseDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionCountDTO;
 import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentThreadResponseDTO;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
 import com.undefinedus.backend.exception.discussionComment.DiscussionCommentNotFoundException;
 import com.undefinedus.backend.exception.discussionParticipant.DiscussionParticipantNotFoundException;
 import com.undefinedus.backend.exception.member.MemberNotFoundException;
+import com.undefinedus.backend.global.assembler.DiscussionCommentPageAssembler;
+import com.undefinedus.backend.global.cache.DiscussionBestCommentCache;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.export.DiscussionCommentExporter;
+import com.undefinedus.backend.global.queue.DiscussionCommentWriteQueue;
+import com.undefinedus.backend.global.sequence.DiscussionCommentGroupSequence;
+import com.undefinedus.backend.global.sequence.DiscussionReplyOrderSequence;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster;
+import com.undefinedus.backend.global.timeseries.DiscussionActivitySeries;
+import com.undefinedus.backend.global.trending.DiscussionTrendingRanker;
 import com.undefinedus.backend.repository.CommentLikeRepository;
 import com.undefinedus.backend.repository.DiscussionCommentRepository;
 import com.undefinedus.backend.repository.DiscussionParticipantRepository;
 import com.undefinedus.backend.repository.DiscussionRepository;
 import com.undefinedus.backend.repository.MemberRepository;
-import com.undefinedus.backend.repository.ReportRepository;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 @RequiredArgsConstructor
@@ -39,12 +52,41 @@ import org.springframework.transaction.annotation.Transactional;
 @Log4j2
 public class DiscussionCommentServiceImpl implements DiscussionCommentService {
 
+    // 베스트 댓글로 보여주는 개수
+    private static final int BEST_COMMENT_COUNT = 3;
+
+    // 원댓글 목록에서 원댓글마다 미리 보여주는 답글 개수
+    private static final int REPLY_PREVIEW_COUNT = 3;
+
+    // 예전 totalOrder 변환을 한 번에 보내는 UPDATE 개수
+    private static final int MIGRATE_BATCH_SIZE = 1000;
+
+    // 예전 totalOrder 변환에서 한 트랜잭션으로 처리하는 그룹 수
+    private static final int MIGRATE_GROUP_PAGE_SIZE = 100;
+
+    private static final String MIGRATE_TOTAL_ORDER_SQL =
+        "UPDATE discussion_comment SET total_order = ? WHERE id = ?";
+
+    private static final String MIGRATE_LAST_REPLY_TOTAL_ORDER_SQL =
+        "UPDATE discussion_comment SET last_reply_total_order = ? WHERE id = ?";
+
     private final DiscussionRepository discussionRepository;
     private final MemberRepository memberRepository;
     private final DiscussionCommentRepository discussionCommentRepository;
     private final CommentLikeRepository commentLikeRepository;
     private final DiscussionParticipantRepository discussionParticipantRepository;
-    private final ReportRepository reportRepository;
+    private final DiscussionDetailCache discussionDetailCache;
+    private final DiscussionEventBroadcaster discussionEventBroadcaster;
+    private final DiscussionTrendingRanker discussionTrendingRanker;
+    private final DiscussionCommentGroupSequence discussionCommentGroupSequence;
+    private final DiscussionReplyOrderSequence discussionReplyOrderSequence;
+    private final DiscussionCommentPageAssembler discussionCommentPageAssembler;
+    private final DiscussionBestCommentCache discussionBestCommentCache;
+    private final DiscussionCommentWriteQueue discussionCommentWriteQueue;
+    private final DiscussionCommentExporter discussionCommentExporter;
+    private final DiscussionActivitySeries discussionActivitySeries;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     // 댓글 달기
     @Override
@@ -69,10 +111,28 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
         Member member = memberRepository.findById(memberId)
             .orElseThrow(() -> new MemberNotFoundException("해당 멤버를 찾을 수 없습니다. : " + memberId));
 
-        Long groupId = discussionCommentRepository.findMaxGroupId() + 1;
+        // 묶음 저장을 켜 두었으면 큐에 넣고, 다른 요청의 댓글과 함께 저장될 때까지 기다린다. (큐가 가득 차면 아래에서 바로 저장)
+        if (discussionCommentWriteQueue.isEnabled()) {
+            DiscussionCommentWriteQueue.Written written = discussionCommentWriteQueue.write(
+                DiscussionComment.builder()
+                    .discussion(discussion)
+                    .member(member)
+                    .isChild(false)
+                    .groupOrder(0L)
+                    .voteType(voteType)
+                    .content(discussionCommentRequestDTO.getContent())
+                    .build());
+
+            if (written != null) {
+                return toQueuedWriteResult(discussionId, written);
+            }
+        }
+
+        // 토론별 순번에서 다음 groupId 를 받는다. (동시에 써도 겹치지 않음)
+        Long groupId = discussionCommentGroupSequence.next(discussionId);
 
-        Long topTotalOrder =
-            discussionCommentRepository.findTopTotalOrder(discussionId).orElse(0L) + 1;
+        // 원댓글은 자기 그룹 구간의 첫 번호를 쓴다. (groupId 가 커지는 순서 = 댓글 작성 순서)
+        Long topTotalOrder = groupId * DiscussionComment.GROUP_ORDER_STRIDE;
 
         DiscussionComment discussionComment = DiscussionComment.builder()
             .discussion(discussion)
@@ -85,14 +145,16 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
             .content(discussionCommentRequestDTO.getContent())
             .build();
 
-        DiscussionComment savedComment = discussionCommentRepository.save(discussionComment);
+        DiscussionComment savedComment = saveAndCount(discussionId, discussionComment);
+
+        discussionTrendingRanker.record(discussionId, TrendingActivity.COMMENT);
+        discussionActivitySeries.recordComment(discussionId);
 
         DiscussionCommentResponseDTO commentDTO = getCommentDTO(savedComment, member);
 
-        List<DiscussionComment> discussionCommentList = discussionCommentRepository.findByDiscussion(
-            discussionComment.getDiscussion());
+        long commentCount = findCommentCount(discussionId);
 
-        long commentCount = discussionCommentList.stream().count();
+        discussionEventBroadcaster.publishComment(discussionId, commentDTO, commentCount);
 
         result.put("content", commentDTO);
         result.put("commentCount", commentCount);
@@ -100,6 +162,26 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
         return result;
     }
 
+    // 큐에서 저장된 댓글의 응답 (groupId 발급, 댓글 수 집계는 큐에서 묶어서 처리함)
+    private Map<String, Object> toQueuedWriteResult(Long discussionId,
+        DiscussionCommentWriteQueue.Written written) {
+
+        discussionTrendingRanker.record(discussionId, TrendingActivity.COMMENT);
+        discussionActivitySeries.recordComment(discussionId);
+
+        // 방금 저장한 댓글이라 좋아요/신고 기록이 없으므로 보는 회원 기준 조회는 하지 않는다.
+        DiscussionCommentResponseDTO commentDTO = discussionCommentPageAssembler.assemble(
+            written.getComment(), null);
+
+        discussionEventBroadcaster.publishComment(discussionId, commentDTO,
+            written.getCommentCount());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("content", commentDTO);
+        result.put("commentCount", written.getCommentCount());
+        return result;
+    }
+
     // 답글 달기
     @Override
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
@@ -128,18 +210,13 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
 
         Long parentId = parentDiscussionComment.getId();
 
-        Long topOrder = discussionCommentRepository.findTopOrder(discussionId,
-            parentId).orElse(0L) + 1;
-
         // 부모 댓글의 그룹 아이디
         Long groupIdFromParent = parentDiscussionComment.getGroupId();
 
-        // 부모 댓글에 있는 자식 댓글 중 가장 큰 토탈 아이디를 찾고
-        Long topTotalOrderFromChild =
-            discussionCommentRepository.findMaxTotalOrderFromChild(groupIdFromParent) + 1;
-
-        // 기존 댓글들의 totalOrder를 한 번의 쿼리로 업데이트
-        discussionCommentRepository.incrementTotalOrderFrom(topTotalOrderFromChild);
+        // 같은 그룹의 마지막 댓글 바로 다음 번호를 쓴다. 그룹마다 번호 구간이 나뉘어 있어서 다른 댓글의 순서는 바꾸지 않는다.
+        // 번호는 원댓글/부모 댓글 row 의 카운터로 발급해서 동시에 달거나 마지막 답글이 삭제되어도 겹치지 않는다.
+        DiscussionReplyOrderSequence.ReplyOrder replyOrder = discussionReplyOrderSequence.next(
+            discussionId, groupIdFromParent, parentId);
 
         DiscussionComment childDiscussionComment = DiscussionComment.builder()
             .discussion(discussion)
@@ -147,20 +224,22 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
             .parentId(parentId)
             .groupId(groupIdFromParent)
             .isChild(true)
-            .groupOrder(topOrder)
-            .totalOrder(topTotalOrderFromChild)
+            .groupOrder(replyOrder.getGroupOrder())
+            .totalOrder(replyOrder.getTotalOrder())
             .voteType(voteType)
             .content(discussionCommentRequestDTO.getContent())
             .build();
 
-        DiscussionComment savedComment = discussionCommentRepository.save(childDiscussionComment);
+        DiscussionComment savedComment = saveAndCount(discussionId, childDiscussionComment);
+
+        discussionTrendingRanker.record(discussionId, TrendingActivity.COMMENT);
+        discussionActivitySeries.recordComment(discussionId);
 
         DiscussionCommentResponseDTO commentDTO = getCommentDTO(savedComment, member);
 
-        List<DiscussionComment> discussionCommentList = discussionCommentRepository.findByDiscussion(
-            childDiscussionComment.getDiscussion());
+        long commentCount = findCommentCount(discussionId);
 
-        long commentCount = discussionCommentList.stream().count();
+        discussionEventBroadcaster.publishComment(discussionId, commentDTO, commentCount);
 
         result.put("content", commentDTO);
         result.put("commentCount", commentCount);
@@ -179,8 +258,7 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
         Discussion discussion = discussionRepository.findById(discussionId).orElseThrow(
             () -> new DiscussionNotFoundException("해당 토론을 찾지 못했습니다. : " + discussionId));
 
-        long discussionCommentTotal = discussionCommentRepository.findByDiscussion(
-            discussion).stream().count();
+        long discussionCommentTotal = discussion.getCommentCount();
 
         Member member = memberRepository.findById(loginMemberId)
             .orElseThrow(() -> new MemberNotFoundException("해당 회원을 찾을 수 없습니다 : " + loginMemberId));
@@ -192,16 +270,9 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
             discussionCommentList.remove(discussionCommentList.size() - 1); // 11개 가져온 걸 10개를 보내기 위해
         }
 
-        // 결과를 담을 리스트
-        List<DiscussionCommentResponseDTO> responseDTOList = new ArrayList<>();
-
-        for (DiscussionComment discussionComment : discussionCommentList) {
-
-            DiscussionCommentResponseDTO commentResponseDTO = getCommentDTO(discussionComment,
-                member);
-
-            responseDTOList.add(commentResponseDTO);
-        }
+        // 페이지의 댓글을 한 번에 DTO 로 바꾼다. (댓글마다 좋아요, 신고, 부모 댓글을 따로 조회하지 않음)
+        List<DiscussionCommentResponseDTO> responseDTOList = discussionCommentPageAssembler.assemble(
+            discussionCommentList, member);
 
         // 마지막 항목의 ID 설정
         Long lastId = discussionCommentList.isEmpty() ?
@@ -218,84 +289,152 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
             .build();
     }
 
+    // 원댓글만 넘기는 목록 (원댓글마다 답글 수와 앞쪽 답글 몇 개를 같이 준다)
+    // 답글이 많은 댓글이 있어도 다른 원댓글이 다음 페이지로 밀리지 않는다. 나머지 답글은 getReplyList 로 가져온다.
     @Override
-    @Transactional(propagation = Propagation.NOT_SUPPORTED)
-    public DiscussionCommentResponseDTO addLike(Long memberId, Long discussionCommentId) {
+    public ScrollResponseDTO<DiscussionCommentThreadResponseDTO> getCommentThreadList(
+        Long loginMemberId, DiscussionCommentsScrollRequestDTO discussionCommentsScrollRequestDTO,
+        Long discussionId) {
 
-        DiscussionComment discussionComment = discussionCommentRepository.findById(
-            discussionCommentId).orElseThrow(() -> new DiscussionCommentNotFoundException(
-            "해당 댓글을 찾을 수 없습니다. : " + discussionCommentId));
+        Discussion discussion = discussionRepository.findById(discussionId).orElseThrow(
+            () -> new DiscussionNotFoundException("해당 토론을 찾지 못했습니다. : " + discussionId));
 
-        Member member = memberRepository.findById(memberId)
-            .orElseThrow(() -> new MemberNotFoundException("해당 멤버를 찾을 수 없습니다. : " + memberId));
+        Member member = memberRepository.findById(loginMemberId)
+            .orElseThrow(() -> new MemberNotFoundException("해당 회원을 찾을 수 없습니다 : " + loginMemberId));
 
-        // 현재 좋아요/싫어요 상태 확인
-        CommentLike existingLikeOpt = commentLikeRepository.findByCommentAndMember(
-                discussionComment, member)
-            .orElse(null);
+        List<DiscussionComment> topLevelComments = discussionCommentRepository.findTopLevelCommentListWithScroll(
+            discussionCommentsScrollRequestDTO, discussionId);
 
-        if (existingLikeOpt != null) {
-            // 한번 더 눌렀는데 기존 상태가 좋아요라면 삭제
-            if (existingLikeOpt.isLike()) {
+        boolean hasNext = false;
+        if (topLevelComments.size() > discussionCommentsScrollRequestDTO.getSize()) {
+            hasNext = true;
+            topLevelComments.remove(topLevelComments.size() - 1);
+        }
 
-                commentLikeRepository.deleteById(existingLikeOpt.getId());
+        List<Long> groupIds = topLevelComments.stream()
+            .map(DiscussionComment::getGroupId)
+            .collect(Collectors.toList());
 
-                return getCommentDTO(discussionComment, member);
+        // 그룹별 답글 수와 미리보기 답글은 페이지의 그룹을 모아서 한 번씩만 조회한다.
+        Map<Long, Long> replyCounts = new HashMap<>();
+        List<DiscussionComment> previewReplies = new ArrayList<>();
+        if (!groupIds.isEmpty()) {
+            for (Object[] row : discussionCommentRepository.countRepliesByGroupIds(discussionId, groupIds)) {
+                replyCounts.put((Long) row[0], (Long) row[1]);
+            }
+
+            List<Long> previewIds = discussionCommentRepository.findReplyPreviewIds(discussionId,
+                groupIds, REPLY_PREVIEW_COUNT);
+            if (!previewIds.isEmpty()) {
+                Map<Long, DiscussionComment> repliesById = new HashMap<>();
+                for (DiscussionComment reply : discussionCommentRepository.findAllWithWriterByIdIn(
+                    previewIds)) {
+                    repliesById.put(reply.getId(), reply);
+                }
+                previewIds.stream()
+                    .map(repliesById::get)
+                    .filter(Objects::nonNull)
+                    .forEach(previewReplies::add);
             }
-            // 기존 상태가 싫어요라면 싫어요를 삭제
-            commentLikeRepository.delete(existingLikeOpt);
         }
 
-        CommentLike commentLike = CommentLike.builder()
-            .comment(discussionComment)
-            .member(member)
-            .isLike(true)
-            .build();
+        // 원댓글과 미리보기 답글을 한 번에 DTO 로 바꾼다. (앞쪽이 원댓글, 뒤쪽이 답글)
+        List<DiscussionComment> pageComments = new ArrayList<>(topLevelComments);
+        pageComments.addAll(previewReplies);
+        List<DiscussionCommentResponseDTO> commentDTOs = discussionCommentPageAssembler.assemble(
+            pageComments, member);
+
+        Map<Long, List<DiscussionCommentResponseDTO>> repliesByGroupId = new HashMap<>();
+        for (int i = topLevelComments.size(); i < commentDTOs.size(); i++) {
+            DiscussionCommentResponseDTO replyDTO = commentDTOs.get(i);
+            repliesByGroupId.computeIfAbsent(replyDTO.getGroupId(), key -> new ArrayList<>())
+                .add(replyDTO);
+        }
 
-        commentLikeRepository.save(commentLike);
+        List<DiscussionCommentThreadResponseDTO> threads = new ArrayList<>(topLevelComments.size());
+        for (int i = 0; i < topLevelComments.size(); i++) {
+            Long groupId = topLevelComments.get(i).getGroupId();
+            List<DiscussionCommentResponseDTO> replies = repliesByGroupId.getOrDefault(groupId,
+                new ArrayList<>());
+            long replyCount = replyCounts.getOrDefault(groupId, 0L);
+
+            threads.add(DiscussionCommentThreadResponseDTO.builder()
+                .comment(commentDTOs.get(i))
+                .replyCount(replyCount)
+                .replies(replies)
+                .replyLastId(replies.isEmpty() ? null : replies.get(replies.size() - 1).getTotalOrder())
+                .hasMoreReplies(replyCount > replies.size())
+                .build());
+        }
+
+        // 원댓글 목록의 커서는 마지막 원댓글의 groupId
+        Long lastId = topLevelComments.isEmpty() ?
+            discussionCommentsScrollRequestDTO.getLastId() :
+            topLevelComments.get(topLevelComments.size() - 1).getGroupId();
 
-        return getCommentDTO(discussionComment, member);
+        return ScrollResponseDTO.<DiscussionCommentThreadResponseDTO>withAll()
+            .content(threads)
+            .hasNext(hasNext)
+            .lastId(lastId)
+            .numberOfElements(threads.size())
+            .totalElements(discussion.getCommentCount())
+            .build();
     }
 
+    // 한 원댓글(그룹)의 답글 목록, 커서는 마지막 답글의 totalOrder
     @Override
-    @Transactional(propagation = Propagation.NOT_SUPPORTED)
-    public DiscussionCommentResponseDTO addDislike(Long memberId, Long discussionCommentId) {
+    public ScrollResponseDTO<DiscussionCommentResponseDTO> getReplyList(
+        Long loginMemberId, DiscussionCommentsScrollRequestDTO discussionCommentsScrollRequestDTO,
+        Long discussionId, Long groupId) {
 
-        DiscussionComment discussionComment = discussionCommentRepository.findById(
-            discussionCommentId).orElseThrow(() -> new DiscussionCommentNotFoundException(
-            "해당 댓글을 찾을 수 없습니다. : " + discussionCommentId));
+        Member member = memberRepository.findById(loginMemberId)
+            .orElseThrow(() -> new MemberNotFoundException("해당 회원을 찾을 수 없습니다 : " + loginMemberId));
 
-        Member member = memberRepository.findById(memberId)
-            .orElseThrow(() -> new MemberNotFoundException("해당 멤버를 찾을 수 없습니다. : " + memberId));
+        List<DiscussionComment> replies = discussionCommentRepository.findReplyListWithScroll(
+            discussionCommentsScrollRequestDTO, discussionId, groupId);
 
-        // 현재 좋아요/싫어요 상태 확인
-        CommentLike existingLikeOpt = commentLikeRepository.findByCommentAndMember(
-                discussionComment, member)
-            .orElse(null);
+        boolean hasNext = false;
+        if (replies.size() > discussionCommentsScrollRequestDTO.getSize()) {
+            hasNext = true;
+            replies.remove(replies.size() - 1);
+        }
 
-        if (existingLikeOpt != null) {
-            // 한번 더 눌렀는데 기존 상태가 싫어요라면 삭제
-            if (!existingLikeOpt.isLike()) {
+        List<DiscussionCommentResponseDTO> responseDTOList = discussionCommentPageAssembler.assemble(
+            replies, member);
 
-                commentLikeRepository.deleteById(existingLikeOpt.getId());
+        long replyCount = discussionCommentRepository.countRepliesByGroupIds(discussionId,
+                List.of(groupId)).stream()
+            .map(row -> (Long) row[1])
+            .findFirst()
+            .orElse(0L);
 
-                return getCommentDTO(discussionComment, member);
-            }
-            commentLikeRepository.deleteById(existingLikeOpt.getId());
-        }
+        Long lastId = replies.isEmpty() ?
+            discussionCommentsScrollRequestDTO.getLastId() :
+            replies.get(replies.size() - 1).getTotalOrder();
 
-        CommentLike commentLike = CommentLike.builder()
-            .comment(discussionComment)
-            .member(member)
-            .isLike(false)
+        return ScrollResponseDTO.<DiscussionCommentResponseDTO>withAll()
+            .content(responseDTOList)
+            .hasNext(hasNext)
+            .lastId(lastId)
+            .numberOfElements(responseDTOList.size())
+            .totalElements(replyCount)
             .build();
+    }
+
+    @Override
+    public DiscussionCommentResponseDTO addLike(Long memberId, Long discussionCommentId) {
 
-        commentLikeRepository.save(commentLike);
+        return toggleReaction(memberId, discussionCommentId, true);
+    }
+
+    @Override
+    public DiscussionCommentResponseDTO addDislike(Long memberId, Long discussionCommentId) {
 
-        return getCommentDTO(discussionComment, member);
+        return toggleReaction(memberId, discussionCommentId, false);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteComment(Long memberId, Long commentId) {
         Member member = memberRepository.findById(memberId)
             .orElseThrow(() -> new MemberNotFoundException("해당 멤버를 찾을 수 없습니다. : " + memberId));
@@ -311,151 +450,280 @@ public class DiscussionCommentServiceImpl implements DiscussionCommentService {
             // 삭제된 댓글의 voteType (찬성/반대)
             VoteType voteType = discussionComment.getVoteType();
 
-            // 댓글 삭제
-            discussionCommentRepository.deleteById(commentId);
+            Long discussionId = discussionComment.getDiscussion().getId();
+
+            // 작성과 같이 토론 row 를 잠그는 것부터 시작하는 트랜잭션에서 지우고 집계를 줄인다.
+            // 마지막 댓글인지 확인하는 사이에 다른 작성/삭제가 끼어들지 않게 하고,
+            // 잠그기 전에 다른 것을 읽으면 (MySQL 기본 격리 수준에서) 그 시점 이후에 달린 댓글을 보지 못하기 때문이다.
+            transactionTemplate.executeWithoutResult(status -> {
+                lockDiscussion(discussionId);
 
-            // 삭제된 댓글이 찬성 댓글인지 반대 댓글인지 확인 후 해당 카운트 감소
-            if (voteType == VoteType.AGREE) {
+                // 댓글 삭제
+                discussionCommentRepository.deleteById(commentId);
 
-                // 찬성 댓글 삭제 시 마지막 찬성 댓글인지 확인
-                long countAgreeComments = countCommentsForDiscussion(
-                    discussionComment.getDiscussion().getId(), VoteType.AGREE);
+                discussionBestCommentCache.remove(discussionId, commentId);
 
-                if (countAgreeComments == 0) {  // 마지막 찬성 댓글이 삭제되었으면
+                // 이 회원이 같은 의견으로 단 댓글이 더 없으면 댓글 단 회원 수도 같이 줄인다.
+                boolean wasLastOfMember = !discussionCommentRepository.existsByDiscussionIdAndMemberIdAndVoteType(
+                    discussionId, commentMemberId, voteType);
+                changeCommentCounts(discussionId, voteType, -1, wasLastOfMember ? -1 : 0);
 
-                    // 찬성 상태였던 참여자 삭제
+                // 삭제된 댓글이 그 의견의 마지막 댓글이면 참여자(찬반 상태)를 삭제하고 찬반 수를 줄인다.
+                long countVoteTypeComments = countCommentsForDiscussion(discussionId, voteType);
+
+                if (countVoteTypeComments == 0) {
                     DiscussionParticipant participant = findParticipantByDiscussionAndMember(
                         discussionComment.getDiscussion(), member);
-                    discussionParticipantRepository.delete(participant); // 해당 찬성 상태 삭제
+                    discussionParticipantRepository.delete(participant);
+
+                    // 찬반 수는 참여자 row 로 올렸으므로 (댓글을 단 뒤 입장을 바꿨을 수 있다) 줄일 때도 참여자 row 를 따른다.
+                    long agreeDelta = participant.isAgree() ? -1 : 0;
+                    long disagreeDelta = participant.isAgree() ? 0 : -1;
+                    discussionRepository.addVoteCounts(discussionId, agreeDelta, disagreeDelta);
+                    discussionActivitySeries.recordVote(discussionId, agreeDelta, disagreeDelta);
                 }
+            });
+        }
+    }
 
-            } else if (voteType == VoteType.DISAGREE) {
+    // 댓글을 저장하고 댓글 수, 의견별 댓글 단 회원 수를 올린다.
+    // "처음 다는 댓글인지" 확인과 저장 사이에 같은 회원의 다른 댓글이 끼어들면 회원 수가 두 번 올라가므로,
+    // 토론 row 를 먼저 잠그고 확인 -> 저장 -> 집계를 한 트랜잭션에서 한다. (묶음 저장, 삭제도 같은 row 를 잠근다)
+    // 집계 UPDATE 가 어차피 이 row 를 잠그므로 잠그는 시점이 조금 앞당겨질 뿐이다.
+    // groupId 발급기는 같은 row 를 별도 트랜잭션에서 올리므로 이 안에서 부르지 않는다. (먼저 받아 둔다)
+    private DiscussionComment saveAndCount(Long discussionId, DiscussionComment discussionComment) {
+        return transactionTemplate.execute(status -> {
+            lockDiscussion(discussionId);
 
-                // 반대 댓글 삭제 시 마지막 반대 댓글인지 확인
-                long countDisagreeComments = countCommentsForDiscussion(
-                    discussionComment.getDiscussion().getId(), VoteType.DISAGREE);
+            boolean isNewCommenter = !discussionCommentRepository.existsByDiscussionIdAndMemberIdAndVoteType(
+                discussionId, discussionComment.getMember().getId(), discussionComment.getVoteType());
 
-                if (countDisagreeComments == 0) {  // 마지막 반대 댓글이 삭제되었으면
+            DiscussionComment savedComment = discussionCommentRepository.save(discussionComment);
 
-                    // 반대 상태였던 참여자 삭제
-                    DiscussionParticipant participant = findParticipantByDiscussionAndMember(
-                        discussionComment.getDiscussion(), member);
-                    discussionParticipantRepository.delete(participant); // 해당 반대 상태 삭제
-                }
-            }
-        }
+            changeCommentCounts(discussionId, discussionComment.getVoteType(), 1, isNewCommenter ? 1 : 0);
+            return savedComment;
+        });
     }
 
-    private long countCommentsForDiscussion(Long discussionId, VoteType voteType) {
-        return discussionCommentRepository.countCommentsForDiscussionAndVoteType(discussionId,
-            voteType);
+    private void lockDiscussion(Long discussionId) {
+        discussionRepository.findByIdForUpdate(discussionId).orElseThrow(
+            () -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId));
     }
 
-    private DiscussionParticipant findParticipantByDiscussionAndMember(Discussion discussion,
-        Member member) {
-        return discussionParticipantRepository.findByDiscussionAndMember(discussion, member)
-            .orElseThrow(() -> new DiscussionParticipantNotFoundException("해당 참여자를 찾을 수 없습니다."));
+    // Discussion 의 댓글 수, 의견별 댓글 단 회원 수를 DB에서 바로 더하고 뺀다.
+    private void changeCommentCounts(Long discussionId, VoteType voteType, long commentDelta,
+        long commenterDelta) {
+        discussionRepository.addCommentCounts(discussionId, commentDelta,
+            voteType == VoteType.AGREE ? commenterDelta : 0,
+            voteType == VoteType.DISAGREE ? commenterDelta : 0);
+        discussionDetailCache.invalidate(discussionId);
     }
 
-    @Override
-    public List<DiscussionCommentResponseDTO> getBest3CommentByCommentLikes(Long loginMemberId,
-        Long discussionId) {
+    // 좋아요/싫어요 누르기
+    // 반대로 눌러 뒀으면 바꾸고, 같은 걸 눌러 뒀으면 취소하고, 누른 적 없으면 추가한다.
+    // CommentLike 조건부 쿼리와 댓글의 좋아요/싫어요 수 UPDATE 를 한 트랜잭션에서 실행해서 두 값이 어긋나지 않게 한다.
+    private DiscussionCommentResponseDTO toggleReaction(Long memberId, Long discussionCommentId,
+        boolean isLike) {
 
-        List<DiscussionComment> bestCommentTop3List = discussionCommentRepository.findBest3CommentList(
-            discussionId).orElseThrow(
-            () -> new DiscussionCommentNotFoundException("댓글을 찾을 수 없습니다.")
-        );
+        // 댓글 행을 먼저 잠근다. 같은 회원이 동시에 눌러도 아래 조건부 쿼리들이 차례로 실행되어
+        // CommentLike 행이 없을 때의 gap lock 끼리 교착되거나 증감이 두 번 반영되지 않는다. (투표 토글과 같은 방식)
+        DiscussionComment discussionComment = discussionCommentRepository.findByIdForUpdate(
+            discussionCommentId).orElseThrow(() -> new DiscussionCommentNotFoundException(
+            "해당 댓글을 찾을 수 없습니다. : " + discussionCommentId));
 
-        Member member = memberRepository.findById(loginMemberId)
-            .orElseThrow(() -> new MemberNotFoundException("해당 회원을 찾을 수 없습니다 : " + loginMemberId));
+        Member member = memberRepository.findById(memberId)
+            .orElseThrow(() -> new MemberNotFoundException("해당 멤버를 찾을 수 없습니다. : " + memberId));
 
-        // 결과를 담을 리스트
-        List<DiscussionCommentResponseDTO> responseDTOList = new ArrayList<>();
+        long likeDelta = 0;
+        long dislikeDelta = 0;
+
+        if (commentLikeRepository.switchReaction(discussionCommentId, memberId, isLike) == 1) {
+            likeDelta = isLike ? 1 : -1;
+            dislikeDelta = -likeDelta;
+        } else if (commentLikeRepository.cancelReaction(discussionCommentId, memberId, isLike) == 1) {
+            likeDelta = isLike ? -1 : 0;
+            dislikeDelta = isLike ? 0 : -1;
+        } else if (commentLikeRepository.insertReactionIfAbsent(discussionCommentId, memberId,
+            isLike) == 1) {
+            likeDelta = isLike ? 1 : 0;
+            dislikeDelta = isLike ? 0 : 1;
+        }
 
-        for (DiscussionComment discussionComment : bestCommentTop3List) {
+        if (likeDelta != 0 || dislikeDelta != 0) {
+            discussionCommentRepository.addReactionCounts(discussionCommentId, likeDelta,
+                dislikeDelta);
+            publishReaction(discussionComment, likeDelta, dislikeDelta);
+            discussionActivitySeries.recordLike(discussionComment.getDiscussion().getId(), likeDelta);
+        }
 
-            DiscussionCommentResponseDTO commentDTO = getCommentDTO(discussionComment, member);
+        if (likeDelta > 0) {
+            discussionTrendingRanker.record(discussionComment.getDiscussion().getId(),
+                TrendingActivity.LIKE);
+        }
 
-            responseDTOList.add(commentDTO);
+        // 바뀐 좋아요/싫어요 수로 응답하기 위해 다시 읽는다.
+        DiscussionComment updatedComment = discussionCommentRepository.findById(discussionCommentId)
+            .orElse(discussionComment);
+
+        // 좋아요/싫어요 수가 바뀌었으면 베스트 댓글 순위에도 반영한다.
+        if (likeDelta != 0 || dislikeDelta != 0) {
+            discussionBestCommentCache.update(updatedComment);
         }
 
-        return responseDTOList;
+        return getCommentDTO(updatedComment, member);
+    }
+
+    // 좋아요/싫어요 증감을 실시간 스트림 구독자에게 보낸다.
+    private void publishReaction(DiscussionComment discussionComment, long likeDelta,
+        long dislikeDelta) {
+        discussionEventBroadcaster.publishCommentReaction(
+            discussionComment.getDiscussion().getId(), discussionComment.getId(), likeDelta,
+            dislikeDelta);
     }
 
     @Override
-    public DiscussionCommentResponseDTO getCommentDTO(DiscussionComment discussionComment,
-        Member member) {
+    public int recalculateReactionCounts() {
 
-        String profileImage =
-            discussionComment.getMember().isDeleted() ? "defaultProfileImage.jpg"
-                : discussionComment.getMember().getProfileImage();
-        String nickname =
-            discussionComment.getMember().isDeleted() ? "탈퇴한 회원"
-                : discussionComment.getMember().getNickname();
-        String honorific =
-            discussionComment.getMember().isDeleted() ? "탈퇴한 회원입니다"
-                : discussionComment.getMember().getHonorific();
+        int updated = discussionCommentRepository.recalculateAllReactionCounts();
+        log.info("전체 댓글 {}개의 좋아요/싫어요 수를 다시 계산했습니다.", updated);
+        return updated;
+    }
+
+    // 예전 방식(토론 전체에서 1부터 매긴 순번)으로 저장된 댓글의 totalOrder 를 그룹 구간 방식으로 바꾼다.
+    // 그룹 안의 기존 순서는 그대로 유지하고, 이미 바뀐 그룹은 건드리지 않으므로 여러 번 실행해도 된다.
+    // 변환 전에 새 방식으로 달린 답글이 있으면 (답글 순번 발급기가 groupStart + 1 부터 번호를 준다) 예전 답글 뒤로 같이 다시 매기고,
+    // 원댓글의 답글 카운터도 마지막 번호로 맞춰서 이후 답글과 번호가 겹치지 않게 한다.
+    // 그룹을 (토론 id, groupId) 순서로 MIGRATE_GROUP_PAGE_SIZE 개씩 나눠서 읽으므로 댓글 전체를 메모리에 올리지 않는다.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int migrateLegacyTotalOrder() {
+
+        int migrated = 0;
+        long afterDiscussionId = 0L;
+        long afterGroupId = 0L;
 
-        Optional<Report> commentReported = reportRepository.findByReporterAndComment(
-            member, discussionComment);
+        while (true) {
+            List<Object[]> groups = discussionCommentRepository.findLegacyOrderGroups(
+                DiscussionComment.GROUP_ORDER_STRIDE, afterDiscussionId, afterGroupId, MIGRATE_GROUP_PAGE_SIZE);
+            if (groups.isEmpty()) {
+                break;
+            }
 
-        Optional<CommentLike> commentIsLike = commentLikeRepository.findByCommentAndMember(
-            discussionComment, member);
+            Integer updated = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (Object[] group : groups) {
+                    count += migrateLegacyGroup(((Number) group[0]).longValue(), ((Number) group[1]).longValue());
+                }
+                return count;
+            });
+            migrated += updated == null ? 0 : updated;
 
-        if (commentIsLike.isPresent()) {
-            log.info("isLike : " + commentIsLike.get().isLike());
+            Object[] last = groups.get(groups.size() - 1);
+            afterDiscussionId = ((Number) last[0]).longValue();
+            afterGroupId = ((Number) last[1]).longValue();
         }
 
-        String parentCommentNickname;
+        log.info("예전 방식으로 저장된 댓글이 있던 그룹의 댓글 {}개의 순서를 바꿨습니다.", migrated);
+        return migrated;
+    }
 
-        Optional<DiscussionComment> parentComment = discussionCommentRepository.findById(
-            discussionComment.getParentId() != null ? discussionComment.getParentId() : 0L);
+    // 그룹 하나의 totalOrder 를 groupStart 부터 다시 매긴다. (원댓글 row 를 잠근 트랜잭션 안에서 호출)
+    private int migrateLegacyGroup(Long discussionId, Long groupId) {
 
-        if (parentComment.isPresent()) {
+        List<Long> rootIds = discussionCommentRepository.lockGroupRoot(discussionId, groupId);
+        List<Long> commentIds = discussionCommentRepository.findGroupIdsForRenumber(discussionId, groupId,
+            DiscussionComment.GROUP_ORDER_STRIDE);
 
-            if (parentComment.get().getMember().isDeleted()) {
+        // 그룹 구간을 넘으면 다음 그룹의 번호와 겹치므로 바꾸지 않고 남겨 둔다.
+        if (commentIds.size() > DiscussionComment.GROUP_ORDER_STRIDE) {
+            log.error("{}번 토론 {}번 그룹의 댓글 {}개가 그룹 구간({})을 넘어서 순서를 바꾸지 않았습니다.",
+                discussionId, groupId, commentIds.size(), DiscussionComment.GROUP_ORDER_STRIDE);
+            return 0;
+        }
 
-                parentCommentNickname = "탈퇴한 회원";
-            } else {
+        long groupStart = groupId * DiscussionComment.GROUP_ORDER_STRIDE;
+        List<Object[]> updates = new ArrayList<>(commentIds.size());
+        for (int i = 0; i < commentIds.size(); i++) {
+            updates.add(new Object[]{groupStart + i, commentIds.get(i)});
+        }
 
-                parentCommentNickname = parentComment.get().getMember().getNickname();
-            }
-        } else {
+        // 댓글마다 UPDATE 를 따로 보내지 않고 묶어서 보낸다.
+        for (int from = 0; from < updates.size(); from += MIGRATE_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(MIGRATE_TOTAL_ORDER_SQL,
+                updates.subList(from, Math.min(from + MIGRATE_BATCH_SIZE, updates.size())));
+        }
 
-            parentCommentNickname = null;
+        // 다음 답글은 방금 매긴 마지막 번호 다음부터 받는다.
+        for (Long rootId : rootIds) {
+            jdbcTemplate.update(MIGRATE_LAST_REPLY_TOTAL_ORDER_SQL, groupStart + commentIds.size() - 1, rootId);
         }
 
-        List<CommentLike> commentLikeList = commentLikeRepository.findByComment(discussionComment);
-
-        long likeCount = commentLikeList.stream()
-            .filter(commentLike -> commentLike.isLike() == true).count();
-        long dislikeCount = commentLikeList.size() - likeCount;
-
-        DiscussionCommentResponseDTO discussionCommentResponseDTO = DiscussionCommentResponseDTO.builder()
-            .commentId(discussionComment.getId())
-            .discussionId(discussionComment.getDiscussion().getId())
-            .memberId(discussionComment.getMember().getId())
-            .profileImage(profileImage)
-            .nickname(nickname)
-            .parentNickname(parentCommentNickname)
-            .honorific(honorific)
-            .parentId(parentComment.map(DiscussionComment::getId).orElse(null))
-            .groupId(discussionComment.getGroupId() != null ? discussionComment.getGroupId() : null)
-            .groupOrder(
-                discussionComment.getGroupOrder() != null ? discussionComment.getGroupOrder()
-                    : null)
-            .totalOrder(discussionComment.getTotalOrder())
-            .isChild(discussionComment.isChild())
-            .isLike(commentIsLike.isPresent() ? commentIsLike.get().isLike() : null)
-            .voteType(String.valueOf(discussionComment.getVoteType()))
-            .content(discussionComment.getContent())
-            .like(likeCount)
-            .dislike(dislikeCount)
-            .createTime(discussionComment.getCreatedDate())
-            .viewStatus(discussionComment.getViewStatus())
-            .isReport(commentReported.isPresent())
-            .build();
+        return commentIds.size();
+    }
+
+    // 토론 댓글 전체 내보내기 (NDJSON)
+    // 토론이 있는지만 먼저 확인하고, 실제 조회와 쓰기는 응답을 보내면서 한 줄씩 한다.
+    @Override
+    @Transactional(readOnly = true)
+    public StreamingResponseBody exportComments(Long discussionId) {
+
+        if (!discussionRepository.existsById(discussionId)) {
+            throw new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId);
+        }
+
+        return outputStream -> {
+            long exported = discussionCommentExporter.writeNdjson(discussionId, outputStream);
+            log.info("{}번 토론 댓글 {}개를 내보냈습니다.", discussionId, exported);
+        };
+    }
+
+    private long findCommentCount(Long discussionId) {
+        return discussionRepository.findCountsById(discussionId)
+            .map(DiscussionCountDTO::getCommentCount)
+            .orElse(0L);
+    }
+
+    private long countCommentsForDiscussion(Long discussionId, VoteType voteType) {
+        return discussionCommentRepository.countCommentsForDiscussionAndVoteType(discussionId,
+            voteType);
+    }
+
+    private DiscussionParticipant findParticipantByDiscussionAndMember(Discussion discussion,
+        Member member) {
+        return discussionParticipantRepository.findByDiscussionAndMember(discussion, member)
+            .orElseThrow(() -> new DiscussionParticipantNotFoundException("해당 참여자를 찾을 수 없습니다."));
+    }
+
+    @Override
+    public List<DiscussionCommentResponseDTO> getBest3CommentByCommentLikes(Long loginMemberId,
+        Long discussionId) {
+
+        // 베스트 댓글 순위는 캐시에서 가져오고, 댓글은 작성자와 함께 한 번에 읽는다.
+        List<Long> bestCommentIds = discussionBestCommentCache.getTopIds(discussionId, BEST_COMMENT_COUNT);
+
+        Map<Long, DiscussionComment> commentsById = new HashMap<>();
+        if (!bestCommentIds.isEmpty()) {
+            for (DiscussionComment comment : discussionCommentRepository.findAllWithWriterByIdIn(
+                bestCommentIds)) {
+                commentsById.put(comment.getId(), comment);
+            }
+        }
+
+        List<DiscussionComment> bestCommentTop3List = bestCommentIds.stream()
+            .map(commentsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+        Member member = memberRepository.findById(loginMemberId)
+            .orElseThrow(() -> new MemberNotFoundException("해당 회원을 찾을 수 없습니다 : " + loginMemberId));
+
+        return discussionCommentPageAssembler.assemble(bestCommentTop3List, member);
+    }
+
+    @Override
+    public DiscussionCommentResponseDTO getCommentDTO(DiscussionComment discussionComment,
+        Member member) {
 
-        return discussionCommentResponseDTO;
+        return discussionCommentPageAssembler.assemble(discussionComment, member);
     }
 }
@@ -6,10 +6,13 @@ import com.undefinedus.backend.dto.request.discussion.DiscussionRegisterRequestD
 import com.undefinedus.backend.dto.request.discussion.DiscussionUpdateRequestDTO;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionScrollRequestDTO;
 import com.undefinedus.backend.dto.response.ScrollResponseDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionActivityPointDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionDetailResponseDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionListResponseDTO;
+import java.util.List;
 import java.util.Map;
 import org.quartz.SchedulerException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface DiscussionService {
 
@@ -29,4 +32,12 @@ public interface DiscussionService {
     Map<String, String> joinDisagree(Long memberId, Long discussionId);
 
     void deleteDiscussion(Long memberId, Long discussionId) throws SchedulerException;
+
+    int recalculateCounts(Long discussionId);
+
+    SseEmitter subscribeDiscussion(Long discussionId);
+
+    List<DiscussionActivityPointDTO> getActivitySeries(Long discussionId, int bucketMinutes);
+
+    int heartbeat(Long loginMemberId, Long discussionId);
 }
@@ -8,18 +8,31 @@ import com.undefinedus.backend.domain.entity.Member;
 import com.undefinedus.backend.domain.entity.MyBook;
 import com.undefinedus.backend.domain.entity.Report;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.domain.enums.TrendingActivity;
 import com.undefinedus.backend.domain.enums.VoteType;
 import com.undefinedus.backend.dto.request.discussion.DiscussionRegisterRequestDTO;
 import com.undefinedus.backend.dto.request.discussion.DiscussionUpdateRequestDTO;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionScrollRequestDTO;
 import com.undefinedus.backend.dto.response.ScrollResponseDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionActivityPointDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionCountDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionDetailResponseDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionListProjectionDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionListResponseDTO;
 import com.undefinedus.backend.exception.aladinBook.AladinBookNotFoundException;
 import com.undefinedus.backend.exception.book.BookNotFoundException;
 import com.undefinedus.backend.exception.discussion.DiscussionException;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
 import com.undefinedus.backend.exception.member.MemberNotFoundException;
+import com.undefinedus.backend.global.cache.DiscussionBestCommentCache;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.cache.DiscussionStatusCountCache;
+import com.undefinedus.backend.global.cache.DiscussionViewCounter;
+import com.undefinedus.backend.global.presence.DiscussionPresenceTracker;
+import com.undefinedus.backend.global.search.DiscussionSearchIndex;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster;
+import com.undefinedus.backend.global.timeseries.DiscussionActivitySeries;
+import com.undefinedus.backend.global.trending.DiscussionTrendingRanker;
 import com.undefinedus.backend.repository.AladinBookRepository;
 import com.undefinedus.backend.repository.DiscussionCommentRepository;
 import com.undefinedus.backend.repository.DiscussionParticipantRepository;
@@ -48,6 +61,8 @@ import org.quartz.SchedulerException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @RequiredArgsConstructor
@@ -64,6 +79,19 @@ public class DiscussionServiceImpl implements DiscussionService {
     private final QuartzTriggerRepository quartzTriggerRepository;
     private final ReportRepository reportRepository;
     private final DiscussionCommentRepository discussionCommentRepository;
+    private final DiscussionStatusCountCache discussionStatusCountCache;
+    private final DiscussionViewCounter discussionViewCounter;
+    private final DiscussionDetailCache discussionDetailCache;
+    private final DiscussionBestCommentCache discussionBestCommentCache;
+    private final DiscussionSearchIndex discussionSearchIndex;
+    private final DiscussionEventBroadcaster discussionEventBroadcaster;
+    private final DiscussionTrendingRanker discussionTrendingRanker;
+    private final DiscussionActivitySeries discussionActivitySeries;
+    private final DiscussionPresenceTracker discussionPresenceTracker;
+
+    private static final int SEARCH_CHUNK_SIZE = 100; // 검색 색인에서 한 번에 꺼내는 토론 id 수
+    private static final int TRENDING_CHUNK_SIZE = 100; // 인기 순위에서 한 번에 꺼내는 토론 수
+    private static final String TRENDING_SORT = "trending";
 
     @Override
     public Long discussionRegister(Long memberId,
@@ -90,6 +118,10 @@ public class DiscussionServiceImpl implements DiscussionService {
         Discussion savedDiscussion = discussionRepository.save(discussion);
         log.info(savedDiscussion.toString());
 
+        discussionStatusCountCache.increase(DiscussionStatus.PROPOSED);
+        discussionSearchIndex.index(savedDiscussion.getId(), savedDiscussion.getTitle(),
+                savedDiscussion.getContent(), myBook.getAladinBook().getTitle());
+
         // 상태 변경 작업 스케줄링
         try {
             quartzConfig.scheduleDiscussionJobs(savedDiscussion.getStartDate(),
@@ -110,9 +142,16 @@ public class DiscussionServiceImpl implements DiscussionService {
 
         Discussion discussion = discussionRepository.findById(discussionId).orElseThrow();
 
+        DiscussionStatus beforeStatus = discussion.getStatus();
         discussion.changeStatus(discussionStatus);
 
         Discussion discussionSaved = discussionRepository.save(discussion);
+        discussionStatusCountCache.move(beforeStatus, discussionStatus);
+        discussionDetailCache.invalidate(discussionId);
+        if (discussionStatus == DiscussionStatus.COMPLETED) {
+            discussionBestCommentCache.evict(discussionId); // 끝난 토론은 더 이상 순위가 바뀌지 않는다.
+        }
+        discussionEventBroadcaster.publishStatus(discussionId, discussionStatus);
 
         return discussionSaved;
     }
@@ -121,10 +160,22 @@ public class DiscussionServiceImpl implements DiscussionService {
     public ScrollResponseDTO<DiscussionListResponseDTO> getDiscussionList(
             DiscussionScrollRequestDTO discussionScrollRequestDTO) {
 
-        List<Discussion> discussionList = discussionRepository.findDiscussionsWithScroll(
-                discussionScrollRequestDTO);
+        // 인기순은 메모리의 인기 순위에서 가져온다. (검색어가 있으면 검색 결과를 최신순으로)
+        if (TRENDING_SORT.equals(discussionScrollRequestDTO.getSort())
+                && !StringUtils.hasText(discussionScrollRequestDTO.getSearch())) {
+            return getTrendingDiscussionList(discussionScrollRequestDTO);
+        }
 
-        Long discussionsListCount = discussionRepository.findAllByStatus(DiscussionStatus.valueOf(discussionScrollRequestDTO.getStatus())).stream().count();
+        // 책, 작성자, 참여자 수, 댓글 수를 한 번의 쿼리로 가져온다. (토론마다 Lazy 로딩하지 않음)
+        // 검색어가 있으면 LIKE 대신 검색 색인에서 찾은 id 로 가져온다.
+        List<DiscussionListProjectionDTO> discussionList =
+                StringUtils.hasText(discussionScrollRequestDTO.getSearch()) ?
+                        searchDiscussionList(discussionScrollRequestDTO) :
+                        discussionRepository.findDiscussionListWithScroll(discussionScrollRequestDTO);
+
+        // 탭 배지에 쓰는 전체 개수는 메모리에 캐시된 상태별 개수를 사용
+        Long discussionsListCount = discussionStatusCountCache.getCount(
+                DiscussionStatus.valueOf(discussionScrollRequestDTO.getStatus()));
 
         boolean hasNext = false;
         if (discussionList.size() > discussionScrollRequestDTO.getSize()) { // 11 > 10 이면 있다는 뜻
@@ -133,83 +184,15 @@ public class DiscussionServiceImpl implements DiscussionService {
         }
 
         // 결과를 담을 리스트
-        List<DiscussionListResponseDTO> responseDTOList = new ArrayList<>();
-
-        for (Discussion discussion : discussionList) {
-            // 각 토론의 관련 정보를 추출
-
-            Long memberId = discussion.getMember().getId();
-            String memberName = discussion.getMember().isDeleted() ? "탈퇴한 회원" : discussion.getMember().getNickname();
-
-            List<DiscussionComment> comments = discussionCommentRepository.findByDiscussion(discussion);
-
-            Set<String> agrees = new HashSet<>();
-            Set<String> disagrees = new HashSet<>();
-            comments.stream()
-                    .filter(comment -> comment.getVoteType().equals(VoteType.AGREE))
-                    .filter(comment -> agrees.add(comment.getMember().getId() + "_" + comment.getVoteType()))
-                    .collect(Collectors.toList());  // 또는 다른 종단 연산 사용
-            comments.stream()
-                    .filter(comment -> comment.getVoteType().equals(VoteType.DISAGREE))
-                    .filter(comment -> disagrees.add(comment.getMember().getId() + "_" + comment.getVoteType()))
-                    .collect(Collectors.toList());  // 또는 다른 종단 연산 사용
-
-
-            Integer agreeCount = agrees.size();
-            Integer disagreeCount = disagrees.size();
-
-            log.info("agreeCount : {}, disAgreeCount : {}", agreeCount, disagreeCount);
-
-
-            String title = discussion.getTitle();
-            Long agree = discussion.getParticipants().stream().filter(isAgree -> isAgree.isAgree())
-                    .count();  // 찬성 참여자 수
-            Long disagree = discussion.getParticipants().stream()
-                    .filter(disAgree -> !disAgree.isAgree()).count();  // 반대 참여자 수
-            LocalDateTime createdDate = discussion.getCreatedDate();
-            Long views = discussion.getViews();
-            Long discussionId = discussion.getId();
-            String isbn13 = discussion.getAladinBook().getIsbn13();
-            LocalDateTime startDateTime = discussion.getStartDate();
-            LocalDateTime closedAt = discussion.getClosedAt();
-            long count = discussion.getComments() != null ? discussion.getComments().stream().count() : 0;
-
-            AladinBook aladinBook = discussion.getAladinBook();
-
-            String cover = aladinBook.getCover();
-
-            // DTO 객체 생성 후 리스트에 추가
-            DiscussionListResponseDTO dto = DiscussionListResponseDTO.builder()
-                    .discussionId(discussionId)
-                    .isbn13(isbn13)
-                    .bookTitle(aladinBook.getTitle())
-                    .memberId(memberId)
-                    .memberName(memberName)
-                    .title(title)
-                    .agree(agree)
-                    .disagree(disagree)
-                    .createdDate(createdDate)
-                    .startDateTime(startDateTime)
-                    .closedAt(closedAt)
-                    .views(views)
-                    .commentCount(count)
-                    .cover(cover)
-                    .status(String.valueOf(discussion.getStatus()))
-                    .agreePercent(discussion.getAgreePercent())
-                    .disagreePercent(discussion.getDisagreePercent())
-                    .viewStatus(discussion.getViewStatus())
-                    .agreeCommentCount(agreeCount)
-                    .disagreeCommentCount(disagreeCount)
-                    .build();
-
-            responseDTOList.add(dto);
-        }
+        List<DiscussionListResponseDTO> responseDTOList = discussionList.stream()
+                .map(this::toDiscussionListResponseDTO)
+                .collect(Collectors.toList());
 
         // 마지막 항목의 ID 설정
         Long lastId = discussionList.isEmpty() ?
                 discussionScrollRequestDTO.getLastId() :    // 조회된 목록이 비어있는 경우를 대비해 삼항 연산자 사용
                 discussionList.get(discussionList.size() - 1)
-                        .getId(); // lastId를 요청 DTO의 값이 아닌, 실제 조회된 마지막 항목의 ID로 설정
+                        .getDiscussionId(); // lastId를 요청 DTO의 값이 아닌, 실제 조회된 마지막 항목의 ID로 설정
 
         return ScrollResponseDTO.<DiscussionListResponseDTO>withAll()
                 .content(responseDTOList)
@@ -220,27 +203,148 @@ public class DiscussionServiceImpl implements DiscussionService {
                 .build();
     }
 
-    @Override
-    public DiscussionDetailResponseDTO getDiscussionDetail(Long loginMemberId, Long discussionId) {
+    // 색인에서 커서 다음의 검색 결과 id 를 SEARCH_CHUNK_SIZE 개씩 꺼내서 탭(상태) 조건으로 거른다.
+    // 다른 탭의 토론이 섞여 있을 수 있어서 size + 1 개가 찰 때까지 반복한다.
+    private List<DiscussionListProjectionDTO> searchDiscussionList(
+            DiscussionScrollRequestDTO discussionScrollRequestDTO) {
 
-        Discussion discussion = discussionRepository.findById(discussionId)
-                .orElseThrow(() -> new DiscussionException("해당 토론방을 찾을 수 없습니다. : " + discussionId));
+        int limit = discussionScrollRequestDTO.getSize() + 1; // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        boolean desc = "desc".equals(discussionScrollRequestDTO.getSort())
+                || TRENDING_SORT.equals(discussionScrollRequestDTO.getSort());
+        long cursor = discussionScrollRequestDTO.getLastId();
 
-        AladinBook discussionBook = discussion.getAladinBook();
+        List<DiscussionListProjectionDTO> discussionList = new ArrayList<>();
+
+        while (discussionList.size() < limit) {
+            List<Long> discussionIds = discussionSearchIndex.search(discussionScrollRequestDTO.getSearch(),
+                    cursor, desc, SEARCH_CHUNK_SIZE);
+
+            if (discussionIds.isEmpty()) {
+                break;
+            }
+
+            discussionList.addAll(discussionRepository.findDiscussionListByIds(discussionIds,
+                    discussionScrollRequestDTO));
+
+            if (discussionIds.size() < SEARCH_CHUNK_SIZE) {
+                break;
+            }
+            cursor = discussionIds.get(discussionIds.size() - 1);
+        }
+
+        return discussionList.size() > limit ? new ArrayList<>(discussionList.subList(0, limit)) : discussionList;
+    }
+
+    // 인기 순위에서 커서 다음의 토론을 TRENDING_CHUNK_SIZE 개씩 꺼내서 탭(상태) 조건으로 거르고, 순위 순서대로 담는다.
+    // 커서는 (점수, id) 라서 그 사이 점수가 바뀌어도 이미 본 토론이 다음 페이지에 다시 나오지 않는다.
+    private ScrollResponseDTO<DiscussionListResponseDTO> getTrendingDiscussionList(
+            DiscussionScrollRequestDTO discussionScrollRequestDTO) {
+
+        int limit = discussionScrollRequestDTO.getSize() + 1; // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        String cursor = discussionScrollRequestDTO.getCursor();
+
+        List<DiscussionListProjectionDTO> discussionList = new ArrayList<>();
+        List<String> cursors = new ArrayList<>();
+
+        while (discussionList.size() < limit) {
+            List<DiscussionTrendingRanker.Ranked> rankedList = discussionTrendingRanker.top(cursor,
+                    TRENDING_CHUNK_SIZE);
+
+            if (rankedList.isEmpty()) {
+                break;
+            }
+
+            List<Long> discussionIds = rankedList.stream()
+                    .map(DiscussionTrendingRanker.Ranked::getDiscussionId)
+                    .collect(Collectors.toList());
+            Map<Long, DiscussionListProjectionDTO> rows = discussionRepository.findDiscussionListByIds(
+                            discussionIds, discussionScrollRequestDTO).stream()
+                    .collect(Collectors.toMap(DiscussionListProjectionDTO::getDiscussionId, row -> row));
+
+            for (DiscussionTrendingRanker.Ranked ranked : rankedList) {
+                DiscussionListProjectionDTO row = rows.get(ranked.getDiscussionId());
+                if (row != null && discussionList.size() < limit) {
+                    discussionList.add(row);
+                    cursors.add(ranked.toCursor());
+                }
+            }
+
+            if (rankedList.size() < TRENDING_CHUNK_SIZE) {
+                break;
+            }
+            cursor = rankedList.get(rankedList.size() - 1).toCursor();
+        }
+
+        boolean hasNext = false;
+        if (discussionList.size() > discussionScrollRequestDTO.getSize()) {
+            hasNext = true;
+            discussionList.remove(discussionList.size() - 1);
+        }
 
-        List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
+        List<DiscussionListResponseDTO> responseDTOList = discussionList.stream()
+                .map(this::toDiscussionListResponseDTO)
+                .collect(Collectors.toList());
 
-        Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
+        Long lastId = discussionList.isEmpty() ? discussionScrollRequestDTO.getLastId()
+                : discussionList.get(discussionList.size() - 1).getDiscussionId();
+        String lastCursor = discussionList.isEmpty() ? discussionScrollRequestDTO.getCursor()
+                : cursors.get(discussionList.size() - 1);
 
-        Long disagreeCount = findDPList.size() - agreeCount;
+        return ScrollResponseDTO.<DiscussionListResponseDTO>withAll()
+                .content(responseDTOList)
+                .hasNext(hasNext)
+                .lastId(lastId)
+                .lastCursor(lastCursor)
+                .numberOfElements(responseDTOList.size())
+                .totalElements(discussionStatusCountCache.getCount(
+                        DiscussionStatus.valueOf(discussionScrollRequestDTO.getStatus())))
+                .build();
+    }
 
-        // 조회수 증가 쿼리 실행
-        discussionRepository.increaseViews(discussionId);
+    private DiscussionListResponseDTO toDiscussionListResponseDTO(DiscussionListProjectionDTO row) {
+
+        String memberName = Boolean.TRUE.equals(row.getMemberDeleted()) ? "탈퇴한 회원" : row.getMemberNickname();
+
+        return DiscussionListResponseDTO.builder()
+                .discussionId(row.getDiscussionId())
+                .isbn13(row.getIsbn13())
+                .bookTitle(row.getBookTitle())
+                .memberId(row.getMemberId())
+                .memberName(memberName)
+                .title(row.getTitle())
+                .agree(row.getAgreeCount())
+                .disagree(row.getDisagreeCount())
+                .createdDate(row.getCreatedDate())
+                .startDateTime(row.getStartDate())
+                .closedAt(row.getClosedAt())
+                .views(row.getViews())
+                .commentCount(row.getCommentCount())
+                .cover(row.getCover())
+                .status(String.valueOf(row.getStatus()))
+                .agreePercent(row.getAgreePercent())
+                .disagreePercent(row.getDisagreePercent())
+                .viewStatus(row.getViewStatus())
+                .agreeCommentCount(row.getAgreeCommenterCount().intValue())
+                .disagreeCommentCount(row.getDisagreeCommenterCount().intValue())
+                .build();
+    }
+
+    @Override
+    public DiscussionDetailResponseDTO getDiscussionDetail(Long loginMemberId, Long discussionId) {
+
+        // 보는 사람과 상관없는 부분은 캐시에서 (복사본이므로 값을 바꿔도 캐시에는 영향 없음)
+        DiscussionDetailResponseDTO discussionDetailResponseDTO = discussionDetailCache.get(discussionId,
+                this::loadDiscussionDetail);
+
+        // 조회수는 메모리에 모았다가 주기적으로 한 번에 반영
+        if (discussionViewCounter.increase(loginMemberId, discussionId)) {
+            discussionTrendingRanker.record(discussionId, TrendingActivity.VIEW);
+        }
 
         String isAgree = null;
 
         Optional<DiscussionParticipant> findDiscussionParticipant = discussionParticipantRepository.findByMemberIdAndDiscussionId(
-                loginMemberId, discussion.getId());
+                loginMemberId, discussionId);
 
         if (findDiscussionParticipant.isEmpty()) {
             isAgree = "null";
@@ -253,26 +357,31 @@ public class DiscussionServiceImpl implements DiscussionService {
             }
         }
         
-        List<DiscussionComment> comments = discussionCommentRepository.findByDiscussion(discussion);
-        
-        Set<String> agrees = new HashSet<>();
-        Set<String> disagrees = new HashSet<>();
-        comments.stream()
-                .filter(comment -> comment.getVoteType().equals(VoteType.AGREE))
-                .filter(comment -> agrees.add(comment.getMember().getId() + "_" + comment.getVoteType()))
-                .collect(Collectors.toList());  // 또는 다른 종단 연산 사용
-        comments.stream()
-                .filter(comment -> comment.getVoteType().equals(VoteType.DISAGREE))
-                .filter(comment -> disagrees.add(comment.getMember().getId() + "_" + comment.getVoteType()))
-                .collect(Collectors.toList());  // 또는 다른 종단 연산 사용
-        
-        
-        Integer agreeCommentCount = agrees.size();
-        Integer disagreeCommentCount = disagrees.size();
-
         Boolean isReport = reportRepository.existsByReporterIdAndDiscussionId(loginMemberId, discussionId);
 
-        Long currentViews = discussionRepository.findViewsById(discussionId);
+        // DB에 반영된 조회수 + 아직 반영되지 않은 조회수
+        discussionDetailResponseDTO.setViews(
+                discussionDetailResponseDTO.getViews() + discussionViewCounter.getPending(discussionId));
+        discussionDetailResponseDTO.setIsAgree(isAgree);
+        discussionDetailResponseDTO.setIsReport(isReport);
+
+        // 진행 중인 토론이면 상세 화면을 연 것도 heartbeat 로 치고, 지금 보고 있는 사람 수를 넣는다.
+        int viewerCount = 0;
+        if (DiscussionStatus.IN_PROGRESS.name().equals(discussionDetailResponseDTO.getStatus())) {
+            viewerCount = discussionPresenceTracker.heartbeat(discussionId, loginMemberId);
+        }
+        discussionDetailResponseDTO.setViewerCount(viewerCount);
+
+        return discussionDetailResponseDTO;
+    }
+
+    // 상세 화면 중 보는 사람과 상관없는 부분 (isAgree, isReport 는 비워둔다)
+    private DiscussionDetailResponseDTO loadDiscussionDetail(Long discussionId) {
+
+        Discussion discussion = discussionRepository.findByIdWithBookAndMember(discussionId)
+                .orElseThrow(() -> new DiscussionException("해당 토론방을 찾을 수 없습니다. : " + discussionId));
+
+        AladinBook discussionBook = discussion.getAladinBook();
 
         Long memberId = discussion.getMember().getId();
         String profileImage =
@@ -280,7 +389,7 @@ public class DiscussionServiceImpl implements DiscussionService {
         String nickname =
                 discussion.getMember().isDeleted() ? "탈퇴한 회원" : discussion.getMember().getNickname();
 
-        DiscussionDetailResponseDTO discussionDetailResponseDTO = DiscussionDetailResponseDTO.builder()
+        return DiscussionDetailResponseDTO.builder()
                 .discussionId(discussionId)
                 .bookTitle(discussionBook.getTitle())
                 .memberId(memberId)
@@ -288,25 +397,21 @@ public class DiscussionServiceImpl implements DiscussionService {
                 .profileImage(profileImage)
                 .title(discussion.getTitle())
                 .content(discussion.getContent())
-                .agreeCount(agreeCount)
-                .disagreeCount(disagreeCount)
+                .agreeCount(discussion.getAgreeCount())
+                .disagreeCount(discussion.getDisagreeCount())
                 .startDate(discussion.getStartDate())
                 .closedAt(discussion.getStartDate().plusDays(1))
                 .createdDate(discussion.getCreatedDate())
-                .views(currentViews)
-                .commentCount(discussion.getComments().stream().count())
+                .views(discussion.getViews())
+                .commentCount(discussion.getCommentCount())
                 .cover(discussionBook.getCover())
                 .status(String.valueOf(discussion.getStatus()))
                 .agreePercent(discussion.getAgreePercent())
                 .disagreePercent(discussion.getDisagreePercent())
-                .isReport(isReport)
-                .isAgree(isAgree)
                 .viewStatus(discussion.getViewStatus())
-                .agreeCommentCount(agreeCommentCount)
-                .disagreeCommentCount(disagreeCommentCount)
+                .agreeCommentCount(discussion.getAgreeCommenterCount().intValue())
+                .disagreeCommentCount(discussion.getDisagreeCommenterCount().intValue())
                 .build();
-
-        return discussionDetailResponseDTO;
     }
 
     @Override
@@ -353,194 +458,173 @@ public class DiscussionServiceImpl implements DiscussionService {
         }
 
         Discussion save = discussionRepository.save(discussion);
+        discussionDetailCache.invalidate(discussionId);
+        discussionSearchIndex.update(discussionId, discussion.getTitle(), discussion.getContent());
         return save.getId();
     }
 
     @Override
-    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, String> joinAgree(Long memberId, Long discussionId) {
 
-        Discussion discussion = discussionRepository.findById(discussionId).orElseThrow(
-                () -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId));
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new MemberNotFoundException("해당 멤버를 찾을 수 없습니다. : " + memberId));
-
-        DiscussionParticipant savedParticipant = discussionParticipantRepository.findByDiscussionAndMember(
-                discussion, member).orElse(null);
-
-        Map<String, String> result = new HashMap<>();
-
-        if (discussion.getStatus() == DiscussionStatus.PROPOSED) {
+        return toggleVote(memberId, discussionId, true);
+    }
 
-            if (savedParticipant == null) {
-                DiscussionParticipant discussionParticipant = DiscussionParticipant.builder()
-                        .discussion(discussion)
-                        .member(member)
-                        .isAgree(true)
-                        .build();
+    @Override
+    public Map<String, String> joinDisagree(Long memberId, Long discussionId) {
 
-                discussionParticipantRepository.save(discussionParticipant);
+        return toggleVote(memberId, discussionId, false);
+    }
 
-                List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
+    // 찬성/반대 버튼 토글
+    // 참여 안함 -> 참여, 다른 의견 -> 의견 변경, 같은 의견 -> 참여 취소
+    // 참여자 변경과 집계 컬럼 변경을 한 트랜잭션 안에서 조건부 쿼리로 처리하고, 바뀐 집계 값을 바로 돌려준다.
+    private Map<String, String> toggleVote(Long memberId, Long discussionId, boolean isAgree) {
 
-                Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
+        // 토론 행을 먼저 잠근다. 처음 투표하는 회원들이 동시에 들어와도 교착(deadlock) 없이 차례로 처리된다.
+        Discussion discussion = discussionRepository.findByIdForUpdate(discussionId).orElseThrow(
+                () -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId));
 
-                Long disagreeCount = findDPList.size() - agreeCount;
+        memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException("해당 멤버를 찾을 수 없습니다. : " + memberId));
 
-                result.put("isAgree", "agree");
-                result.put("agreeCount", String.valueOf(agreeCount));
-                result.put("disagreeCount", String.valueOf(disagreeCount));
-                return result;
-            } else {
-                if (!savedParticipant.isAgree()) {  // disagree 일때
+        if (discussion.getStatus() != DiscussionStatus.PROPOSED) {
+            return voteResult(discussionId, "isOver", false);
+        }
 
-                    discussionParticipantRepository.deleteById(savedParticipant.getId());
+        String vote = isAgree ? "agree" : "disagree";
 
-                    DiscussionParticipant discussionParticipant = DiscussionParticipant.builder()
-                            .discussion(discussion)
-                            .member(member)
-                            .isAgree(true)
-                            .build();
-                    discussionParticipantRepository.save(discussionParticipant);
+        // 다른 의견으로 참여 중이었으면 의견 변경
+        if (discussionParticipantRepository.switchVote(discussionId, memberId, isAgree) == 1) {
+            changeVoteCounts(discussionId, isAgree ? 1 : -1, isAgree ? -1 : 1);
+            discussionTrendingRanker.record(discussionId, TrendingActivity.VOTE);
+            return voteResult(discussionId, vote, true);
+        }
 
-                    List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
+        // 같은 의견으로 참여 중이었으면 참여 취소
+        if (discussionParticipantRepository.cancelVote(discussionId, memberId, isAgree) == 1) {
+            changeVoteCounts(discussionId, isAgree ? -1 : 0, isAgree ? 0 : -1);
+            return voteResult(discussionId, "null", true);
+        }
 
-                    Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
+        // 참여하지 않았으면 참여
+        if (discussionParticipantRepository.insertVoteIfAbsent(discussionId, memberId, isAgree) == 1) {
+            changeVoteCounts(discussionId, isAgree ? 1 : 0, isAgree ? 0 : 1);
+            discussionTrendingRanker.record(discussionId, TrendingActivity.VOTE);
+            return voteResult(discussionId, vote, true);
+        }
 
-                    Long disagreeCount = findDPList.size() - agreeCount;
+        // 같은 회원의 다른 요청이 먼저 참여시킨 경우, 그 결과를 그대로 돌려준다.
+        String currentVote = discussionParticipantRepository.findByMemberIdAndDiscussionId(memberId, discussionId)
+                .map(participant -> participant.isAgree() ? "agree" : "disagree")
+                .orElse("null");
+        return voteResult(discussionId, currentVote, false);
+    }
 
-                    result.put("isAgree", "agree");
-                    result.put("agreeCount", String.valueOf(agreeCount));
-                    result.put("disagreeCount", String.valueOf(disagreeCount));
-                    return result;
-                }
-                discussionParticipantRepository.delete(savedParticipant);   // agree 눌러져 있는데 한번더 눌릴때
+    // 찬성/반대 수가 바뀌면 상세 캐시도 버리고, 활동 시계열에도 남긴다.
+    private void changeVoteCounts(Long discussionId, long agreeDelta, long disagreeDelta) {
 
-                List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
+        discussionRepository.addVoteCounts(discussionId, agreeDelta, disagreeDelta);
+        discussionDetailCache.invalidate(discussionId);
+        discussionActivitySeries.recordVote(discussionId, agreeDelta, disagreeDelta);
+    }
 
-                Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
+    // 참여자 목록을 다시 불러오지 않고 집계 컬럼에서 찬성/반대 수를 읽어 온다.
+    // 집계가 바뀐 경우(changed) 실시간 스트림 구독자에게도 보낸다.
+    private Map<String, String> voteResult(Long discussionId, String isAgree, boolean changed) {
 
-                Long disagreeCount = findDPList.size() - agreeCount;
+        DiscussionCountDTO counts = discussionRepository.findCountsById(discussionId).orElseThrow(
+                () -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId));
 
-                result.put("isAgree", "null");
-                result.put("agreeCount", String.valueOf(agreeCount));
-                result.put("disagreeCount", String.valueOf(disagreeCount));
-                return result;
-            }
+        if (changed) {
+            discussionEventBroadcaster.publishVote(discussionId, counts.getAgreeCount(),
+                    counts.getDisagreeCount());
         }
 
-        List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
-
-        Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
-
-        Long disagreeCount = findDPList.size() - agreeCount;
-        result.put("isAgree", "isOver");
-        result.put("agreeCount", String.valueOf(agreeCount));
-        result.put("disagreeCount", String.valueOf(disagreeCount));
+        Map<String, String> result = new HashMap<>();
+        result.put("isAgree", isAgree);
+        result.put("agreeCount", String.valueOf(counts.getAgreeCount()));
+        result.put("disagreeCount", String.valueOf(counts.getDisagreeCount()));
         return result;
     }
 
     @Override
-    @Transactional(propagation = Propagation.NOT_SUPPORTED)
-    public Map<String, String> joinDisagree(Long memberId, Long discussionId) {
+    public void deleteDiscussion(Long memberId, Long discussionId) throws SchedulerException {
 
         Discussion discussion = discussionRepository.findById(discussionId).orElseThrow(
                 () -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId));
 
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new MemberNotFoundException("해당 멤버를 찾을 수 없습니다. : " + memberId));
-
-        DiscussionParticipant savedParticipant = discussionParticipantRepository.findByDiscussionAndMember(
-                discussion, member).orElse(null);
-
-        Map<String, String> result = new HashMap<>();
-
-
-        if (discussion.getStatus() == DiscussionStatus.PROPOSED) {
-            if (savedParticipant == null) {
-                DiscussionParticipant discussionParticipant = DiscussionParticipant.builder()
-                        .discussion(discussion)
-                        .member(member)
-                        .isAgree(false)
-                        .build();
-
-                discussionParticipantRepository.save(discussionParticipant);
-
-                List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
-
-                Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
-
-                Long disagreeCount = findDPList.size() - agreeCount;
-
-                result.put("isAgree", "disagree");
-                result.put("agreeCount", String.valueOf(agreeCount));
-                result.put("disagreeCount", String.valueOf(disagreeCount));
-                return result;
-            } else {
-                if (savedParticipant.isAgree()) {
-
-                    discussionParticipantRepository.deleteById(savedParticipant.getId());
-
-                    DiscussionParticipant discussionParticipant = DiscussionParticipant.builder()
-                            .discussion(discussion)
-                            .member(member)
-                            .isAgree(false)
-                            .build();
-
-                    discussionParticipantRepository.save(discussionParticipant);
-
-                    List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
+        if (Objects.equals(discussion.getMember().getId(), memberId)) {
 
-                    Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
+            discussion.changeDeleted(true);
+            discussion.changeDeletedAt(LocalDateTime.now());
+            quartzConfig.removeJob(discussionId);
+            discussionStatusCountCache.decrease(discussion.getStatus());
+            discussionDetailCache.invalidate(discussionId);
+            discussionSearchIndex.remove(discussionId);
+            discussionTrendingRanker.remove(discussionId);
+        } else {
+            throw new DiscussionException("해당 discussion을 만든 회원이 아닙니다. memberId : " + memberId);
+        }
+    }
 
-                    Long disagreeCount = findDPList.size() - agreeCount;
+    @Override
+    public int recalculateCounts(Long discussionId) {
+
+        // discussionId 가 없으면 전체 토론의 집계 컬럼을 다시 계산
+        if (discussionId == null) {
+            int updated = discussionRepository.recalculateAllCounts();
+            discussionDetailCache.invalidateAll();
+            log.info("전체 토론 {}개의 참여자/댓글 수를 다시 계산했습니다.", updated);
+            return updated;
+        }
 
-                    result.put("isAgree", "disagree");
-                    result.put("agreeCount", String.valueOf(agreeCount));
-                    result.put("disagreeCount", String.valueOf(disagreeCount));
-                    return result;
-                }
-                discussionParticipantRepository.delete(savedParticipant);
+        int updated = discussionRepository.recalculateCounts(discussionId);
 
-                List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
+        if (updated == 0) {
+            throw new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId);
+        }
 
-                Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
+        discussionDetailCache.invalidate(discussionId);
+        log.info("{}번 토론의 참여자/댓글 수를 다시 계산했습니다.", discussionId);
+        return updated;
+    }
 
-                Long disagreeCount = findDPList.size() - agreeCount;
+    // 토론 실시간 스트림 구독 (새 댓글, 좋아요/싫어요, 찬반 수, 상태 변경)
+    @Override
+    public SseEmitter subscribeDiscussion(Long discussionId) {
 
-                result.put("isAgree", "null");
-                result.put("agreeCount", String.valueOf(agreeCount));
-                result.put("disagreeCount", String.valueOf(disagreeCount));
-                return result;
-            }
+        if (!discussionRepository.existsById(discussionId)) {
+            throw new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId);
         }
 
-        List<DiscussionParticipant> findDPList = discussionParticipantRepository.findByDiscussion(discussion);
+        return discussionEventBroadcaster.subscribe(discussionId);
+    }
 
-        Long agreeCount = findDPList.stream().filter(dp -> dp.isAgree()).count();
+    // 찬성/반대, 댓글, 좋아요가 시간에 따라 어떻게 늘었는지 (그래프용)
+    @Override
+    @Transactional(readOnly = true)
+    public List<DiscussionActivityPointDTO> getActivitySeries(Long discussionId, int bucketMinutes) {
 
-        Long disagreeCount = findDPList.size() - agreeCount;
+        if (!discussionRepository.existsById(discussionId)) {
+            throw new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId);
+        }
 
-        result.put("isAgree", "isOver");
-        result.put("agreeCount", String.valueOf(agreeCount));
-        result.put("disagreeCount", String.valueOf(disagreeCount));
-        return result;
+        return discussionActivitySeries.getSeries(discussionId, bucketMinutes);
     }
 
+    // 토론 화면을 보고 있다는 신호, 지금 보고 있는 사람 수를 돌려준다.
+    // 자주 들어오는 요청이라 상태는 상세 캐시에서 본다. (캐시에 없을 때만 한 번 읽고, 없는 토론이면 예외)
+    // 진행 중인 토론만 세서, 없는 id 나 끝난 토론으로 presence 상한을 채울 수 없게 한다.
     @Override
-    public void deleteDiscussion(Long memberId, Long discussionId) throws SchedulerException {
-
-        Discussion discussion = discussionRepository.findById(discussionId).orElseThrow(
-                () -> new DiscussionNotFoundException("해당 토론을 찾을 수 없습니다. : " + discussionId));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int heartbeat(Long loginMemberId, Long discussionId) {
 
-        if (Objects.equals(discussion.getMember().getId(), memberId)) {
+        DiscussionDetailResponseDTO detail = discussionDetailCache.get(discussionId, this::loadDiscussionDetail);
 
-            discussion.changeDeleted(true);
-            discussion.changeDeletedAt(LocalDateTime.now());
-            quartzConfig.removeJob(discussionId);
-        } else {
-            throw new DiscussionException("해당 discussion을 만든 회원이 아닙니다. memberId : " + memberId);
+        if (!DiscussionStatus.IN_PROGRESS.name().equals(detail.getStatus())) {
+            return 0;
         }
+
+        return discussionPresenceTracker.heartbeat(discussionId, loginMemberId);
     }
 }
@@ -4,6 +4,7 @@ import com.undefinedus.backend.domain.entity.Discussion;
 import com.undefinedus.backend.domain.entity.DiscussionComment;
 import com.undefinedus.backend.domain.entity.Member;
 import com.undefinedus.backend.domain.entity.Report;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
 import com.undefinedus.backend.domain.enums.ReportStatus;
 import com.undefinedus.backend.domain.enums.ReportTargetType;
 import com.undefinedus.backend.domain.enums.ViewStatus;
@@ -15,6 +16,9 @@ import com.undefinedus.backend.dto.response.report.ReportResponseDTO;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
 import com.undefinedus.backend.exception.member.MemberNotFoundException;
 import com.undefinedus.backend.exception.report.ReportNotFoundException;
+import com.undefinedus.backend.global.cache.DiscussionBestCommentCache;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.cache.DiscussionStatusCountCache;
 import com.undefinedus.backend.repository.DiscussionCommentRepository;
 import com.undefinedus.backend.repository.DiscussionRepository;
 import com.undefinedus.backend.repository.MemberRepository;
@@ -42,6 +46,9 @@ public class ReportServiceImpl implements ReportService {
     private final DiscussionCommentRepository discussionCommentRepository;
     private final EntityManager entityManager;
     private final DiscussionCommentService discussionCommentService;
+    private final DiscussionStatusCountCache discussionStatusCountCache;
+    private final DiscussionDetailCache discussionDetailCache;
+    private final DiscussionBestCommentCache discussionBestCommentCache;
 
     // 토론 신고
     @Override
@@ -87,6 +94,7 @@ public class ReportServiceImpl implements ReportService {
                 // 상태 변경 후 토론 상태를 BLOCKED로 변경
                 discussion.changeViewStatus(ViewStatus.BLOCKED);
                 discussionRepository.save(discussion);  // 변경된 토론 저장
+                discussionDetailCache.invalidate(discussion.getId());
                 entityManager.flush();
             }
         }
@@ -139,6 +147,7 @@ public class ReportServiceImpl implements ReportService {
                 discussionComment.changeViewStatus(ViewStatus.BLOCKED);
                 discussionCommentRepository.save(discussionComment);// 변경된 댓글 저장
                 entityManager.flush();
+                discussionBestCommentCache.evict(discussionComment.getDiscussion().getId());
             }
         }
 
@@ -210,11 +219,15 @@ public class ReportServiceImpl implements ReportService {
         DiscussionComment discussionComment = report.getComment();
 
         if (discussion != null && report.getPreviousDiscussionStatus() != null) {
+            DiscussionStatus beforeStatus = discussion.getStatus();
             discussion.changeStatus(report.getPreviousDiscussionStatus());
+            discussionStatusCountCache.move(beforeStatus, report.getPreviousDiscussionStatus());
+            discussionDetailCache.invalidate(discussion.getId());
         }
 
         if (discussionComment != null) {
             discussionComment.changeViewStatus(ViewStatus.ACTIVE);
+            discussionBestCommentCache.evict(discussionComment.getDiscussion().getId());
         }
 
     }
@@ -234,11 +247,16 @@ public class ReportServiceImpl implements ReportService {
         report.changeStatus(ReportStatus.ACCEPTED);
 
         Optional.ofNullable(report.getDiscussion())
-            .ifPresent(discussion -> discussion.changeViewStatus(ViewStatus.BLOCKED));
+            .ifPresent(discussion -> {
+                discussion.changeViewStatus(ViewStatus.BLOCKED);
+                discussionDetailCache.invalidate(discussion.getId());
+            });
 
         Optional.ofNullable(report.getComment())
-            .ifPresent(
-                comment -> comment.changeViewStatus(ViewStatus.BLOCKED));
+            .ifPresent(comment -> {
+                comment.changeViewStatus(ViewStatus.BLOCKED);
+                discussionBestCommentCache.evict(comment.getDiscussion().getId());
+            });
     }
 
 }
@@ -0,0 +1,144 @@
+package com.undefinedus.backend.global.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AnalysisCallDeduplicatorTest {
+
+    private AnalysisCallDeduplicator deduplicator;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        deduplicator = new AnalysisCallDeduplicator();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("같은 입력이 동시에 들어오면 모델은 한 번만 부르고 결과를 같이 받는다")
+    void call_concurrentSameInput() throws Exception {
+        // given
+        int threads = 8;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> deduplicator.call("hash", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "answer";
+        })));
+        started.await(5, TimeUnit.SECONDS);
+        for (int i = 1; i < threads; i++) {
+            results.add(executor.submit(() -> deduplicator.call("hash", () -> {
+                calls.incrementAndGet();
+                return "other";
+            })));
+        }
+        // 나머지 스레드가 기다리기 시작할 때까지
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        for (Future<String> result : results) {
+            assertEquals("answer", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, deduplicator.size());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("끝난 호출은 지워서 같은 입력이 다시 오면 다시 부른다")
+    void call_sequential() {
+        // when
+        deduplicator.call("hash", () -> "first" + calls.incrementAndGet());
+        String second = deduplicator.call("hash", () -> "second" + calls.incrementAndGet());
+
+        // then
+        assertEquals("second2", second);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("입력이 다르면 따로 부른다")
+    void call_differentInput() {
+        // when
+        String a = deduplicator.call("a", () -> "A");
+        String b = deduplicator.call("b", () -> "B");
+
+        // then
+        assertEquals("A", a);
+        assertEquals("B", b);
+    }
+
+    @Test
+    @DisplayName("실패하면 예외를 그대로 던지고, 다음 호출은 다시 시도한다")
+    void call_failure() {
+        // when
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> deduplicator.call("hash", () -> {
+                throw new IllegalStateException("timeout");
+            }));
+
+        // then
+        assertTrue(exception instanceof IllegalStateException);
+        assertEquals(0, deduplicator.size());
+        assertEquals("ok", deduplicator.call("hash", () -> "ok"));
+    }
+
+    @Test
+    @DisplayName("먼저 부른 스레드가 Error 로 끝나도 기다리던 스레드는 같은 Error 를 받고 풀려난다")
+    void call_errorReleasesWaiters() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<String> first = executor.submit(() -> deduplicator.call("hash", () -> {
+            started.countDown();
+            await(release);
+            throw new OutOfMemoryError("too large");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<String> waiter = executor.submit(() -> deduplicator.call("hash", () -> "other"));
+        // 두 번째 스레드가 기다리기 시작할 때까지
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException waiterFailure = assertThrows(ExecutionException.class,
+            () -> waiter.get(5, TimeUnit.SECONDS));
+        assertTrue(firstFailure.getCause() instanceof OutOfMemoryError);
+        assertTrue(waiterFailure.getCause() instanceof OutOfMemoryError);
+        assertEquals(0, deduplicator.size());
+        executor.shutdown();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
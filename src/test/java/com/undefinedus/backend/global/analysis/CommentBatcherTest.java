@@ -0,0 +1,72 @@
+package com.undefinedus.backend.global.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CommentBatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("한글은 글자당 1토큰, ASCII 는 4글자당 1토큰으로 센다")
+    void estimate() {
+        assertEquals(0, TokenEstimator.estimate(null));
+        assertEquals(0, TokenEstimator.estimate(""));
+        assertEquals(3, TokenEstimator.estimate("책이다"));
+        assertEquals(2, TokenEstimator.estimate("abcdefgh"));
+        assertEquals(1, TokenEstimator.estimate("abc"));
+        assertEquals(4, TokenEstimator.estimate("좋아요 ok")); // 3 + (" ok" 3글자 -> 1)
+    }
+
+    @Test
+    @DisplayName("묶음마다 예산을 넘지 않고, 순서와 개수는 그대로 유지된다")
+    void batches_withinBudget() throws Exception {
+        // given
+        int budget = 200;
+        CommentBatcher batcher = new CommentBatcher(budget);
+
+        // when
+        for (long id = 1; id <= 50; id++) {
+            batcher.add(id, "이 책의 주인공은 끝까지 자신의 선택을 지켰다고 생각합니다 " + id, "AGREE");
+        }
+        List<String> batches = batcher.batches();
+
+        // then
+        assertTrue(batches.size() > 1);
+        long expectedId = 1;
+        for (String batch : batches) {
+            assertTrue(TokenEstimator.estimate(batch) <= budget + 2, "tokens=" + TokenEstimator.estimate(batch));
+            for (JsonNode node : objectMapper.readTree(batch)) {
+                assertEquals(expectedId++, node.get("commentId").asLong());
+                assertEquals("AGREE", node.get("voteType").asText());
+            }
+        }
+        assertEquals(51, expectedId);
+        assertEquals(50, batcher.getCommentCount());
+    }
+
+    @Test
+    @DisplayName("joined 는 모든 묶음을 JSON 배열 하나로 이어 준다")
+    void joined() throws Exception {
+        // given
+        CommentBatcher batcher = new CommentBatcher(30);
+        batcher.add(1L, "첫 번째 \"인용\" 댓글", "DISAGREE");
+        batcher.add(2L, "두 번째 댓글입니다 길게 길게 길게 길게 길게", "DISAGREE");
+        batcher.add(3L, "세 번째", "DISAGREE");
+
+        // when
+        JsonNode joined = objectMapper.readTree(batcher.joined());
+
+        // then
+        assertTrue(batcher.batches().size() > 1);
+        assertEquals(3, joined.size());
+        assertEquals("첫 번째 \"인용\" 댓글", joined.get(0).get("content").asText());
+        assertEquals("[]", new CommentBatcher(30).joined());
+    }
+}
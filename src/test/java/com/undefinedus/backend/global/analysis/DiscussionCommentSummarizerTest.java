@@ -0,0 +1,103 @@
+package com.undefinedus.backend.global.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.undefinedus.backend.domain.enums.VoteType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class DiscussionCommentSummarizerTest {
+
+    private DiscussionCommentSummarizer summarizer;
+    private AtomicInteger calls;
+    private AtomicInteger running;
+    private AtomicInteger maxRunning;
+
+    @BeforeEach
+    void setUp() {
+        summarizer = new DiscussionCommentSummarizer();
+        ReflectionTestUtils.setField(summarizer, "singleCallTokens", 1000);
+        ReflectionTestUtils.setField(summarizer, "batchTokens", 300);
+        ReflectionTestUtils.setField(summarizer, "summaryChars", 100);
+        ReflectionTestUtils.setField(summarizer, "parallelism", 3);
+        calls = new AtomicInteger();
+        running = new AtomicInteger();
+        maxRunning = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("예산 이하면 한 번에 보낸다")
+    void fitsSingleCall() {
+        assertTrue(summarizer.fitsSingleCall(1000));
+        assertFalse(summarizer.fitsSingleCall(1001));
+    }
+
+    @Test
+    @DisplayName("묶음마다 요약하고, 요약이 예산을 넘으면 한 번 더 합쳐서 입장별로 하나만 남긴다")
+    void summarize_mapReduce() {
+        // given
+        CommentBatcher agree = summarizer.newBatcher();
+        CommentBatcher disagree = summarizer.newBatcher();
+        for (long id = 1; id <= 200; id++) {
+            agree.add(id, "찬성합니다 주인공의 선택은 옳았습니다 " + id, "AGREE");
+        }
+        for (long id = 201; id <= 220; id++) {
+            disagree.add(id, "반대합니다 " + id, "DISAGREE");
+        }
+        int agreeBatches = agree.batches().size();
+        int disagreeBatches = disagree.batches().size();
+
+        // when
+        Map<VoteType, String> result = summarizer.summarize("주인공의 선택",
+            Map.of(VoteType.AGREE, agree.batches(), VoteType.DISAGREE, disagree.batches()),
+            fakeChat());
+
+        // then
+        assertTrue(agreeBatches > 10, "agreeBatches=" + agreeBatches);
+        assertTrue(result.get(VoteType.AGREE).startsWith("합친 요약(agree)"), result.get(VoteType.AGREE));
+        assertTrue(result.get(VoteType.DISAGREE).contains("(disagree)"), result.get(VoteType.DISAGREE));
+        assertTrue(calls.get() > agreeBatches + disagreeBatches);
+        assertTrue(maxRunning.get() <= 3, "maxRunning=" + maxRunning.get());
+    }
+
+    @Test
+    @DisplayName("댓글이 없는 입장은 빈 요약이 된다")
+    void summarize_emptyStance() {
+        // when
+        Map<VoteType, String> result = summarizer.summarize("제목",
+            Map.of(VoteType.AGREE, List.of("[{\"commentId\":1,\"content\":\"찬성\",\"voteType\":\"AGREE\"}]"),
+                VoteType.DISAGREE, List.of()),
+            fakeChat());
+
+        // then
+        assertTrue(result.get(VoteType.AGREE).startsWith("요약(agree)"));
+        assertEquals("", result.get(VoteType.DISAGREE));
+        assertEquals(1, calls.get());
+    }
+
+    // 프롬프트 종류와 입장을 돌려주는 가짜 모델, 요약 하나는 대략 65토큰
+    private Function<String, String> fakeChat() {
+        return prompt -> {
+            calls.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            String stance = prompt.contains(" agree ") ? "agree" : "disagree";
+            String kind = prompt.contains("partial summaries") ? "합친 요약" : "요약";
+            return kind + "(" + stance + ") " + "가".repeat(60);
+        };
+    }
+}
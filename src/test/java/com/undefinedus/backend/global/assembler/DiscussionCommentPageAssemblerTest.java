@@ -0,0 +1,205 @@
+package com.undefinedus.backend.global.assembler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.undefinedus.backend.domain.entity.AladinBook;
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.domain.entity.Member;
+import com.undefinedus.backend.domain.entity.Report;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.domain.enums.ReportTargetType;
+import com.undefinedus.backend.domain.enums.VoteType;
+import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentsScrollRequestDTO;
+import com.undefinedus.backend.dto.response.ScrollResponseDTO;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
+import com.undefinedus.backend.repository.AladinBookRepository;
+import com.undefinedus.backend.repository.DiscussionCommentRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.repository.MemberRepository;
+import com.undefinedus.backend.repository.ReportRepository;
+import com.undefinedus.backend.service.DiscussionCommentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+// 댓글 목록 조회 시 나가는 쿼리 수가 페이지 크기와 상관없이 같은지 확인
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class DiscussionCommentPageAssemblerTest {
+
+    private static final int ROOT_COMMENTS = 30;
+
+    @Autowired
+    private DiscussionCommentService discussionCommentService;
+
+    @Autowired
+    private DiscussionCommentRepository discussionCommentRepository;
+
+    @Autowired
+    private DiscussionRepository discussionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AladinBookRepository aladinBookRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Member viewer;
+    private Discussion discussion;
+
+    @BeforeEach
+    void setUp() {
+        viewer = memberRepository.save(createMember("viewer"));
+
+        AladinBook aladinBook = aladinBookRepository.save(AladinBook.builder()
+            .isbn13("9789999999004")
+            .title("쿼리 수 테스트 책")
+            .author("Author Name")
+            .link("https://www.aladin.com/book/9789999999004")
+            .cover("https://www.aladin.com/book/cover.jpg")
+            .fullDescription("This is a sample book description.")
+            .publisher("Sample Publisher")
+            .categoryName("Fiction")
+            .customerReviewRank(4.5)
+            .itemPage(300)
+            .build());
+
+        discussion = discussionRepository.save(Discussion.builder()
+            .member(viewer)
+            .aladinBook(aladinBook)
+            .title("댓글 목록 쿼리 수")
+            .content("댓글마다 작성자가 다르고, 좋아요와 신고가 섞여 있다.")
+            .status(DiscussionStatus.IN_PROGRESS)
+            .startDate(LocalDateTime.now().minusDays(1))
+            .closedAt(LocalDateTime.now().plusDays(1))
+            .build());
+
+        // 원댓글마다 답글 하나, 작성자는 모두 다른 회원
+        for (long group = 1; group <= ROOT_COMMENTS; group++) {
+            Member writer = memberRepository.save(createMember("writer" + group));
+            Member replier = memberRepository.save(createMember("replier" + group));
+
+            DiscussionComment root = discussionCommentRepository.save(
+                createComment(writer, group, null, 0L));
+            DiscussionComment reply = discussionCommentRepository.save(
+                createComment(replier, group, root.getId(), 1L));
+
+            // 보는 회원은 원댓글에 좋아요, 답글 작성자는 원댓글에 싫어요
+            discussionCommentService.addLike(viewer.getId(), root.getId());
+            discussionCommentService.addDislike(replier.getId(), root.getId());
+
+            // 보는 회원은 답글을 신고
+            reportRepository.save(Report.builder()
+                .reporter(viewer)
+                .reported(replier)
+                .targetType(ReportTargetType.DISCUSSION_COMMENT)
+                .reportReason("테스트 신고")
+                .comment(reply)
+                .build());
+        }
+    }
+
+    @Test
+    @DisplayName("페이지 크기가 달라도 댓글 목록 조회 쿼리 수는 같다")
+    void getCommentList_queryCountShouldNotDependOnPageSize() {
+        long smallPageQueries = countQueries(4);
+        long largePageQueries = countQueries(40);
+
+        assertThat(largePageQueries).isEqualTo(smallPageQueries);
+    }
+
+    @Test
+    @DisplayName("한 번에 모아서 조회해도 댓글마다 조회하던 때와 같은 값을 채운다")
+    void getCommentList_shouldFillViewerAndParentFields() {
+        List<DiscussionCommentResponseDTO> content = fetchPage(2).getContent();
+
+        DiscussionCommentResponseDTO root = content.get(0);
+        assertThat(root.getIsChild()).isFalse();
+        assertThat(root.getNickname()).isEqualTo("writer1");
+        assertThat(root.getParentId()).isNull();
+        assertThat(root.getParentNickname()).isNull();
+        assertThat(root.getLike()).isEqualTo(1L);
+        assertThat(root.getDislike()).isEqualTo(1L);
+        assertThat(root.getIsLike()).isTrue();
+        assertThat(root.getIsReport()).isFalse();
+
+        DiscussionCommentResponseDTO reply = content.get(1);
+        assertThat(reply.getIsChild()).isTrue();
+        assertThat(reply.getParentId()).isEqualTo(root.getCommentId());
+        assertThat(reply.getParentNickname()).isEqualTo("writer1");
+        assertThat(reply.getLike()).isZero();
+        assertThat(reply.getDislike()).isZero();
+        assertThat(reply.getIsLike()).isNull();
+        assertThat(reply.getIsReport()).isTrue();
+
+        // 댓글 하나를 변환해도 같은 값
+        DiscussionComment replyEntity = discussionCommentRepository.findById(reply.getCommentId())
+            .orElseThrow();
+        assertThat(discussionCommentService.getCommentDTO(replyEntity, viewer)).isEqualTo(reply);
+    }
+
+    private long countQueries(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ScrollResponseDTO<DiscussionCommentResponseDTO> page = fetchPage(pageSize);
+        assertThat(page.getContent()).hasSize(pageSize);
+
+        long queries = statistics.getPrepareStatementCount();
+        System.out.printf("[query-count] 댓글 %d개 : 쿼리 %d번%n", pageSize, queries);
+        return queries;
+    }
+
+    private ScrollResponseDTO<DiscussionCommentResponseDTO> fetchPage(int pageSize) {
+        DiscussionCommentsScrollRequestDTO requestDTO = new DiscussionCommentsScrollRequestDTO();
+        requestDTO.setSize(pageSize);
+        requestDTO.setLastId(0L);
+
+        return discussionCommentService.getCommentList(viewer.getId(), requestDTO, discussion.getId());
+    }
+
+    private DiscussionComment createComment(Member writer, long groupId, Long parentId,
+        long groupOrder) {
+        return DiscussionComment.builder()
+            .discussion(discussion)
+            .member(writer)
+            .groupId(groupId)
+            .parentId(parentId)
+            .groupOrder(groupOrder)
+            .isChild(parentId != null)
+            .totalOrder(groupId * DiscussionComment.GROUP_ORDER_STRIDE + groupOrder)
+            .voteType(VoteType.AGREE)
+            .content("댓글 " + groupId + "-" + groupOrder)
+            .build();
+    }
+
+    private Member createMember(String nickname) {
+        return Member.builder()
+            .username(nickname + "@example.com")
+            .password("hashedPassword123")
+            .nickname(nickname)
+            .build();
+    }
+}
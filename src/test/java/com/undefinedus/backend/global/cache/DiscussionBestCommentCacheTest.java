@@ -0,0 +1,155 @@
+package com.undefinedus.backend.global.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.domain.enums.ViewStatus;
+import com.undefinedus.backend.repository.DiscussionCommentRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class DiscussionBestCommentCacheTest {
+
+    private static final Long DISCUSSION_ID = 1L;
+
+    private DiscussionCommentRepository discussionCommentRepository;
+
+    private DiscussionBestCommentCache discussionBestCommentCache;
+
+    // DB 에 있는 것으로 치는 댓글 (id, 좋아요, 싫어요)
+    private List<long[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        discussionCommentRepository = mock(DiscussionCommentRepository.class);
+        discussionBestCommentCache = new DiscussionBestCommentCache(discussionCommentRepository);
+        ReflectionTestUtils.setField(discussionBestCommentCache, "capacity", 4);
+        ReflectionTestUtils.setField(discussionBestCommentCache, "maxSize", 1000);
+
+        rows = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            rows.add(new long[]{id, 10 - id, 0}); // 1번이 좋아요 9개로 1등, 6번이 4개로 꼴등
+        }
+
+        // 실제 쿼리처럼 후보만 골라 순위대로 capacity 개를 돌려준다.
+        when(discussionCommentRepository.findBestCommentCandidates(eq(DISCUSSION_ID), any(Pageable.class)))
+            .thenAnswer(invocation -> {
+                Pageable pageable = invocation.getArgument(1);
+                return rows.stream()
+                    .filter(row -> row[1] > row[2])
+                    .sorted(Comparator.<long[]>comparingLong(row -> -row[1])
+                        .thenComparingLong(row -> row[2])
+                        .thenComparingLong(row -> row[0]))
+                    .limit(pageable.getPageSize())
+                    .map(row -> new Object[]{row[0], row[1], row[2], (LocalDateTime) null})
+                    .collect(Collectors.toList());
+            });
+    }
+
+    @Test
+    @DisplayName("한 번 읽은 뒤에는 DB 를 다시 보지 않는다")
+    void getTopIds_shouldLoadOnce() {
+        assertEquals(List.of(1L, 2L, 3L), discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3));
+        assertEquals(List.of(1L, 2L, 3L), discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3));
+
+        verify(discussionCommentRepository, times(1))
+            .findBestCommentCandidates(eq(DISCUSSION_ID), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("좋아요가 늘어난 댓글은 DB 를 다시 읽지 않고 순위가 바뀐다")
+    void update_shouldReorderWithoutReload() {
+        discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3);
+
+        // 들고 있지 않던 5번이 좋아요 20개로 1등
+        rows.get(4)[1] = 20;
+        discussionBestCommentCache.update(comment(5L, 20, 0));
+        // 3번은 싫어요가 많아져서 후보에서 빠진다.
+        rows.get(2)[2] = 10;
+        discussionBestCommentCache.update(comment(3L, 7, 10));
+
+        assertEquals(List.of(5L, 1L, 2L), discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3));
+        verify(discussionCommentRepository, times(1))
+            .findBestCommentCandidates(eq(DISCUSSION_ID), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("들고 있는 댓글이 보여줄 개수보다 적어지면 DB 에서 다시 읽는다")
+    void getTopIds_shouldReloadWhenBoardRunsShort() {
+        discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3); // 1, 2, 3, 4 를 들고 있음
+
+        rows.removeIf(row -> row[0] == 1L || row[0] == 2L);
+        discussionBestCommentCache.remove(DISCUSSION_ID, 1L);
+        discussionBestCommentCache.remove(DISCUSSION_ID, 2L);
+
+        assertEquals(List.of(3L, 4L, 5L), discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3));
+        verify(discussionCommentRepository, times(2))
+            .findBestCommentCandidates(eq(DISCUSSION_ID), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("들고 있는 마지막 순위보다 낮은 댓글은 넣지 않는다 (DB 에 더 높은 후보가 있을 수 있음)")
+    void update_belowTail_shouldBeIgnored() {
+        discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3); // 1, 2, 3, 4 를 들고 있음
+        rows.removeIf(row -> row[0] == 4L);
+        discussionBestCommentCache.remove(DISCUSSION_ID, 4L); // 1, 2, 3
+
+        // 6번 좋아요가 하나 늘어도(5개) 안 들고 있는 5번(5개, 먼저 쓴 댓글)보다 높은지 알 수 없다.
+        rows.stream().filter(row -> row[0] == 6L).findFirst().orElseThrow()[1] = 5;
+        discussionBestCommentCache.update(comment(6L, 5, 0));
+
+        assertEquals(List.of(1L, 2L, 3L, 5L), discussionBestCommentCache.getTopIds(DISCUSSION_ID, 4));
+    }
+
+    @Test
+    @DisplayName("후보가 모두 들어 있으면 새 후보도 바로 순위에 넣는다")
+    void update_completeBoard_shouldAcceptNewCandidate() {
+        rows.removeIf(row -> row[0] > 2L); // 후보 2개뿐
+        assertEquals(List.of(1L, 2L), discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3));
+
+        rows.add(new long[]{7L, 1, 0});
+        discussionBestCommentCache.update(comment(7L, 1, 0));
+
+        assertEquals(List.of(1L, 2L, 7L), discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3));
+        verify(discussionCommentRepository, times(1))
+            .findBestCommentCandidates(eq(DISCUSSION_ID), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("evict 후에는 DB 에서 다시 읽는다")
+    void evict_shouldReload() {
+        discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3);
+
+        discussionBestCommentCache.evict(DISCUSSION_ID);
+        discussionBestCommentCache.getTopIds(DISCUSSION_ID, 3);
+
+        verify(discussionCommentRepository, times(2))
+            .findBestCommentCandidates(eq(DISCUSSION_ID), any(Pageable.class));
+    }
+
+    private DiscussionComment comment(Long id, long likeCount, long dislikeCount) {
+        return DiscussionComment.builder()
+            .id(id)
+            .discussion(Discussion.builder().id(DISCUSSION_ID).build())
+            .isChild(false)
+            .viewStatus(ViewStatus.ACTIVE)
+            .likeCount(likeCount)
+            .dislikeCount(dislikeCount)
+            .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.undefinedus.backend.global.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.undefinedus.backend.dto.response.discussion.DiscussionDetailResponseDTO;
+import com.undefinedus.backend.exception.discussion.DiscussionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class DiscussionDetailCacheTest {
+
+    private DiscussionDetailCache discussionDetailCache;
+
+    private AtomicInteger loadCount;
+
+    private Function<Long, DiscussionDetailResponseDTO> loader;
+
+    @BeforeEach
+    void setUp() {
+        discussionDetailCache = new DiscussionDetailCache();
+        ReflectionTestUtils.setField(discussionDetailCache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(discussionDetailCache, "maxSize", 1000);
+
+        loadCount = new AtomicInteger();
+        loader = discussionId -> {
+            loadCount.incrementAndGet();
+            return DiscussionDetailResponseDTO.builder()
+                .discussionId(discussionId)
+                .title("토론 제목")
+                .views(10L)
+                .build();
+        };
+    }
+
+    @Test
+    @DisplayName("같은 토론을 동시에 처음 조회해도 한 번만 불러온다")
+    void get_concurrentMiss_shouldLoadOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, DiscussionDetailResponseDTO> slowLoader = discussionId -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.apply(discussionId);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<DiscussionDetailResponseDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> discussionDetailCache.get(1L, slowLoader)));
+        }
+
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<DiscussionDetailResponseDTO> future : futures) {
+            assertEquals("토론 제목", future.get(5, TimeUnit.SECONDS).getTitle());
+        }
+        executor.shutdown();
+
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("반환된 DTO 를 바꿔도 캐시된 스냅샷은 그대로다")
+    void get_shouldReturnCopy() {
+        DiscussionDetailResponseDTO first = discussionDetailCache.get(1L, loader);
+        first.setIsAgree("agree");
+        first.setViews(99L);
+
+        DiscussionDetailResponseDTO second = discussionDetailCache.get(1L, loader);
+
+        assertNull(second.getIsAgree());
+        assertEquals(10L, second.getViews());
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("invalidate 후에는 다시 불러온다")
+    void invalidate_shouldReload() {
+        discussionDetailCache.get(1L, loader);
+
+        discussionDetailCache.invalidate(1L);
+        discussionDetailCache.get(1L, loader);
+
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("DB에 반영된 조회수는 스냅샷 조회수에 더해진다")
+    void addFlushedViews_shouldAddToSnapshot() {
+        discussionDetailCache.get(1L, loader);
+        long flushSequence = discussionDetailCache.currentLoadSequence();
+
+        discussionDetailCache.addFlushedViews(1L, 5L, flushSequence);
+
+        assertEquals(15L, discussionDetailCache.get(1L, loader).getViews());
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("조회수 UPDATE 이후에 불러온 스냅샷에는 더하지 않고 다시 불러온다")
+    void addFlushedViews_loadedAfterFlushStarted_shouldReload() {
+        long flushSequence = discussionDetailCache.currentLoadSequence();
+
+        // UPDATE 가 커밋된 뒤에 불러와서 이미 반영된 조회수가 들어 있는 스냅샷
+        discussionDetailCache.get(1L, loader);
+
+        discussionDetailCache.addFlushedViews(1L, 5L, flushSequence);
+
+        assertEquals(10L, discussionDetailCache.get(1L, loader).getViews());
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("불러오다 실패하면 원래 예외를 던지고 캐시에 남기지 않는다")
+    void get_loaderFails_shouldNotCache() {
+        Function<Long, DiscussionDetailResponseDTO> failingLoader = discussionId -> {
+            loadCount.incrementAndGet();
+            throw new DiscussionException("해당 토론방을 찾을 수 없습니다. : " + discussionId);
+        };
+
+        assertThrows(DiscussionException.class, () -> discussionDetailCache.get(1L, failingLoader));
+        assertThrows(DiscussionException.class, () -> discussionDetailCache.get(1L, failingLoader));
+
+        assertEquals(2, loadCount.get());
+    }
+}
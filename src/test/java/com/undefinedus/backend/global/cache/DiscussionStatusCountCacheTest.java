@@ -0,0 +1,61 @@
+package com.undefinedus.backend.global.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DiscussionStatusCountCacheTest {
+
+    @Mock
+    private DiscussionRepository discussionRepository;
+
+    @InjectMocks
+    private DiscussionStatusCountCache discussionStatusCountCache;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{DiscussionStatus.PROPOSED, 3L});
+        rows.add(new Object[]{DiscussionStatus.IN_PROGRESS, 2L});
+
+        when(discussionRepository.countGroupByStatus()).thenReturn(rows);
+    }
+
+    @Test
+    @DisplayName("처음 조회할 때만 DB에서 읽고, 이후에는 메모리 값을 사용한다")
+    void getCount_shouldLoadOnce() {
+        assertEquals(3L, discussionStatusCountCache.getCount(DiscussionStatus.PROPOSED));
+        assertEquals(2L, discussionStatusCountCache.getCount(DiscussionStatus.IN_PROGRESS));
+        assertEquals(0L, discussionStatusCountCache.getCount(DiscussionStatus.COMPLETED));
+
+        verify(discussionRepository, times(1)).countGroupByStatus();
+    }
+
+    @Test
+    @DisplayName("등록, 상태 변경, 삭제가 개수에 바로 반영된다")
+    void mutate_shouldApplyDelta() {
+        discussionStatusCountCache.getCount(DiscussionStatus.PROPOSED);
+
+        discussionStatusCountCache.increase(DiscussionStatus.PROPOSED);
+        discussionStatusCountCache.move(DiscussionStatus.PROPOSED, DiscussionStatus.SCHEDULED);
+        discussionStatusCountCache.decrease(DiscussionStatus.IN_PROGRESS);
+
+        assertEquals(3L, discussionStatusCountCache.getCount(DiscussionStatus.PROPOSED));
+        assertEquals(1L, discussionStatusCountCache.getCount(DiscussionStatus.SCHEDULED));
+        assertEquals(1L, discussionStatusCountCache.getCount(DiscussionStatus.IN_PROGRESS));
+    }
+}
@@ -0,0 +1,139 @@
+package com.undefinedus.backend.global.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class DiscussionViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DiscussionDetailCache discussionDetailCache;
+
+    @InjectMocks
+    private DiscussionViewCounter discussionViewCounter;
+
+    @Test
+    @DisplayName("동시에 들어온 조회수가 빠짐없이 모인다")
+    void increase_shouldAccumulateConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            long memberId = i;
+            executor.submit(() -> discussionViewCounter.increase(memberId, 1L));
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertEquals(1000L, discussionViewCounter.getPending(1L));
+        assertEquals(0L, discussionViewCounter.getPending(2L));
+    }
+
+    @Test
+    @DisplayName("flush 하면 토론별 증가분을 batch 로 반영하고 대기 값을 비운다")
+    @SuppressWarnings("unchecked")
+    void flush_shouldBatchUpdate() {
+        discussionViewCounter.increase(1L, 10L);
+        discussionViewCounter.increase(2L, 10L);
+        discussionViewCounter.increase(1L, 20L);
+
+        when(discussionDetailCache.currentLoadSequence()).thenReturn(7L);
+
+        discussionViewCounter.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+
+        assertEquals(2, captor.getValue().size());
+        verify(discussionDetailCache).addFlushedViews(10L, 2L, 7L);
+        verify(discussionDetailCache).addFlushedViews(20L, 1L, 7L);
+        assertEquals(0L, discussionViewCounter.getPending(10L));
+        assertEquals(0L, discussionViewCounter.getPending(20L));
+
+        // 새로 들어온 조회가 없으면 DB에 접근하지 않는다.
+        discussionViewCounter.flush();
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE discussion SET views = views + ? WHERE id = ?"), anyList());
+    }
+
+    @Test
+    @DisplayName("중복 제거 시간 안에 같은 회원이 다시 조회하면 세지 않는다")
+    void increase_shouldDedupeWithinWindow() {
+        ReflectionTestUtils.setField(discussionViewCounter, "dedupeWindowMs", 60_000L);
+
+        assertTrue(discussionViewCounter.increase(1L, 10L));
+        assertFalse(discussionViewCounter.increase(1L, 10L));
+        assertTrue(discussionViewCounter.increase(2L, 10L));
+
+        assertEquals(2L, discussionViewCounter.getPending(10L));
+    }
+
+    @Test
+    @DisplayName("조회가 없으면 flush 해도 UPDATE 를 실행하지 않는다")
+    void flush_withoutViews_shouldSkip() {
+        discussionViewCounter.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("flush 가 빈 항목을 지우는 중에 조회가 들어와도 잃어버리지 않는다")
+    @SuppressWarnings("unchecked")
+    void flush_whileIncreasing_shouldNotLoseViews() throws InterruptedException {
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> {
+            List<Object[]> batchArgs = invocation.getArgument(1);
+            for (Object[] args : batchArgs) {
+                flushed.addAndGet((Long) args[0]);
+            }
+            return new int[batchArgs.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        int threads = 4;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    // 토론을 여러 개로 흩어 두어 조회가 없는 주기(지우는 경로)가 자주 생기게 한다.
+                    discussionViewCounter.increase(null, (long) (i % 50));
+                }
+                done.countDown();
+            });
+        }
+
+        while (done.getCount() > 0) {
+            discussionViewCounter.flush();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        discussionViewCounter.flush();
+
+        assertEquals((long) threads * perThread, flushed.get());
+    }
+}
@@ -0,0 +1,195 @@
+package com.undefinedus.backend.global.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.undefinedus.backend.dto.response.aladinAPI.AladinApiResponseDTO;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class MemberRecommendCacheTest {
+
+    private static final long TTL_MS = 60_000L;
+    private static final long MAX_STALE_MS = 600_000L;
+
+    private MemberRecommendCache cache;
+    private AtomicLong now;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MemberRecommendCache();
+        now = new AtomicLong(1_000_000L);
+        loads = new AtomicInteger();
+        ReflectionTestUtils.setField(cache, "ttlMs", TTL_MS);
+        ReflectionTestUtils.setField(cache, "maxStaleMs", MAX_STALE_MS);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "clock", (LongSupplier) now::get);
+    }
+
+    @Test
+    @DisplayName("fingerprint 가 같으면 두 번째부터는 다시 불러오지 않는다")
+    void get_hit() {
+        // when
+        List<AladinApiResponseDTO> first = cache.get(1L, "a:5.0", loader("111")).block();
+        List<AladinApiResponseDTO> second = cache.get(1L, "a:5.0", loader("222")).block();
+
+        // then
+        assertEquals("111", second.get(0).getIsbn13());
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("fingerprint 가 바뀌면 예전 결과를 버리고 새로 불러온다")
+    void get_fingerprintChanged() {
+        // given
+        cache.get(1L, "a:5.0", loader("111")).block();
+
+        // when
+        List<AladinApiResponseDTO> books = cache.get(1L, "a:4.5", loader("222")).block();
+
+        // then
+        assertEquals("222", books.get(0).getIsbn13());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("ttl 이 지나면 예전 결과를 바로 주고, 뒤에서 불러온 결과는 다음 요청부터 쓴다")
+    void get_staleWhileRevalidate() {
+        // given
+        cache.get(1L, "a:5.0", loader("111")).block();
+        now.addAndGet(TTL_MS + 1);
+        Sinks.One<List<AladinApiResponseDTO>> refresh = Sinks.one();
+
+        // when, 갱신이 아직 안 끝났어도 예전 결과를 바로 준다.
+        List<AladinApiResponseDTO> stale = cache.get(1L, "a:5.0", () -> {
+            loads.incrementAndGet();
+            return refresh.asMono();
+        }).block();
+        // 갱신 중에 들어온 요청은 갱신을 또 시작하지 않는다.
+        List<AladinApiResponseDTO> staleAgain = cache.get(1L, "a:5.0", loader("333")).block();
+
+        // then
+        assertEquals("111", stale.get(0).getIsbn13());
+        assertEquals("111", staleAgain.get(0).getIsbn13());
+        assertEquals(2, loads.get());
+
+        refresh.tryEmitValue(List.of(book("222")));
+        assertEquals("222", cache.get(1L, "a:5.0", loader("333")).block().get(0).getIsbn13());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("max-stale 까지 지난 결과는 쓰지 않고 새로 불러올 때까지 기다린다")
+    void get_deadEntry() {
+        // given
+        cache.get(1L, "a:5.0", loader("111")).block();
+        now.addAndGet(TTL_MS + MAX_STALE_MS + 1);
+
+        // when
+        List<AladinApiResponseDTO> books = cache.get(1L, "a:5.0", loader("222")).block();
+
+        // then
+        assertEquals("222", books.get(0).getIsbn13());
+    }
+
+    @Test
+    @DisplayName("첫 요청이 불러오는 동안 들어온 요청은 같은 결과를 기다린다")
+    void get_concurrentFirstLoad() {
+        // given
+        Sinks.One<List<AladinApiResponseDTO>> sink = Sinks.one();
+        Supplier<Mono<List<AladinApiResponseDTO>>> slowLoader = () -> {
+            loads.incrementAndGet();
+            return sink.asMono();
+        };
+
+        // when
+        Mono<List<AladinApiResponseDTO>> first = cache.get(1L, "a:5.0", slowLoader);
+        Mono<List<AladinApiResponseDTO>> second = cache.get(1L, "a:5.0", slowLoader);
+        first.subscribe();
+        second.subscribe();
+        sink.tryEmitValue(List.of(book("111")));
+
+        // then
+        assertEquals("111", second.block().get(0).getIsbn13());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("하나도 못 찾은 결과는 저장하지 않는다")
+    void get_emptyNotCached() {
+        // given
+        cache.get(1L, "a:5.0", () -> {
+            loads.incrementAndGet();
+            return Mono.just(List.of());
+        }).block();
+
+        // when
+        List<AladinApiResponseDTO> books = cache.get(1L, "a:5.0", loader("111")).block();
+
+        // then
+        assertEquals("111", books.get(0).getIsbn13());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("max-size 를 넘으면 오래된 것부터 지운다")
+    void get_boundedSize() {
+        // when
+        for (long memberId = 1; memberId <= 150; memberId++) {
+            now.incrementAndGet();
+            cache.get(memberId, "a:5.0", loader(String.valueOf(memberId))).block();
+        }
+
+        // then
+        assertTrue(cache.size() <= 100, "size=" + cache.size());
+        assertEquals("150", cache.get(150L, "a:5.0", loader("x")).block().get(0).getIsbn13());
+        assertEquals(150, loads.get());
+    }
+
+    @Test
+    @DisplayName("다시 방문했을 때는 1ms 안에 돌려준다")
+    void get_repeatVisitLatency() {
+        // given
+        cache.get(1L, "a:5.0", loader("111")).block();
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(1L, "a:5.0", loader("111")).block();
+        }
+
+        // when
+        int rounds = 10_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            cache.get(1L, "a:5.0", loader("111")).block();
+        }
+        double averageUs = (System.nanoTime() - start) / 1_000.0 / rounds;
+
+        // then
+        System.out.println(String.format("[benchmark] 추천 캐시 적중 평균 %.2fus", averageUs));
+        assertTrue(averageUs < 1_000, "average=" + averageUs + "us");
+        assertEquals(1, loads.get());
+    }
+
+    private Supplier<Mono<List<AladinApiResponseDTO>>> loader(String isbn13) {
+        return () -> {
+            loads.incrementAndGet();
+            return Mono.just(List.of(book(isbn13)));
+        };
+    }
+
+    private AladinApiResponseDTO book(String isbn13) {
+        return AladinApiResponseDTO.builder()
+            .isbn13(isbn13)
+            .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.undefinedus.backend.global.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.undefinedus.backend.domain.entity.AladinBook;
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.domain.entity.Member;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.domain.enums.ViewStatus;
+import com.undefinedus.backend.domain.enums.VoteType;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentExportDTO;
+import com.undefinedus.backend.repository.AladinBookRepository;
+import com.undefinedus.backend.repository.DiscussionCommentRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.repository.MemberRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class DiscussionCommentExporterTest {
+
+    @Autowired
+    private DiscussionCommentExporter discussionCommentExporter;
+
+    @Autowired
+    private DiscussionCommentRepository discussionCommentRepository;
+
+    @Autowired
+    private DiscussionRepository discussionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AladinBookRepository aladinBookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Member member;
+    private Discussion discussion;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(Member.builder()
+            .username("export@example.com")
+            .password("hashedPassword123")
+            .nickname("내보내기회원")
+            .build());
+
+        AladinBook aladinBook = aladinBookRepository.save(AladinBook.builder()
+            .isbn13("9789999999006")
+            .title("내보내기 테스트 책")
+            .author("Author Name")
+            .link("https://www.aladin.com/book/9789999999006")
+            .cover("https://www.aladin.com/book/cover.jpg")
+            .fullDescription("This is a sample book description.")
+            .publisher("Sample Publisher")
+            .categoryName("Fiction")
+            .customerReviewRank(4.5)
+            .itemPage(300)
+            .build());
+
+        discussion = discussionRepository.save(Discussion.builder()
+            .member(member)
+            .aladinBook(aladinBook)
+            .title("댓글 내보내기")
+            .content("댓글 전체를 순서대로 내보낸다.")
+            .status(DiscussionStatus.IN_PROGRESS)
+            .startDate(LocalDateTime.now().minusDays(1))
+            .closedAt(LocalDateTime.now().plusDays(1))
+            .build());
+
+        // 저장 순서와 보여지는 순서를 일부러 다르게 넣는다.
+        DiscussionComment second = save(comment(2L, 0L, null, VoteType.DISAGREE, "두 번째 원댓글")
+            .likeCount(5L).build());
+        DiscussionComment first = save(comment(1L, 0L, null, VoteType.AGREE, "첫 번째 원댓글")
+            .likeCount(3L).dislikeCount(1L).build());
+        save(comment(1L, 1L, first.getId(), VoteType.DISAGREE, "첫 번째 답글").build());
+        save(comment(2L, 1L, second.getId(), VoteType.AGREE, "가려진 답글")
+            .viewStatus(ViewStatus.BLOCKED).build());
+        save(comment(3L, 0L, null, VoteType.AGREE, "삭제된 댓글").isDeleted(true).build());
+    }
+
+    @Test
+    @DisplayName("삭제된 댓글을 빼고 보여지는 순서대로, 좋아요 수와 함께 내보낸다")
+    void forEach_shouldFollowTotalOrder() {
+        List<DiscussionCommentExportDTO> exported = new ArrayList<>();
+        discussionCommentExporter.forEach(discussion.getId(), exported::add);
+
+        assertThat(exported).extracting(DiscussionCommentExportDTO::getContent)
+            .containsExactly("첫 번째 원댓글", "첫 번째 답글", "두 번째 원댓글", "가려진 답글");
+        assertThat(exported.get(0).getLike()).isEqualTo(3L);
+        assertThat(exported.get(0).getDislike()).isEqualTo(1L);
+        assertThat(exported.get(0).getNickname()).isEqualTo("내보내기회원");
+        assertThat(exported.get(1).getParentId()).isEqualTo(exported.get(0).getCommentId());
+        assertThat(exported.get(1).getIsChild()).isTrue();
+        assertThat(exported.get(2).getLike()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("NDJSON 은 한 줄에 댓글 하나이고, 가려진 댓글은 내용을 비운다")
+    void writeNdjson_shouldWriteOneCommentPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = discussionCommentExporter.writeNdjson(discussion.getId(), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(4L);
+        assertThat(lines).hasSize(4);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.path("content").asText()).isEqualTo("첫 번째 원댓글");
+        assertThat(first.path("like").asLong()).isEqualTo(3L);
+
+        JsonNode blocked = objectMapper.readTree(lines[3]);
+        assertThat(blocked.path("viewStatus").asText()).isEqualTo("BLOCKED");
+        assertThat(blocked.path("content").isNull()).isTrue();
+    }
+
+    private DiscussionComment save(DiscussionComment comment) {
+        return discussionCommentRepository.saveAndFlush(comment);
+    }
+
+    private DiscussionComment.DiscussionCommentBuilder comment(long groupId, long groupOrder,
+        Long parentId, VoteType voteType, String content) {
+        return DiscussionComment.builder()
+            .discussion(discussion)
+            .member(member)
+            .groupId(groupId)
+            .groupOrder(groupOrder)
+            .parentId(parentId)
+            .isChild(parentId != null)
+            .totalOrder(groupId * DiscussionComment.GROUP_ORDER_STRIDE + groupOrder)
+            .voteType(voteType)
+            .content(content);
+    }
+}
@@ -0,0 +1,204 @@
+package com.undefinedus.backend.global.presence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class DiscussionPresenceTrackerTest {
+
+    private static final long TTL_MS = 30_000L;
+    private static final long TICK_MS = 1_000L;
+    private static final int MAX_PER_MEMBER = 5;
+    private static final long START = 1_700_000_000_000L; // tick 경계에 맞춘 시작 시각
+
+    private DiscussionPresenceTracker newTracker(int maxEntries) {
+        DiscussionPresenceTracker tracker = new DiscussionPresenceTracker();
+        ReflectionTestUtils.setField(tracker, "ttlMs", TTL_MS);
+        ReflectionTestUtils.setField(tracker, "tickMs", TICK_MS);
+        ReflectionTestUtils.setField(tracker, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(tracker, "maxPerMember", MAX_PER_MEMBER);
+        tracker.init();
+        return tracker;
+    }
+
+    @Test
+    @DisplayName("heartbeat 가 없으면 ttl 이 지난 첫 tick 에 빠진다 (오차는 tick 하나 이내)")
+    void expireAfterTtl() {
+        // given
+        DiscussionPresenceTracker tracker = newTracker(1000);
+        tracker.heartbeat(1L, 10L, START);
+
+        // when & then
+        tracker.advance(START + TTL_MS - TICK_MS);
+        assertEquals(1, tracker.count(1L));
+
+        tracker.advance(START + TTL_MS - 1);
+        assertEquals(1, tracker.count(1L));
+
+        tracker.advance(START + TTL_MS);
+        assertEquals(0, tracker.count(1L));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    @DisplayName("heartbeat 를 다시 보내면 그 시각부터 ttl 이 다시 시작된다")
+    void heartbeatExtendsTtl() {
+        // given
+        DiscussionPresenceTracker tracker = newTracker(1000);
+        tracker.heartbeat(1L, 10L, START);
+
+        // when
+        tracker.heartbeat(1L, 10L, START + 20_000L);
+        tracker.advance(START + TTL_MS + 5_000L);
+
+        // then
+        assertEquals(1, tracker.count(1L));
+
+        tracker.advance(START + 20_000L + TTL_MS);
+        assertEquals(0, tracker.count(1L));
+    }
+
+    @Test
+    @DisplayName("같은 회원의 heartbeat 는 한 번만 세고, 토론별로 따로 센다")
+    void countPerDiscussion() {
+        // given
+        DiscussionPresenceTracker tracker = newTracker(1000);
+
+        // when
+        tracker.heartbeat(1L, 10L, START);
+        tracker.heartbeat(1L, 10L, START + 500L);
+        tracker.heartbeat(1L, 11L, START + 1_000L);
+        int count = tracker.heartbeat(2L, 10L, START + 1_000L);
+
+        // then
+        assertEquals(1, count);
+        assertEquals(2, tracker.count(1L));
+        assertEquals(1, tracker.count(2L));
+        assertEquals(0, tracker.count(3L));
+
+        tracker.leave(1L, 11L);
+        assertEquals(1, tracker.count(1L));
+    }
+
+    @Test
+    @DisplayName("tick 이 한참 밀려도 한 바퀴만 돌면서 모두 만료시킨다")
+    void expireAfterLongPause() {
+        // given
+        DiscussionPresenceTracker tracker = newTracker(1000);
+        for (long memberId = 1; memberId <= 100; memberId++) {
+            tracker.heartbeat(1L, memberId, START + memberId * 100L);
+        }
+
+        // when
+        tracker.advance(START + 10 * TTL_MS);
+
+        // then
+        assertEquals(0, tracker.count(1L));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    @DisplayName("상한을 넘는 새 사람은 세지 않아 메모리가 늘지 않고, 만료되면 다시 받는다")
+    void boundedByMaxEntries() {
+        // given
+        int maxEntries = DiscussionPresenceTracker.STRIPE_COUNT * 10;
+        DiscussionPresenceTracker tracker = newTracker(maxEntries);
+
+        // when
+        for (long memberId = 1; memberId <= 10_000; memberId++) {
+            tracker.heartbeat(1L, memberId, START);
+        }
+
+        // then
+        assertTrue(tracker.size() <= maxEntries, "size=" + tracker.size());
+        assertEquals(tracker.size(), tracker.count(1L));
+
+        tracker.advance(START + TTL_MS);
+        assertEquals(0, tracker.size());
+        assertEquals(0, tracker.count(1L));
+
+        tracker.heartbeat(1L, 1L, START + TTL_MS);
+        assertEquals(1, tracker.count(1L));
+    }
+
+    @Test
+    @DisplayName("한 회원은 상한 개수의 토론까지만 세고, 나가거나 만료되면 다시 받는다")
+    void boundedPerMember() {
+        // given
+        DiscussionPresenceTracker tracker = newTracker(1000);
+
+        // when
+        for (long discussionId = 1; discussionId <= 100; discussionId++) {
+            tracker.heartbeat(discussionId, 10L, START);
+        }
+
+        // then
+        assertEquals(MAX_PER_MEMBER, tracker.size());
+        assertEquals(0, tracker.count(MAX_PER_MEMBER + 1L));
+
+        // 이미 들고 있는 토론의 heartbeat 는 계속 받는다.
+        assertEquals(1, tracker.heartbeat(1L, 10L, START + 1_000L));
+        // 다른 회원은 영향을 받지 않는다.
+        assertEquals(1, tracker.heartbeat(100L, 11L, START));
+
+        tracker.leave(1L, 10L);
+        assertEquals(1, tracker.heartbeat(MAX_PER_MEMBER + 1L, 10L, START + 1_000L));
+
+        tracker.advance(START + 1_000L + TTL_MS);
+        assertEquals(0, tracker.size());
+        assertEquals(1, tracker.heartbeat(50L, 10L, START + 1_000L + TTL_MS));
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 10,000 건의 heartbeat 가 들어와도 정확히 센다")
+    void concurrentHeartbeats() throws Exception {
+        // given
+        DiscussionPresenceTracker tracker = newTracker(200_000);
+        int threads = 32;
+        int perThread = 10_000 / threads + 1;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (long i = 0; i < perThread; i++) {
+                    long memberId = base + i;
+                    // 토론 10개에 나눠서, 같은 사람이 두 번씩 보낸다.
+                    tracker.heartbeat(memberId % 10, memberId, START + i);
+                    tracker.heartbeat(memberId % 10, memberId, START + i + 1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        int total = 0;
+        for (long discussionId = 0; discussionId < 10; discussionId++) {
+            total += tracker.count(discussionId);
+        }
+        assertEquals(threads * perThread, total);
+        assertEquals(threads * perThread, tracker.size());
+
+        tracker.advance(START + perThread + TTL_MS + TICK_MS);
+        assertEquals(0, tracker.size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.undefinedus.backend.global.profanity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProfanityAutomatonTest {
+
+    private final ProfanityAutomaton automaton =
+        ProfanityAutomaton.compile(List.of("시발", "ㅅㅂ", "병신", "fuck"));
+
+    @Test
+    @DisplayName("자모를 섞어 쓰거나 사이에 공백, 기호를 넣어도 찾는다")
+    void containsAny_shouldMatchNormalizedText() {
+        assertTrue(automaton.containsAny("아 시발 진짜"));
+        assertTrue(automaton.containsAny("아 시.발 진짜"));
+        assertTrue(automaton.containsAny("아 시 발 진짜"));
+        assertTrue(automaton.containsAny("시ㅂㅏㄹ"));
+        assertTrue(automaton.containsAny("ㅅ!ㅂ"));
+        assertTrue(automaton.containsAny("병~신"));
+        assertTrue(automaton.containsAny("F.U.C.K"));
+    }
+
+    @Test
+    @DisplayName("글자 중간에서 걸치거나 공백을 사이에 둔 다른 단어끼리 이어진 경우는 걸리지 않는다")
+    void containsAny_shouldRejectFalsePositives() {
+        // 법(ㅂ받침) + 사(ㅅ) 는 ㅂㅅ 이지만 글자 경계가 아니다.
+        assertFalse(automaton.containsAny("마법사"));
+        // "시" 와 "발표" 는 서로 다른 단어
+        assertFalse(automaton.containsAny("오늘 한 시 발표가 있어요"));
+        assertFalse(automaton.containsAny("병원 신관 앞에서 만나요"));
+        assertFalse(automaton.containsAny(""));
+        assertFalse(automaton.containsAny(null));
+    }
+
+    @Test
+    @DisplayName("찾은 구간은 원문 위치로 돌려준다")
+    void findAll_shouldReturnOriginalSpans() {
+        String text = "너 병신이냐 시.발";
+
+        List<ProfanityMatch> matches = automaton.findAll(text);
+
+        assertEquals(2, matches.size());
+        assertEquals("병신", text.substring(matches.get(0).getStart(), matches.get(0).getEnd()));
+        assertEquals("병신", matches.get(0).getWord());
+        assertEquals("시.발", text.substring(matches.get(1).getStart(), matches.get(1).getEnd()));
+        assertEquals("시발", matches.get(1).getWord());
+    }
+
+    @Test
+    @DisplayName("한글은 자모로 나누고 공백, 기호는 빼고 영문은 소문자로 바꾼다")
+    void normalize_shouldDecomposeHangul() {
+        assertEquals("ㅅㅣㅂㅏㄹ", ProfanityAutomaton.normalize("시 . 발").text());
+        assertEquals("ㅂㅓㅂㅅㅏ", ProfanityAutomaton.normalize("법사").text());
+        assertEquals("abc1", ProfanityAutomaton.normalize("A-b_C 1").text());
+    }
+}
@@ -0,0 +1,96 @@
+package com.undefinedus.backend.global.profanity;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vane.badwordfiltering.BadWordFiltering;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// 300자 댓글 기준으로 라이브러리(BadWordFiltering.check)와 컴파일한 오토마톤의 검사 속도 비교
+// 충분히 돌려서 JIT 가 끝난 뒤의 평균 시간을 잰다.
+@Tag("benchmark")  // 기본 test 에서는 빼고 ./gradlew benchmark 로 실행
+class ProfanityFilterBenchmarkTest {
+
+    private static final int COMMENT_LENGTH = 300;
+    private static final int COMMENT_COUNT = 1_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 10;
+
+    private static final String[] SENTENCES = {
+        "이 책은 처음부터 끝까지 긴장감이 넘쳐서 한 번에 다 읽었습니다. ",
+        "주인공의 선택이 과연 옳았는지에 대해서는 저도 의견이 갈립니다. ",
+        "작가가 말하고 싶었던 것은 결국 성장에 대한 이야기라고 생각해요. ",
+        "번역이 조금 아쉬웠지만 전체적인 흐름을 따라가는 데는 문제가 없었어요. ",
+        "토론 주제가 흥미로워서 다른 분들 생각도 궁금하네요. "
+    };
+
+    @Test
+    @DisplayName("300자 댓글에서 BadWordFiltering 과 오토마톤의 검사 시간 비교")
+    void contains_libraryVsAutomaton() {
+        BadWordFiltering badWordFiltering = new BadWordFiltering();
+        ProfanityFilter profanityFilter = new ProfanityFilter();
+        profanityFilter.init();
+
+        List<String> comments = comments(new ArrayList<>(badWordFiltering));
+
+        // 오토마톤은 글자 중간에 걸친 경우를 빼므로 걸리는 수가 라이브러리보다 적을 수 있다.
+        long libraryHits = count(comments, badWordFiltering::check);
+        long automatonHits = count(comments, profanityFilter::contains);
+        assertTrue(automatonHits >= COMMENT_COUNT / 10 / 2);
+
+        double library = measure(comments, badWordFiltering::check);
+        double automaton = measure(comments, profanityFilter::contains);
+
+        System.out.println(String.format("[benchmark] 댓글 %d자 x %d개 | BadWordFiltering %8.2fus/건 (%d건 걸림) | 오토마톤 %8.2fus/건 (%d건 걸림) | %.1f배",
+            COMMENT_LENGTH, COMMENT_COUNT, library, libraryHits, automaton, automatonHits, library / automaton));
+    }
+
+    // 평범한 문장으로 300자를 채우고, 10개 중 1개에는 사전 단어를 하나 넣는다.
+    private List<String> comments(List<String> words) {
+        Random random = new Random(17);
+        List<String> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENT_COUNT; i++) {
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < COMMENT_LENGTH) {
+                sb.append(SENTENCES[random.nextInt(SENTENCES.length)]);
+            }
+            sb.setLength(COMMENT_LENGTH);
+            if (i % 10 == 0) {
+                String word = words.get(random.nextInt(words.size()));
+                sb.replace(150, 150 + word.length(), " " + word + " ");
+                sb.setLength(COMMENT_LENGTH);
+            }
+            comments.add(sb.toString());
+        }
+        return comments;
+    }
+
+    private long count(List<String> comments, Predicate<String> check) {
+        return comments.stream().filter(check).count();
+    }
+
+    // 1건당 평균 마이크로초
+    private double measure(List<String> comments, Predicate<String> check) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += count(comments, check);
+        }
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            sink += count(comments, check);
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        // 결과를 쓰지 않으면 JIT 가 검사를 없앨 수 있어서 남겨 둔다.
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return elapsed / 1_000.0 / (MEASURE_ROUNDS * COMMENT_COUNT);
+    }
+}
@@ -0,0 +1,75 @@
+package com.undefinedus.backend.global.profanity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ProfanityFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path wordFile;
+    private ProfanityFilter profanityFilter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        wordFile = tempDir.resolve("profanity-words.txt");
+        write(List.of("# 서비스에서 따로 막는 단어", "꽥꽥이", "뿡뿡이"), 1_000L);
+
+        profanityFilter = new ProfanityFilter();
+        ReflectionTestUtils.setField(profanityFilter, "wordFile", wordFile.toString());
+        profanityFilter.init();
+    }
+
+    @Test
+    @DisplayName("라이브러리 기본 단어와 파일에 추가한 단어를 모두 찾는다")
+    void contains_shouldUseBuiltInAndFileWords() {
+        assertTrue(profanityFilter.contains("시.발"));
+        assertTrue(profanityFilter.contains("이 꽥 꽥 이 야"));
+        assertFalse(profanityFilter.contains("좋은 책 추천 감사합니다"));
+    }
+
+    @Test
+    @DisplayName("비속어 구간의 글자만 * 로 가린다")
+    void mask_shouldHideOnlyMatchedLetters() {
+        assertEquals("너 *.** 같아", profanityFilter.mask("너 꽥.꽥이 같아"));
+        assertEquals("좋은 책이네요", profanityFilter.mask("좋은 책이네요"));
+    }
+
+    @Test
+    @DisplayName("파일이 바뀌면 다시 불러오고, 파일이 없어지면 기본 사전만 쓴다")
+    void reloadIfChanged_shouldSwapDictionary() throws IOException {
+        // 바뀌지 않았으면 그대로
+        profanityFilter.reloadIfChanged();
+        assertTrue(profanityFilter.contains("뿡뿡이"));
+
+        // ! 로 시작하는 줄은 앞에서 넣은 단어를 뺀다.
+        write(List.of("꽥꽥이", "뿡뿡이", "!뿡뿡이", "삐약이"), 2_000L);
+        profanityFilter.reloadIfChanged();
+        assertFalse(profanityFilter.contains("뿡뿡이"));
+        assertTrue(profanityFilter.contains("삐약이"));
+
+        Files.delete(wordFile);
+        profanityFilter.reloadIfChanged();
+        assertFalse(profanityFilter.contains("꽥꽥이"));
+        assertTrue(profanityFilter.contains("시발"));
+    }
+
+    private void write(List<String> lines, long modifiedTime) throws IOException {
+        Files.write(wordFile, lines, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(wordFile, FileTime.fromMillis(modifiedTime));
+    }
+}
@@ -0,0 +1,237 @@
+package com.undefinedus.backend.global.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.repository.DiscussionAnalysisTaskRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.service.AiService;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class DiscussionAnalysisQueueTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DiscussionAnalysisTaskRepository discussionAnalysisTaskRepository;
+
+    @Mock
+    private DiscussionRepository discussionRepository;
+
+    @Mock
+    private AiService aiService;
+
+    private DiscussionAnalysisQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new DiscussionAnalysisQueue(jdbcTemplate, discussionAnalysisTaskRepository,
+            discussionRepository, aiService);
+        ReflectionTestUtils.setField(queue, "concurrency", 2);
+        ReflectionTestUtils.setField(queue, "maxAttempts", 3);
+        ReflectionTestUtils.setField(queue, "backoffMs", 1_000L);
+        ReflectionTestUtils.setField(queue, "maxBackoffMs", 10_000L);
+        ReflectionTestUtils.setField(queue, "runningTimeoutMs", 60_000L);
+    }
+
+    @Test
+    @DisplayName("분석이 끝나면 작업을 DONE 으로 바꾼다")
+    void process_success() throws Exception {
+        // given
+        when(discussionRepository.findById(1L)).thenReturn(Optional.of(discussion(null)));
+
+        // when
+        queue.process(10L, 1L, 1);
+
+        // then
+        verify(aiService).discussionInfoToGPT(1L);
+        verify(jdbcTemplate).update(eq(DiscussionAnalysisQueue.COMPLETE_SQL), any(), eq(10L));
+    }
+
+    @Test
+    @DisplayName("이미 분석 결과가 있으면 다시 분석하지 않고 DONE 으로만 바꾼다")
+    void process_alreadyAnalyzed() throws Exception {
+        // given
+        when(discussionRepository.findById(1L)).thenReturn(Optional.of(discussion("결론")));
+
+        // when
+        queue.process(10L, 1L, 2);
+
+        // then
+        verify(aiService, never()).discussionInfoToGPT(anyLong());
+        verify(jdbcTemplate).update(eq(DiscussionAnalysisQueue.COMPLETE_SQL), any(), eq(10L));
+    }
+
+    @Test
+    @DisplayName("실패하면 max-attempts 전까지는 PENDING 으로 돌려 다시 시도한다")
+    void process_failureRetried() throws Exception {
+        // given
+        when(discussionRepository.findById(1L)).thenReturn(Optional.of(discussion(null)));
+        doThrow(new RuntimeException("timeout")).when(aiService).discussionInfoToGPT(1L);
+
+        // when
+        queue.process(10L, 1L, 1);
+
+        // then
+        verify(jdbcTemplate).update(eq(DiscussionAnalysisQueue.FAIL_SQL), eq("PENDING"), any(), eq("timeout"),
+            eq(10L));
+        verify(jdbcTemplate, never()).update(eq(DiscussionAnalysisQueue.COMPLETE_SQL), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("max-attempts 번째 실패는 DEAD 로 남긴다")
+    void process_failureDead() throws Exception {
+        // given
+        when(discussionRepository.findById(1L)).thenReturn(Optional.of(discussion(null)));
+        doThrow(new RuntimeException("timeout")).when(aiService).discussionInfoToGPT(1L);
+
+        // when
+        queue.process(10L, 1L, 3);
+
+        // then
+        verify(jdbcTemplate).update(eq(DiscussionAnalysisQueue.FAIL_SQL), eq("DEAD"), any(), eq("timeout"),
+            eq(10L));
+    }
+
+    @Test
+    @DisplayName("토론이 없으면 다시 시도하지 않고 바로 DEAD 로 남긴다")
+    void process_discussionMissing() throws Exception {
+        // given
+        when(discussionRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // when
+        queue.process(10L, 1L, 1);
+
+        // then
+        verify(aiService, never()).discussionInfoToGPT(anyLong());
+        verify(jdbcTemplate).update(eq(DiscussionAnalysisQueue.FAIL_SQL), eq("DEAD"), any(), anyString(),
+            eq(10L));
+    }
+
+    @Test
+    @DisplayName("재시도 간격은 두 배씩 늘고 max-backoff 를 넘지 않는다")
+    void backoffDelayMs_bounds() {
+        for (int i = 0; i < 100; i++) {
+            long first = queue.backoffDelayMs(1);
+            long third = queue.backoffDelayMs(3);
+            long capped = queue.backoffDelayMs(20);
+
+            assertTrue(first >= 500 && first <= 1_000, "first=" + first);
+            assertTrue(third >= 2_000 && third <= 4_000, "third=" + third);
+            assertTrue(capped >= 5_000 && capped <= 10_000, "capped=" + capped);
+        }
+    }
+
+    @Test
+    @DisplayName("스레드 풀이 작업을 받지 않으면 자리를 돌려주고 작업을 PENDING 으로 되돌린다")
+    @SuppressWarnings("unchecked")
+    void poll_rejected_releasesSlotAndTask() {
+        // given : 작업을 받지 않는 (종료되지는 않은) 스레드 풀
+        ThreadPoolExecutor rejecting = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), (runnable, executor) -> {
+                throw new RejectedExecutionException("full");
+            }) {
+            @Override
+            public void execute(Runnable command) {
+                getRejectedExecutionHandler().rejectedExecution(command, this);
+            }
+        };
+        ReflectionTestUtils.setField(queue, "workers", rejecting);
+
+        when(jdbcTemplate.query(eq(DiscussionAnalysisQueue.SELECT_DUE_SQL), any(RowMapper.class), any(), any()))
+            .thenReturn(List.<long[]>of(new long[]{10L, 1L, 0L}));
+        when(jdbcTemplate.update(eq(DiscussionAnalysisQueue.CLAIM_SQL), any(), eq(10L))).thenReturn(1);
+
+        // when
+        queue.poll();
+
+        // then
+        verify(jdbcTemplate).update(DiscussionAnalysisQueue.RELEASE_SQL, 10L);
+        assertEquals(0, ((AtomicInteger) ReflectionTestUtils.getField(queue, "inFlight")).get());
+
+        queue.heartbeat();
+        verify(jdbcTemplate, never()).batchUpdate(eq(DiscussionAnalysisQueue.HEARTBEAT_SQL), anyList());
+        rejecting.shutdown();
+    }
+
+    @Test
+    @DisplayName("실행 중인 작업은 heartbeat 때 locked_at 을 갱신한다")
+    @SuppressWarnings("unchecked")
+    void heartbeat_refreshesRunningTasks() throws Exception {
+        // given : 분석이 끝나지 않고 붙잡혀 있는 작업
+        queue.init();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(discussionRepository.findById(1L)).thenReturn(Optional.of(discussion(null)));
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(aiService).discussionInfoToGPT(1L);
+
+        when(jdbcTemplate.query(eq(DiscussionAnalysisQueue.SELECT_DUE_SQL), any(RowMapper.class), any(), any()))
+            .thenReturn(List.<long[]>of(new long[]{10L, 1L, 0L}));
+        when(jdbcTemplate.update(eq(DiscussionAnalysisQueue.CLAIM_SQL), any(), eq(10L))).thenReturn(1);
+
+        queue.poll();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // when
+        queue.heartbeat();
+
+        // then
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(DiscussionAnalysisQueue.HEARTBEAT_SQL), captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(10L, captor.getValue().get(0)[1]);
+
+        release.countDown();
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("작업을 넣을 때는 같은 토론이 있으면 아무것도 하지 않는 INSERT 를 쓴다")
+    void enqueue() {
+        // when
+        queue.enqueue(1L);
+
+        // then
+        verify(jdbcTemplate).update(eq(DiscussionAnalysisQueue.ENQUEUE_SQL), eq(1L), any(), any());
+    }
+
+    private Discussion discussion(String conclusion) {
+        return Discussion.builder()
+            .conclusion(conclusion)
+            .build();
+    }
+}
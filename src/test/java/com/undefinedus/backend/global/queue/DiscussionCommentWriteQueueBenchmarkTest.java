@@ -0,0 +1,211 @@
+package com.undefinedus.backend.global.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.undefinedus.backend.domain.entity.AladinBook;
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.Member;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentRequestDTO;
+import com.undefinedus.backend.repository.AladinBookRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.repository.MemberRepository;
+import com.undefinedus.backend.service.DiscussionCommentService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// 댓글이 한꺼번에 몰릴 때 바로 저장하는 방식과 큐에 모아서 저장하는 방식의 처리량, p99 응답 시간 비교
+// 여러 스레드가 실제로 커밋해야 하므로 @Transactional 을 붙이지 않고, 끝나면 직접 지운다.
+@SpringBootTest
+@Tag("benchmark")  // 기본 test 에서는 빼고 ./gradlew benchmark 로 실행
+class DiscussionCommentWriteQueueBenchmarkTest {
+
+    private static final int[] WRITER_COUNTS = {50, 200, 1000};
+    private static final int COMMENTS_PER_WRITER = 2;
+    private static final int MEMBER_COUNT = 25;
+
+    @Autowired
+    private DiscussionCommentService discussionCommentService;
+
+    @Autowired
+    private DiscussionCommentWriteQueue discussionCommentWriteQueue;
+
+    @Autowired
+    private DiscussionRepository discussionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AladinBookRepository aladinBookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Member> members = new ArrayList<>();
+    private final List<Discussion> discussions = new ArrayList<>();
+    private AladinBook aladinBook;
+    private boolean enabledBefore;
+
+    @BeforeEach
+    void setUp() {
+        enabledBefore = discussionCommentWriteQueue.isEnabled();
+
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(memberRepository.save(Member.builder()
+                .username("burst" + i + "@example.com")
+                .password("hashedPassword123")
+                .nickname("몰림회원" + i)
+                .birth(LocalDate.of(1990, 1, 1))
+                .gender("남성")
+                .build()));
+        }
+
+        aladinBook = aladinBookRepository.save(AladinBook.builder()
+            .isbn13("9789999999005")
+            .title("댓글 몰림 테스트 책")
+            .author("Author Name")
+            .link("https://www.aladin.com/book/9789999999005")
+            .cover("https://www.aladin.com/book/cover.jpg")
+            .fullDescription("This is a sample book description.")
+            .publisher("Sample Publisher")
+            .categoryName("Fiction")
+            .customerReviewRank(4.5)
+            .itemPage(300)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(discussionCommentWriteQueue, "enabled", enabledBefore);
+
+        for (Discussion discussion : discussions) {
+            jdbcTemplate.update("DELETE FROM discussion_comment WHERE discussion_id = ?",
+                discussion.getId());
+            discussionRepository.deleteById(discussion.getId());
+        }
+        aladinBookRepository.delete(aladinBook);
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    @DisplayName("동시 작성자 50/200/1000명일 때 바로 저장과 묶음 저장의 처리량, p99 비교 (댓글 수 집계는 같아야 한다)")
+    void writeComment_directVsQueued() throws InterruptedException {
+        List<String> report = new ArrayList<>();
+
+        for (int writers : WRITER_COUNTS) {
+            Result direct = run(false, writers);
+            Result queued = run(true, writers);
+
+            report.add(String.format("[benchmark] 작성자 %4d명 | 바로 저장 %8.1f건/s, p99 %7.1fms | 묶음 저장 %8.1f건/s, p99 %7.1fms",
+                writers, direct.throughput, direct.p99Ms, queued.throughput, queued.p99Ms));
+        }
+
+        report.forEach(System.out::println);
+    }
+
+    private Result run(boolean queued, int writers) throws InterruptedException {
+        ReflectionTestUtils.setField(discussionCommentWriteQueue, "enabled", queued);
+
+        Discussion discussion = discussionRepository.save(Discussion.builder()
+            .member(members.get(0))
+            .aladinBook(aladinBook)
+            .title((queued ? "묶음 저장 " : "바로 저장 ") + writers)
+            .content("댓글 몰림 측정용 토론")
+            .status(DiscussionStatus.IN_PROGRESS)
+            .startDate(LocalDateTime.now().minusDays(1))
+            .closedAt(LocalDateTime.now().plusDays(1))
+            .build());
+        discussions.add(discussion);
+
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Set<String> commenters = ConcurrentHashMap.newKeySet();
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(writers);
+
+        for (int i = 0; i < writers; i++) {
+            Member member = members.get(i % MEMBER_COUNT);
+            String voteType = i % 2 == 0 ? "AGREE" : "DISAGREE";
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < COMMENTS_PER_WRITER; j++) {
+                        long begin = System.nanoTime();
+                        discussionCommentService.writeComment(discussion.getId(), member.getId(),
+                            DiscussionCommentRequestDTO.builder()
+                                .voteType(voteType)
+                                .content("몰림 댓글")
+                                .build());
+                        latencies.add(System.nanoTime() - begin);
+                        commenters.add(member.getId() + ":" + voteType);
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    System.out.println("댓글 작성 실패 : " + e.getMessage());
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(5, TimeUnit.MINUTES), "작성자 " + writers + "명의 댓글 작성이 끝나지 않았습니다.");
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        // 어느 쪽으로 저장해도 댓글 수와 groupId 는 빠지거나 겹치지 않아야 한다.
+        int expected = writers * COMMENTS_PER_WRITER;
+        assertEquals(0, failures.get());
+        assertEquals(expected, jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT group_id) FROM discussion_comment WHERE discussion_id = ?",
+            Integer.class, discussion.getId()));
+
+        Discussion saved = discussionRepository.findById(discussion.getId()).orElseThrow();
+        assertEquals((long) expected, saved.getCommentCount());
+
+        // 어느 쪽이든 토론 row 를 잠근 뒤 "처음 쓰는 댓글인지" 확인하므로 같은 회원이 동시에 써도 댓글 단 회원 수가 정확하다.
+        assertEquals(commenters.stream().filter(key -> key.endsWith(":AGREE")).count(),
+            saved.getAgreeCommenterCount());
+        assertEquals(commenters.stream().filter(key -> key.endsWith(":DISAGREE")).count(),
+            saved.getDisagreeCommenterCount());
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        Result result = new Result();
+        result.throughput = expected / (elapsed / 1_000_000_000.0);
+        result.p99Ms = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1) / 1_000_000.0;
+        return result;
+    }
+
+    private static class Result {
+
+        private double throughput;
+        private double p99Ms;
+    }
+}
@@ -0,0 +1,145 @@
+package com.undefinedus.backend.global.recommend;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.undefinedus.backend.dto.response.aladinAPI.AladinApiResponseDTO;
+import com.undefinedus.backend.service.AladinBookService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 로컬 스텁(Perplexity: 응답 지연 + 가끔 503, 알라딘: 조회마다 지연 + 가끔 없는 책)으로
+// 추천 파이프라인의 p50/p99 응답 시간을 잰다. (10개씩 동시에 요청)
+// 비교용으로 예전 방식(알라딘을 한 권씩 차례로 조회, 재시도는 2초 고정 대기)의 시간도 같은 지연값으로 계산해서 같이 출력한다.
+@Tag("benchmark")  // 기본 test 에서는 빼고 ./gradlew benchmark 로 실행
+class PerplexityBookRecommenderBenchmarkTest {
+
+    private static final int REQUEST_COUNT = 200;
+    private static final int CONCURRENT_REQUESTS = 10;
+    private static final long DEADLINE_MS = 3_000L;
+
+    private static final long PERPLEXITY_MIN_MS = 100;
+    private static final long PERPLEXITY_MAX_MS = 400;
+    private static final double PERPLEXITY_ERROR_RATE = 0.2;
+    private static final long ALADIN_MIN_MS = 30;
+    private static final long ALADIN_MAX_MS = 150;
+    private static final double ALADIN_MISS_RATE = 0.3;
+    private static final long LEGACY_RETRY_DELAY_MS = 2_000L;
+
+    @Test
+    @DisplayName("스텁 API 기준 추천 파이프라인 p50/p99")
+    void recommend_latencyPercentiles() {
+        AladinBookService aladinBookService = mock(AladinBookService.class);
+        when(aladinBookService.detailAladinAPI(anyString())).thenAnswer(invocation -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Thread.sleep(random.nextLong(ALADIN_MIN_MS, ALADIN_MAX_MS + 1));
+            if (random.nextDouble() < ALADIN_MISS_RATE) {
+                return new ArrayList<AladinApiResponseDTO>();
+            }
+            return new ArrayList<>(List.of(PerplexityBookRecommenderTest.book(invocation.getArgument(0))));
+        });
+
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Duration delay = Duration.ofMillis(random.nextLong(PERPLEXITY_MIN_MS, PERPLEXITY_MAX_MS + 1));
+                return (random.nextDouble() < PERPLEXITY_ERROR_RATE
+                    ? PerplexityBookRecommenderTest.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    : PerplexityBookRecommenderTest.ok(PerplexityBookRecommenderTest.isbns(1, 15)))
+                    .delayElement(delay);
+            })
+            .build();
+
+        PerplexityBookRecommender recommender = new PerplexityBookRecommender(webClient, aladinBookService);
+        ReflectionTestUtils.setField(recommender, "apiKey", "test");
+        ReflectionTestUtils.setField(recommender, "deadlineMs", DEADLINE_MS);
+        ReflectionTestUtils.setField(recommender, "maxRounds", 3);
+        ReflectionTestUtils.setField(recommender, "maxAttempts", 4);
+        ReflectionTestUtils.setField(recommender, "backoffMs", 200L);
+        ReflectionTestUtils.setField(recommender, "maxBackoffMs", 1_000L);
+        ReflectionTestUtils.setField(recommender, "lookupConcurrency", 5);
+
+        Map<String, Object> requestBody = Map.of("model", "test");
+
+        // 워밍업
+        for (int i = 0; i < 10; i++) {
+            recommender.recommend(requestBody, 5).block();
+        }
+
+        // 동시에 CONCURRENT_REQUESTS 개씩 요청하면서 요청마다 걸린 시간을 잰다.
+        AtomicInteger partial = new AtomicInteger();
+        long[] pipeline = Flux.range(0, REQUEST_COUNT)
+            .flatMap(i -> Mono.defer(() -> {
+                long start = System.nanoTime();
+                return recommender.recommend(requestBody, 5)
+                    .map(books -> {
+                        if (books.size() < 5) {
+                            partial.incrementAndGet();
+                        }
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    });
+            }), CONCURRENT_REQUESTS)
+            .collectList()
+            .block()
+            .stream()
+            .mapToLong(Long::longValue)
+            .toArray();
+
+        long[] legacy = new long[REQUEST_COUNT];
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            legacy[i] = legacyLatency();
+        }
+
+        Arrays.sort(pipeline);
+        Arrays.sort(legacy);
+
+        System.out.println(String.format(
+            "[benchmark] 추천 %d회 | 파이프라인 p50 %dms p99 %dms (5권 미만 %d회) | 예전 방식(계산) p50 %dms p99 %dms",
+            REQUEST_COUNT, percentile(pipeline, 50), percentile(pipeline, 99), partial.get(),
+            percentile(legacy, 50), percentile(legacy, 99)));
+
+        // 시간 제한 + 스케줄링 여유
+        assertTrue(percentile(pipeline, 99) <= DEADLINE_MS + 500, "p99=" + percentile(pipeline, 99));
+    }
+
+    // 예전 방식: 실패하면 2초 쉬고 다시, 성공하면 15권을 차례로 조회해서 5권이 찰 때까지
+    private long legacyLatency() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long total = 0;
+        int found = 0;
+        while (found < 5) {
+            total += random.nextLong(PERPLEXITY_MIN_MS, PERPLEXITY_MAX_MS + 1);
+            if (random.nextDouble() < PERPLEXITY_ERROR_RATE) {
+                total += LEGACY_RETRY_DELAY_MS;
+                continue;
+            }
+            for (int i = 0; i < 15 && found < 5; i++) {
+                total += random.nextLong(ALADIN_MIN_MS, ALADIN_MAX_MS + 1);
+                if (random.nextDouble() >= ALADIN_MISS_RATE) {
+                    found++;
+                }
+            }
+        }
+        return total;
+    }
+
+    private long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,207 @@
+package com.undefinedus.backend.global.recommend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.undefinedus.backend.dto.response.aladinAPI.AladinApiResponseDTO;
+import com.undefinedus.backend.service.AladinBookService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class PerplexityBookRecommenderTest {
+
+    private static final Map<String, Object> REQUEST_BODY = Map.of("model", "test");
+
+    private AladinBookService aladinBookService;
+    private AtomicInteger perplexityCalls;
+    private AtomicInteger maxConcurrentLookups;
+    private AtomicInteger runningLookups;
+
+    @BeforeEach
+    void setUp() {
+        aladinBookService = mock(AladinBookService.class);
+        perplexityCalls = new AtomicInteger();
+        maxConcurrentLookups = new AtomicInteger();
+        runningLookups = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("첫 응답으로 5권이 채워지면 Perplexity 는 한 번만 부른다")
+    void recommend_fillsFromFirstRound() {
+        // given
+        PerplexityBookRecommender recommender = recommender(call -> ok(isbns(1, 20)), 8000);
+        stubAladin(10);
+
+        // when
+        List<AladinApiResponseDTO> books = recommender.recommend(REQUEST_BODY, 5).block();
+
+        // then
+        assertEquals(5, books.size());
+        assertEquals(5, books.stream().map(AladinApiResponseDTO::getIsbn13).distinct().count());
+        assertEquals(1, perplexityCalls.get());
+    }
+
+    @Test
+    @DisplayName("알라딘 조회는 lookup-concurrency 개까지만 동시에 한다")
+    void recommend_boundsLookupConcurrency() {
+        // given
+        PerplexityBookRecommender recommender = recommender(call -> ok(isbns(1, 20)), 8000);
+        ReflectionTestUtils.setField(recommender, "lookupConcurrency", 3);
+        // 앞의 15개는 알라딘에 없는 책
+        when(aladinBookService.detailAladinAPI(anyString())).thenAnswer(invocation -> {
+            String isbn = invocation.getArgument(0);
+            trackLookup(20);
+            return Long.parseLong(isbn) % 100 > 15 ? List.of(book(isbn)) : List.of();
+        });
+
+        // when
+        List<AladinApiResponseDTO> books = recommender.recommend(REQUEST_BODY, 5).block();
+
+        // then
+        assertEquals(5, books.size());
+        assertTrue(maxConcurrentLookups.get() <= 3, "max=" + maxConcurrentLookups.get());
+    }
+
+    @Test
+    @DisplayName("5xx 는 backoff 후 다시 시도해서 성공한 응답을 쓴다")
+    void recommend_retriesServerError() {
+        // given
+        PerplexityBookRecommender recommender = recommender(
+            call -> call < 3 ? status(HttpStatus.SERVICE_UNAVAILABLE) : ok(isbns(1, 20)), 8000);
+        stubAladin(0);
+
+        // when
+        List<AladinApiResponseDTO> books = recommender.recommend(REQUEST_BODY, 5).block();
+
+        // then
+        assertEquals(5, books.size());
+        assertEquals(3, perplexityCalls.get());
+    }
+
+    @Test
+    @DisplayName("4xx 는 다시 시도하지 않고 빈 목록으로 끝낸다")
+    void recommend_doesNotRetryClientError() {
+        // given
+        PerplexityBookRecommender recommender = recommender(call -> status(HttpStatus.UNAUTHORIZED), 8000);
+
+        // when
+        List<AladinApiResponseDTO> books = recommender.recommend(REQUEST_BODY, 5).block();
+
+        // then
+        assertTrue(books.isEmpty());
+        assertEquals(1, perplexityCalls.get());
+    }
+
+    @Test
+    @DisplayName("한 번에 다 못 채우면 다시 묻되 max-rounds 번까지만 묻는다")
+    void recommend_stopsAfterMaxRounds() {
+        // given, 매번 같은 2권만 추천
+        PerplexityBookRecommender recommender = recommender(call -> ok(isbns(1, 2)), 8000);
+        stubAladin(0);
+
+        // when
+        List<AladinApiResponseDTO> books = recommender.recommend(REQUEST_BODY, 5).block();
+
+        // then
+        assertEquals(2, books.size());
+        assertEquals(3, perplexityCalls.get());
+    }
+
+    @Test
+    @DisplayName("시간 제한이 지나면 그때까지 찾은 책만 돌려준다")
+    void recommend_returnsPartialResultOnDeadline() {
+        // given, 알라딘 조회 하나에 150ms, 동시 2개 → 300ms 안에 4권 정도
+        PerplexityBookRecommender recommender = recommender(call -> ok(isbns(1, 20)), 300);
+        ReflectionTestUtils.setField(recommender, "lookupConcurrency", 2);
+        stubAladin(150);
+
+        // when
+        long start = System.nanoTime();
+        List<AladinApiResponseDTO> books = recommender.recommend(REQUEST_BODY, 5).block();
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // then
+        assertTrue(books.size() < 5, "size=" + books.size());
+        assertTrue(elapsedMs < 1000, "elapsed=" + elapsedMs);
+    }
+
+    private PerplexityBookRecommender recommender(IntFunction<Mono<ClientResponse>> responder,
+        long deadlineMs) {
+
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> responder.apply(perplexityCalls.incrementAndGet()))
+            .build();
+
+        PerplexityBookRecommender recommender = new PerplexityBookRecommender(webClient,
+            aladinBookService);
+        ReflectionTestUtils.setField(recommender, "apiKey", "test");
+        ReflectionTestUtils.setField(recommender, "deadlineMs", deadlineMs);
+        ReflectionTestUtils.setField(recommender, "maxRounds", 3);
+        ReflectionTestUtils.setField(recommender, "maxAttempts", 4);
+        ReflectionTestUtils.setField(recommender, "backoffMs", 10L);
+        ReflectionTestUtils.setField(recommender, "maxBackoffMs", 50L);
+        ReflectionTestUtils.setField(recommender, "lookupConcurrency", 5);
+        return recommender;
+    }
+
+    private void stubAladin(long delayMs) {
+        when(aladinBookService.detailAladinAPI(anyString())).thenAnswer(invocation -> {
+            trackLookup(delayMs);
+            return new ArrayList<>(List.of(book(invocation.getArgument(0))));
+        });
+    }
+
+    private void trackLookup(long delayMs) throws InterruptedException {
+        int running = runningLookups.incrementAndGet();
+        maxConcurrentLookups.accumulateAndGet(running, Math::max);
+        try {
+            Thread.sleep(delayMs);
+        } finally {
+            runningLookups.decrementAndGet();
+        }
+    }
+
+    static List<String> isbns(int from, int to) {
+        return IntStream.rangeClosed(from, to)
+            .mapToObj(i -> String.valueOf(9788900000000L + i))
+            .collect(Collectors.toList());
+    }
+
+    static Mono<ClientResponse> ok(List<String> isbns) {
+        String body = "{\"choices\":[{\"message\":{\"content\":\"" + String.join("\\n", isbns) + "\"}}]}";
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build());
+    }
+
+    static Mono<ClientResponse> status(HttpStatus status) {
+        return Mono.just(ClientResponse.create(status).build());
+    }
+
+    static AladinApiResponseDTO book(String isbn13) {
+        return AladinApiResponseDTO.builder()
+            .isbn13(isbn13)
+            .title("책 " + isbn13)
+            .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.undefinedus.backend.global.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.undefinedus.backend.repository.DiscussionRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DiscussionSearchIndexTest {
+
+    @Mock
+    private DiscussionRepository discussionRepository;
+
+    @InjectMocks
+    private DiscussionSearchIndex discussionSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "해리포터는 성장 소설인가", "마법 학교 이야기", "해리 포터와 마법사의 돌"});
+        rows.add(new Object[]{2L, "데미안의 알", "새는 알에서 나오려고 투쟁한다", "데미안"});
+        rows.add(new Object[]{3L, "마법은 과학인가", "Harry Potter 에 나오는 마법", "해리 포터와 비밀의 방"});
+        rows.add(new Object[]{4L, "채식주의자 토론", "영혜의 선택", "채식주의자"});
+
+        when(discussionRepository.findAllSearchText()).thenReturn(rows);
+    }
+
+    @Test
+    @DisplayName("토론 제목, 내용, 책 제목에서 공백과 대소문자 상관없이 찾는다")
+    void search_shouldMatchAllFields() {
+        assertEquals(List.of(3L, 1L), discussionSearchIndex.search("해리포터", 0L, true, 10));
+        assertEquals(List.of(2L), discussionSearchIndex.search("투쟁", 0L, true, 10));
+        assertEquals(List.of(3L), discussionSearchIndex.search("harry potter", 0L, true, 10));
+        assertEquals(List.of(1L, 3L), discussionSearchIndex.search("마법", 0L, false, 10));
+        assertEquals(List.of(4L, 3L, 2L, 1L), discussionSearchIndex.search("의", 0L, true, 10));
+
+        // 색인은 처음 한 번만 만든다.
+        verify(discussionRepository, times(1)).findAllSearchText();
+    }
+
+    @Test
+    @DisplayName("bigram 은 모두 있어도 실제로 이어지지 않으면 결과에서 뺀다")
+    void search_shouldVerifyCandidates() {
+        // "의알" 은 제목, "알에" 는 내용에 있지만 "의알에" 로 이어진 곳은 없다.
+        assertTrue(discussionSearchIndex.search("의알에", 0L, true, 10).isEmpty());
+        assertEquals(List.of(2L), discussionSearchIndex.search("알에서", 0L, true, 10));
+
+        // 제목 끝과 내용 처음을 이어서 찾지는 않는다.
+        assertTrue(discussionSearchIndex.search("알새", 0L, true, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("커서(lastId) 다음부터 limit 개씩 가져온다")
+    void search_shouldKeepCursor() {
+        assertEquals(List.of(3L), discussionSearchIndex.search("해리포터", 0L, true, 1));
+        assertEquals(List.of(1L), discussionSearchIndex.search("해리포터", 3L, true, 1));
+        assertTrue(discussionSearchIndex.search("해리포터", 1L, true, 1).isEmpty());
+
+        assertEquals(List.of(3L), discussionSearchIndex.search("해리포터", 1L, false, 10));
+    }
+
+    @Test
+    @DisplayName("등록, 수정, 삭제가 색인에 반영된다")
+    void indexUpdateRemove_shouldApply() {
+        discussionSearchIndex.search("해리포터", 0L, true, 10);
+
+        discussionSearchIndex.index(5L, "해리포터 완결", "결말 토론", "해리 포터와 죽음의 성물");
+        assertEquals(List.of(5L, 3L, 1L), discussionSearchIndex.search("해리포터", 0L, true, 10));
+
+        // 수정해도 책 제목은 그대로 남는다.
+        discussionSearchIndex.update(1L, "성장 소설 토론", "학교 이야기");
+        assertEquals(List.of(5L, 3L, 1L), discussionSearchIndex.search("해리포터", 0L, true, 10));
+        assertTrue(discussionSearchIndex.search("마법학교", 0L, true, 10).isEmpty());
+
+        discussionSearchIndex.remove(3L);
+        assertEquals(List.of(5L, 1L), discussionSearchIndex.search("해리포터", 0L, true, 10));
+    }
+}
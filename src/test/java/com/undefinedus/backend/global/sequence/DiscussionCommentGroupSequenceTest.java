@@ -0,0 +1,142 @@
+package com.undefinedus.backend.global.sequence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.undefinedus.backend.domain.entity.AladinBook;
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.Member;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
+import com.undefinedus.backend.repository.AladinBookRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.repository.MemberRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// 여러 스레드가 실제로 커밋해야 하므로 @Transactional 을 붙이지 않고, 끝나면 직접 지운다.
+@SpringBootTest
+class DiscussionCommentGroupSequenceTest {
+
+    private static final int WRITER_COUNT = 50;
+
+    @Autowired
+    private DiscussionCommentGroupSequence discussionCommentGroupSequence;
+
+    @Autowired
+    private DiscussionRepository discussionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AladinBookRepository aladinBookRepository;
+
+    private Member member;
+    private AladinBook aladinBook;
+    private Discussion discussion;
+    private Discussion otherDiscussion;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(Member.builder()
+            .username("sequence@example.com")
+            .password("hashedPassword123")
+            .nickname("순번회원")
+            .birth(LocalDate.of(1990, 1, 1))
+            .gender("남성")
+            .build());
+
+        aladinBook = aladinBookRepository.save(AladinBook.builder()
+            .isbn13("9789999999003")
+            .title("순번 테스트 책")
+            .author("Author Name")
+            .link("https://www.aladin.com/book/9789999999003")
+            .cover("https://www.aladin.com/book/cover.jpg")
+            .fullDescription("This is a sample book description.")
+            .publisher("Sample Publisher")
+            .categoryName("Fiction")
+            .customerReviewRank(4.5)
+            .itemPage(300)
+            .build());
+
+        discussion = discussionRepository.save(createDiscussion("동시 댓글 테스트"));
+        otherDiscussion = discussionRepository.save(createDiscussion("다른 토론"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        discussionRepository.deleteById(discussion.getId());
+        discussionRepository.deleteById(otherDiscussion.getId());
+        aladinBookRepository.delete(aladinBook);
+        memberRepository.delete(member);
+    }
+
+    @Test
+    @DisplayName("같은 토론에 동시에 댓글을 달아도 groupId 가 겹치거나 빠지지 않는다")
+    void next_parallelWriters_shouldHandOutDistinctIds() throws InterruptedException {
+        Set<Long> groupIds = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(WRITER_COUNT);
+
+        for (int i = 0; i < WRITER_COUNT; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    groupIds.add(discussionCommentGroupSequence.next(discussion.getId()));
+                } catch (Exception e) {
+                    System.out.println("groupId 발급 실패 : " + e.getMessage());
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS), "groupId 발급이 끝나지 않았습니다.");
+        executor.shutdown();
+
+        List<Long> expected = LongStream.rangeClosed(1, WRITER_COUNT).boxed().collect(Collectors.toList());
+        assertEquals(Set.copyOf(expected), groupIds);
+
+        // 다른 토론은 따로 1부터 센다.
+        assertEquals(1L, discussionCommentGroupSequence.next(otherDiscussion.getId()));
+    }
+
+    @Test
+    @DisplayName("없는 토론이면 DiscussionNotFoundException")
+    void next_unknownDiscussion_shouldThrow() {
+        assertThrows(DiscussionNotFoundException.class,
+            () -> discussionCommentGroupSequence.next(-1L));
+    }
+
+    private Discussion createDiscussion(String title) {
+        return Discussion.builder()
+            .member(member)
+            .aladinBook(aladinBook)
+            .title(title)
+            .content("댓글 groupId 발급 테스트용 토론")
+            .status(DiscussionStatus.IN_PROGRESS)
+            .startDate(LocalDateTime.now().minusDays(1))
+            .closedAt(LocalDateTime.now().plusDays(1))
+            .build();
+    }
+}
@@ -0,0 +1,245 @@
+package com.undefinedus.backend.global.sequence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.undefinedus.backend.domain.entity.AladinBook;
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.DiscussionComment;
+import com.undefinedus.backend.domain.entity.Member;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.exception.discussionComment.DiscussionCommentException;
+import com.undefinedus.backend.exception.discussionComment.DiscussionCommentNotFoundException;
+import com.undefinedus.backend.repository.AladinBookRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.repository.MemberRepository;
+import com.undefinedus.backend.service.DiscussionCommentService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// 여러 스레드가 실제로 커밋해야 하므로 @Transactional 을 붙이지 않고, 끝나면 직접 지운다.
+@SpringBootTest
+class DiscussionReplyOrderSequenceTest {
+
+    private static final int WRITER_COUNT = 50;
+    private static final long GROUP_ID = 1L;
+    private static final long GROUP_START = GROUP_ID * DiscussionComment.GROUP_ORDER_STRIDE;
+
+    private static final String INSERT_COMMENT_SQL =
+        "INSERT INTO discussion_comment (discussion_id, member_id, group_id, parent_id, group_order, total_order, "
+            + "is_child, vote_type, content, view_status, is_deleted, like_count, dislike_count) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 'AGREE', 'comment', 'ACTIVE', ?, 0, 0)";
+
+    @Autowired
+    private DiscussionReplyOrderSequence discussionReplyOrderSequence;
+
+    @Autowired
+    private DiscussionRepository discussionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AladinBookRepository aladinBookRepository;
+
+    @Autowired
+    private DiscussionCommentService discussionCommentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Member member;
+    private AladinBook aladinBook;
+    private Discussion discussion;
+    private Long rootCommentId;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(Member.builder()
+            .username("reply-sequence@example.com")
+            .password("hashedPassword123")
+            .nickname("답글순번회원")
+            .birth(LocalDate.of(1990, 1, 1))
+            .gender("남성")
+            .build());
+
+        aladinBook = aladinBookRepository.save(AladinBook.builder()
+            .isbn13("9789999999004")
+            .title("답글 순번 테스트 책")
+            .author("Author Name")
+            .link("https://www.aladin.com/book/9789999999004")
+            .cover("https://www.aladin.com/book/cover.jpg")
+            .fullDescription("This is a sample book description.")
+            .publisher("Sample Publisher")
+            .categoryName("Fiction")
+            .customerReviewRank(4.5)
+            .itemPage(300)
+            .build());
+
+        discussion = discussionRepository.save(Discussion.builder()
+            .member(member)
+            .aladinBook(aladinBook)
+            .title("동시 답글 테스트")
+            .content("답글 순서 발급 테스트용 토론")
+            .status(DiscussionStatus.IN_PROGRESS)
+            .startDate(LocalDateTime.now().minusDays(1))
+            .closedAt(LocalDateTime.now().plusDays(1))
+            .build());
+
+        rootCommentId = insertComment(null, 0L, GROUP_START, false, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM discussion_comment WHERE discussion_id = ?", discussion.getId());
+        discussionRepository.deleteById(discussion.getId());
+        aladinBookRepository.delete(aladinBook);
+        memberRepository.delete(member);
+    }
+
+    @Test
+    @DisplayName("같은 그룹에 동시에 답글을 달아도 groupOrder, totalOrder 가 겹치거나 빠지지 않는다")
+    void next_parallelWriters_shouldHandOutDistinctOrders() throws InterruptedException {
+        Set<Long> totalOrders = ConcurrentHashMap.newKeySet();
+        Set<Long> groupOrders = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(WRITER_COUNT);
+
+        for (int i = 0; i < WRITER_COUNT; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    DiscussionReplyOrderSequence.ReplyOrder order = discussionReplyOrderSequence.next(
+                        discussion.getId(), GROUP_ID, rootCommentId);
+                    totalOrders.add(order.getTotalOrder());
+                    groupOrders.add(order.getGroupOrder());
+                } catch (Exception e) {
+                    System.out.println("답글 순서 발급 실패 : " + e.getMessage());
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS), "답글 순서 발급이 끝나지 않았습니다.");
+        executor.shutdown();
+
+        assertEquals(LongStream.rangeClosed(GROUP_START + 1, GROUP_START + WRITER_COUNT).boxed()
+            .collect(Collectors.toSet()), totalOrders);
+        assertEquals(LongStream.rangeClosed(1, WRITER_COUNT).boxed().collect(Collectors.toSet()),
+            groupOrders);
+    }
+
+    @Test
+    @DisplayName("그룹의 마지막 답글이 삭제되어 있어도 그 번호를 다시 쓰지 않는다")
+    void next_afterDeletedLastReply_shouldNotReuseOrder() {
+        // 카운터가 생기기 전에 달린 답글 2개, 마지막 답글은 삭제됨
+        insertComment(rootCommentId, 1L, GROUP_START + 1, true, false);
+        insertComment(rootCommentId, 2L, GROUP_START + 2, true, true);
+
+        DiscussionReplyOrderSequence.ReplyOrder order = discussionReplyOrderSequence.next(
+            discussion.getId(), GROUP_ID, rootCommentId);
+
+        assertEquals(GROUP_START + 3, order.getTotalOrder());
+        assertEquals(3L, order.getGroupOrder());
+    }
+
+    @Test
+    @DisplayName("답글에 단 답글은 부모 댓글 기준 groupOrder 와 그룹 기준 totalOrder 를 받는다")
+    void next_replyToReply() {
+        Long replyId = insertComment(rootCommentId, 1L, GROUP_START + 1, true, false);
+
+        DiscussionReplyOrderSequence.ReplyOrder order = discussionReplyOrderSequence.next(
+            discussion.getId(), GROUP_ID, replyId);
+
+        assertEquals(GROUP_START + 2, order.getTotalOrder());
+        assertEquals(1L, order.getGroupOrder());
+    }
+
+    @Test
+    @DisplayName("원댓글이 없는 그룹이면 DiscussionCommentNotFoundException")
+    void next_unknownGroup_shouldThrow() {
+        assertThrows(DiscussionCommentNotFoundException.class,
+            () -> discussionReplyOrderSequence.next(discussion.getId(), 99L, rootCommentId));
+    }
+
+    @Test
+    @DisplayName("그룹 구간을 다 쓰면 답글 번호를 더 주지 않고, 카운터도 올리지 않는다")
+    void next_whenGroupRangeIsFull_shouldThrow() {
+        long lastInRange = GROUP_START + DiscussionComment.GROUP_ORDER_STRIDE - 1;
+        jdbcTemplate.update("UPDATE discussion_comment SET last_reply_total_order = ? WHERE id = ?",
+            lastInRange, rootCommentId);
+
+        assertThrows(DiscussionCommentException.class,
+            () -> discussionReplyOrderSequence.next(discussion.getId(), GROUP_ID, rootCommentId));
+
+        assertEquals(lastInRange, jdbcTemplate.queryForObject(
+            "SELECT last_reply_total_order FROM discussion_comment WHERE id = ?", Long.class, rootCommentId));
+    }
+
+    @Test
+    @DisplayName("예전 방식 그룹에 변환 전에 달린 답글은 예전 답글 뒤로 다시 매기고, 이후 답글과 번호가 겹치지 않는다")
+    void migrateLegacyTotalOrder_withReplyBeforeMigration() {
+        // 예전 방식(전체 순번)으로 저장된 그룹 2 의 원댓글과 답글
+        long legacyGroupId = 2L;
+        long legacyGroupStart = legacyGroupId * DiscussionComment.GROUP_ORDER_STRIDE;
+        Long legacyRootId = insertComment(legacyGroupId, null, 0L, 10L, false, false);
+        Long legacyReplyId = insertComment(legacyGroupId, legacyRootId, 1L, 11L, true, false);
+
+        // 변환 전에 새 방식으로 답글이 달렸다. (groupStart + 1 을 받는다)
+        DiscussionReplyOrderSequence.ReplyOrder early = discussionReplyOrderSequence.next(
+            discussion.getId(), legacyGroupId, legacyRootId);
+        assertEquals(legacyGroupStart + 1, early.getTotalOrder());
+        Long earlyReplyId = insertComment(legacyGroupId, legacyRootId, early.getGroupOrder(),
+            early.getTotalOrder(), true, false);
+
+        // when
+        discussionCommentService.migrateLegacyTotalOrder();
+
+        // then - 원댓글, 예전 답글, 새 답글 순서로 겹치지 않게 다시 매긴다.
+        List<Long> orders = List.of(legacyRootId, legacyReplyId, earlyReplyId).stream()
+            .map(id -> jdbcTemplate.queryForObject(
+                "SELECT total_order FROM discussion_comment WHERE id = ?", Long.class, id))
+            .toList();
+        assertEquals(List.of(legacyGroupStart, legacyGroupStart + 1, legacyGroupStart + 2), orders);
+
+        // 이후 답글은 마지막 번호 다음을 받는다.
+        DiscussionReplyOrderSequence.ReplyOrder next = discussionReplyOrderSequence.next(
+            discussion.getId(), legacyGroupId, legacyRootId);
+        assertEquals(legacyGroupStart + 3, next.getTotalOrder());
+    }
+
+    private Long insertComment(Long parentId, Long groupOrder, Long totalOrder, boolean isChild,
+        boolean isDeleted) {
+        return insertComment(GROUP_ID, parentId, groupOrder, totalOrder, isChild, isDeleted);
+    }
+
+    private Long insertComment(Long groupId, Long parentId, Long groupOrder, Long totalOrder, boolean isChild,
+        boolean isDeleted) {
+        jdbcTemplate.update(INSERT_COMMENT_SQL, discussion.getId(), member.getId(), groupId, parentId,
+            groupOrder, totalOrder, isChild, isDeleted);
+        return jdbcTemplate.queryForObject(
+            "SELECT id FROM discussion_comment WHERE discussion_id = ? AND total_order = ?", Long.class,
+            discussion.getId(), totalOrder);
+    }
+}
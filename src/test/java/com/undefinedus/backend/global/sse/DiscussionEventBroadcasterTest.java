@@ -0,0 +1,140 @@
+package com.undefinedus.backend.global.sse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.undefinedus.backend.domain.enums.DiscussionEventType;
+import com.undefinedus.backend.dto.response.discussion.DiscussionEventDTO;
+import com.undefinedus.backend.exception.discussion.DiscussionStreamLimitException;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster.BufferedEvent;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster.EventBuffer;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class DiscussionEventBroadcasterTest {
+
+    private DiscussionEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new DiscussionEventBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "maxConnections", 2);
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 3);
+        ReflectionTestUtils.setField(broadcaster, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(broadcaster, "writeTimeoutMs", 1000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 차면 가장 오래된 이벤트부터 버린다")
+    void eventBuffer_whenFull_shouldDropOldest() {
+        EventBuffer buffer = new EventBuffer(3);
+
+        for (long id = 1; id <= 5; id++) {
+            buffer.offer(new BufferedEvent(id, event(1L)));
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(2L, buffer.dropped());
+        assertEquals(3L, buffer.poll().getId());
+        assertEquals(4L, buffer.poll().getId());
+        assertEquals(5L, buffer.poll().getId());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    @DisplayName("서버당 최대 연결 수를 넘으면 구독을 거절한다")
+    void subscribe_overLimit_shouldThrow() {
+        assertNotNull(broadcaster.subscribe(1L));
+        assertNotNull(broadcaster.subscribe(2L));
+
+        assertThrows(DiscussionStreamLimitException.class, () -> broadcaster.subscribe(1L));
+        assertEquals(2, broadcaster.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("구독자가 없는 토론에 이벤트를 보내도 아무 일도 일어나지 않는다")
+    void publish_withoutSubscriber_shouldBeIgnored() {
+        broadcaster.publishVote(1L, 3L, 2L);
+        broadcaster.publishCommentReaction(1L, 10L, 0L, 0L);
+
+        assertEquals(0, broadcaster.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("보내다가 write-timeout 을 넘긴 구독자는 닫고, 붙잡혀 있던 sender 스레드를 풀어준다")
+    void closeStalled_shouldCloseSubscriberAndReleaseSender() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        broadcaster = new DiscussionEventBroadcaster() {
+            @Override
+            SseEmitter newEmitter(long timeout) {
+                return new StalledEmitter(timeout, entered, released);
+            }
+        };
+        ReflectionTestUtils.setField(broadcaster, "maxConnections", 2);
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 3);
+        ReflectionTestUtils.setField(broadcaster, "writeTimeoutMs", 1000L);
+
+        // 연결 직후 보내는 comment 에서 멈춘다.
+        broadcaster.subscribe(1L);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // 아직 write-timeout 전이면 그대로 둔다.
+        broadcaster.closeStalled(System.currentTimeMillis());
+        assertEquals(1, broadcaster.getConnectionCount());
+
+        broadcaster.closeStalled(System.currentTimeMillis() + 1000L);
+
+        assertEquals(0, broadcaster.getConnectionCount());
+        assertTrue(released.await(5, TimeUnit.SECONDS));
+    }
+
+    // 클라이언트가 받지 않아 쓰기가 끝나지 않는 상황 (interrupt 되어야 빠져나온다)
+    private static class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch entered;
+        private final CountDownLatch released;
+
+        StalledEmitter(long timeout, CountDownLatch entered, CountDownLatch released) {
+            super(timeout);
+            this.entered = entered;
+            this.released = released;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                released.countDown();
+                throw new InterruptedIOException("전송 중단");
+            }
+        }
+    }
+
+    private DiscussionEventDTO event(Long discussionId) {
+        return DiscussionEventDTO.builder()
+            .type(DiscussionEventType.VOTE)
+            .discussionId(discussionId)
+            .agreeCount(1L)
+            .disagreeCount(0L)
+            .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.undefinedus.backend.global.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.undefinedus.backend.domain.entity.DiscussionActivityBucket;
+import com.undefinedus.backend.dto.response.discussion.DiscussionActivityPointDTO;
+import com.undefinedus.backend.repository.DiscussionActivityBucketRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class DiscussionActivitySeriesTest {
+
+    @Mock
+    private DiscussionActivityBucketRepository discussionActivityBucketRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private DiscussionActivitySeries series;
+
+    private long minute;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(series, "bufferMinutes", 60);
+        minute = DiscussionActivitySeries.currentMinute();
+    }
+
+    @Test
+    @DisplayName("같은 분의 기록은 한 버킷에 더하고, flush 는 아직 저장하지 않은 증가분만 더한다")
+    void flush_shouldUpsertOnlyPendingDeltas() {
+        series.record(1L, minute, 1, 0, 0, 0);
+        series.record(1L, minute, 1, -1, 0, 0);
+        series.record(1L, minute, 0, 0, 1, 2);
+
+        series.flush();
+
+        List<Object[]> firstBatch = captureBatch(1).get(0);
+        assertEquals(1, firstBatch.size());
+        assertEquals(List.of(1L, minute, 2L, -1L, 1L, 2L), List.of(firstBatch.get(0)));
+
+        // 저장한 뒤 같은 분에 더해진 것만 다음 flush 때 저장한다.
+        series.record(1L, minute, 0, 0, 1, 0);
+        series.flush();
+
+        List<Object[]> secondBatch = captureBatch(2).get(1);
+        assertEquals(List.of(1L, minute, 0L, 0L, 1L, 0L), List.of(secondBatch.get(0)));
+    }
+
+    @Test
+    @DisplayName("저장에 실패하면 다음 flush 때 같은 증가분을 다시 저장한다")
+    void flush_shouldRetryAfterFailure() {
+        series.record(1L, minute, 0, 0, 3, 0);
+        doThrow(new DataAccessResourceFailureException("down"))
+            .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        series.flush();
+        series.flush();
+
+        List<List<Object[]>> batches = captureBatch(2);
+        assertEquals(3L, batches.get(0).get(0)[4]);
+        assertEquals(3L, batches.get(1).get(0)[4]);
+    }
+
+    @Test
+    @DisplayName("시계열은 저장된 기록과 아직 저장하지 않은 기록을 합쳐서 묶는다")
+    void getSeries_shouldMergeStoredAndPending() {
+        long base = minute / 10 * 10;
+        when(discussionActivityBucketRepository.findByDiscussionIdOrderByBucketMinuteAsc(1L)).thenReturn(List.of(
+            DiscussionActivityBucket.builder().discussionId(1L).bucketMinute(base - 10).agreeDelta(2).build(),
+            DiscussionActivityBucket.builder().discussionId(1L).bucketMinute(base).commentCount(4).build()));
+        series.record(1L, base + 1, 0, 1, 1, 0);
+
+        List<DiscussionActivityPointDTO> perTenMinutes = series.getSeries(1L, 10);
+
+        assertEquals(2, perTenMinutes.size());
+        assertEquals(2L, perTenMinutes.get(0).getAgreeDelta());
+        assertEquals(5L, perTenMinutes.get(1).getCommentCount());
+        assertEquals(1L, perTenMinutes.get(1).getDisagreeDelta());
+        assertEquals(10, perTenMinutes.get(1).getBucketMinutes());
+    }
+
+    @Test
+    @DisplayName("AI 분석용 요약은 최대 구간 수를 넘지 않는다")
+    void summarize_shouldDownsample() {
+        when(discussionActivityBucketRepository.findByDiscussionIdOrderByBucketMinuteAsc(anyLong())).thenReturn(List.of());
+        for (int i = 0; i < 120; i++) {
+            series.record(1L, minute - 59 + i / 2, 0, 0, 1, 0);
+        }
+
+        String summary = series.summarize(1L, 6);
+
+        long lines = summary.lines().filter(line -> !line.isBlank()).count();
+        assertTrue(lines <= 7, summary);
+        assertTrue(summary.contains("comments"));
+        assertEquals("none", series.summarize(2L, 6));
+    }
+
+    @Test
+    @DisplayName("활동 기록은 DB 를 바로 부르지 않는다")
+    void record_shouldNotTouchDatabase() {
+        series.recordVote(1L, 1, 0);
+        series.recordComment(1L);
+        series.recordLike(1L, -1);
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(discussionActivityBucketRepository, never()).findByDiscussionIdOrderByBucketMinuteAsc(eq(1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> captureBatch(int times) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(times)).batchUpdate(anyString(), captor.capture());
+        return captor.getAllValues();
+    }
+}
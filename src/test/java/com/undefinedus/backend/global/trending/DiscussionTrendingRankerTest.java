@@ -0,0 +1,162 @@
+package com.undefinedus.backend.global.trending;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.undefinedus.backend.domain.entity.DiscussionTrendingScore;
+import com.undefinedus.backend.domain.enums.TrendingActivity;
+import com.undefinedus.backend.global.trending.DiscussionTrendingRanker.Ranked;
+import com.undefinedus.backend.repository.DiscussionTrendingScoreRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class DiscussionTrendingRankerTest {
+
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+
+    @Mock
+    private DiscussionTrendingScoreRepository discussionTrendingScoreRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private DiscussionTrendingRanker ranker;
+
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ranker, "halfLifeHours", 24.0);
+        ReflectionTestUtils.setField(ranker, "maxSize", 100);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    @DisplayName("가중치가 큰 활동이 많은 토론이 위에 온다")
+    void record_shouldRankByWeightedActivity() {
+        ranker.record(1L, TrendingActivity.VIEW, now);
+        ranker.record(2L, TrendingActivity.COMMENT, now);
+        ranker.record(3L, TrendingActivity.VOTE, now);
+        ranker.record(3L, TrendingActivity.VOTE, now);
+
+        assertEquals(List.of(3L, 2L, 1L), ids(ranker.top(null, 10)));
+    }
+
+    @Test
+    @DisplayName("오래된 활동은 반감기만큼 점수가 줄어든다")
+    void record_shouldDecayOldActivity() {
+        // 이틀 전 댓글 : 5 * 1/4 = 1.25
+        ranker.record(1L, TrendingActivity.COMMENT, now - 48 * HOUR_MS);
+        // 지금 조회 1번 : 1
+        ranker.record(2L, TrendingActivity.VIEW, now);
+
+        assertEquals(List.of(1L, 2L), ids(ranker.top(null, 10)));
+
+        // 지금 조회 1번 더 : 2
+        ranker.record(2L, TrendingActivity.VIEW, now);
+
+        assertEquals(List.of(2L, 1L), ids(ranker.top(null, 10)));
+    }
+
+    @Test
+    @DisplayName("커서로 넘기는 사이 점수가 올라도 이미 본 토론이 다시 나오지 않는다")
+    void top_withCursor_shouldNotRepeat() {
+        for (long id = 1; id <= 6; id++) {
+            for (int i = 0; i < id; i++) {
+                ranker.record(id, TrendingActivity.VIEW, now);
+            }
+        }
+
+        List<Ranked> firstPage = ranker.top(null, 3);
+        assertEquals(List.of(6L, 5L, 4L), ids(firstPage));
+
+        // 첫 페이지에 나온 토론과 아직 안 나온 토론 모두 점수가 오른다.
+        ranker.record(4L, TrendingActivity.COMMENT, now);
+        ranker.record(1L, TrendingActivity.COMMENT, now);
+
+        List<Ranked> secondPage = ranker.top(firstPage.get(2).toCursor(), 3);
+        List<Long> seen = new ArrayList<>(ids(firstPage));
+        for (Long id : ids(secondPage)) {
+            assertTrue(!seen.contains(id), "이미 본 토론 : " + id);
+        }
+        assertEquals(List.of(3L, 2L), ids(secondPage));
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 점수가 가장 낮은 토론부터 뺀다")
+    void record_overMaxSize_shouldEvictLowest() {
+        ReflectionTestUtils.setField(ranker, "maxSize", 2);
+
+        ranker.record(1L, TrendingActivity.COMMENT, now);
+        ranker.record(2L, TrendingActivity.VIEW, now);
+        ranker.record(3L, TrendingActivity.VOTE, now);
+
+        assertEquals(List.of(1L, 3L), ids(ranker.top(null, 10)));
+    }
+
+    @Test
+    @DisplayName("스냅샷은 바뀐 점수만 저장하고, 다시 띄우면 스냅샷에서 순위를 불러온다")
+    @SuppressWarnings("unchecked")
+    void snapshot_shouldPersistAndRestore() {
+        ranker.record(1L, TrendingActivity.COMMENT, now);
+        ranker.record(2L, TrendingActivity.VIEW, now);
+
+        ranker.snapshot();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        List<Object[]> saved = captor.getValue();
+        assertEquals(2, saved.size());
+
+        // 바뀐 게 없으면 저장하지 않는다.
+        ranker.snapshot();
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        // 저장된 값으로 새 랭커를 띄운다.
+        List<DiscussionTrendingScore> rows = saved.stream()
+            .map(args -> new DiscussionTrendingScore((Long) args[0], (Double) args[1]))
+            .collect(Collectors.toList());
+        when(discussionTrendingScoreRepository.findAll()).thenReturn(rows);
+
+        DiscussionTrendingRanker restarted = new DiscussionTrendingRanker(
+            discussionTrendingScoreRepository, jdbcTemplate);
+        ReflectionTestUtils.setField(restarted, "halfLifeHours", 24.0);
+        ReflectionTestUtils.setField(restarted, "maxSize", 100);
+
+        assertEquals(List.of(1L, 2L), ids(restarted.top(null, 10)));
+        restarted.snapshot();
+        verify(jdbcTemplate, never()).batchUpdate(eq("DELETE FROM discussion_trending_score WHERE discussion_id = ?"),
+            anyList());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 처음부터 조회한다")
+    void top_withInvalidCursor_shouldStartFromTop() {
+        ranker.record(1L, TrendingActivity.VIEW, now);
+
+        assertEquals(List.of(1L), ids(ranker.top("not-a-cursor", 10)));
+    }
+
+    private List<Long> ids(List<Ranked> rankedList) {
+        return rankedList.stream().map(Ranked::getDiscussionId).collect(Collectors.toList());
+    }
+}
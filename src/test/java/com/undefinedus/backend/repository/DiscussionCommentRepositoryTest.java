@@ -10,6 +10,7 @@ import com.undefinedus.backend.domain.enums.BookStatus;
 import com.undefinedus.backend.domain.enums.DiscussionStatus;
 import com.undefinedus.backend.domain.enums.VoteType;
 import jakarta.persistence.EntityManager;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -209,20 +210,16 @@ class DiscussionCommentRepositoryTest {
     }
 
     @Test
-    @DisplayName("findMaxGroupId 메서드 테스트")
+    @DisplayName("increaseLastCommentGroupId 메서드 테스트")
     @Rollback(true)
-    void testFindMaxGroupId() {
-        // 댓글 그룹 ID가 0부터 시작하는지 확인
-        Long maxGroupId = discussionCommentRepository.findMaxGroupId();
-        assertThat(maxGroupId).isEqualTo(0L);
-
-        // 새로운 댓글 추가
+    void testIncreaseLastCommentGroupId() {
+        // 순번을 쓰기 전에 이미 달려 있던 댓글 (예전 방식으로 전체 기준 groupId 를 받은 댓글)
         DiscussionComment comment = DiscussionComment.builder()
             .discussion(discussion)
             .member(member1)
-            .groupId(1L)
+            .groupId(41L)
             .voteType(VoteType.AGREE)
-            .content("New Comment with Group ID")
+            .content("Legacy Group Comment")
             .build();
         discussionCommentRepository.save(comment);
 
@@ -230,93 +227,136 @@ class DiscussionCommentRepositoryTest {
         entityManager.flush();
         entityManager.clear();  // 영속성 컨텍스트 초기화
 
-        // 그룹 ID가 1로 증가했는지 확인
-        maxGroupId = discussionCommentRepository.findMaxGroupId();
-        assertThat(maxGroupId).isEqualTo(1L);
+        // 처음에는 기존 댓글의 최대 groupId 다음 번호부터 시작
+        assertThat(discussionRepository.increaseLastCommentGroupId(discussion.getId(), 1)).isEqualTo(1);
+        assertThat(discussionRepository.findLastCommentGroupId(discussion.getId())).contains(42L);
+
+        // 그 다음부터는 댓글 테이블을 보지 않고 1씩 증가
+        discussionRepository.increaseLastCommentGroupId(discussion.getId(), 1);
+        assertThat(discussionRepository.findLastCommentGroupId(discussion.getId())).contains(43L);
+
+        // 없는 토론은 바뀌는 row 가 없다.
+        assertThat(discussionRepository.increaseLastCommentGroupId(-1L, 1)).isEqualTo(0);
     }
 
     @Test
-    @DisplayName("findTopTotalOrder 메서드 테스트")
-    void testFindTopTotalOrder() {
-        // 댓글을 몇 개 추가
-        DiscussionComment comment1 = DiscussionComment.builder()
-            .discussion(discussion)
-            .member(member1)
-            .voteType(VoteType.AGREE)
-            .totalOrder(1L)
-            .content("Comment 1")
-            .build();
-        discussionCommentRepository.save(comment1);
+    @DisplayName("좋아요/싫어요 토글 쿼리와 집계 컬럼 재계산 테스트")
+    void testToggleReactionAndRecalculate() {
+        entityManager.flush();
 
-        DiscussionComment comment2 = DiscussionComment.builder()
-            .discussion(discussion)
-            .member(member2)
-            .voteType(VoteType.DISAGREE)
-            .totalOrder(2L)
-            .content("Comment 2")
-            .build();
-        discussionCommentRepository.save(comment2);
+        // 이미 누른 회원은 추가되지 않고, 반대로 누르면 바뀌고, 같은 걸 누르면 취소된다.
+        assertThat(commentLikeRepository.insertReactionIfAbsent(comment1.getId(), member1.getId(), true)).isEqualTo(0);
+        assertThat(commentLikeRepository.switchReaction(comment1.getId(), member1.getId(), false)).isEqualTo(1);
+        assertThat(commentLikeRepository.cancelReaction(comment2.getId(), member2.getId(), true)).isEqualTo(1);
+        assertThat(commentLikeRepository.insertReactionIfAbsent(comment3.getId(), member1.getId(), false)).isEqualTo(1);
 
-        // 가장 높은 totalOrder 값을 가져오는지 확인
-        Long topTotalOrder = discussionCommentRepository.findTopTotalOrder(discussion.getId()).orElse(0L);
-        assertThat(topTotalOrder).isEqualTo(2L);
+        // CommentLike 로 직접 넣은 값이라 집계 컬럼은 0 이었다가, 재계산하면 맞춰진다.
+        discussionCommentRepository.recalculateAllReactionCounts();
+        entityManager.clear();
+
+        DiscussionComment found1 = discussionCommentRepository.findById(comment1.getId()).orElseThrow();
+        DiscussionComment found2 = discussionCommentRepository.findById(comment2.getId()).orElseThrow();
+        DiscussionComment found3 = discussionCommentRepository.findById(comment3.getId()).orElseThrow();
+        assertThat(found1.getLikeCount()).isEqualTo(1L);
+        assertThat(found1.getDislikeCount()).isEqualTo(1L);
+        assertThat(found2.getLikeCount()).isEqualTo(1L);
+        assertThat(found3.getLikeCount()).isEqualTo(1L);
+        assertThat(found3.getDislikeCount()).isEqualTo(1L);
+
+        // 증감은 DB 에서 바로 더한다.
+        discussionCommentRepository.addReactionCounts(comment1.getId(), 1, -1);
+        DiscussionComment updated = discussionCommentRepository.findById(comment1.getId()).orElseThrow();
+        assertThat(updated.getLikeCount()).isEqualTo(2L);
+        assertThat(updated.getDislikeCount()).isEqualTo(0L);
     }
 
     @Test
-    @DisplayName("findMaxTotalOrderFromChild 메서드 테스트")
-    void testFindMaxTotalOrderFromChild() {
-        // 자식 댓글을 추가
-        DiscussionComment parentComment = DiscussionComment.builder()
-            .discussion(discussion)
-            .member(member1)
-            .groupId(1L)
-            .voteType(VoteType.AGREE)
-            .content("Parent Comment")
-            .build();
-        discussionCommentRepository.save(parentComment);
-
-        DiscussionComment childComment = DiscussionComment.builder()
-            .discussion(discussion)
-            .member(member2)
-            .parentId(parentComment.getId())
-            .groupId(1L)
-            .totalOrder(5L)
-            .voteType(VoteType.DISAGREE)
-            .content("Child Comment")
-            .build();
-        discussionCommentRepository.save(childComment);
+    @DisplayName("countRepliesByGroupIds, findReplyPreviewIds 메서드 테스트")
+    void testReplyCountAndPreview() {
+        // 그룹 1 에 답글 3개, 그룹 2 에 답글 1개 (그룹 3 은 답글 없음)
+        long[][] replies = {{1L, 3L}, {1L, 1L}, {1L, 2L}, {2L, 1L}};
+        for (long[] reply : replies) {
+            discussionCommentRepository.save(DiscussionComment.builder()
+                .discussion(discussion)
+                .member(member2)
+                .groupId(reply[0])
+                .isChild(true)
+                .totalOrder(reply[0] * DiscussionComment.GROUP_ORDER_STRIDE + reply[1])
+                .voteType(VoteType.DISAGREE)
+                .content("Reply " + reply[0] + "-" + reply[1])
+                .build());
+        }
+        entityManager.flush();
 
-        // 특정 그룹 내에서 가장 높은 totalOrder 값을 가져오는지 확인
-        Long maxTotalOrder = discussionCommentRepository.findMaxTotalOrderFromChild(1L);
-        assertThat(maxTotalOrder).isEqualTo(5L);
+        List<Object[]> counts = discussionCommentRepository.countRepliesByGroupIds(
+            discussion.getId(), List.of(1L, 2L, 3L));
+        assertThat(counts).extracting(row -> row[0] + ":" + row[1])
+            .containsExactlyInAnyOrder("1:3", "2:1");
+
+        // 그룹마다 앞에서부터 2개씩, 보여지는 순서대로
+        List<Long> previewIds = discussionCommentRepository.findReplyPreviewIds(
+            discussion.getId(), List.of(1L, 2L, 3L), 2);
+        List<Long> previewOrders = discussionCommentRepository.findAllById(previewIds).stream()
+            .map(DiscussionComment::getTotalOrder)
+            .sorted()
+            .toList();
+        assertThat(previewIds).hasSize(3);
+        assertThat(previewOrders).containsExactly(
+            DiscussionComment.GROUP_ORDER_STRIDE + 1,
+            DiscussionComment.GROUP_ORDER_STRIDE + 2,
+            2L * DiscussionComment.GROUP_ORDER_STRIDE + 1);
     }
 
     @Test
-    @DisplayName("incrementTotalOrderFrom 메서드 테스트")
+    @DisplayName("findLegacyOrderGroups, findGroupIdsForRenumber 메서드 테스트")
     @Rollback(true) // 기본값은 true, 수동으로 설정해서 롤백이 되도록 보장
-    void testIncrementTotalOrderFrom() {
-        // 초기 댓글 추가
-        DiscussionComment comment = DiscussionComment.builder()
+    void testMigrateLegacyTotalOrder() {
+        // 예전 방식(전체 순번)으로 저장된 그룹 7 과 그룹 구간 방식으로 저장된 그룹 8
+        DiscussionComment legacyComment = DiscussionComment.builder()
             .discussion(discussion)
             .member(member1)
+            .groupId(7L)
             .totalOrder(10L)
             .voteType(VoteType.AGREE)
-            .content("Original Comment")
+            .content("Legacy Comment")
             .build();
-        discussionCommentRepository.save(comment);
+        discussionCommentRepository.save(legacyComment);
 
-        // totalOrder 10 이상인 모든 댓글의 totalOrder를 증가
-        discussionCommentRepository.incrementTotalOrderFrom(10L);
+        // 변환 전에 새 방식으로 달린 그룹 7 의 답글
+        DiscussionComment newReply = DiscussionComment.builder()
+            .discussion(discussion)
+            .member(member2)
+            .groupId(7L)
+            .isChild(true)
+            .parentId(legacyComment.getId())
+            .totalOrder(7L * DiscussionComment.GROUP_ORDER_STRIDE + 1)
+            .voteType(VoteType.DISAGREE)
+            .content("New Reply")
+            .build();
+        discussionCommentRepository.save(newReply);
 
-        // 데이터베이스에 반영되도록 강제로 flush 및 clear
+        DiscussionComment newComment = DiscussionComment.builder()
+            .discussion(discussion)
+            .member(member2)
+            .groupId(8L)
+            .totalOrder(8L * DiscussionComment.GROUP_ORDER_STRIDE)
+            .voteType(VoteType.DISAGREE)
+            .content("New Comment")
+            .build();
+        discussionCommentRepository.save(newComment);
         entityManager.flush();
-        entityManager.clear();
-
-        // 수정된 댓글 확인
-        DiscussionComment updatedComment = discussionCommentRepository.findById(comment.getId()).orElseThrow();
-        assertThat(updatedComment.getTotalOrder()).isEqualTo(11L);
 
-        // 이 테스트 후 DB에 실제로 반영되지 않음
+        // 예전 방식으로 저장된 댓글이 남아 있는 그룹만 가져온다.
+        List<Object[]> legacyGroups = discussionCommentRepository.findLegacyOrderGroups(
+            DiscussionComment.GROUP_ORDER_STRIDE, discussion.getId() - 1, Long.MAX_VALUE, 100);
+        assertThat(legacyGroups)
+            .filteredOn(row -> ((Number) row[0]).longValue() == discussion.getId())
+            .extracting(row -> ((Number) row[1]).longValue())
+            .containsExactly(7L);
+
+        // 원댓글, 예전 방식 댓글, 새 방식 답글 순서로 다시 매긴다.
+        assertThat(discussionCommentRepository.findGroupIdsForRenumber(discussion.getId(), 7L,
+            DiscussionComment.GROUP_ORDER_STRIDE)).containsExactly(legacyComment.getId(), newReply.getId());
     }
 
 //    @Test
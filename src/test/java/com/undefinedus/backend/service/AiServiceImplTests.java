@@ -192,7 +192,7 @@ class AiServiceImplTests {
         Long memberId = 2L;
 
         List<AladinApiResponseDTO> booksByIsbn = aiService.getPerplexityRecommendBookList(
-            memberId);
+            memberId).block();
 
         System.out.println(booksByIsbn);
         System.out.println(booksByIsbn.size());
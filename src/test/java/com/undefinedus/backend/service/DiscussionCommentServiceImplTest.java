@@ -11,6 +11,7 @@ import com.undefinedus.backend.domain.entity.Member;
 import com.undefinedus.backend.domain.enums.VoteType;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentsScrollRequestDTO;
 import com.undefinedus.backend.dto.response.ScrollResponseDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionCountDTO;
 import com.undefinedus.backend.exception.discussion.DiscussionNotFoundException;
 import com.undefinedus.backend.exception.discussionComment.DiscussionCommentNotFoundException;
 import com.undefinedus.backend.exception.member.MemberNotFoundException;
@@ -21,11 +22,23 @@ import com.undefinedus.backend.repository.DiscussionRepository;
 import com.undefinedus.backend.repository.MemberRepository;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentRequestDTO;
 import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
-import com.undefinedus.backend.repository.ReportRepository;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentThreadResponseDTO;
+import com.undefinedus.backend.global.assembler.DiscussionCommentPageAssembler;
+import com.undefinedus.backend.global.cache.DiscussionBestCommentCache;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.export.DiscussionCommentExporter;
+import com.undefinedus.backend.global.queue.DiscussionCommentWriteQueue;
+import com.undefinedus.backend.global.sequence.DiscussionCommentGroupSequence;
+import com.undefinedus.backend.global.sequence.DiscussionReplyOrderSequence;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster;
+import com.undefinedus.backend.global.timeseries.DiscussionActivitySeries;
+import com.undefinedus.backend.global.trending.DiscussionTrendingRanker;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,6 +46,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class DiscussionCommentServiceImplTest {
 
@@ -47,7 +64,29 @@ class DiscussionCommentServiceImplTest {
     @Mock
     private DiscussionParticipantRepository discussionParticipantRepository;
     @Mock
-    private ReportRepository reportRepository;
+    private DiscussionDetailCache discussionDetailCache;
+    @Mock
+    private DiscussionBestCommentCache discussionBestCommentCache;
+    @Mock
+    private DiscussionCommentWriteQueue discussionCommentWriteQueue;
+    @Mock
+    private DiscussionCommentExporter discussionCommentExporter;
+    @Mock
+    private DiscussionEventBroadcaster discussionEventBroadcaster;
+    @Mock
+    private DiscussionTrendingRanker discussionTrendingRanker;
+    @Mock
+    private DiscussionActivitySeries discussionActivitySeries;
+    @Mock
+    private DiscussionCommentGroupSequence discussionCommentGroupSequence;
+    @Mock
+    private DiscussionCommentPageAssembler discussionCommentPageAssembler;
+    @Mock
+    private DiscussionReplyOrderSequence discussionReplyOrderSequence;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private DiscussionCommentServiceImpl discussionCommentService;
@@ -87,6 +126,7 @@ class DiscussionCommentServiceImplTest {
             .id(1L)
             .discussion(discussion)
             .member(member1)
+            .groupId(1L)
             .content("Comment 1")
             .voteType(VoteType.AGREE)
             .build();
@@ -118,10 +158,23 @@ class DiscussionCommentServiceImplTest {
         when(memberRepository.findById(1L)).thenReturn(Optional.of(member1));
         when(memberRepository.findById(2L)).thenReturn(Optional.of(member2));
         when(discussionRepository.findById(1L)).thenReturn(Optional.of(discussion));
+        when(discussionRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(discussion));
         when(discussionCommentRepository.findById(1L)).thenReturn(Optional.of(comment1));
         when(discussionCommentRepository.findById(2L)).thenReturn(Optional.of(comment2));
+        when(discussionCommentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(comment1));
+        when(discussionCommentRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(comment2));
         when(commentLikeRepository.findByCommentAndMember(comment1, member2)).thenReturn(Optional.of(like1));
         when(commentLikeRepository.findByCommentAndMember(comment2, member1)).thenReturn(Optional.of(like2));
+        when(discussionRepository.findCountsById(anyLong())).thenReturn(
+            Optional.of(new DiscussionCountDTO(0L, 0L, 1L, 1L, 0L)));
+
+        // 트랜잭션 없이 콜백만 바로 실행
+        when(transactionTemplate.execute(any())).thenAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
     }
 
     @Test
@@ -163,8 +216,7 @@ class DiscussionCommentServiceImplTest {
         // Mockito로 mocking 설정
         when(discussionRepository.findById(discussionId)).thenReturn(Optional.of(discussion));
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
-        when(discussionCommentRepository.findTopTotalOrder(discussionId)).thenReturn(Optional.of(0L));
-        when(discussionCommentRepository.findMaxGroupId()).thenReturn(0L);  // groupId가 1로 설정되기 위해
+        when(discussionCommentGroupSequence.next(discussionId)).thenReturn(1L);  // 이 토론의 첫 groupId
         when(discussionCommentRepository.save(any(DiscussionComment.class))).thenReturn(savedComment);
 
         // When
@@ -173,9 +225,12 @@ class DiscussionCommentServiceImplTest {
         // Then
         verify(discussionRepository).findById(discussionId);
         verify(memberRepository).findById(memberId);
-        verify(discussionCommentRepository).findTopTotalOrder(discussionId);
-        verify(discussionCommentRepository).findMaxGroupId();  // groupId를 얻기 위한 호출 확인
-        verify(discussionCommentRepository, times(1)).save(any(DiscussionComment.class));  // save 호출 확인
+        verify(discussionCommentGroupSequence).next(discussionId);  // groupId를 얻기 위한 호출 확인
+        ArgumentCaptor<DiscussionComment> captor = ArgumentCaptor.forClass(DiscussionComment.class);
+        verify(discussionCommentRepository, times(1)).save(captor.capture());  // save 호출 확인
+        assertEquals(DiscussionComment.GROUP_ORDER_STRIDE, captor.getValue().getTotalOrder());  // 그룹 1 구간의 첫 번호
+        verify(discussionRepository).findByIdForUpdate(discussionId);  // 처음 다는 댓글인지 확인하기 전에 토론 row 를 잠금
+        verify(discussionRepository).addCommentCounts(discussionId, 1, 1, 0);  // 첫 찬성 댓글이라 댓글 단 회원 수도 증가
     }
 
     @Test
@@ -197,8 +252,9 @@ class DiscussionCommentServiceImplTest {
         // Mock 설정
         when(discussionRepository.findById(discussionId)).thenReturn(Optional.of(discussion));
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
-        when(discussionCommentRepository.findTopOrder(discussionId, parentCommentId)).thenReturn(Optional.of(1L));
-        when(discussionCommentRepository.findMaxTotalOrderFromChild(parentCommentId)).thenReturn(2L);
+        when(discussionReplyOrderSequence.next(discussionId, comment1.getGroupId(), parentCommentId))
+            .thenReturn(new DiscussionReplyOrderSequence.ReplyOrder(2L,
+                comment1.getGroupId() * DiscussionComment.GROUP_ORDER_STRIDE + 1));
         when(discussionCommentRepository.save(any(DiscussionComment.class)))
             .thenAnswer(invocation -> invocation.getArgument(0)); // 저장된 객체 반환
 
@@ -217,6 +273,10 @@ class DiscussionCommentServiceImplTest {
         assertEquals(member, savedReply.getMember());
         assertEquals(parentCommentId, savedReply.getParentId());
         assertTrue(savedReply.isChild());
+        assertEquals(2L, savedReply.getGroupOrder());
+        assertEquals(comment1.getGroupId() * DiscussionComment.GROUP_ORDER_STRIDE + 1,
+            savedReply.getTotalOrder());  // 발급기가 준 그룹 안의 다음 번호
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());  // 다른 댓글 순서는 바꾸지 않음
     }
     
     @Test
@@ -241,6 +301,8 @@ class DiscussionCommentServiceImplTest {
         when(discussionCommentRepository.findDiscussionCommentListWithScroll(any(DiscussionCommentsScrollRequestDTO.class), eq(discussion.getId())))
                 .thenReturn(commentList);
         when(memberRepository.findById(eq(1L))).thenReturn(Optional.of(member));
+        when(discussionCommentPageAssembler.assemble(commentList, member)).thenReturn(
+            List.of(DiscussionCommentResponseDTO.builder().commentId(comment2.getId()).build()));
         
         ScrollResponseDTO<DiscussionCommentResponseDTO> result =
                 discussionCommentService.getCommentList(member.getId(), requestDTO, discussion.getId());
@@ -251,6 +313,112 @@ class DiscussionCommentServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertFalse(result.isHasNext());
+        verify(discussionCommentPageAssembler).assemble(commentList, member);  // 페이지 단위로 한 번에 변환
+    }
+
+    @Test
+    @DisplayName("원댓글 목록은 원댓글마다 답글 수와 미리보기 답글을 붙이고, 커서는 마지막 원댓글의 groupId 다")
+    void testGetCommentThreadList() {
+        // Given
+        DiscussionCommentsScrollRequestDTO requestDTO = DiscussionCommentsScrollRequestDTO.builder()
+            .size(1)
+            .build();
+
+        DiscussionComment parent = DiscussionComment.builder()
+            .id(10L)
+            .discussion(discussion)
+            .member(member1)
+            .groupId(5L)
+            .totalOrder(5L * DiscussionComment.GROUP_ORDER_STRIDE)
+            .content("원댓글")
+            .voteType(VoteType.AGREE)
+            .build();
+        DiscussionComment nextParent = DiscussionComment.builder()
+            .id(11L)
+            .discussion(discussion)
+            .member(member2)
+            .groupId(6L)
+            .content("다음 페이지 원댓글")
+            .voteType(VoteType.DISAGREE)
+            .build();
+        DiscussionComment reply = DiscussionComment.builder()
+            .id(12L)
+            .discussion(discussion)
+            .member(member2)
+            .groupId(5L)
+            .parentId(10L)
+            .isChild(true)
+            .totalOrder(5L * DiscussionComment.GROUP_ORDER_STRIDE + 1)
+            .content("답글")
+            .voteType(VoteType.DISAGREE)
+            .build();
+
+        when(discussionCommentRepository.findTopLevelCommentListWithScroll(requestDTO, discussion.getId()))
+            .thenReturn(new ArrayList<>(List.of(parent, nextParent)));
+        when(discussionCommentRepository.countRepliesByGroupIds(discussion.getId(), List.of(5L)))
+            .thenReturn(List.<Object[]>of(new Object[]{5L, 7L}));
+        when(discussionCommentRepository.findReplyPreviewIds(discussion.getId(), List.of(5L), 3))
+            .thenReturn(List.of(12L));
+        when(discussionCommentRepository.findAllWithWriterByIdIn(List.of(12L))).thenReturn(List.of(reply));
+        when(discussionCommentPageAssembler.assemble(List.of(parent, reply), member1)).thenReturn(List.of(
+            DiscussionCommentResponseDTO.builder().commentId(10L).groupId(5L)
+                .totalOrder(parent.getTotalOrder()).build(),
+            DiscussionCommentResponseDTO.builder().commentId(12L).groupId(5L).isChild(true)
+                .totalOrder(reply.getTotalOrder()).build()));
+
+        // When
+        ScrollResponseDTO<DiscussionCommentThreadResponseDTO> result =
+            discussionCommentService.getCommentThreadList(member1.getId(), requestDTO, discussion.getId());
+
+        // Then
+        assertTrue(result.isHasNext());
+        assertEquals(5L, result.getLastId());  // 다음 요청은 groupId 5 다음부터
+        assertEquals(1, result.getContent().size());
+
+        DiscussionCommentThreadResponseDTO thread = result.getContent().get(0);
+        assertEquals(10L, thread.getComment().getCommentId());
+        assertEquals(7L, thread.getReplyCount());
+        assertEquals(1, thread.getReplies().size());
+        assertEquals(reply.getTotalOrder(), thread.getReplyLastId());  // 답글 목록 API 의 lastId
+        assertTrue(thread.isHasMoreReplies());
+    }
+
+    @Test
+    @DisplayName("답글 목록은 한 그룹의 답글만 totalOrder 커서로 넘긴다")
+    void testGetReplyList() {
+        // Given
+        DiscussionCommentsScrollRequestDTO requestDTO = DiscussionCommentsScrollRequestDTO.builder()
+            .lastId(5L * DiscussionComment.GROUP_ORDER_STRIDE + 3)
+            .size(10)
+            .build();
+
+        DiscussionComment reply = DiscussionComment.builder()
+            .id(20L)
+            .discussion(discussion)
+            .member(member2)
+            .groupId(5L)
+            .isChild(true)
+            .totalOrder(5L * DiscussionComment.GROUP_ORDER_STRIDE + 4)
+            .content("네 번째 답글")
+            .voteType(VoteType.AGREE)
+            .build();
+
+        when(discussionCommentRepository.findReplyListWithScroll(requestDTO, discussion.getId(), 5L))
+            .thenReturn(new ArrayList<>(List.of(reply)));
+        when(discussionCommentRepository.countRepliesByGroupIds(discussion.getId(), List.of(5L)))
+            .thenReturn(List.<Object[]>of(new Object[]{5L, 4L}));
+        when(discussionCommentPageAssembler.assemble(List.of(reply), member1)).thenReturn(
+            List.of(DiscussionCommentResponseDTO.builder().commentId(20L).build()));
+
+        // When
+        ScrollResponseDTO<DiscussionCommentResponseDTO> result =
+            discussionCommentService.getReplyList(member1.getId(), requestDTO, discussion.getId(), 5L);
+
+        // Then
+        assertFalse(result.isHasNext());
+        assertEquals(reply.getTotalOrder(), result.getLastId());
+        assertEquals(4L, result.getTotalElements());
+        assertEquals(1, result.getNumberOfElements());
     }
 
     @Test
@@ -260,14 +428,18 @@ class DiscussionCommentServiceImplTest {
         Long memberId = member1.getId(); // @BeforeEach에서 생성된 member1 사용
         Long discussionCommentId = comment2.getId(); // @BeforeEach에서 생성된 comment2 사용
 
-        // Mocking 중복 확인 (새로운 좋아요는 없다고 가정)
-        when(commentLikeRepository.findByCommentAndMember(comment2, member1)).thenReturn(Optional.empty());
+        // 누른 적이 없어서 새로 추가된다고 가정
+        when(commentLikeRepository.insertReactionIfAbsent(discussionCommentId, memberId, true)).thenReturn(1);
 
         // when
         discussionCommentService.addLike(memberId, discussionCommentId);
 
         // then
-        verify(commentLikeRepository, times(1)).save(any(CommentLike.class)); // 새로운 좋아요가 저장되는지 확인
+        verify(discussionCommentRepository).findByIdForUpdate(discussionCommentId); // 조건부 쿼리 전에 댓글 행을 잠금
+        verify(commentLikeRepository, never()).save(any(CommentLike.class)); // 조회 후 저장하지 않고 조건부 쿼리로 처리
+        verify(discussionCommentRepository).addReactionCounts(discussionCommentId, 1L, 0L); // 좋아요 수 증가
+        verify(discussionEventBroadcaster).publishCommentReaction(discussion.getId(),
+            discussionCommentId, 1L, 0L); // 실시간 스트림으로 좋아요 증가 전달
     }
 
     @Test
@@ -277,14 +449,46 @@ class DiscussionCommentServiceImplTest {
         Long memberId = member1.getId(); // @BeforeEach에서 생성된 member1 사용
         Long discussionCommentId = comment2.getId(); // @BeforeEach에서 생성된 comment2 사용
 
-        // Mocking 중복 확인 (새로운 좋아요는 없다고 가정)
-        when(commentLikeRepository.findByCommentAndMember(comment2, member1)).thenReturn(Optional.empty());
+        // 누른 적이 없어서 새로 추가된다고 가정
+        when(commentLikeRepository.insertReactionIfAbsent(discussionCommentId, memberId, false)).thenReturn(1);
 
         // when
         discussionCommentService.addDislike(memberId, discussionCommentId);
 
         // then
-        verify(commentLikeRepository, times(1)).save(any(CommentLike.class)); // 새로운 좋아요가 저장되는지 확인
+        verify(discussionCommentRepository).addReactionCounts(discussionCommentId, 0L, 1L); // 싫어요 수 증가
+    }
+
+    @Test
+    @DisplayName("좋아요를 눌러 둔 댓글에 싫어요를 누르면 좋아요는 줄고 싫어요는 는다")
+    void testAddDislikeAfterLike() {
+        Long memberId = member1.getId();
+        Long discussionCommentId = comment2.getId();
+
+        when(commentLikeRepository.switchReaction(discussionCommentId, memberId, false)).thenReturn(1);
+
+        discussionCommentService.addDislike(memberId, discussionCommentId);
+
+        verify(commentLikeRepository, never()).cancelReaction(anyLong(), anyLong(), anyBoolean());
+        verify(commentLikeRepository, never()).insertReactionIfAbsent(anyLong(), anyLong(), anyBoolean());
+        verify(discussionCommentRepository).addReactionCounts(discussionCommentId, -1L, 1L);
+        verify(discussionEventBroadcaster).publishCommentReaction(discussion.getId(),
+            discussionCommentId, -1L, 1L);
+    }
+
+    @Test
+    @DisplayName("좋아요를 한 번 더 누르면 취소된다")
+    void testAddLikeTwiceCancels() {
+        Long memberId = member1.getId();
+        Long discussionCommentId = comment2.getId();
+
+        when(commentLikeRepository.cancelReaction(discussionCommentId, memberId, true)).thenReturn(1);
+
+        discussionCommentService.addLike(memberId, discussionCommentId);
+
+        verify(commentLikeRepository, never()).insertReactionIfAbsent(anyLong(), anyLong(), anyBoolean());
+        verify(discussionCommentRepository).addReactionCounts(discussionCommentId, -1L, 0L);
+        verify(discussionTrendingRanker, never()).record(anyLong(), any());
     }
 
     @Test
@@ -349,6 +553,7 @@ class DiscussionCommentServiceImplTest {
         DiscussionComment discussionComment = DiscussionComment.builder()
             .id(commentId)
             .member(member) // 해당 댓글의 작성자를 멤버로 설정
+            .discussion(discussion)
             .build();
 
         // Mocking
@@ -360,6 +565,7 @@ class DiscussionCommentServiceImplTest {
 
         // 검증
         verify(discussionCommentRepository, times(1)).deleteById(commentId);
+        verify(discussionRepository, times(1)).addCommentCounts(discussion.getId(), -1, 0, 0);
     }
 
 
@@ -407,6 +613,50 @@ class DiscussionCommentServiceImplTest {
 
         // 반대 상태인 참여자 삭제 확인
         verify(discussionParticipantRepository, times(1)).delete(participant);
+        verify(discussionRepository, times(1)).addCommentCounts(discussion.getId(), -1, 0, -1);
+        verify(discussionRepository, times(1)).addVoteCounts(discussion.getId(), 0, -1);
+    }
+
+    @Test
+    @DisplayName("입장을 바꾼 뒤 예전 의견의 마지막 댓글 삭제 시 참여자 기준으로 찬반 수를 줄이는 테스트")
+    void testDeleteLastAgreeCommentAfterSwitchingToDisagree() {
+        Long memberId = 1L;
+        Long commentId = 3L;
+
+        Member member = Member.builder()
+            .id(memberId)
+            .build();
+
+        Discussion discussion = new Discussion();
+        discussion.changeId(1L);
+
+        // 찬성으로 단 댓글
+        DiscussionComment discussionComment = DiscussionComment.builder()
+            .id(commentId)
+            .member(member)
+            .discussion(discussion)
+            .voteType(VoteType.AGREE)
+            .build();
+
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
+        when(discussionCommentRepository.findById(commentId)).thenReturn(Optional.of(discussionComment));
+        when(discussionCommentRepository.countCommentsForDiscussionAndVoteType(discussion.getId(), VoteType.AGREE)).thenReturn(0L);
+
+        // 그 뒤 반대로 입장을 바꾼 참여자
+        DiscussionParticipant participant = DiscussionParticipant.builder()
+            .discussion(discussion)
+            .member(member)
+            .isAgree(false)
+            .build();
+
+        when(discussionParticipantRepository.findByDiscussionAndMember(discussion, member))
+            .thenReturn(Optional.of(participant));
+
+        discussionCommentService.deleteComment(memberId, commentId);
+
+        verify(discussionParticipantRepository, times(1)).delete(participant);
+        verify(discussionRepository, times(1)).addVoteCounts(discussion.getId(), 0, -1);
+        verify(discussionRepository, never()).addVoteCounts(discussion.getId(), -1, 0);
     }
 
     @Test
@@ -454,13 +704,19 @@ class DiscussionCommentServiceImplTest {
 
         List<DiscussionComment> bestCommentTop3List = Arrays.asList(comment3, comment1, comment2);
 
-        when(discussionCommentRepository.findBest3CommentList(discussion.getId())).thenReturn(
-            Optional.of(bestCommentTop3List));
+        // 순위는 캐시에서, 댓글은 id 로 한 번에 (DB 는 순서를 보장하지 않음)
+        when(discussionBestCommentCache.getTopIds(discussion.getId(), 3)).thenReturn(
+            List.of(3L, 1L, 2L));
+        when(discussionCommentRepository.findAllWithWriterByIdIn(List.of(3L, 1L, 2L))).thenReturn(
+            Arrays.asList(comment1, comment2, comment3));
 
         List<DiscussionCommentResponseDTO> results =
                 discussionCommentService.getBest3CommentByCommentLikes(loginMemberId, discussion.getId());
         for (DiscussionCommentResponseDTO dto : results) {
             System.out.println("dto = " + dto);
         }
+
+        // 캐시의 순위대로 변환한다.
+        verify(discussionCommentPageAssembler).assemble(bestCommentTop3List, member2);
     }
 }
@@ -0,0 +1,176 @@
+package com.undefinedus.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.undefinedus.backend.domain.entity.AladinBook;
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.Member;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.dto.request.discussionComment.DiscussionCommentRequestDTO;
+import com.undefinedus.backend.dto.response.discussionComment.DiscussionCommentResponseDTO;
+import com.undefinedus.backend.repository.AladinBookRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.repository.MemberRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// 답글 작성 시간이 댓글 테이블 크기와 상관없이 일정한지 확인하는 벤치마크
+// writeReply 가 NOT_SUPPORTED 라서 @Transactional 을 붙이지 않고, 끝나면 직접 지운다.
+@SpringBootTest
+@Tag("benchmark")  // 기본 test 에서는 빼고 ./gradlew benchmark 로 실행
+class DiscussionReplyBenchmarkTest {
+
+    private static final int SMALL_TABLE = 2_000;
+    private static final int LARGE_TABLE = 20_000;
+    private static final int WARM_UP = 20;
+    private static final int MEASURED_REPLIES = 50;
+
+    private static final String INSERT_FILLER_SQL =
+        "INSERT INTO discussion_comment (discussion_id, member_id, group_id, group_order, total_order, "
+            + "is_child, vote_type, content, view_status, is_deleted, like_count, dislike_count) "
+            + "VALUES (?, ?, ?, 0, ?, false, 'AGREE', 'filler', 'ACTIVE', false, 0, 0)";
+
+    @Autowired
+    private DiscussionCommentService discussionCommentService;
+
+    @Autowired
+    private DiscussionRepository discussionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AladinBookRepository aladinBookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Member member;
+    private AladinBook aladinBook;
+    private Discussion discussion;       // 답글을 다는 토론
+    private Discussion otherDiscussion;  // 테이블을 키우기 위한 다른 토론
+    private Long parentCommentId;
+    private int fillerRows = 0;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(Member.builder()
+            .username("bench@example.com")
+            .password("hashedPassword123")
+            .nickname("벤치회원")
+            .birth(LocalDate.of(1990, 1, 1))
+            .gender("남성")
+            .build());
+
+        aladinBook = aladinBookRepository.save(AladinBook.builder()
+            .isbn13("9789999999002")
+            .title("벤치마크 책")
+            .author("Author Name")
+            .link("https://www.aladin.com/book/9789999999002")
+            .cover("https://www.aladin.com/book/cover.jpg")
+            .fullDescription("This is a sample book description.")
+            .publisher("Sample Publisher")
+            .categoryName("Fiction")
+            .customerReviewRank(4.5)
+            .itemPage(300)
+            .build());
+
+        discussion = discussionRepository.save(createDiscussion("답글 벤치마크"));
+        otherDiscussion = discussionRepository.save(createDiscussion("다른 토론"));
+
+        Map<String, Object> result = discussionCommentService.writeComment(discussion.getId(),
+            member.getId(), commentRequest("원댓글"));
+        parentCommentId = ((DiscussionCommentResponseDTO) result.get("content")).getCommentId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM discussion_comment WHERE discussion_id IN (?, ?)",
+            discussion.getId(), otherDiscussion.getId());
+        discussionRepository.deleteById(discussion.getId());
+        discussionRepository.deleteById(otherDiscussion.getId());
+        aladinBookRepository.delete(aladinBook);
+        memberRepository.delete(member);
+    }
+
+    @Test
+    @DisplayName("댓글 테이블이 10배 커져도 답글 작성 시간이 비슷하고, 다른 토론의 댓글은 건드리지 않는다")
+    void writeReply_latencyShouldStayFlatAsTableGrows() {
+        growTableTo(SMALL_TABLE);
+        double smallAvgMs = measureReplies();
+
+        growTableTo(LARGE_TABLE);
+        double largeAvgMs = measureReplies();
+
+        System.out.printf("[benchmark] writeReply 평균 : 댓글 %d개 %.3fms, 댓글 %d개 %.3fms%n",
+            SMALL_TABLE, smallAvgMs, LARGE_TABLE, largeAvgMs);
+
+        // 다른 토론 댓글의 순서는 그대로여야 한다. (예전 방식은 답글마다 전체 댓글의 total_order 를 1씩 올렸다)
+        Long expectedSum = (long) fillerRows * (fillerRows + 1) / 2;
+        assertEquals(expectedSum, jdbcTemplate.queryForObject(
+            "SELECT SUM(total_order) FROM discussion_comment WHERE discussion_id = ?", Long.class,
+            otherDiscussion.getId()));
+
+        // 시간 측정은 환경에 따라 흔들리므로 넉넉하게 본다. (테이블 크기에 비례한다면 10배 가까이 늘어남)
+        assertTrue(largeAvgMs < Math.max(smallAvgMs * 4, 1.0),
+            "답글 작성 시간이 테이블 크기에 따라 늘어났습니다. : " + smallAvgMs + "ms -> " + largeAvgMs + "ms");
+    }
+
+    // 다른 토론에 댓글을 넣어서 테이블 크기를 늘린다. (total_order 는 1부터 순서대로)
+    private void growTableTo(int rows) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (int i = fillerRows + 1; i <= rows; i++) {
+            batchArgs.add(new Object[]{otherDiscussion.getId(), member.getId(), 1_000_000L + i, (long) i});
+        }
+        jdbcTemplate.batchUpdate(INSERT_FILLER_SQL, batchArgs);
+        fillerRows = rows;
+    }
+
+    private double measureReplies() {
+        for (int i = 0; i < WARM_UP; i++) {
+            writeReply();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_REPLIES; i++) {
+            writeReply();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_REPLIES;
+    }
+
+    private void writeReply() {
+        discussionCommentService.writeReply(discussion.getId(), parentCommentId, member.getId(),
+            commentRequest("답글"));
+    }
+
+    private DiscussionCommentRequestDTO commentRequest(String content) {
+        return DiscussionCommentRequestDTO.builder()
+            .voteType("AGREE")
+            .content(content)
+            .build();
+    }
+
+    private Discussion createDiscussion(String title) {
+        return Discussion.builder()
+            .member(member)
+            .aladinBook(aladinBook)
+            .title(title)
+            .content("답글 작성 시간 측정용 토론")
+            .status(DiscussionStatus.IN_PROGRESS)
+            .startDate(LocalDateTime.now().minusDays(1))
+            .closedAt(LocalDateTime.now().plusDays(1))
+            .build();
+    }
+}
@@ -5,12 +5,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,7 +31,19 @@ import com.undefinedus.backend.dto.request.discussion.DiscussionRegisterRequestD
 import com.undefinedus.backend.dto.request.discussion.DiscussionUpdateRequestDTO;
 import com.undefinedus.backend.dto.request.discussionComment.DiscussionScrollRequestDTO;
 import com.undefinedus.backend.dto.response.ScrollResponseDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionCountDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionDetailResponseDTO;
+import com.undefinedus.backend.dto.response.discussion.DiscussionListProjectionDTO;
 import com.undefinedus.backend.dto.response.discussion.DiscussionListResponseDTO;
+import com.undefinedus.backend.global.cache.DiscussionBestCommentCache;
+import com.undefinedus.backend.global.cache.DiscussionDetailCache;
+import com.undefinedus.backend.global.cache.DiscussionStatusCountCache;
+import com.undefinedus.backend.global.cache.DiscussionViewCounter;
+import com.undefinedus.backend.global.presence.DiscussionPresenceTracker;
+import com.undefinedus.backend.global.search.DiscussionSearchIndex;
+import com.undefinedus.backend.global.sse.DiscussionEventBroadcaster;
+import com.undefinedus.backend.global.timeseries.DiscussionActivitySeries;
+import com.undefinedus.backend.global.trending.DiscussionTrendingRanker;
 import com.undefinedus.backend.repository.AladinBookRepository;
 import com.undefinedus.backend.repository.DiscussionCommentRepository;
 import com.undefinedus.backend.repository.DiscussionParticipantRepository;
@@ -43,6 +58,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import java.util.Random;
@@ -82,6 +98,24 @@ class DiscussionServiceImplTest {
     private Scheduled scheduled;
     @Mock
     private DiscussionCommentRepository discussionCommentRepository;
+    @Mock
+    private DiscussionStatusCountCache discussionStatusCountCache;
+    @Mock
+    private DiscussionViewCounter discussionViewCounter;
+    @Mock
+    private DiscussionDetailCache discussionDetailCache;
+    @Mock
+    private DiscussionBestCommentCache discussionBestCommentCache;
+    @Mock
+    private DiscussionSearchIndex discussionSearchIndex;
+    @Mock
+    private DiscussionEventBroadcaster discussionEventBroadcaster;
+    @Mock
+    private DiscussionTrendingRanker discussionTrendingRanker;
+    @Mock
+    private DiscussionActivitySeries discussionActivitySeries;
+    @Mock
+    private DiscussionPresenceTracker discussionPresenceTracker;
 
     @InjectMocks
     private DiscussionServiceImpl discussionServiceImpl;
@@ -222,17 +256,29 @@ class DiscussionServiceImplTest {
     void getDiscussionList_shouldReturnScrollResponse() {
         // Given
         int size = 30;
-        List<Discussion> mockDiscussions = new ArrayList<>();
+        List<DiscussionListProjectionDTO> mockRows = new ArrayList<>();
         for (int i = 1; i <= size + 1; i++) { // hasNext를 위한 +1
-            Discussion discussion = createMockDiscussion((long) i, "Test Discussion " + i, 5, 3, member, mockAladinBook);
-            mockDiscussions.add(discussion);
+            DiscussionListProjectionDTO row = new DiscussionListProjectionDTO();
+            row.setDiscussionId((long) i);
+            row.setTitle("Test Discussion " + i);
+            row.setMemberId(memberId);
+            row.setMemberNickname(member.getNickname());
+            row.setMemberDeleted(false);
+            row.setBookTitle(mockAladinBook.getTitle());
+            row.setStatus(DiscussionStatus.PROPOSED);
+            row.setAgreeCount(5L);
+            row.setDisagreeCount(3L);
+            row.setCommentCount(0L);
+            row.setAgreeCommenterCount(0L);
+            row.setDisagreeCommenterCount(0L);
+            mockRows.add(row);
         }
 
-        when(discussionRepository.findDiscussionsWithScroll(any(DiscussionScrollRequestDTO.class)))
-            .thenReturn(mockDiscussions);
+        when(discussionRepository.findDiscussionListWithScroll(any(DiscussionScrollRequestDTO.class)))
+            .thenReturn(mockRows);
 
-        when(discussionRepository.findAllByStatus(any(DiscussionStatus.class)))
-            .thenReturn(mockDiscussions);
+        when(discussionStatusCountCache.getCount(DiscussionStatus.PROPOSED))
+            .thenReturn(31L);
 
         // When
         DiscussionScrollRequestDTO requestDTO = DiscussionScrollRequestDTO.builder()
@@ -244,11 +290,15 @@ class DiscussionServiceImplTest {
         ScrollResponseDTO<DiscussionListResponseDTO> response = discussionServiceImpl.getDiscussionList(requestDTO);
 
         // Then
-        verify(discussionRepository).findDiscussionsWithScroll(any(DiscussionScrollRequestDTO.class));
-        verify(discussionRepository).findAllByStatus(any(DiscussionStatus.class));
+        verify(discussionRepository).findDiscussionListWithScroll(any(DiscussionScrollRequestDTO.class));
+        verify(discussionStatusCountCache).getCount(DiscussionStatus.PROPOSED);
 
         assertEquals(size, response.getContent().size()); // 실제 반환된 개수 확인
+        assertEquals(5L, response.getContent().get(0).getAgree());
+        assertEquals(3L, response.getContent().get(0).getDisagree());
+        assertEquals("testuser", response.getContent().get(0).getMemberName());
         assertEquals(size, response.getNumberOfElements()); // 요소의 총 개수
+        assertEquals(31L, response.getTotalElements()); // 캐시에서 가져온 전체 개수
         assertTrue(response.isHasNext()); // hasNext 확인
     }
 
@@ -301,20 +351,23 @@ class DiscussionServiceImplTest {
             .build();
 
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
-        when(discussionRepository.findById(discussionId)).thenReturn(Optional.of(mockDiscussion));
+        when(discussionRepository.findByIdForUpdate(discussionId)).thenReturn(Optional.of(mockDiscussion));
+        when(discussionParticipantRepository.insertVoteIfAbsent(discussionId, memberId, true))
+            .thenReturn(1);
+        when(discussionRepository.findCountsById(discussionId)).thenReturn(
+            Optional.of(new DiscussionCountDTO(1L, 0L, 0L, 0L, 0L)));
 
         // When
-        discussionServiceImpl.joinAgree(memberId, discussionId);
+        Map<String, String> result = discussionServiceImpl.joinAgree(memberId, discussionId);
 
         // Then
-        ArgumentCaptor<DiscussionParticipant> captor = ArgumentCaptor.forClass(
-            DiscussionParticipant.class);
-        verify(discussionParticipantRepository).save(captor.capture());
-
-        DiscussionParticipant savedParticipant = captor.getValue();
-        assertEquals(mockDiscussion, savedParticipant.getDiscussion());
-        assertEquals(member, savedParticipant.getMember());
-        assertTrue(savedParticipant.isAgree());
+        verify(discussionRepository).addVoteCounts(discussionId, 1, 0);
+        assertEquals("agree", result.get("isAgree"));
+        assertEquals("1", result.get("agreeCount"));
+
+        verify(discussionParticipantRepository).switchVote(discussionId, memberId, true);
+        verify(discussionParticipantRepository).cancelVote(discussionId, memberId, true);
+        verify(discussionParticipantRepository).insertVoteIfAbsent(discussionId, memberId, true);
     }
 
     @Test
@@ -331,20 +384,54 @@ class DiscussionServiceImplTest {
             .build();
 
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
-        when(discussionRepository.findById(discussionId)).thenReturn(Optional.of(mockDiscussion));
+        when(discussionRepository.findByIdForUpdate(discussionId)).thenReturn(Optional.of(mockDiscussion));
+        when(discussionParticipantRepository.insertVoteIfAbsent(discussionId, memberId, false))
+            .thenReturn(1);
+        when(discussionRepository.findCountsById(discussionId)).thenReturn(
+            Optional.of(new DiscussionCountDTO(0L, 1L, 0L, 0L, 0L)));
+
+        // When
+        Map<String, String> result = discussionServiceImpl.joinDisagree(memberId, discussionId);
+
+        // Then
+        verify(discussionRepository).addVoteCounts(discussionId, 0, 1);
+        assertEquals("disagree", result.get("isAgree"));
+        assertEquals("1", result.get("disagreeCount"));
+
+        verify(discussionParticipantRepository).switchVote(discussionId, memberId, false);
+        verify(discussionParticipantRepository).cancelVote(discussionId, memberId, false);
+        verify(discussionParticipantRepository).insertVoteIfAbsent(discussionId, memberId, false);
+    }
+
+    @Test
+    @DisplayName("반대로 참여 중에 찬성을 누르면 의견만 바뀐다")
+    void joinAgree_whenDisagreed_shouldSwitchVote() {
+        // Given
+        Long discussionId = 5L;
+
+        Discussion mockDiscussion = Discussion.builder()
+            .id(discussionId)
+            .member(member)
+            .aladinBook(mockAladinBook)
+            .status(DiscussionStatus.PROPOSED)
+            .build();
+
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
+        when(discussionRepository.findByIdForUpdate(discussionId)).thenReturn(Optional.of(mockDiscussion));
+        when(discussionParticipantRepository.switchVote(discussionId, memberId, true)).thenReturn(1);
+        when(discussionRepository.findCountsById(discussionId)).thenReturn(
+            Optional.of(new DiscussionCountDTO(1L, 0L, 0L, 0L, 0L)));
 
         // When
-        discussionServiceImpl.joinDisagree(memberId, discussionId);
+        Map<String, String> result = discussionServiceImpl.joinAgree(memberId, discussionId);
 
         // Then
-        ArgumentCaptor<DiscussionParticipant> captor = ArgumentCaptor.forClass(
-            DiscussionParticipant.class);
-        verify(discussionParticipantRepository).save(captor.capture());
-
-        DiscussionParticipant savedParticipant = captor.getValue();
-        assertEquals(mockDiscussion, savedParticipant.getDiscussion());
-        assertEquals(member, savedParticipant.getMember());
-        assertFalse(savedParticipant.isAgree());
+        verify(discussionRepository).addVoteCounts(discussionId, 1, -1);
+        verify(discussionActivitySeries).recordVote(discussionId, 1, -1);  // 활동 시계열에도 의견 변경을 남긴다.
+        verify(discussionParticipantRepository, never()).insertVoteIfAbsent(anyLong(), anyLong(), anyBoolean());
+        verify(discussionEventBroadcaster).publishVote(discussionId, 1L, 0L);
+        assertEquals("agree", result.get("isAgree"));
+        assertEquals("0", result.get("disagreeCount"));
     }
 
     @Test
@@ -375,4 +462,41 @@ class DiscussionServiceImplTest {
         assertTrue(mockDiscussion.isDeleted());
         assertNotNull(mockDiscussion.getDeletedAt());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("찬성/반대 참여자 수, 댓글 수 집계 재계산 테스트")
+    void recalculateCounts_shouldRecountDiscussion() {
+        // Given
+        Long discussionId = 5L;
+        when(discussionRepository.recalculateCounts(discussionId)).thenReturn(1);
+
+        // When
+        int updated = discussionServiceImpl.recalculateCounts(discussionId);
+
+        // Then
+        assertEquals(1, updated);
+        verify(discussionRepository).recalculateCounts(discussionId);
+    }
+
+    @Test
+    @DisplayName("진행 중인 토론의 heartbeat 만 세고, 그 외 상태는 세지 않는다")
+    void heartbeat_onlyCountsInProgressDiscussion() {
+        // Given
+        Long inProgressId = 5L;
+        Long completedId = 6L;
+        when(discussionDetailCache.get(eq(inProgressId), any())).thenReturn(
+                DiscussionDetailResponseDTO.builder().status(DiscussionStatus.IN_PROGRESS.name()).build());
+        when(discussionDetailCache.get(eq(completedId), any())).thenReturn(
+                DiscussionDetailResponseDTO.builder().status(DiscussionStatus.COMPLETED.name()).build());
+        when(discussionPresenceTracker.heartbeat(inProgressId, memberId)).thenReturn(3);
+
+        // When
+        int inProgressCount = discussionServiceImpl.heartbeat(memberId, inProgressId);
+        int completedCount = discussionServiceImpl.heartbeat(memberId, completedId);
+
+        // Then
+        assertEquals(3, inProgressCount);
+        assertEquals(0, completedCount);
+        verify(discussionPresenceTracker, never()).heartbeat(completedId, memberId);
+    }
+}
@@ -0,0 +1,182 @@
+package com.undefinedus.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.undefinedus.backend.domain.entity.AladinBook;
+import com.undefinedus.backend.domain.entity.Discussion;
+import com.undefinedus.backend.domain.entity.DiscussionParticipant;
+import com.undefinedus.backend.domain.entity.Member;
+import com.undefinedus.backend.domain.enums.DiscussionStatus;
+import com.undefinedus.backend.dto.response.discussion.DiscussionCountDTO;
+import com.undefinedus.backend.repository.AladinBookRepository;
+import com.undefinedus.backend.repository.DiscussionParticipantRepository;
+import com.undefinedus.backend.repository.DiscussionRepository;
+import com.undefinedus.backend.repository.MemberRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// 여러 스레드가 실제로 커밋해야 하므로 @Transactional 을 붙이지 않고, 끝나면 직접 지운다.
+@SpringBootTest
+class DiscussionVoteConcurrencyTest {
+
+    private static final int MEMBER_COUNT = 20;
+
+    @Autowired
+    private DiscussionService discussionService;
+
+    @Autowired
+    private DiscussionRepository discussionRepository;
+
+    @Autowired
+    private DiscussionParticipantRepository discussionParticipantRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AladinBookRepository aladinBookRepository;
+
+    private final List<Member> members = new ArrayList<>();
+    private AladinBook aladinBook;
+    private Discussion discussion;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(memberRepository.save(Member.builder()
+                .username("vote" + i + "@example.com")
+                .password("hashedPassword123")
+                .nickname("투표회원" + i)
+                .birth(LocalDate.of(1990, 1, 1))
+                .gender("남성")
+                .build()));
+        }
+
+        aladinBook = aladinBookRepository.save(AladinBook.builder()
+            .isbn13("9789999999001")
+            .title("동시성 테스트 책")
+            .author("Author Name")
+            .link("https://www.aladin.com/book/9789999999001")
+            .cover("https://www.aladin.com/book/cover.jpg")
+            .fullDescription("This is a sample book description.")
+            .publisher("Sample Publisher")
+            .categoryName("Fiction")
+            .customerReviewRank(4.5)
+            .itemPage(300)
+            .build());
+
+        discussion = discussionRepository.save(Discussion.builder()
+            .member(members.get(0))
+            .aladinBook(aladinBook)
+            .title("동시 투표 테스트")
+            .content("여러 회원이 동시에 찬반을 누른다.")
+            .status(DiscussionStatus.PROPOSED)
+            .startDate(LocalDateTime.now().plusDays(1))
+            .closedAt(LocalDateTime.now().plusDays(2))
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        discussionParticipantRepository.deleteAll(
+            discussionParticipantRepository.findByDiscussion(discussion));
+        discussionRepository.deleteById(discussion.getId());
+        aladinBookRepository.delete(aladinBook);
+        memberRepository.deleteAll(members);
+        members.clear();
+    }
+
+    @Test
+    @DisplayName("여러 회원이 동시에 찬성/반대를 눌러도 집계 값이 참여자 수와 같다")
+    void joinAgree_parallelMembers_shouldKeepCountsExact() throws InterruptedException {
+        runConcurrently(MEMBER_COUNT, i -> {
+            Long memberId = members.get(i).getId();
+            if (i % 2 == 0) {
+                discussionService.joinAgree(memberId, discussion.getId());
+            } else {
+                discussionService.joinDisagree(memberId, discussion.getId());
+            }
+        });
+
+        DiscussionCountDTO counts = discussionRepository.findCountsById(discussion.getId()).orElseThrow();
+
+        assertEquals(MEMBER_COUNT / 2, counts.getAgreeCount());
+        assertEquals(MEMBER_COUNT / 2, counts.getDisagreeCount());
+        assertCountsMatchParticipants();
+    }
+
+    @Test
+    @DisplayName("같은 회원이 찬성/반대를 연달아 동시에 눌러도 참여자가 중복되거나 집계가 어긋나지 않는다")
+    void toggle_parallelSameMember_shouldStayConsistent() throws InterruptedException {
+        // 회원마다 찬성, 반대, 찬성을 동시에 누른다. (더블 클릭, 빠른 의견 변경)
+        runConcurrently(MEMBER_COUNT * 3, i -> {
+            Long memberId = members.get(i % MEMBER_COUNT).getId();
+            if (i / MEMBER_COUNT == 1) {
+                discussionService.joinDisagree(memberId, discussion.getId());
+            } else {
+                discussionService.joinAgree(memberId, discussion.getId());
+            }
+        });
+
+        assertCountsMatchParticipants();
+    }
+
+    // 한 번에 시작시켜서 모두 끝날 때까지 기다린다.
+    // 락 대기 시간 초과 등으로 실패한 요청은 트랜잭션 전체가 롤백되므로 무시하고, 결과의 일관성만 확인한다.
+    private void runConcurrently(int taskCount, IndexedTask task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(taskCount);
+
+        for (int i = 0; i < taskCount; i++) {
+            int index = i;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    task.run(index);
+                } catch (Exception e) {
+                    System.out.println("투표 실패 : " + e.getMessage());
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS), "투표 요청이 끝나지 않았습니다.");
+        executor.shutdown();
+    }
+
+    private void assertCountsMatchParticipants() {
+        List<DiscussionParticipant> participants = discussionParticipantRepository.findByDiscussion(
+            discussion);
+        long agree = participants.stream().filter(DiscussionParticipant::isAgree).count();
+        long disagree = participants.size() - agree;
+
+        DiscussionCountDTO counts = discussionRepository.findCountsById(discussion.getId()).orElseThrow();
+
+        assertEquals(agree, counts.getAgreeCount());
+        assertEquals(disagree, counts.getDisagreeCount());
+        assertEquals(participants.stream().map(p -> p.getMember().getId()).distinct().count(),
+            participants.size());
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+
+        void run(int index) throws Exception;
+    }
+}